@@ -7,40 +7,51 @@ import abstractexpressions.expression.classes.Constant;
 import abstractexpressions.expression.classes.Expression;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.Map;
 import java.util.Set;
 
 public class ExpressionCollection implements Iterable<Expression> {
 
-    private final Map<Integer, Expression> terms;
+    private static final int DEFAULT_CAPACITY = 8;
+
+    /*
+     Die Terme werden in einem Array abgelegt, wobei (wie bisher) Lücken
+     (null-Einträge) erlaubt sind. Alle Einträge ab dem Index bound sind null.
+     size ist die Anzahl der Einträge, die nicht null sind.
+     */
+    private Expression[] terms;
     private int bound;
+    private int size;
 
     public ExpressionCollection() {
-        this.terms = new HashMap<>();
+        this.terms = new Expression[DEFAULT_CAPACITY];
         this.bound = 0;
+        this.size = 0;
     }
 
     public ExpressionCollection(ExpressionCollection terms) {
-        this.terms = new HashMap<>();
+        this.terms = new Expression[Math.max(terms.size, DEFAULT_CAPACITY)];
         this.bound = 0;
+        this.size = 0;
         for (int i = 0; i < terms.bound; i++) {
             this.add(terms.get(i));
         }
     }
 
     public ExpressionCollection(Expression[] terms) {
-        this.terms = new HashMap<>();
+        this.terms = new Expression[Math.max(terms.length, DEFAULT_CAPACITY)];
         this.bound = 0;
+        this.size = 0;
         for (Expression term : terms) {
             this.add(term);
         }
     }
 
     public ExpressionCollection(Object... terms) {
-        this.terms = new HashMap<>();
+        this.terms = new Expression[Math.max(terms.length, DEFAULT_CAPACITY)];
         this.bound = 0;
+        this.size = 0;
         for (Object term : terms) {
             if (term != null) {
                 if (term instanceof String) {
@@ -62,20 +73,33 @@ public class ExpressionCollection implements Iterable<Expression> {
         }
     }
 
+    /**
+     * Vergrößert das Array der Terme, falls es weniger als capacity Einträge
+     * fassen kann.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > this.terms.length) {
+            this.terms = Arrays.copyOf(this.terms, Math.max(capacity, 2 * this.terms.length));
+        }
+    }
+
     public int getBound() {
         return this.bound;
     }
 
     public int getSize() {
-        return this.terms.size();
+        return this.size;
     }
 
     public boolean isEmpty() {
-        return this.terms.isEmpty();
+        return this.size == 0;
     }
 
     public Expression get(int i) {
-        return this.terms.get(i);
+        if (i < 0 || i >= this.bound) {
+            return null;
+        }
+        return this.terms[i];
     }
 
     public Expression getLast() {
@@ -89,7 +113,14 @@ public class ExpressionCollection implements Iterable<Expression> {
         if (i < 0) {
             return;
         }
-        this.terms.put(i, expr);
+        ensureCapacity(i + 1);
+        if (this.terms[i] != null) {
+            this.size--;
+        }
+        if (expr != null) {
+            this.size++;
+        }
+        this.terms[i] = expr;
         if (i >= this.bound - 1) {
             this.bound = i + 1;
         }
@@ -97,15 +128,18 @@ public class ExpressionCollection implements Iterable<Expression> {
 
     public void add(Expression expr) {
         if (expr != null) {
-            this.terms.put(this.bound, expr);
+            ensureCapacity(this.bound + 1);
+            this.terms[this.bound] = expr;
             this.bound++;
+            this.size++;
         }
     }
 
     public void addAll(ExpressionCollection newTerms) {
-        for (int i = 0; i < newTerms.getBound(); i++) {
-            if (newTerms.get(i) != null) {
-                this.add(newTerms.get(i));
+        ensureCapacity(this.bound + newTerms.size);
+        for (int i = 0; i < newTerms.bound; i++) {
+            if (newTerms.terms[i] != null) {
+                this.add(newTerms.terms[i]);
             }
         }
     }
@@ -117,37 +151,34 @@ public class ExpressionCollection implements Iterable<Expression> {
         }
 
         if (expr != null) {
-            if (this.terms.get(i) == null) {
-                this.terms.put(i, expr);
-                this.bound = Math.max(this.bound, i + 1);
-            } else if (i >= this.bound) {
+            if (get(i) == null) {
                 put(i, expr);
             } else {
-                for (int j = this.bound; j > i; j--) {
-                    this.terms.put(j, this.terms.get(j - 1));
-                    this.terms.remove(j - 1);
-                }
-                put(i, expr);
+                // Dann ist i < bound: Alle Terme ab dem Index i um eine Position nach hinten verschieben.
+                ensureCapacity(this.bound + 1);
+                System.arraycopy(this.terms, i, this.terms, i + 1, this.bound - i);
+                this.terms[i] = expr;
                 this.bound++;
+                this.size++;
             }
         }
 
     }
 
     public void remove(int i) {
-        this.terms.remove(i);
-        for (int j = this.bound - 1; j >= 0; j--) {
-            if (this.terms.get(j) != null) {
-                this.bound = j + 1;
-                return;
-            }
+        if (i >= 0 && i < this.bound && this.terms[i] != null) {
+            this.terms[i] = null;
+            this.size--;
+        }
+        while (this.bound > 0 && this.terms[this.bound - 1] == null) {
+            this.bound--;
         }
-        this.bound = 0;
     }
 
     public void clear() {
-        this.terms.clear();
+        Arrays.fill(this.terms, 0, this.bound, null);
         this.bound = 0;
+        this.size = 0;
     }
 
     /**
@@ -160,11 +191,11 @@ public class ExpressionCollection implements Iterable<Expression> {
             return false;
         }
         for (int i = 0; i < this.bound; i++) {
-            if (this.terms.get(i) == null && exprCol.terms.get(i) != null
-                    || this.terms.get(i) != null && exprCol.terms.get(i) == null) {
+            if (get(i) == null && exprCol.get(i) != null
+                    || get(i) != null && exprCol.get(i) == null) {
                 return false;
             }
-            if (!this.terms.get(i).equals(exprCol.terms.get(i))) {
+            if (get(i) != null && !get(i).equals(exprCol.get(i))) {
                 return false;
             }
         }
@@ -199,7 +230,7 @@ public class ExpressionCollection implements Iterable<Expression> {
     public boolean containsExpression(Expression expr) {
         if (expr == null) {
             for (int i = 0; i < this.bound; i++) {
-                if (this.terms.get(i) == null) {
+                if (get(i) == null) {
                     return true;
                 }
             }
@@ -221,14 +252,16 @@ public class ExpressionCollection implements Iterable<Expression> {
     public boolean containsEquivalent(Expression expr) {
         if (expr == null) {
             for (int i = 0; i < this.bound; i++) {
-                if (this.terms.get(i) == null) {
+                if (get(i) == null) {
                     return true;
                 }
             }
             return false;
         }
+        // Nur Terme mit demselben Hashwert können äquivalent sein.
+        int hash = expr.getEquivalenceHash();
         for (Expression term : this) {
-            if (expr.equivalent(term)) {
+            if (term != null && term.getEquivalenceHash() == hash && expr.equivalent(term)) {
                 return true;
             }
         }
@@ -242,8 +275,8 @@ public class ExpressionCollection implements Iterable<Expression> {
         }
         String result = "[";
         for (int i = 0; i < this.bound; i++) {
-            if (this.terms.get(i) != null) {
-                result = result + this.terms.get(i).toString() + ", ";
+            if (get(i) != null) {
+                result = result + get(i).toString() + ", ";
             } else {
                 result = result + "-, ";
             }
@@ -258,10 +291,12 @@ public class ExpressionCollection implements Iterable<Expression> {
 
         ExpressionCollection result = new ExpressionCollection();
         for (int i = 0; i < this.bound; i++) {
-            if (this.terms.get(i) != null) {
-                result.put(i, this.terms.get(i).copy());
+            if (get(i) != null) {
+                result.put(i, get(i).copy());
             }
         }
+        // Die Kopie muss auch abschließende null-Einträge (etwa durch put(i, null)) aufnehmen können.
+        result.ensureCapacity(this.bound);
         result.bound = this.bound;
         return result;
 
@@ -275,8 +310,8 @@ public class ExpressionCollection implements Iterable<Expression> {
     public ExpressionCollection copy(int m, int n) {
         ExpressionCollection result = new ExpressionCollection();
         for (int i = m; i < n; i++) {
-            if (this.terms.get(i) != null) {
-                result.add(this.terms.get(i).copy());
+            if (get(i) != null) {
+                result.add(get(i).copy());
             }
         }
         return result;
@@ -288,20 +323,20 @@ public class ExpressionCollection implements Iterable<Expression> {
     public void removeMultipleEquivalentTerms() {
 
         for (int i = 0; i < this.bound; i++) {
-            if (terms.get(i) == null) {
+            if (get(i) == null) {
                 for (int j = i + 1; j < this.bound; j++) {
-                    if (terms.get(j) == null) {
+                    if (get(j) == null) {
                         continue;
                     }
-                    terms.put(i, terms.get(j));
+                    put(i, get(j));
                     remove(j);
                 }
             }
             for (int j = i + 1; j < this.bound; j++) {
-                if (terms.get(j) == null) {
+                if (get(j) == null) {
                     continue;
                 }
-                if (this.terms.get(j).equivalent(this.terms.get(i))) {
+                if (get(j).equivalent(get(i))) {
                     remove(j);
                 }
             }
@@ -311,40 +346,40 @@ public class ExpressionCollection implements Iterable<Expression> {
 
     public void addExpression(Expression expr) {
         for (int i = 0; i < this.bound; i++) {
-            if (this.terms.get(i) != null) {
-                this.terms.put(i, this.terms.get(i).add(expr));
+            if (get(i) != null) {
+                put(i, get(i).add(expr));
             }
         }
     }
 
     public void subtractExpression(Expression expr) {
         for (int i = 0; i < this.bound; i++) {
-            if (this.terms.get(i) != null) {
-                this.terms.put(i, this.terms.get(i).sub(expr));
+            if (get(i) != null) {
+                put(i, get(i).sub(expr));
             }
         }
     }
 
     public void multiplyWithExpression(Expression expr) {
         for (int i = 0; i < this.bound; i++) {
-            if (this.terms.get(i) != null) {
-                this.terms.put(i, this.terms.get(i).mult(expr));
+            if (get(i) != null) {
+                put(i, get(i).mult(expr));
             }
         }
     }
 
     public void divideByExpression(Expression expr) {
         for (int i = 0; i < this.bound; i++) {
-            if (this.terms.get(i) != null) {
-                this.terms.put(i, this.terms.get(i).div(expr));
+            if (get(i) != null) {
+                put(i, get(i).div(expr));
             }
         }
     }
 
     public void powExpression(Expression expr) {
         for (int i = 0; i < this.bound; i++) {
-            if (this.terms.get(i) != null) {
-                this.terms.put(i, this.terms.get(i).pow(expr));
+            if (get(i) != null) {
+                put(i, get(i).pow(expr));
             }
         }
     }
@@ -352,8 +387,8 @@ public class ExpressionCollection implements Iterable<Expression> {
     public ExpressionCollection simplify() throws EvaluationException {
         ExpressionCollection result = new ExpressionCollection();
         for (int i = 0; i < this.bound; i++) {
-            if (this.terms.get(i) != null) {
-                result.put(i, terms.get(i).simplify());
+            if (get(i) != null) {
+                result.put(i, get(i).simplify());
             }
         }
         return result;
@@ -362,8 +397,8 @@ public class ExpressionCollection implements Iterable<Expression> {
     public ExpressionCollection simplify(Set<TypeSimplify> simplifyTypes) throws EvaluationException {
         ExpressionCollection result = new ExpressionCollection();
         for (int i = 0; i < this.bound; i++) {
-            if (this.terms.get(i) != null) {
-                result.put(i, terms.get(i).simplify(simplifyTypes));
+            if (get(i) != null) {
+                result.put(i, get(i).simplify(simplifyTypes));
             }
         }
         return result;
@@ -394,14 +429,7 @@ public class ExpressionCollection implements Iterable<Expression> {
 
             @Override
             public void remove() {
-                terms.remove(currentIndex);
-                for (int j = bound - 1; j >= 0; j--) {
-                    if (terms.get(j) != null) {
-                        bound = j + 1;
-                        return;
-                    }
-                }
-                bound = 0;
+                ExpressionCollection.this.remove(currentIndex);
             }
 
         };
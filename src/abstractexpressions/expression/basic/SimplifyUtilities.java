@@ -4,6 +4,10 @@ import abstractexpressions.expression.classes.BinaryOperation;
 import abstractexpressions.expression.classes.Constant;
 import abstractexpressions.expression.classes.Expression;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public abstract class SimplifyUtilities {
 
@@ -30,23 +34,108 @@ public abstract class SimplifyUtilities {
         return true;
     }
 
+    /**
+     * Hilfsklasse zum schnellen Auffinden äquivalenter Terme in einer
+     * ExpressionCollection. Mittels equivalent() werden nur Terme mit
+     * demselben Hashwert (bzgl. getEquivalenceHash()) verglichen. Bereits
+     * gefundene Terme können als verbraucht markiert werden, damit
+     * Vielfachheiten berücksichtigt werden.
+     */
+    private static class EquivalentTermsIndex {
+
+        // Ab dieser Anzahl von Termen werden die Indizes nach Hashwerten gruppiert.
+        private static final int MIN_NUMBER_OF_TERMS_FOR_HASH_MAP = 16;
+
+        private final ExpressionCollection terms;
+        private final int[] hashes;
+        private final boolean[] used;
+        private final Map<Integer, List<Integer>> indicesByHash;
+
+        EquivalentTermsIndex(ExpressionCollection terms) {
+            this.terms = terms;
+            this.hashes = new int[terms.getBound()];
+            this.used = new boolean[terms.getBound()];
+            for (int i = 0; i < terms.getBound(); i++) {
+                if (terms.get(i) != null) {
+                    this.hashes[i] = terms.get(i).getEquivalenceHash();
+                }
+            }
+            if (terms.getBound() < MIN_NUMBER_OF_TERMS_FOR_HASH_MAP) {
+                this.indicesByHash = null;
+                return;
+            }
+            this.indicesByHash = new HashMap<>();
+            for (int i = 0; i < terms.getBound(); i++) {
+                if (terms.get(i) == null) {
+                    continue;
+                }
+                List<Integer> indices = this.indicesByHash.get(this.hashes[i]);
+                if (indices == null) {
+                    indices = new ArrayList<>(1);
+                    this.indicesByHash.put(this.hashes[i], indices);
+                }
+                indices.add(i);
+            }
+        }
+
+        private boolean isEquivalentAt(int i, Expression expr, int hash, boolean exprFirst) {
+            if (this.used[i] || this.hashes[i] != hash || this.terms.get(i) == null) {
+                return false;
+            }
+            return exprFirst ? expr.equivalent(this.terms.get(i)) : this.terms.get(i).equivalent(expr);
+        }
+
+        /**
+         * Liefert den kleinsten Index i eines noch nicht verbrauchten Terms,
+         * welcher zu expr äquivalent ist, oder -1, falls es keinen solchen
+         * gibt. Ist exprFirst == true, so wird expr.equivalent(term) geprüft,
+         * ansonsten term.equivalent(expr).
+         */
+        int indexOfEquivalentTerm(Expression expr, boolean exprFirst) {
+            int hash = expr.getEquivalenceHash();
+            if (this.indicesByHash == null) {
+                for (int i = 0; i < this.hashes.length; i++) {
+                    if (isEquivalentAt(i, expr, hash, exprFirst)) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+            List<Integer> indices = this.indicesByHash.get(hash);
+            if (indices != null) {
+                for (int i : indices) {
+                    if (isEquivalentAt(i, expr, hash, exprFirst)) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        void markAsUsed(int i) {
+            this.used[i] = true;
+        }
+
+    }
+
     /**
      * Liefert den Durchschnitt von termsLeft und termsRight (mit Vielfachheiten
      * gezählt!).
      */
     public static ExpressionCollection intersection(ExpressionCollection termsLeft, ExpressionCollection termsRight) {
 
-        ExpressionCollection termsLeftCopy = termsLeft.copy();
-        ExpressionCollection termsRightCopy = termsRight.copy();
         ExpressionCollection result = new ExpressionCollection();
+        EquivalentTermsIndex indexRight = new EquivalentTermsIndex(termsRight);
+        int j;
 
         for (int i = 0; i < termsLeft.getBound(); i++) {
-            for (int j = 0; j < termsRight.getBound(); j++) {
-                if (termsLeftCopy.get(i) != null && termsRightCopy.get(j) != null && termsLeftCopy.get(i).equivalent(termsRightCopy.get(j))) {
-                    result.add(termsLeftCopy.get(i));
-                    termsLeftCopy.remove(i);
-                    termsRightCopy.remove(j);
-                }
+            if (termsLeft.get(i) == null) {
+                continue;
+            }
+            j = indexRight.indexOfEquivalentTerm(termsLeft.get(i), true);
+            if (j >= 0) {
+                result.add(termsLeft.get(i));
+                indexRight.markAsUsed(j);
             }
         }
 
@@ -62,43 +151,22 @@ public abstract class SimplifyUtilities {
 
         ExpressionCollection result = new ExpressionCollection();
         /*
-         termsLeft und termsRight werden in manchen Prozeduren noch
-         nachträglich gebraucht und sollten nicht verändert werden ->
-         termsLeft und termsRight kopieren.
+         Jeder Term aus termsRight darf höchstens einen Term aus termsLeft
+         "aufheben". termsLeft und termsRight selbst werden nicht verändert.
          */
-        ExpressionCollection termsLeftCopy = termsLeft.copy();
-        ExpressionCollection termsRightCopy = termsRight.copy();
-
-        Expression termLeft, termRight;
-        boolean equivalentTermFound;
+        EquivalentTermsIndex indexRight = new EquivalentTermsIndex(termsRight);
+        int j;
 
         for (int i = 0; i < termsLeft.getBound(); i++) {
-
-            if (termsLeftCopy.get(i) == null) {
+            if (termsLeft.get(i) == null) {
                 continue;
             }
-
-            termLeft = termsLeftCopy.get(i);
-            equivalentTermFound = false;
-            for (int j = 0; j < termsRight.getBound(); j++) {
-
-                if (termsRightCopy.get(j) == null) {
-                    continue;
-                }
-
-                termRight = termsRightCopy.get(j);
-                if (termLeft.equivalent(termRight)) {
-                    equivalentTermFound = true;
-                    termsLeftCopy.remove(i);
-                    termsRightCopy.remove(j);
-                    break;
-                }
-
-            }
-            if (!equivalentTermFound) {
-                result.add(termLeft);
+            j = indexRight.indexOfEquivalentTerm(termsLeft.get(i), true);
+            if (j >= 0) {
+                indexRight.markAsUsed(j);
+            } else {
+                result.add(termsLeft.get(i));
             }
-
         }
 
         return result;
@@ -115,23 +183,16 @@ public abstract class SimplifyUtilities {
         /*
          termsLeft und termsRight werden in manchen Prozeduren noch
          nachträglich gebraucht und sollten nicht verändert werden ->
-         termsLeft und termsRight kopieren.
+         termsLeft kopieren.
          */
         ExpressionCollection termsLeftCopy = termsLeft.copy();
-        boolean termIsContainedInTermsLeft;
+        EquivalentTermsIndex indexLeft = new EquivalentTermsIndex(termsLeft);
 
         for (int i = 0; i < termsRight.getBound(); i++) {
-            if (termsRight.get(i) == null){
+            if (termsRight.get(i) == null) {
                 continue;
             }
-            termIsContainedInTermsLeft = false;
-            for (int j = 0; j < termsLeft.getBound(); j++) {
-                if (termsLeftCopy.get(j) != null && termsLeftCopy.get(j).equivalent(termsRight.get(i))) {
-                    termIsContainedInTermsLeft = true;
-                    break;
-                }
-            }
-            if (!termIsContainedInTermsLeft) {
+            if (indexLeft.indexOfEquivalentTerm(termsRight.get(i), false) < 0) {
                 termsLeftCopy.add(termsRight.get(i));
             }
         }
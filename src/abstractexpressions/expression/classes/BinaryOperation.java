@@ -1,5 +1,6 @@
 package abstractexpressions.expression.classes;
 
+import abstractexpressions.expression.computation.Interval;
 import abstractexpressions.expression.computation.ArithmeticUtils;
 import computationbounds.ComputationBounds;
 import enums.TypeExpansion;
@@ -29,6 +30,8 @@ public class BinaryOperation extends Expression {
     private final Expression left, right;
     private final TypeBinary type;
 
+    private static final int HASH_SEED = 41;
+
     private static final Set<TypeSimplify> simplifyTypesExpandAndCollectIfShorter = getSimplifyTypesExpandAndCollectIfShorter();
 
     private static Set<TypeSimplify> getSimplifyTypesExpandAndCollectIfShorter() {
@@ -73,10 +76,10 @@ public class BinaryOperation extends Expression {
     }
 
     @Override
-    public double evaluate() throws EvaluationException {
+    public double evaluate(EvaluationContext context) throws EvaluationException {
 
-        double valueLeft = this.left.evaluate();
-        double valueRight = this.right.evaluate();
+        double valueLeft = this.left.evaluate(context);
+        double valueRight = this.right.evaluate(context);
 
         if (Double.isNaN(valueLeft) || Double.isInfinite(valueLeft) || Double.isNaN(valueRight) || Double.isInfinite(valueRight)) {
             throw new EvaluationException(Translator.translateOutputMessage(EB_BinaryOperation_UNDEFINED_VALUE));
@@ -134,6 +137,94 @@ public class BinaryOperation extends Expression {
 
     }
 
+    @Override
+    public double evaluateOrNaN(EvaluationContext context) {
+
+        double valueLeft = this.left.evaluateOrNaN(context);
+        if (Double.isNaN(valueLeft)) {
+            return Double.NaN;
+        }
+        double valueRight = this.right.evaluateOrNaN(context);
+        if (Double.isNaN(valueRight)) {
+            return Double.NaN;
+        }
+
+        double value;
+        switch (type) {
+            case PLUS:
+                value = valueLeft + valueRight;
+                break;
+            case MINUS:
+                value = valueLeft - valueRight;
+                break;
+            case TIMES:
+                value = valueLeft * valueRight;
+                break;
+            case DIV:
+                value = valueLeft / valueRight;
+                break;
+            case POW:
+                // Abfangen von Wurzeln ungerader Ordnung aus negativen Zahlen (wie in evaluate()).
+                if (valueLeft < 0 && this.right.isRationalConstant() && ((BinaryOperation) this.right).getRight().isOddIntegerConstant()) {
+                    if (((BinaryOperation) this.right).getLeft().isOddIntegerConstant()) {
+                        value = -Math.pow(-valueLeft, valueRight);
+                    } else {
+                        value = Math.pow(-valueLeft, valueRight);
+                    }
+                } else {
+                    value = Math.pow(valueLeft, valueRight);
+                }
+                break;
+            default:
+                return 0;
+        }
+
+        if (Double.isInfinite(value)) {
+            return Double.NaN;
+        }
+        return value;
+
+    }
+
+    @Override
+    public Interval evaluateInterval(String[] vars, Interval[] ranges) {
+
+        Interval intervalLeft = this.left.evaluateInterval(vars, ranges);
+        switch (type) {
+            case PLUS:
+                return intervalLeft.add(this.right.evaluateInterval(vars, ranges));
+            case MINUS:
+                return intervalLeft.sub(this.right.evaluateInterval(vars, ranges));
+            case TIMES:
+                return intervalLeft.mult(this.right.evaluateInterval(vars, ranges));
+            case DIV:
+                return intervalLeft.div(this.right.evaluateInterval(vars, ranges));
+            default:
+                break;
+        }
+
+        // Potenzen: ganzzahlige Exponenten und Wurzeln ungerader Ordnung werden (wie in evaluate()) gesondert behandelt.
+        if (this.right.isIntegerConstant() && ((Constant) this.right).getValue().abs().compareTo(BigDecimal.valueOf(Integer.MAX_VALUE)) <= 0) {
+            return intervalLeft.pow(((Constant) this.right).getBigIntValue().intValue());
+        }
+        if (this.right.isRationalConstant() && ((BinaryOperation) this.right).getRight().isOddIntegerConstant()) {
+            double exponent = Math.abs(this.right.evaluateOrNaN());
+            Interval powersOfAbsoluteValues = intervalLeft.abs().pow(Interval.around(exponent));
+            Interval result;
+            if (((BinaryOperation) this.right).getLeft().isOddIntegerConstant() && !intervalLeft.isEmpty()) {
+                // x^exponent = sgn(x) * |x|^exponent ist monoton wachsend.
+                result = Interval.hull(Math.signum(intervalLeft.getInf()) * Math.pow(Math.abs(intervalLeft.getInf()), exponent),
+                        Math.signum(intervalLeft.getSup()) * Math.pow(Math.abs(intervalLeft.getSup()), exponent),
+                        powersOfAbsoluteValues.isDefined());
+            } else {
+                result = powersOfAbsoluteValues;
+            }
+            return this.right.isIntegerConstantOrRationalConstantNegative() ? result.reciprocal() : result;
+        }
+        return intervalLeft.pow(this.right.evaluateInterval(vars, ranges));
+
+    }
+
     @Override
     public void addContainedVars(Set<String> vars) {
         this.left.addContainedVars(vars);
@@ -147,17 +238,17 @@ public class BinaryOperation extends Expression {
     }
 
     @Override
-    public boolean contains(String var) {
-        return this.left.contains(var) || this.right.contains(var);
+    protected Set<String> computeContainedVarsForContains() {
+        return union(this.left.getContainedVarsForContains(), this.right.getContainedVarsForContains());
     }
 
     @Override
-    public boolean containsApproximates() {
+    protected boolean computeContainsApproximates() {
         return (this.left.containsApproximates() || this.right.containsApproximates());
     }
 
     @Override
-    public boolean containsFunction() {
+    protected boolean computeContainsFunction() {
         if (this.type.equals(TypeBinary.POW) && !this.right.isConstant()) {
             // Im diesem Fall handelt es sich (eventuell) um Exponentialfunktionen.
             return true;
@@ -166,7 +257,7 @@ public class BinaryOperation extends Expression {
     }
 
     @Override
-    public boolean containsExponentialFunction() {
+    protected boolean computeContainsExponentialFunction() {
         if (this.type.equals(TypeBinary.POW) && !this.right.isConstant()) {
             // Im diesem Fall handelt es sich (eventuell) um Exponentialfunktionen.
             return true;
@@ -175,27 +266,27 @@ public class BinaryOperation extends Expression {
     }
 
     @Override
-    public boolean containsTrigonometricalFunction() {
+    protected boolean computeContainsTrigonometricalFunction() {
         return this.left.containsTrigonometricalFunction() || this.right.containsTrigonometricalFunction();
     }
 
     @Override
-    public boolean containsIndefiniteIntegral() {
+    protected boolean computeContainsIndefiniteIntegral() {
         return this.left.containsIndefiniteIntegral() || this.right.containsIndefiniteIntegral();
     }
 
     @Override
-    public boolean containsOperator() {
+    protected boolean computeContainsOperator() {
         return this.left.containsOperator() || this.right.containsOperator();
     }
 
     @Override
-    public boolean containsOperator(TypeOperator type) {
-        return this.left.containsOperator(type) || this.right.containsOperator(type);
+    protected Set<TypeOperator> computeContainedOperatorTypes() {
+        return union(this.left.getContainedOperatorTypes(), this.right.getContainedOperatorTypes());
     }
 
     @Override
-    public boolean containsAlgebraicOperation() {
+    protected boolean computeContainsAlgebraicOperation() {
         return this.left.containsAlgebraicOperation() || this.right.containsAlgebraicOperation()
                 || this.right.isRationalConstant() && ((Constant) ((BinaryOperation) this.right).right).getValue().abs().compareTo(BigDecimal.ONE) > 0;
     }
@@ -629,6 +720,9 @@ public class BinaryOperation extends Expression {
 
     @Override
     public boolean equals(Expression expr) {
+        if (isComparableByReference(expr)) {
+            return this == expr;
+        }
         return expr instanceof BinaryOperation
                 && this.type.equals(((BinaryOperation) expr).type)
                 && this.left.equals(((BinaryOperation) expr).left)
@@ -956,6 +1050,108 @@ public class BinaryOperation extends Expression {
 
     }
 
+    @Override
+    protected int computeEquivalenceHash() {
+        switch (this.type) {
+            case PLUS:
+                // Unabhängig von der Reihenfolge der Summanden.
+                return 31 * (31 * HASH_SEED + this.type.ordinal()) + getSummandsHash(this);
+            case MINUS:
+                /*
+                 Differenzen sind auch dann äquivalent, wenn Summanden mit
+                 negativem Vorzeichen auf die jeweils andere Seite gebracht
+                 wurden. Daher geht hier nur der Typ ein.
+                 */
+                return 31 * HASH_SEED + this.type.ordinal();
+            case TIMES:
+            case DIV:
+                // Hier dürfen Faktoren paarweise auch antiäquivalent sein.
+                return getSignInsensitiveHash();
+            default:
+                return getPowerHash();
+        }
+    }
+
+    @Override
+    protected int computeSignInsensitiveHash() {
+        switch (this.type) {
+            case PLUS:
+            case MINUS:
+                return 31 * HASH_SEED + this.type.ordinal();
+            case TIMES:
+                // Unabhängig von der Reihenfolge der Faktoren.
+                return 31 * (31 * HASH_SEED + this.type.ordinal()) + getFactorsHash(this);
+            case DIV:
+                return 31 * (31 * (31 * HASH_SEED + this.type.ordinal()) + this.left.getSignInsensitiveHash())
+                        + this.right.getSignInsensitiveHash();
+            default:
+                return getPowerHash();
+        }
+    }
+
+    @Override
+    protected int computeStructuralHash() {
+        return 31 * (31 * (31 * HASH_SEED + this.type.ordinal()) + this.left.getStructuralHash())
+                + this.right.getStructuralHash();
+    }
+
+    @Override
+    protected Expression internSubexpressions() {
+        Expression leftInterned = this.left.intern();
+        Expression rightInterned = this.right.intern();
+        if (leftInterned == this.left && rightInterned == this.right) {
+            return this;
+        }
+        return new BinaryOperation(leftInterned, rightInterned, this.type);
+    }
+
+    @Override
+    protected boolean canBeInterned() {
+        return isCanonical(this.left) && isCanonical(this.right);
+    }
+
+    /**
+     * Summe der (durchmischten) Hashwerte aller Summanden von expr. Nullen
+     * werden dabei (wie in SimplifyUtilities.getSummands()) ignoriert.
+     */
+    private static int getSummandsHash(Expression expr) {
+        if (expr.isSum()) {
+            return getSummandsHash(((BinaryOperation) expr).left) + getSummandsHash(((BinaryOperation) expr).right);
+        }
+        if (expr.equals(ZERO)) {
+            return 0;
+        }
+        return mixHash(expr.getEquivalenceHash());
+    }
+
+    /**
+     * Summe der (durchmischten) vorzeichenunabhängigen Hashwerte aller
+     * Faktoren von expr. Einsen werden dabei (wie in
+     * SimplifyUtilities.getFactors()) ignoriert.
+     */
+    private static int getFactorsHash(Expression expr) {
+        if (expr.isProduct()) {
+            return getFactorsHash(((BinaryOperation) expr).left) + getFactorsHash(((BinaryOperation) expr).right);
+        }
+        if (expr.equals(ONE)) {
+            return 0;
+        }
+        return mixHash(expr.getSignInsensitiveHash());
+    }
+
+    private int getPowerHash() {
+        int hash = 31 * HASH_SEED + this.type.ordinal();
+        /*
+         Bei konstanten Exponenten können auch Potenzen, deren Basen sich um
+         ein Vorzeichen unterscheiden, äquivalent bzw. antiäquivalent sein.
+         Dann geht die Basis nicht in den Hashwert ein.
+         */
+        if (!(this.right instanceof Constant) && !this.right.isRationalConstant()) {
+            hash = 31 * hash + this.left.getEquivalenceHash();
+        }
+        return 31 * hash + this.right.getEquivalenceHash();
+    }
+
     @Override
     public boolean hasPositiveSign() {
         if (this.type != TypeBinary.TIMES && this.type != TypeBinary.DIV) {
@@ -965,7 +1161,7 @@ public class BinaryOperation extends Expression {
     }
 
     @Override
-    public int getLength() {
+    protected int computeLength() {
         if (this.isProduct()) {
             ExpressionCollection factors = SimplifyUtilities.getFactors(this);
             int length = 0;
@@ -1052,6 +1248,27 @@ public class BinaryOperation extends Expression {
 
     @Override
     public Expression simplifyBasic() throws EvaluationException {
+        if (!SimplifyProfiler.isEnabled()) {
+            return simplifyBasicOperation();
+        }
+        SimplifyProfiler.Measurement measurement = SimplifyProfiler.start();
+        Expression exprSimplified = this;
+        try {
+            exprSimplified = simplifyBasicOperation();
+            return exprSimplified;
+        } finally {
+            SimplifyProfiler.stop(measurement, SimplifyProfiler.FAMILY_BINARY_OPERATION_RULES, this.type.name(), 1,
+                    exprSimplified != this && !exprSimplified.equals(this));
+        }
+    }
+
+    /**
+     * Vereinfacht diese Operation mittels der Regeln aus
+     * SimplifyBinaryOperationUtils (vgl. simplifyBasic()).
+     *
+     * @throws EvaluationException
+     */
+    private Expression simplifyBasicOperation() throws EvaluationException {
 
         // Allgemeine Vereinfachungen, falls der zugrundeliegende Ausdruck konstant ist.
         Expression exprLeftAndRightSimplified;
@@ -1060,9 +1277,7 @@ public class BinaryOperation extends Expression {
         if (this.isSum()) {
 
             ExpressionCollection summandsLeft = SimplifyUtilities.getSummands(this);
-            for (int i = 0; i < summandsLeft.getBound(); i++) {
-                summandsLeft.put(i, summandsLeft.get(i).simplifyBasic());
-            }
+            ParallelSimplification.applyPassToTerms(summandsLeft, TypeSimplify.simplify_basic);
 
             ExpressionCollection summandsRight = new ExpressionCollection();
 
@@ -1112,9 +1327,7 @@ public class BinaryOperation extends Expression {
         } else if (this.isProduct()) {
 
             ExpressionCollection factors = SimplifyUtilities.getFactors(this);
-            for (int i = 0; i < factors.getBound(); i++) {
-                factors.put(i, factors.get(i).simplifyBasic());
-            }
+            ParallelSimplification.applyPassToTerms(factors, TypeSimplify.simplify_basic);
 
             Expression exprSimplified = SimplifyUtilities.produceProduct(factors);
             if (!exprSimplified.isProduct()) {
@@ -1329,9 +1542,7 @@ public class BinaryOperation extends Expression {
         if (this.isSum()) {
             // In jedem Summanden einzeln ausmultiplizieren.
             ExpressionCollection summands = SimplifyUtilities.getSummands(this);
-            for (int i = 0; i < summands.getBound(); i++) {
-                summands.put(i, summands.get(i).simplifyExpandRationalFactors());
-            }
+            ParallelSimplification.applyPassToTerms(summands, TypeSimplify.simplify_expand_rational_factors);
             return SimplifyUtilities.produceSum(summands);
         } else if (this.isDifference() || this.isPower()) {
             return new BinaryOperation(this.left.simplifyExpandRationalFactors(), this.right.simplifyExpandRationalFactors(), this.type);
@@ -1341,9 +1552,7 @@ public class BinaryOperation extends Expression {
         if (this.isProduct()) {
             // In jedem Faktor einzeln ausmultiplizieren.
             ExpressionCollection factors = SimplifyUtilities.getFactors(this);
-            for (int i = 0; i < factors.getBound(); i++) {
-                factors.put(i, factors.get(i).simplifyExpandRationalFactors());
-            }
+            ParallelSimplification.applyPassToTerms(factors, TypeSimplify.simplify_expand_rational_factors);
             Expression productOfSimplifiedFactors = SimplifyUtilities.produceProduct(factors);
             if (!(productOfSimplifiedFactors instanceof BinaryOperation)) {
                 return productOfSimplifiedFactors;
@@ -1494,16 +1703,12 @@ public class BinaryOperation extends Expression {
         if (this.isSum()) {
             // In jedem Summanden einzeln kürzen.
             ExpressionCollection summands = SimplifyUtilities.getSummands(this);
-            for (int i = 0; i < summands.getBound(); i++) {
-                summands.put(i, summands.get(i).simplifyReduceDifferencesAndQuotientsAdvanced());
-            }
+            ParallelSimplification.applyPassToTerms(summands, TypeSimplify.simplify_reduce_differences_and_quotients_advanced);
             return SimplifyUtilities.produceSum(summands);
         } else if (this.isProduct()) {
             // In jedem Faktor einzeln kürzen.
             ExpressionCollection factors = SimplifyUtilities.getFactors(this);
-            for (int i = 0; i < factors.getBound(); i++) {
-                factors.put(i, factors.get(i).simplifyReduceDifferencesAndQuotientsAdvanced());
-            }
+            ParallelSimplification.applyPassToTerms(factors, TypeSimplify.simplify_reduce_differences_and_quotients_advanced);
 
             /*
              Prüft, ob man beispielsweise flgendermaßen kürzen kann: 10*x*(1/6 + y/14)
@@ -1528,12 +1733,8 @@ public class BinaryOperation extends Expression {
         }
 
         // Zunächst in allen Summanden/Faktoren einzeln kürzen.
-        for (int i = 0; i < termsLeft.getBound(); i++) {
-            termsLeft.put(i, termsLeft.get(i).simplifyReduceDifferencesAndQuotientsAdvanced());
-        }
-        for (int i = 0; i < termsRight.getBound(); i++) {
-            termsRight.put(i, termsRight.get(i).simplifyReduceDifferencesAndQuotientsAdvanced());
-        }
+        ParallelSimplification.applyPassToTerms(termsLeft, TypeSimplify.simplify_reduce_differences_and_quotients_advanced);
+        ParallelSimplification.applyPassToTerms(termsRight, TypeSimplify.simplify_reduce_differences_and_quotients_advanced);
 
         // Nun das eigentliche Kürzen!
         if (this.isDifference()) {
@@ -1664,23 +1865,15 @@ public class BinaryOperation extends Expression {
         if (this.isSum() || this.isDifference()) {
 
             SimplifyBinaryOperationUtils.orderDifference(this, termsLeft, termsRight);
-            for (int i = 0; i < termsLeft.getBound(); i++) {
-                termsLeft.put(i, termsLeft.get(i).orderDifferencesAndQuotients());
-            }
-            for (int i = 0; i < termsRight.getBound(); i++) {
-                termsRight.put(i, termsRight.get(i).orderDifferencesAndQuotients());
-            }
+            ParallelSimplification.applyPassToTerms(termsLeft, TypeSimplify.order_difference_and_division);
+            ParallelSimplification.applyPassToTerms(termsRight, TypeSimplify.order_difference_and_division);
             result = SimplifyUtilities.produceDifference(termsLeft, termsRight);
 
         } else if (this.isProduct() || this.isQuotient()) {
 
             SimplifyBinaryOperationUtils.orderQuotient(this, termsLeft, termsRight);
-            for (int i = 0; i < termsLeft.getBound(); i++) {
-                termsLeft.put(i, termsLeft.get(i).orderDifferencesAndQuotients());
-            }
-            for (int i = 0; i < termsRight.getBound(); i++) {
-                termsRight.put(i, termsRight.get(i).orderDifferencesAndQuotients());
-            }
+            ParallelSimplification.applyPassToTerms(termsLeft, TypeSimplify.order_difference_and_division);
+            ParallelSimplification.applyPassToTerms(termsRight, TypeSimplify.order_difference_and_division);
             result = SimplifyUtilities.produceQuotient(termsLeft, termsRight);
 
         } else {
@@ -1698,9 +1891,7 @@ public class BinaryOperation extends Expression {
         if (this.isSum()) {
             // In jedem Summanden einzeln Faktoren sammeln.
             ExpressionCollection summands = SimplifyUtilities.getSummands(this);
-            for (int i = 0; i < summands.getBound(); i++) {
-                summands.put(i, summands.get(i).simplifyCollectProducts());
-            }
+            ParallelSimplification.applyPassToTerms(summands, TypeSimplify.simplify_collect_products);
             return SimplifyUtilities.produceSum(summands);
         } else if (this.isNotProduct()) {
             // Im linken und rechten Teil einzeln Faktoren sammeln.
@@ -1711,9 +1902,7 @@ public class BinaryOperation extends Expression {
 
         //Ab hier ist type == *.
         // Zunächst in jedem Faktor einzeln Faktoren sammeln.
-        for (int i = 0; i < factors.getBound(); i++) {
-            factors.put(i, factors.get(i).simplifyCollectProducts());
-        }
+        ParallelSimplification.applyPassToTerms(factors, TypeSimplify.simplify_collect_products);
 
         SimplifyBinaryOperationUtils.collectFactorsInProduct(factors);
         return SimplifyUtilities.produceProduct(factors);
@@ -1727,9 +1916,7 @@ public class BinaryOperation extends Expression {
 
             // In jedem Summanden einzeln kürzen.
             ExpressionCollection summands = SimplifyUtilities.getSummands(this);
-            for (int i = 0; i < summands.getBound(); i++) {
-                summands.put(i, summands.get(i).simplifyFactorize());
-            }
+            ParallelSimplification.applyPassToTerms(summands, TypeSimplify.simplify_factorize);
             // Eigentliche Faktorisierung.
             SimplifyBinaryOperationUtils.simplifyFactorizeAntiEquivalentExpressionsInSums(summands);
             SimplifyBinaryOperationUtils.simplifyFactorizeInSums(summands);
@@ -1749,9 +1936,7 @@ public class BinaryOperation extends Expression {
 
             // In jedem Faktor einzeln kürzen.
             ExpressionCollection factors = SimplifyUtilities.getFactors(this);
-            for (int i = 0; i < factors.getBound(); i++) {
-                factors.put(i, factors.get(i).simplifyFactorize());
-            }
+            ParallelSimplification.applyPassToTerms(factors, TypeSimplify.simplify_factorize);
             return SimplifyUtilities.produceProduct(factors);
 
         }
@@ -1835,9 +2020,7 @@ public class BinaryOperation extends Expression {
 
             ExpressionCollection summands = SimplifyUtilities.getSummands(this);
             // In jedem Summanden einzeln faktorisieren
-            for (int i = 0; i < summands.getBound(); i++) {
-                summands.put(i, summands.get(i).simplifyFactorizeAllButRationals());
-            }
+            ParallelSimplification.applyPassToTerms(summands, TypeSimplify.simplify_factorize_all_but_rationals);
             // Eigentliche Faktorisierung.
             SimplifyBinaryOperationUtils.simplifyFactorizeAllButRationalsInSums(summands);
             SimplifyBinaryOperationUtils.simplifyFactorizeAllButRationalsForAntiEquivalentExpressionsInSums(summands);
@@ -1857,9 +2040,7 @@ public class BinaryOperation extends Expression {
         } else if (this.isProduct()) {
             // In jedem Faktor einzeln faktorisieren.
             ExpressionCollection factors = SimplifyUtilities.getFactors(this);
-            for (int i = 0; i < factors.getBound(); i++) {
-                factors.put(i, factors.get(i).simplifyFactorizeAllButRationals());
-            }
+            ParallelSimplification.applyPassToTerms(factors, TypeSimplify.simplify_factorize_all_but_rationals);
             return SimplifyUtilities.produceProduct(factors);
         }
 
@@ -1874,16 +2055,12 @@ public class BinaryOperation extends Expression {
         if (this.isSum()) {
             // In jedem Summanden einzeln kürzen.
             ExpressionCollection summands = SimplifyUtilities.getSummands(this);
-            for (int i = 0; i < summands.getBound(); i++) {
-                summands.put(i, summands.get(i).simplifyReduceQuotients());
-            }
+            ParallelSimplification.applyPassToTerms(summands, TypeSimplify.simplify_reduce_quotients);
             return SimplifyUtilities.produceSum(summands);
         } else if (this.isProduct()) {
             // In jedem Faktor einzeln kürzen.
             ExpressionCollection factors = SimplifyUtilities.getFactors(this);
-            for (int i = 0; i < factors.getBound(); i++) {
-                factors.put(i, factors.get(i).simplifyReduceQuotients());
-            }
+            ParallelSimplification.applyPassToTerms(factors, TypeSimplify.simplify_reduce_quotients);
             return SimplifyUtilities.produceProduct(factors);
         } else if (this.isDifference() || this.isPower()) {
             return new BinaryOperation(this.left.simplifyReduceQuotients(), this.right.simplifyReduceQuotients(), this.type);
@@ -1893,12 +2070,8 @@ public class BinaryOperation extends Expression {
         ExpressionCollection factorsDenominator = SimplifyUtilities.getFactorsOfDenominatorInExpression(this);
 
         // In jedem Faktor einzeln kürzen
-        for (int i = 0; i < factorsEnumerator.getBound(); i++) {
-            factorsEnumerator.put(i, factorsEnumerator.get(i).simplifyReduceQuotients());
-        }
-        for (int i = 0; i < factorsDenominator.getBound(); i++) {
-            factorsDenominator.put(i, factorsDenominator.get(i).simplifyReduceQuotients());
-        }
+        ParallelSimplification.applyPassToTerms(factorsEnumerator, TypeSimplify.simplify_reduce_quotients);
+        ParallelSimplification.applyPassToTerms(factorsDenominator, TypeSimplify.simplify_reduce_quotients);
 
         // Eigentliches Kürzen.
         SimplifyBinaryOperationUtils.simplifyReduceFactorsInQuotients(factorsEnumerator, factorsDenominator);
@@ -1914,9 +2087,7 @@ public class BinaryOperation extends Expression {
 
             ExpressionCollection summands = SimplifyUtilities.getSummands(this);
             // In jedem Summanden einzeln Potenzen vereinfachen.
-            for (int i = 0; i < summands.getBound(); i++) {
-                summands.put(i, summands.get(i).simplifyPullApartPowers());
-            }
+            ParallelSimplification.applyPassToTerms(summands, TypeSimplify.simplify_pull_apart_powers);
 
             // Ergebnis bilden.
             return SimplifyUtilities.produceSum(summands);
@@ -1927,9 +2098,7 @@ public class BinaryOperation extends Expression {
 
             ExpressionCollection factors = SimplifyUtilities.getFactors(this);
             // In jedem Summanden einzeln Potenzen vereinfachen.
-            for (int i = 0; i < factors.getBound(); i++) {
-                factors.put(i, factors.get(i).simplifyPullApartPowers());
-            }
+            ParallelSimplification.applyPassToTerms(factors, TypeSimplify.simplify_pull_apart_powers);
 
             // Ergebnis bilden.
             return SimplifyUtilities.produceProduct(factors);
@@ -1965,9 +2134,7 @@ public class BinaryOperation extends Expression {
 
             ExpressionCollection summands = SimplifyUtilities.getSummands(this);
             // In jedem Summanden einzeln Potenzen vereinfachen.
-            for (int i = 0; i < summands.getBound(); i++) {
-                summands.put(i, summands.get(i).simplifyMultiplyExponents());
-            }
+            ParallelSimplification.applyPassToTerms(summands, TypeSimplify.simplify_multiply_exponents);
 
             // Ergebnis bilden.
             return SimplifyUtilities.produceSum(summands);
@@ -1976,9 +2143,7 @@ public class BinaryOperation extends Expression {
 
             ExpressionCollection factors = SimplifyUtilities.getFactors(this);
             // In jedem Summanden einzeln Potenzen vereinfachen.
-            for (int i = 0; i < factors.getBound(); i++) {
-                factors.put(i, factors.get(i).simplifyMultiplyExponents());
-            }
+            ParallelSimplification.applyPassToTerms(factors, TypeSimplify.simplify_multiply_exponents);
 
             // Ergebnis bilden.
             return SimplifyUtilities.produceProduct(factors);
@@ -2008,9 +2173,7 @@ public class BinaryOperation extends Expression {
 
             ExpressionCollection summands = SimplifyUtilities.getSummands(this);
             // In jedem Summanden einzeln Funktionalgleichungen anwenden.
-            for (int i = 0; i < summands.getBound(); i++) {
-                summands.put(i, summands.get(i).simplifyFunctionalRelations());
-            }
+            ParallelSimplification.applyPassToTerms(summands, TypeSimplify.simplify_functional_relations);
 
             // sinh(x) + cosh(x) = exp(x)
             SimplifyFunctionalRelationsUtils.sumOfTwoFunctions(summands, TypeFunction.sinh, TypeFunction.cosh, TypeFunction.exp);
@@ -2072,9 +2235,7 @@ public class BinaryOperation extends Expression {
 
             ExpressionCollection factors = SimplifyUtilities.getFactors(this);
             // In jedem Faktor einzeln Funktionalgleichungen anwenden.
-            for (int i = 0; i < factors.getBound(); i++) {
-                factors.put(i, factors.get(i).simplifyFunctionalRelations());
-            }
+            ParallelSimplification.applyPassToTerms(factors, TypeSimplify.simplify_functional_relations);
 
             //Potenzen von rationalen Zahlen sammeln
             SimplifyExpLogUtils.collectPowersOfRationalsWithSameExponentInProduct(factors);
@@ -2429,9 +2590,7 @@ public class BinaryOperation extends Expression {
 
             // In jedem Summanden einzeln Logarithmen sammeln.
             ExpressionCollection summands = SimplifyUtilities.getSummands(expr);
-            for (int i = 0; i < summands.getBound(); i++) {
-                summands.put(i, summands.get(i).simplifyCollectLogarithms());
-            }
+            ParallelSimplification.applyPassToTerms(summands, TypeSimplify.simplify_collect_logarithms);
 
             //Logarithmusfunktionen zur Basis 10 in einer Summe sammeln
             SimplifyExpLogUtils.collectLogarithmsInSum(summands, TypeFunction.lg);
@@ -2461,9 +2620,7 @@ public class BinaryOperation extends Expression {
 
             ExpressionCollection factors = SimplifyUtilities.getFactors(expr);
             // In jedem Faktor einzeln Logarithmen sammeln.
-            for (int i = 0; i < factors.getBound(); i++) {
-                factors.put(i, factors.get(i).simplifyCollectLogarithms());
-            }
+            ParallelSimplification.applyPassToTerms(factors, TypeSimplify.simplify_collect_logarithms);
 
             // Ergebnis bilden.
             return SimplifyUtilities.produceProduct(factors);
@@ -2486,12 +2643,8 @@ public class BinaryOperation extends Expression {
             ExpressionCollection summandsLeft = SimplifyUtilities.getSummandsLeftInExpression(this);
             ExpressionCollection summandsRight = SimplifyUtilities.getSummandsRightInExpression(this);
             // In jedem Summanden einzeln Logarithmen auseinanderziehen.
-            for (int i = 0; i < summandsLeft.getBound(); i++) {
-                summandsLeft.put(i, summandsLeft.get(i).simplifyExpandLogarithms());
-            }
-            for (int i = 0; i < summandsRight.getBound(); i++) {
-                summandsRight.put(i, summandsRight.get(i).simplifyExpandLogarithms());
-            }
+            ParallelSimplification.applyPassToTerms(summandsLeft, TypeSimplify.simplify_expand_logarithms);
+            ParallelSimplification.applyPassToTerms(summandsRight, TypeSimplify.simplify_expand_logarithms);
             return SimplifyUtilities.produceDifference(summandsLeft, summandsRight);
 
         } else if (this.isProduct() || this.isQuotient()) {
@@ -2499,12 +2652,8 @@ public class BinaryOperation extends Expression {
             ExpressionCollection factorsEnumerator = SimplifyUtilities.getFactorsOfNumeratorInExpression(this);
             ExpressionCollection factorsDenominator = SimplifyUtilities.getFactorsOfDenominatorInExpression(this);
             // In jedem Faktor einzeln Logarithmen auseinanderziehen.
-            for (int i = 0; i < factorsEnumerator.getBound(); i++) {
-                factorsEnumerator.put(i, factorsEnumerator.get(i).simplifyExpandLogarithms());
-            }
-            for (int i = 0; i < factorsDenominator.getBound(); i++) {
-                factorsDenominator.put(i, factorsDenominator.get(i).simplifyExpandLogarithms());
-            }
+            ParallelSimplification.applyPassToTerms(factorsEnumerator, TypeSimplify.simplify_expand_logarithms);
+            ParallelSimplification.applyPassToTerms(factorsDenominator, TypeSimplify.simplify_expand_logarithms);
             return SimplifyUtilities.produceQuotient(factorsEnumerator, factorsDenominator);
 
         }
@@ -2521,9 +2670,7 @@ public class BinaryOperation extends Expression {
 
             ExpressionCollection summands = SimplifyUtilities.getSummands(this);
             // In jedem Summanden einzeln Funktionen durch ihre Definitionen ersetzen.
-            for (int i = 0; i < summands.getBound(); i++) {
-                summands.put(i, summands.get(i).simplifyReplaceExponentialFunctionsByDefinitions());
-            }
+            ParallelSimplification.applyPassToTerms(summands, TypeSimplify.simplify_replace_exponential_functions_by_definitions);
 
             // Ergebnis bilden.
             return SimplifyUtilities.produceSum(summands);
@@ -2532,9 +2679,7 @@ public class BinaryOperation extends Expression {
 
             ExpressionCollection factors = SimplifyUtilities.getFactors(this);
             // In jedem Faktor einzeln Funktionen durch ihre Definitionen ersetzen.
-            for (int i = 0; i < factors.getBound(); i++) {
-                factors.put(i, factors.get(i).simplifyReplaceExponentialFunctionsByDefinitions());
-            }
+            ParallelSimplification.applyPassToTerms(factors, TypeSimplify.simplify_replace_exponential_functions_by_definitions);
 
             // Ergebnis bilden.
             return SimplifyUtilities.produceProduct(factors);
@@ -2593,9 +2738,7 @@ public class BinaryOperation extends Expression {
 
             ExpressionCollection summands = SimplifyUtilities.getSummands(this);
             // In jedem Summanden einzeln Funktionen durch ihre Definitionen ersetzen.
-            for (int i = 0; i < summands.getBound(); i++) {
-                summands.put(i, summands.get(i).simplifyReplaceTrigonometricalFunctionsByDefinitions());
-            }
+            ParallelSimplification.applyPassToTerms(summands, TypeSimplify.simplify_replace_trigonometrical_functions_by_definitions);
 
             // Ergebnis bilden.
             return SimplifyUtilities.produceSum(summands);
@@ -2604,9 +2747,7 @@ public class BinaryOperation extends Expression {
 
             ExpressionCollection factors = SimplifyUtilities.getFactors(this);
             // In jedem Faktor einzeln Funktionen durch ihre Definitionen ersetzen.
-            for (int i = 0; i < factors.getBound(); i++) {
-                factors.put(i, factors.get(i).simplifyReplaceTrigonometricalFunctionsByDefinitions());
-            }
+            ParallelSimplification.applyPassToTerms(factors, TypeSimplify.simplify_replace_trigonometrical_functions_by_definitions);
 
             // Ergebnis bilden.
             return SimplifyUtilities.produceProduct(factors);
@@ -2930,18 +3071,14 @@ public class BinaryOperation extends Expression {
 
             // In jedem Summanden einzeln algebraische Umformungen vornehmen.
             ExpressionCollection summands = SimplifyUtilities.getSummands(this);
-            for (int i = 0; i < summands.getBound(); i++) {
-                summands.put(i, summands.get(i).simplifyAlgebraicExpressions());
-            }
+            ParallelSimplification.applyPassToTerms(summands, TypeSimplify.simplify_algebraic_expressions);
             return SimplifyUtilities.produceSum(summands);
 
         } else if (this.isProduct()) {
 
             // In jedem Faktor einzeln algebraische Umformungen vornehmen.
             ExpressionCollection factors = SimplifyUtilities.getFactors(this);
-            for (int i = 0; i < factors.getBound(); i++) {
-                factors.put(i, factors.get(i).simplifyAlgebraicExpressions());
-            }
+            ParallelSimplification.applyPassToTerms(factors, TypeSimplify.simplify_algebraic_expressions);
 
             Expression productOfAlgebraicallySimplifiedFactors = SimplifyUtilities.produceProduct(factors);
 
@@ -1,11 +1,13 @@
 package abstractexpressions.expression.classes;
 
+import abstractexpressions.expression.computation.Interval;
 import enums.TypeExpansion;
 import exceptions.EvaluationException;
 import abstractexpressions.expression.basic.SimplifyBinaryOperationUtils;
 import enums.TypeFractionSimplification;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Collections;
 import java.util.Set;
 import lang.translator.Translator;
 
@@ -99,6 +101,7 @@ public class Constant extends Expression {
 
     public void setPrecise(boolean precise) {
         this.precise = precise;
+        clearCachedProperties();
     }
 
     @Override
@@ -107,13 +110,27 @@ public class Constant extends Expression {
     }
 
     @Override
-    public double evaluate() throws EvaluationException {
+    public double evaluate(EvaluationContext context) throws EvaluationException {
         if (Double.isNaN(this.approxValue) || Double.isInfinite(this.approxValue)) {
             throw new EvaluationException(Translator.translateOutputMessage(EB_Constant_CONSTANT_CANNOT_BE_EVALUATED));
         }
         return this.approxValue;
     }
 
+    @Override
+    public double evaluateOrNaN(EvaluationContext context) {
+        if (Double.isInfinite(this.approxValue)) {
+            return Double.NaN;
+        }
+        return this.approxValue;
+    }
+
+    @Override
+    public Interval evaluateInterval(String[] vars, Interval[] ranges) {
+        // approxValue ist nur der gerundete Wert der Konstante.
+        return Interval.around(this.approxValue);
+    }
+
     @Override
     public void addContainedVars(Set<String> vars) {
     }
@@ -123,47 +140,47 @@ public class Constant extends Expression {
     }
     
     @Override
-    public boolean contains(String var) {
-        return false;
+    protected Set<String> computeContainedVarsForContains() {
+        return Collections.emptySet();
     }
 
     @Override
-    public boolean containsApproximates() {
+    protected boolean computeContainsApproximates() {
         return !this.precise;
     }
 
     @Override
-    public boolean containsFunction() {
+    protected boolean computeContainsFunction() {
         return false;
     }
 
     @Override
-    public boolean containsExponentialFunction() {
+    protected boolean computeContainsExponentialFunction() {
         return false;
     }
 
     @Override
-    public boolean containsTrigonometricalFunction() {
+    protected boolean computeContainsTrigonometricalFunction() {
         return false;
     }
 
     @Override
-    public boolean containsIndefiniteIntegral() {
+    protected boolean computeContainsIndefiniteIntegral() {
         return false;
     }
 
     @Override
-    public boolean containsOperator() {
+    protected boolean computeContainsOperator() {
         return false;
     }
 
     @Override
-    public boolean containsOperator(TypeOperator type) {
-        return false;
+    protected Set<TypeOperator> computeContainedOperatorTypes() {
+        return Collections.emptySet();
     }
 
     @Override
-    public boolean containsAlgebraicOperation(){
+    protected boolean computeContainsAlgebraicOperation() {
         return false;
     }
     
@@ -256,6 +273,9 @@ public class Constant extends Expression {
 
     @Override
     public boolean equals(Expression expr) {
+        if (isComparableByReference(expr)) {
+            return this == expr;
+        }
         return expr instanceof Constant && this.precise == ((Constant) expr).getPrecise()
                 && this.value.equals(((Constant) expr).getValue());
     }
@@ -272,13 +292,33 @@ public class Constant extends Expression {
                 && this.value.equals(((Constant) expr).getValue().negate());
     }
 
+    @Override
+    protected int computeEquivalenceHash() {
+        return 31 * this.value.hashCode() + (this.precise ? 1 : 0);
+    }
+
+    @Override
+    protected int computeSignInsensitiveHash() {
+        return 31 * this.value.abs().hashCode() + (this.precise ? 1 : 0);
+    }
+
+    @Override
+    protected int computeStructuralHash() {
+        return getEquivalenceHash();
+    }
+
+    @Override
+    protected Expression internSubexpressions() {
+        return this;
+    }
+
     @Override
     public boolean hasPositiveSign() {
         return this.getValue().compareTo(BigDecimal.ZERO) >= 0;
     }
 
     @Override
-    public int getLength() {
+    protected int computeLength() {
         return 1;
     }
 
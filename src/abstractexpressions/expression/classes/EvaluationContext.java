@@ -0,0 +1,129 @@
+package abstractexpressions.expression.classes;
+
+import java.util.Arrays;
+
+/**
+ * Kontext für die Auswertung von Ausdrücken. Ein Kontext enthält eigene
+ * Variablenbelegungen, welche bei der Auswertung Vorrang vor den globalen
+ * Variablenwerten haben. Nicht belegte Variablen werden wie bisher mit ihren
+ * globalen Werten ausgewertet.<br>
+ * Da sich verschiedene Kontexte keinen Zustand teilen, können Auswertungen mit
+ * verschiedenen Kontexten parallel in mehreren Threads stattfinden. Ein
+ * einzelner Kontext selbst ist dagegen nicht threadsicher und sollte nur von
+ * einem Thread verwendet werden.
+ */
+public class EvaluationContext {
+
+    /**
+     * Standardkontext ohne eigene Belegungen. Belegungen in diesem Kontext
+     * werden direkt in die globalen Variablenwerte geschrieben.
+     */
+    public static final EvaluationContext GLOBAL = new EvaluationContext(true);
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final boolean global;
+    private String[] vars;
+    private double[] values;
+    private int size;
+
+    private EvaluationContext(boolean global) {
+        this.global = global;
+        this.vars = new String[INITIAL_CAPACITY];
+        this.values = new double[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Erzeugt einen leeren Kontext.
+     */
+    public EvaluationContext() {
+        this(false);
+    }
+
+    /**
+     * Erzeugt einen neuen Kontext mit denselben Belegungen wie context.
+     * Spätere Änderungen an einem der beiden Kontexte wirken sich nicht auf
+     * den anderen aus.
+     */
+    public EvaluationContext(EvaluationContext context) {
+        this(false);
+        if (!context.global) {
+            this.vars = Arrays.copyOf(context.vars, Math.max(context.size, INITIAL_CAPACITY));
+            this.values = Arrays.copyOf(context.values, Math.max(context.size, INITIAL_CAPACITY));
+            this.size = context.size;
+        }
+    }
+
+    public boolean isGlobal() {
+        return this.global;
+    }
+
+    /**
+     * Liefert den Index der Belegung von var oder -1, falls var in diesem
+     * Kontext nicht belegt ist.
+     */
+    int indexOf(String var) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.vars[i] == var || this.vars[i].equals(var)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Belegt die Variable var in diesem Kontext mit dem Wert value. Im
+     * globalen Kontext wird stattdessen der globale Wert von var gesetzt.
+     */
+    public void setValue(String var, double value) {
+        if (this.global) {
+            Variable.setValue(var, value);
+            return;
+        }
+        int index = indexOf(var);
+        if (index >= 0) {
+            this.values[index] = value;
+            return;
+        }
+        if (this.size == this.vars.length) {
+            this.vars = Arrays.copyOf(this.vars, 2 * this.size);
+            this.values = Arrays.copyOf(this.values, 2 * this.size);
+        }
+        this.vars[this.size] = var;
+        this.values[this.size] = value;
+        this.size++;
+    }
+
+    /**
+     * Gibt zurück, ob die Variable var in diesem Kontext belegt ist.
+     */
+    public boolean isBound(String var) {
+        return indexOf(var) >= 0;
+    }
+
+    /**
+     * Liefert den Wert der Variablen var in diesem Kontext. Ist var hier nicht
+     * belegt, so wird der globale Wert von var zurückgegeben.
+     */
+    public double getValue(String var) {
+        int index = indexOf(var);
+        if (index >= 0) {
+            return this.values[index];
+        }
+        return Variable.create(var).getValue();
+    }
+
+    double getValueAt(int index) {
+        return this.values[index];
+    }
+
+    /**
+     * Entfernt alle Belegungen aus diesem Kontext.
+     */
+    public void clear() {
+        Arrays.fill(this.vars, 0, this.size, null);
+        this.size = 0;
+    }
+
+}
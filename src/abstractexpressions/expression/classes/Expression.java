@@ -8,15 +8,19 @@ import exceptions.ExpressionException;
 import abstractexpressions.interfaces.AbstractExpression;
 import abstractexpressions.expression.basic.ExpressionCollection;
 import abstractexpressions.expression.basic.SimplifyUtilities;
+import abstractexpressions.expression.computation.CompiledExpression;
+import abstractexpressions.expression.computation.Interval;
 import abstractexpressions.interfaces.IdentifierValidator;
 import abstractexpressions.interfaces.IdentifierValidatorExpression;
 import enums.TypeFractionSimplification;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import lang.translator.Translator;
-import process.Canceller;
+import process.ComputationBudget;
 import util.OperationDataTO;
 import util.OperationParsingUtils;
 
@@ -45,6 +49,47 @@ public abstract class Expression implements AbstractExpression {
     public final static Constant MINUS_ONE = new Constant(-1);
 
     public final static IdentifierValidator VALIDATOR = new IdentifierValidatorExpression();
+
+    // Gecachte Hashwerte (0 = noch nicht berechnet).
+    private int equivalenceHash;
+    private int signInsensitiveHash;
+    private int structuralHash;
+
+    // Tabelle der internierten Ausdrücke und Schalter für die automatische Internierung.
+    private static final ExpressionInterner INTERNER = new ExpressionInterner();
+    private static volatile boolean interningEnabled = false;
+
+    // true, falls dieser Ausdruck der kanonische Vertreter seiner Klasse in INTERNER ist.
+    private volatile boolean interned;
+
+    /*
+     Gecachte Eigenschaften des Ausdrucks. Zu jeder Eigenschaft FLAG_* gehören
+     zwei Bits in cachedFlags: das Bit FLAG_* selbst enthält den Wert, das Bit
+     (FLAG_* << 1) gibt an, ob der Wert bereits berechnet wurde. Beide Bits
+     werden stets aus demselben gelesenen Wert von cachedFlags ausgewertet und
+     gemeinsam mittels compareAndSet() gesetzt.
+     */
+    private static final int FLAG_APPROXIMATES = 1;
+    private static final int FLAG_FUNCTION = 1 << 2;
+    private static final int FLAG_EXPONENTIAL_FUNCTION = 1 << 4;
+    private static final int FLAG_TRIGONOMETRICAL_FUNCTION = 1 << 6;
+    private static final int FLAG_INDEFINITE_INTEGRAL = 1 << 8;
+    private static final int FLAG_OPERATOR = 1 << 10;
+    private static final int FLAG_ALGEBRAIC_OPERATION = 1 << 12;
+
+    private volatile int cachedFlags;
+    private static final AtomicIntegerFieldUpdater<Expression> CACHED_FLAGS_UPDATER
+            = AtomicIntegerFieldUpdater.newUpdater(Expression.class, "cachedFlags");
+    // Gecachte Länge (-1 = noch nicht berechnet).
+    private int length = -1;
+    private volatile Set<String> containedVarsForContains;
+    private volatile Set<String> containedVars;
+    private volatile Set<TypeOperator> containedOperatorTypes;
+
+    protected Expression() {
+        // Für die Schranke ComputationBudget.Limit.CREATED_NODES.
+        ComputationBudget.registerCreatedNode();
+    }
     
     public static TypeLanguage getLanguage() {
         return language;
@@ -54,6 +99,39 @@ public abstract class Expression implements AbstractExpression {
         language = typeLanguage;
     }
 
+    public static boolean isInterningEnabled() {
+        return interningEnabled;
+    }
+
+    /**
+     * Schaltet die automatische Internierung ein bzw. aus. Ist sie
+     * eingeschaltet, so werden die Ergebnisse von build() und simplify()
+     * interniert (vgl. intern()). Standardmäßig ist sie ausgeschaltet.
+     */
+    public static void setInterningEnabled(boolean enabled) {
+        interningEnabled = enabled;
+    }
+
+    public static boolean isParallelSimplificationEnabled() {
+        return ParallelSimplification.isEnabled();
+    }
+
+    /**
+     * Schaltet die parallele Vereinfachung großer Summen und Produkte ein bzw.
+     * aus (vgl. ParallelSimplification). Standardmäßig ist sie ausgeschaltet.
+     */
+    public static void setParallelSimplificationEnabled(boolean enabled) {
+        ParallelSimplification.setEnabled(enabled);
+    }
+
+    /**
+     * Liefert die Anzahl der derzeit internierten (und noch erreichbaren)
+     * Ausdrücke.
+     */
+    public static int getNumberOfInternedExpressions() {
+        return INTERNER.size();
+    }
+
     /**
      * Prüft, ob es sich bei var um einen zulässigen Variablennamen handelt.
      * True wird genau dann zurückgegeben, wenn var ein Kleinbuchstabe ist,
@@ -158,6 +236,29 @@ public abstract class Expression implements AbstractExpression {
         // Leerzeichen beseitigen und alles zu Kleinbuchstaben machen
         formula = formula.replaceAll(" ", "").toLowerCase();
 
+        /*
+         Zunächst wird versucht, die Formel in linearer Zeit mit dem
+         ExpressionParser zu übersetzen. Falls dies nicht gelingt (etwa weil die
+         Formel fehlerhaft ist), wird das (langsamere) rekursive Aufspalten
+         verwendet, welches auch die entsprechenden Fehlermeldungen liefert.
+         */
+        Expression expr = ExpressionParser.parse(formula, vars, validator);
+        if (expr == null) {
+            expr = buildBySplitting(formula, vars, validator);
+        }
+        return internIfEnabled(expr);
+
+    }
+
+    /**
+     * Erstellt eine Expression aus einem String, indem die Formel rekursiv an
+     * der (von rechts gesehen) ersten Stelle mit einem Rechenzeichen der
+     * niedrigsten Priorität aufgespalten wird.
+     *
+     * @throws ExpressionException
+     */
+    private static Expression buildBySplitting(String formula, Set<String> vars, IdentifierValidator validator) throws ExpressionException {
+
         // Prioritäten: + = 0, - = 1, * = 2, / = 3, ^ = 4, Zahl, Var, Funktion, Operator = 5.
         int priority = 5;
         int breakpoint = -1;
@@ -378,40 +479,52 @@ public abstract class Expression implements AbstractExpression {
             }
         }
 
-        // Falls der Ausdruck ein Operator ist.
+        // Falls der Ausdruck ein Operator oder eine selbstdefinierte Funktion ist.
         if (priority == 5) {
-            OperationDataTO opData = OperationParsingUtils.getOperationData(formula);
-            String opName = opData.getOperationName();
-            String[] params = opData.getOperationArguments();
-            for (TypeOperator type : TypeOperator.values()) {
-                if (opName.equals(type.getOperatorName())) {
-                    return Operator.getOperator(type.getOperatorName(), params, vars);
-                }
+            Expression expr = buildOperatorOrSelfDefinedFunction(formula, vars, validator);
+            if (expr != null) {
+                return expr;
+            }
+        }
+
+        throw new ExpressionException(Translator.translateOutputMessage(EB_Expression_FORMULA_CANNOT_BE_INTERPRETED, formula));
+
+    }
+
+    /**
+     * Erstellt aus formula einen Operator oder eine vom Benutzer
+     * selbstdefinierte Funktion. Handelt es sich bei formula um keines von
+     * beiden, so wird null zurückgegeben.
+     *
+     * @throws ExpressionException
+     */
+    static Expression buildOperatorOrSelfDefinedFunction(String formula, Set<String> vars, IdentifierValidator validator) throws ExpressionException {
+
+        // Falls der Ausdruck ein Operator ist.
+        OperationDataTO opData = OperationParsingUtils.getOperationData(formula);
+        String opName = opData.getOperationName();
+        String[] params = opData.getOperationArguments();
+        for (TypeOperator type : TypeOperator.values()) {
+            if (opName.equals(type.getOperatorName())) {
+                return Operator.getOperator(type.getOperatorName(), params, vars);
             }
         }
 
         // Falls der Ausdruck eine vom Benutzer selbstdefinierte Funktion ist.
-        if (priority == 5) {
-            OperationDataTO functionData = OperationParsingUtils.getOperationData(formula);
-            String function = functionData.getOperationName();
-            String[] functionArguments = functionData.getOperationArguments();
-
-            if (SelfDefinedFunction.getInnerExpressionsForSelfDefinedFunctions().containsKey(function)) {
-                if (SelfDefinedFunction.getArgumentsForSelfDefinedFunctions().get(function).length == functionArguments.length) {
-                    Expression[] exprsInArguments = new Expression[functionArguments.length];
-                    for (int i = 0; i < functionArguments.length; i++) {
-                        exprsInArguments[i] = Expression.build(functionArguments[i], vars, validator);
-                    }
-                    return new SelfDefinedFunction(function, SelfDefinedFunction.getArgumentsForSelfDefinedFunctions().get(function),
-                            SelfDefinedFunction.getAbstractExpressionsForSelfDefinedFunctions().get(function), exprsInArguments);
-                } else {
-                    throw new ExpressionException(Translator.translateOutputMessage(EB_Expression_WRONG_NUMBER_OF_PARAMETERS_IN_SELF_DEFINED_FUNCTION, function, String.valueOf(SelfDefinedFunction.getArgumentsForSelfDefinedFunctions().get(function).length)));
+        if (SelfDefinedFunction.getInnerExpressionsForSelfDefinedFunctions().containsKey(opName)) {
+            if (SelfDefinedFunction.getArgumentsForSelfDefinedFunctions().get(opName).length == params.length) {
+                Expression[] exprsInArguments = new Expression[params.length];
+                for (int i = 0; i < params.length; i++) {
+                    exprsInArguments[i] = Expression.build(params[i], vars, validator);
                 }
+                return new SelfDefinedFunction(opName, SelfDefinedFunction.getArgumentsForSelfDefinedFunctions().get(opName),
+                        SelfDefinedFunction.getAbstractExpressionsForSelfDefinedFunctions().get(opName), exprsInArguments);
+            } else {
+                throw new ExpressionException(Translator.translateOutputMessage(EB_Expression_WRONG_NUMBER_OF_PARAMETERS_IN_SELF_DEFINED_FUNCTION, opName, String.valueOf(SelfDefinedFunction.getArgumentsForSelfDefinedFunctions().get(opName).length)));
             }
-
         }
 
-        throw new ExpressionException(Translator.translateOutputMessage(EB_Expression_FORMULA_CANNOT_BE_INTERPRETED, formula));
+        return null;
 
     }
 
@@ -442,11 +555,71 @@ public abstract class Expression implements AbstractExpression {
 
     /**
      * Liefert den Wert des gegebenen Ausdrucks unter Einsetzung aller
-     * Variablenwerte.
+     * (globalen) Variablenwerte.
      *
      * @throws EvaluationException
      */
-    public abstract double evaluate() throws EvaluationException;
+    public double evaluate() throws EvaluationException {
+        return evaluate(EvaluationContext.GLOBAL);
+    }
+
+    /**
+     * Liefert den Wert des gegebenen Ausdrucks unter Einsetzung aller
+     * Variablenwerte. Variablen, welche in context belegt sind, werden mit den
+     * dortigen Werten ausgewertet, alle übrigen mit ihren globalen Werten. Die
+     * globalen Variablenwerte werden dabei nicht verändert.
+     *
+     * @throws EvaluationException
+     */
+    public abstract double evaluate(EvaluationContext context) throws EvaluationException;
+
+    /**
+     * Liefert den Wert des gegebenen Ausdrucks unter Einsetzung aller
+     * (globalen) Variablenwerte oder NaN, falls der Ausdruck nicht auswertbar
+     * ist.
+     */
+    public double evaluateOrNaN() {
+        return evaluateOrNaN(EvaluationContext.GLOBAL);
+    }
+
+    /**
+     * Liefert denselben Wert wie evaluate(context), falls dieser definiert ist,
+     * und NaN sonst. Im Gegensatz zu evaluate(context) werden undefinierte
+     * Werte ohne Exceptions durch den Ausdrucksbaum durchgereicht. Dies ist
+     * beim numerischen Abtasten von Ausdrücken mit vielen undefinierten
+     * Stellen (etwa ln(x) auf [-1, 1]) deutlich schneller.
+     */
+    public double evaluateOrNaN(EvaluationContext context) {
+        try {
+            return evaluate(context);
+        } catch (EvaluationException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Liefert ein Intervall, welches garantiert alle Werte des gegebenen
+     * Ausdrucks enthält, wenn die Variablen vars[i] unabhängig voneinander
+     * alle Werte aus ranges[i] durchlaufen (Intervallarithmetik). Alle übrigen
+     * Variablen werden mit ihren globalen Werten ausgewertet. Das Ergebnis ist
+     * nur dann als definiert markiert, wenn der Ausdruck auf dem gesamten
+     * Bereich definiert ist. Für Ausdrücke ohne Intervallauswertung (etwa
+     * Operatoren) wird Interval.ENTIRE zurückgegeben.
+     */
+    public Interval evaluateInterval(String[] vars, Interval[] ranges) {
+        return Interval.ENTIRE;
+    }
+
+    /**
+     * Übersetzt den gegebenen Ausdruck in ein flaches Programm, welches in den
+     * Variablen vars (in dieser Reihenfolge) ohne Zugriff auf die globalen
+     * Variablenwerte und ohne Speicherallokation ausgewertet werden kann. Dies
+     * lohnt sich, wenn derselbe Ausdruck an sehr vielen Stellen ausgewertet
+     * werden muss (z.B. beim Zeichnen von Graphen).
+     */
+    public CompiledExpression compile(String... vars) {
+        return CompiledExpression.compile(this, vars);
+    }
 
     /**
      * Fügt alle Variablen, die in dem gegebenen Ausdruck vorkommen, zum HashSet
@@ -457,13 +630,19 @@ public abstract class Expression implements AbstractExpression {
 
     /**
      * Gibt ein HashSet mit allen Variablen, die in dem gegebenen Ausdruck
-     * vorkommen, zurück.
+     * vorkommen, zurück. Die Menge wird nur beim ersten Aufruf berechnet, es
+     * wird jeweils eine Kopie zurückgegeben.
      */
     @Override
     public Set<String> getContainedVars() {
-        Set<String> vars = new HashSet<>();
-        addContainedVars(vars);
-        return vars;
+        Set<String> vars = this.containedVars;
+        if (vars == null) {
+            vars = new HashSet<>();
+            addContainedVars(vars);
+            vars = Collections.unmodifiableSet(vars);
+            this.containedVars = vars;
+        }
+        return new HashSet<>(vars);
     }
 
     /**
@@ -488,7 +667,28 @@ public abstract class Expression implements AbstractExpression {
      * Gibt zurück, ob der gegebene Ausdruck die Variable var enthält.
      */
     @Override
-    public abstract boolean contains(String var);
+    public final boolean contains(String var) {
+        return getContainedVarsForContains().contains(var);
+    }
+
+    /**
+     * Liefert die (unveränderliche) Menge aller Variablen var, für welche
+     * contains(var) == true gilt. Die Menge wird nur beim ersten Aufruf
+     * berechnet.
+     */
+    protected final Set<String> getContainedVarsForContains() {
+        Set<String> vars = this.containedVarsForContains;
+        if (vars == null) {
+            vars = computeContainedVarsForContains();
+            this.containedVarsForContains = vars;
+        }
+        return vars;
+    }
+
+    /**
+     * Berechnet die Menge für getContainedVarsForContains().
+     */
+    protected abstract Set<String> computeContainedVarsForContains();
 
     /**
      * Gibt zurück, ob der gegebene Ausdruck mindestens eine der Variable aus
@@ -506,45 +706,195 @@ public abstract class Expression implements AbstractExpression {
     /**
      * Gibt zurück, ob der gegebene Ausdruck nichtexakte Konstanten enthält.
      */
-    public abstract boolean containsApproximates();
+    public final boolean containsApproximates() {
+        int flags = this.cachedFlags;
+        if (!isFlagCached(flags, FLAG_APPROXIMATES)) {
+            return cacheFlag(FLAG_APPROXIMATES, computeContainsApproximates());
+        }
+        return hasFlag(flags, FLAG_APPROXIMATES);
+    }
 
     /**
      * Gibt zurück, ob der gegebene Ausdruck Funktionen enthält.
      */
-    public abstract boolean containsFunction();
+    public final boolean containsFunction() {
+        int flags = this.cachedFlags;
+        if (!isFlagCached(flags, FLAG_FUNCTION)) {
+            return cacheFlag(FLAG_FUNCTION, computeContainsFunction());
+        }
+        return hasFlag(flags, FLAG_FUNCTION);
+    }
 
     /**
      * Gibt zurück, ob der gegebene Ausdruck Exponentialfunktionen enthält.
      */
-    public abstract boolean containsExponentialFunction();
+    public final boolean containsExponentialFunction() {
+        int flags = this.cachedFlags;
+        if (!isFlagCached(flags, FLAG_EXPONENTIAL_FUNCTION)) {
+            return cacheFlag(FLAG_EXPONENTIAL_FUNCTION, computeContainsExponentialFunction());
+        }
+        return hasFlag(flags, FLAG_EXPONENTIAL_FUNCTION);
+    }
 
     /**
      * Gibt zurück, ob der gegebene Ausdruck trigonometrische Funktionen
      * enthält.
      */
-    public abstract boolean containsTrigonometricalFunction();
+    public final boolean containsTrigonometricalFunction() {
+        int flags = this.cachedFlags;
+        if (!isFlagCached(flags, FLAG_TRIGONOMETRICAL_FUNCTION)) {
+            return cacheFlag(FLAG_TRIGONOMETRICAL_FUNCTION, computeContainsTrigonometricalFunction());
+        }
+        return hasFlag(flags, FLAG_TRIGONOMETRICAL_FUNCTION);
+    }
 
     /**
      * Gibt zurück, ob der gegebene Ausdruck unbestimmte Integrale enthält.
      */
-    public abstract boolean containsIndefiniteIntegral();
+    public final boolean containsIndefiniteIntegral() {
+        int flags = this.cachedFlags;
+        if (!isFlagCached(flags, FLAG_INDEFINITE_INTEGRAL)) {
+            return cacheFlag(FLAG_INDEFINITE_INTEGRAL, computeContainsIndefiniteIntegral());
+        }
+        return hasFlag(flags, FLAG_INDEFINITE_INTEGRAL);
+    }
 
     /**
      * Gibt zurück, ob der gegebene Ausdruck Operatoren enthält.
      */
-    public abstract boolean containsOperator();
+    public final boolean containsOperator() {
+        int flags = this.cachedFlags;
+        if (!isFlagCached(flags, FLAG_OPERATOR)) {
+            return cacheFlag(FLAG_OPERATOR, computeContainsOperator());
+        }
+        return hasFlag(flags, FLAG_OPERATOR);
+    }
 
     /**
      * Gibt zurück, ob der gegebene Ausdruck einen Operator vom Type type
      * enthält.
      */
-    public abstract boolean containsOperator(TypeOperator type);
+    public final boolean containsOperator(TypeOperator type) {
+        return containsOperator() && getContainedOperatorTypes().contains(type);
+    }
 
     /**
      * Gibt zurück, ob der gegebene Ausdruck eine algebraische Operation enthält
      * (d.h. Exponenten von der Form p/q mit ganzen p und q und |q| &#8805; 2).
      */
-    public abstract boolean containsAlgebraicOperation();
+    public final boolean containsAlgebraicOperation() {
+        int flags = this.cachedFlags;
+        if (!isFlagCached(flags, FLAG_ALGEBRAIC_OPERATION)) {
+            return cacheFlag(FLAG_ALGEBRAIC_OPERATION, computeContainsAlgebraicOperation());
+        }
+        return hasFlag(flags, FLAG_ALGEBRAIC_OPERATION);
+    }
+
+    /**
+     * Berechnet den Wert für containsApproximates().
+     */
+    protected abstract boolean computeContainsApproximates();
+
+    /**
+     * Berechnet den Wert für containsFunction().
+     */
+    protected abstract boolean computeContainsFunction();
+
+    /**
+     * Berechnet den Wert für containsExponentialFunction().
+     */
+    protected abstract boolean computeContainsExponentialFunction();
+
+    /**
+     * Berechnet den Wert für containsTrigonometricalFunction().
+     */
+    protected abstract boolean computeContainsTrigonometricalFunction();
+
+    /**
+     * Berechnet den Wert für containsIndefiniteIntegral().
+     */
+    protected abstract boolean computeContainsIndefiniteIntegral();
+
+    /**
+     * Berechnet den Wert für containsOperator().
+     */
+    protected abstract boolean computeContainsOperator();
+
+    /**
+     * Berechnet den Wert für containsAlgebraicOperation().
+     */
+    protected abstract boolean computeContainsAlgebraicOperation();
+
+    /**
+     * Liefert die (unveränderliche) Menge aller Operatortypen type, für welche
+     * containsOperator(type) == true gilt. Die Menge wird nur beim ersten
+     * Aufruf berechnet.
+     */
+    protected final Set<TypeOperator> getContainedOperatorTypes() {
+        Set<TypeOperator> types = this.containedOperatorTypes;
+        if (types == null) {
+            types = computeContainedOperatorTypes();
+            this.containedOperatorTypes = types;
+        }
+        return types;
+    }
+
+    /**
+     * Berechnet die Menge für getContainedOperatorTypes().
+     */
+    protected abstract Set<TypeOperator> computeContainedOperatorTypes();
+
+    private static boolean isFlagCached(int flags, int flag) {
+        return (flags & (flag << 1)) != 0;
+    }
+
+    private static boolean hasFlag(int flags, int flag) {
+        return (flags & flag) != 0;
+    }
+
+    /**
+     * Legt den Wert value der Eigenschaft flag im Cache ab und gibt ihn zurück.
+     * Das Setzen erfolgt atomar, sodass bei gleichzeitigem Zugriff mehrerer
+     * Threads keine Einträge anderer Eigenschaften verloren gehen.
+     */
+    private boolean cacheFlag(int flag, boolean value) {
+        int bits = (flag << 1) | (value ? flag : 0);
+        int flags;
+        do {
+            flags = this.cachedFlags;
+        } while (!CACHED_FLAGS_UPDATER.compareAndSet(this, flags, flags | bits));
+        return value;
+    }
+
+    /**
+     * Verwirft alle gecachten Eigenschaften dieses Ausdrucks. Muss aufgerufen
+     * werden, wenn der Ausdruck nachträglich (etwa mittels setPrecise())
+     * verändert wird.
+     */
+    final void clearCachedProperties() {
+        this.cachedFlags = 0;
+        this.length = -1;
+        this.containedVarsForContains = null;
+        this.containedVars = null;
+        this.containedOperatorTypes = null;
+    }
+
+    /**
+     * Liefert die Vereinigung der unveränderlichen Mengen first und second.
+     * Ist eine der beiden Mengen in der anderen enthalten, so wird keine neue
+     * Menge erzeugt, sondern die größere zurückgegeben.
+     */
+    protected static <T> Set<T> union(Set<T> first, Set<T> second) {
+        if (first.containsAll(second)) {
+            return first;
+        }
+        if (second.containsAll(first)) {
+            return second;
+        }
+        Set<T> result = new HashSet<>(first);
+        result.addAll(second);
+        return Collections.unmodifiableSet(result);
+    }
 
     /**
      * Setzt alle im gegebenen Ausdruck vorkommenden Konstanten auf
@@ -820,6 +1170,170 @@ public abstract class Expression implements AbstractExpression {
      */
     public abstract boolean antiEquivalent(Expression expr);
 
+    /**
+     * Liefert einen strukturellen Hashwert, welcher mit equivalent()
+     * verträglich ist: Sind zwei Ausdrücke äquivalent, so stimmen ihre
+     * Hashwerte überein (die Umkehrung gilt natürlich nicht). Insbesondere
+     * hängt der Hashwert von Summen und Produkten nicht von der Reihenfolge der
+     * Summanden bzw. Faktoren ab. Der Wert wird nur beim ersten Aufruf
+     * berechnet.
+     */
+    public final int getEquivalenceHash() {
+        int hash = this.equivalenceHash;
+        if (hash == 0) {
+            hash = computeEquivalenceHash();
+            if (hash == 0) {
+                hash = 1;
+            }
+            this.equivalenceHash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Liefert einen strukturellen Hashwert, welcher sowohl mit equivalent() als
+     * auch mit antiEquivalent() verträglich ist, also nicht vom Vorzeichen des
+     * Ausdrucks abhängt. Der Wert wird nur beim ersten Aufruf berechnet.
+     */
+    public final int getSignInsensitiveHash() {
+        int hash = this.signInsensitiveHash;
+        if (hash == 0) {
+            hash = computeSignInsensitiveHash();
+            if (hash == 0) {
+                hash = 1;
+            }
+            this.signInsensitiveHash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Berechnet den Hashwert für getEquivalenceHash().
+     */
+    protected abstract int computeEquivalenceHash();
+
+    /**
+     * Berechnet den Hashwert für getSignInsensitiveHash().
+     */
+    protected abstract int computeSignInsensitiveHash();
+
+    /**
+     * Liefert einen Hashwert, welcher mit equals() verträglich ist: Stimmen
+     * zwei Ausdrücke überein, so auch ihre Hashwerte. Im Gegensatz zu
+     * getEquivalenceHash() werden hier Summanden und Faktoren in ihrer
+     * Reihenfolge berücksichtigt. Der Wert wird nur beim ersten Aufruf
+     * berechnet.
+     */
+    public final int getStructuralHash() {
+        int hash = this.structuralHash;
+        if (hash == 0) {
+            hash = computeStructuralHash();
+            if (hash == 0) {
+                hash = 1;
+            }
+            this.structuralHash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Berechnet den Hashwert für getStructuralHash().
+     */
+    protected abstract int computeStructuralHash();
+
+    /**
+     * Liefert den kanonischen Vertreter des gegebenen Ausdrucks: Zwei
+     * internierte Ausdrücke, welche im Sinne von equals() übereinstimmen, sind
+     * dasselbe Objekt. Dabei werden auch alle Teilausdrücke interniert, so dass
+     * gleiche Teilbäume (etwa in ausmultiplizierten Polynomen) nur einmal im
+     * Speicher liegen. Für internierte Ausdrücke reduziert sich equals() auf
+     * einen Referenzvergleich.<br>
+     * Die Tabelle hält ihre Einträge nur schwach, nicht mehr verwendete
+     * Ausdrücke werden also weiterhin vom Garbage Collector entfernt.<br>
+     * BEMERKUNG: Internierte Ausdrücke werden von mehreren Stellen gemeinsam
+     * verwendet und dürfen daher nicht mehr (etwa mittels setPrecise())
+     * verändert werden.
+     */
+    public Expression intern() {
+        if (this.interned) {
+            return this;
+        }
+        Expression expr = internSubexpressions();
+        if (!expr.canBeInterned()) {
+            return expr;
+        }
+        return INTERNER.intern(expr);
+    }
+
+    /**
+     * Liefert einen zu diesem Ausdruck gleichen Ausdruck, dessen direkte
+     * Teilausdrücke (soweit möglich) interniert sind. Sind sie es bereits, so
+     * wird this zurückgegeben.
+     */
+    protected abstract Expression internSubexpressions();
+
+    /**
+     * Gibt zurück, ob dieser Ausdruck in die Tabelle der internierten Ausdrücke
+     * aufgenommen werden darf. Hierfür müssen insbesondere alle direkten
+     * Teilausdrücke kanonisch sein (vgl. isCanonical()).
+     */
+    protected boolean canBeInterned() {
+        return true;
+    }
+
+    /**
+     * Gibt zurück, ob expr als Teilausdruck eines internierten Ausdrucks
+     * verwendet werden darf. Variablen sind bereits über Variable.create()
+     * eindeutig und werden daher nicht interniert.
+     */
+    protected static boolean isCanonical(Expression expr) {
+        return expr.interned || expr instanceof Variable;
+    }
+
+    /**
+     * Gibt zurück, ob dieser Ausdruck interniert ist.
+     */
+    public final boolean isInterned() {
+        return this.interned;
+    }
+
+    final void setInterned() {
+        this.interned = true;
+    }
+
+    /**
+     * Gibt zurück, ob sich equals() für this und expr bereits durch einen
+     * Referenzvergleich entscheiden lässt. Dies ist der Fall, wenn beide
+     * Ausdrücke dasselbe Objekt oder beide interniert sind.
+     */
+    protected final boolean isComparableByReference(Expression expr) {
+        return this == expr || this.interned && expr != null && expr.interned;
+    }
+
+    /**
+     * Interniert expr, falls die automatische Internierung eingeschaltet ist.
+     */
+    private static Expression internIfEnabled(Expression expr) {
+        if (interningEnabled) {
+            return expr.intern();
+        }
+        return expr;
+    }
+
+    /**
+     * Durchmischt die Bits von hash. Wird verwendet, damit sich bei der
+     * (kommutativen) Addition der Hashwerte von Summanden bzw. Faktoren keine
+     * systematischen Auslöschungen ergeben.
+     */
+    protected static int mixHash(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
     /**
      * Liefert true, wenn der Ausdruck this einen nichtnegativen Koeffizienten
      * besitzt, falls man this als Produkt auffasst.<br>
@@ -832,9 +1346,22 @@ public abstract class Expression implements AbstractExpression {
     public abstract boolean hasPositiveSign();
 
     /**
-     * Ermittelt ein Maß für die "Länge" des gegebenen Ausdrucks.
+     * Ermittelt ein Maß für die "Länge" des gegebenen Ausdrucks. Der Wert wird
+     * nur beim ersten Aufruf berechnet.
+     */
+    public final int getLength() {
+        int result = this.length;
+        if (result < 0) {
+            result = computeLength();
+            this.length = result;
+        }
+        return result;
+    }
+
+    /**
+     * Berechnet den Wert für getLength().
      */
-    public abstract int getLength();
+    protected abstract int computeLength();
 
     /**
      * Ermittelt die maximale Anzahl von Summanden, die im gegebenen Ausdruck
@@ -1859,46 +2386,7 @@ public abstract class Expression implements AbstractExpression {
     public Expression simplify() throws EvaluationException {
 
         try {
-            Expression expr, exprSimplified = this;
-            do {
-                expr = exprSimplified.copy();
-                exprSimplified = exprSimplified.orderDifferencesAndQuotients();
-                Canceller.interruptComputationIfNeeded();
-                exprSimplified = exprSimplified.orderSumsAndProducts();
-//                System.out.println(exprSimplified.writeExpression());
-                Canceller.interruptComputationIfNeeded();
-                exprSimplified = exprSimplified.simplifyBasic();
-                Canceller.interruptComputationIfNeeded();
-                exprSimplified = exprSimplified.simplifyByInsertingDefinedVars();
-                Canceller.interruptComputationIfNeeded();
-                exprSimplified = exprSimplified.simplifyPullApartPowers();
-                Canceller.interruptComputationIfNeeded();
-                exprSimplified = exprSimplified.simplifyCollectProducts();
-                Canceller.interruptComputationIfNeeded();
-                exprSimplified = exprSimplified.simplifyExpandRationalFactors();
-                Canceller.interruptComputationIfNeeded();
-                exprSimplified = exprSimplified.simplifyFactorize();
-                Canceller.interruptComputationIfNeeded();
-                exprSimplified = exprSimplified.simplifyBringExpressionToCommonDenominator(TypeFractionSimplification.IF_MULTIPLE_FRACTION_OCCURS);
-                Canceller.interruptComputationIfNeeded();
-                exprSimplified = exprSimplified.simplifyReduceQuotients();
-                Canceller.interruptComputationIfNeeded();
-                exprSimplified = exprSimplified.simplifyReduceDifferencesAndQuotientsAdvanced();
-                Canceller.interruptComputationIfNeeded();
-                if (exprSimplified.containsAlgebraicOperation()) {
-                    exprSimplified = exprSimplified.simplifyAlgebraicExpressions();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                exprSimplified = exprSimplified.simplifyExpandAndCollectEquivalentsIfShorter();
-                Canceller.interruptComputationIfNeeded();
-                if (exprSimplified.containsFunction() || exprSimplified.containsOperator(TypeOperator.fac)) {
-                    exprSimplified = exprSimplified.simplifyFunctionalRelations();
-                    Canceller.interruptComputationIfNeeded();
-                    exprSimplified = exprSimplified.simplifyCollectLogarithms();
-                    Canceller.interruptComputationIfNeeded();
-                }
-            } while (!expr.equals(exprSimplified));
-            return exprSimplified;
+            return SimplifyPassScheduler.getDefaultScheduler().simplify(this);
         } catch (java.lang.StackOverflowError e) {
             throw new EvaluationException(Translator.translateOutputMessage(EB_Expression_STACK_OVERFLOW));
         }
@@ -1914,89 +2402,7 @@ public abstract class Expression implements AbstractExpression {
     public Expression simplify(TypeSimplify... simplifyTypes) throws EvaluationException {
 
         try {
-            Expression expr, exprSimplified = this;
-            do {
-
-                expr = exprSimplified.copy();
-                for (TypeSimplify simplifyType : simplifyTypes) {
-                    if (simplifyType.equals(TypeSimplify.order_difference_and_division)) {
-                        exprSimplified = exprSimplified.orderDifferencesAndQuotients();
-                        Canceller.interruptComputationIfNeeded();
-                    } else if (simplifyType.equals(TypeSimplify.order_sums_and_products)) {
-                        exprSimplified = exprSimplified.orderSumsAndProducts();
-                        Canceller.interruptComputationIfNeeded();
-                    } else if (simplifyType.equals(TypeSimplify.simplify_basic)) {
-                        exprSimplified = exprSimplified.simplifyBasic();
-                        Canceller.interruptComputationIfNeeded();
-                    } else if (simplifyType.equals(TypeSimplify.simplify_by_inserting_defined_vars)) {
-                        exprSimplified = exprSimplified.simplifyByInsertingDefinedVars();
-                        Canceller.interruptComputationIfNeeded();
-                    } else if (simplifyType.equals(TypeSimplify.simplify_expand_short)) {
-                        exprSimplified = exprSimplified.simplifyExpandShort();
-                        Canceller.interruptComputationIfNeeded();
-                    } else if (simplifyType.equals(TypeSimplify.simplify_expand_moderate)) {
-                        exprSimplified = exprSimplified.simplifyExpandModerate();
-                        Canceller.interruptComputationIfNeeded();
-                    } else if (simplifyType.equals(TypeSimplify.simplify_expand_powerful)) {
-                        exprSimplified = exprSimplified.simplifyExpandPowerful();
-                        Canceller.interruptComputationIfNeeded();
-                    } else if (simplifyType.equals(TypeSimplify.simplify_expand_rational_factors)) {
-                        exprSimplified = exprSimplified.simplifyExpandRationalFactors();
-                        Canceller.interruptComputationIfNeeded();
-                    } else if (simplifyType.equals(TypeSimplify.simplify_pull_apart_powers)) {
-                        exprSimplified = exprSimplified.simplifyPullApartPowers();
-                        Canceller.interruptComputationIfNeeded();
-                    } else if (simplifyType.equals(TypeSimplify.simplify_multiply_exponents)) {
-                        exprSimplified = exprSimplified.simplifyMultiplyExponents();
-                        Canceller.interruptComputationIfNeeded();
-                    } else if (simplifyType.equals(TypeSimplify.simplify_collect_products)) {
-                        exprSimplified = exprSimplified.simplifyCollectProducts();
-                        Canceller.interruptComputationIfNeeded();
-                    } else if (simplifyType.equals(TypeSimplify.simplify_factorize_all_but_rationals)) {
-                        exprSimplified = exprSimplified.simplifyFactorizeAllButRationals();
-                        Canceller.interruptComputationIfNeeded();
-                    } else if (simplifyType.equals(TypeSimplify.simplify_factorize)) {
-                        exprSimplified = exprSimplified.simplifyFactorize();
-                        Canceller.interruptComputationIfNeeded();
-                    } else if (simplifyType.equals(TypeSimplify.simplify_bring_expression_to_common_denominator)) {
-                        exprSimplified = exprSimplified.simplifyBringExpressionToCommonDenominator(TypeFractionSimplification.IF_MULTIPLE_FRACTION_OCCURS);
-                        Canceller.interruptComputationIfNeeded();
-                    } else if (simplifyType.equals(TypeSimplify.simplify_reduce_quotients)) {
-                        exprSimplified = exprSimplified.simplifyReduceQuotients();
-                        Canceller.interruptComputationIfNeeded();
-                    } else if (simplifyType.equals(TypeSimplify.simplify_reduce_differences_and_quotients_advanced)) {
-                        exprSimplified = exprSimplified.simplifyReduceDifferencesAndQuotientsAdvanced();
-                        Canceller.interruptComputationIfNeeded();
-                    } else if (exprSimplified.containsAlgebraicOperation()) {
-                        if (simplifyType.equals(TypeSimplify.simplify_algebraic_expressions)) {
-                            exprSimplified = exprSimplified.simplifyAlgebraicExpressions();
-                            Canceller.interruptComputationIfNeeded();
-                        }
-                    } else if (simplifyType.equals(TypeSimplify.simplify_expand_and_collect_equivalents_if_shorter)) {
-                        exprSimplified = exprSimplified.simplifyExpandAndCollectEquivalentsIfShorter();
-                        Canceller.interruptComputationIfNeeded();
-                    } else if (exprSimplified.containsFunction() || exprSimplified.containsOperator(TypeOperator.fac)) {
-                        if (simplifyType.equals(TypeSimplify.simplify_functional_relations)) {
-                            exprSimplified = exprSimplified.simplifyFunctionalRelations();
-                            Canceller.interruptComputationIfNeeded();
-                        } else if (simplifyType.equals(TypeSimplify.simplify_replace_exponential_functions_by_definitions)) {
-                            exprSimplified = exprSimplified.simplifyReplaceExponentialFunctionsByDefinitions();
-                            Canceller.interruptComputationIfNeeded();
-                        } else if (simplifyType.equals(TypeSimplify.simplify_replace_trigonometrical_functions_by_definitions)) {
-                            exprSimplified = exprSimplified.simplifyReplaceTrigonometricalFunctionsByDefinitions();
-                            Canceller.interruptComputationIfNeeded();
-                        } else if (simplifyType.equals(TypeSimplify.simplify_collect_logarithms)) {
-                            exprSimplified = exprSimplified.simplifyCollectLogarithms();
-                            Canceller.interruptComputationIfNeeded();
-                        } else if (simplifyType.equals(TypeSimplify.simplify_expand_logarithms)) {
-                            exprSimplified = exprSimplified.simplifyExpandLogarithms();
-                            Canceller.interruptComputationIfNeeded();
-                        }
-                    }
-                }
-
-            } while (!expr.equals(exprSimplified));
-            return exprSimplified;
+            return SimplifyPassScheduler.getScheduler(simplifyTypes).simplify(this);
         } catch (java.lang.StackOverflowError e) {
             throw new EvaluationException(Translator.translateOutputMessage(EB_Expression_STACK_OVERFLOW));
         }
@@ -2017,119 +2423,7 @@ public abstract class Expression implements AbstractExpression {
     public Expression simplify(Set<TypeSimplify> simplifyTypes, String var) throws EvaluationException {
 
         try {
-            Expression expr, exprSimplified = this;
-            do {
-                expr = exprSimplified.copy();
-                if (simplifyTypes.contains(TypeSimplify.order_difference_and_division)) {
-                    exprSimplified = exprSimplified.orderDifferencesAndQuotients();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.order_sums_and_products)) {
-                    exprSimplified = exprSimplified.orderSumsAndProducts();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_basic)) {
-                    exprSimplified = exprSimplified.simplifyBasic();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_by_inserting_defined_vars)) {
-                    exprSimplified = exprSimplified.simplifyByInsertingDefinedVars();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_expand_short)) {
-                    exprSimplified = exprSimplified.simplifyExpandShort();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_expand_moderate)) {
-                    exprSimplified = exprSimplified.simplifyExpandModerate();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_expand_powerful)) {
-                    exprSimplified = exprSimplified.simplifyExpandPowerful();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_expand_rational_factors)) {
-                    exprSimplified = exprSimplified.simplifyExpandRationalFactors();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_pull_apart_powers)) {
-                    exprSimplified = exprSimplified.simplifyPullApartPowers();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_multiply_exponents)) {
-                    exprSimplified = exprSimplified.simplifyMultiplyExponents();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_collect_products)) {
-                    exprSimplified = exprSimplified.simplifyCollectProducts();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_factorize_all_but_rationals)) {
-                    exprSimplified = exprSimplified.simplifyFactorizeAllButRationals();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_factorize)) {
-                    exprSimplified = exprSimplified.simplifyFactorize();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_bring_expression_to_common_denominator)) {
-                    exprSimplified = exprSimplified.simplifyBringExpressionToCommonDenominator(TypeFractionSimplification.IF_MULTIPLE_FRACTION_OCCURS);
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_reduce_quotients)) {
-                    exprSimplified = exprSimplified.simplifyReduceQuotients();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_reduce_differences_and_quotients_advanced)) {
-                    exprSimplified = exprSimplified.simplifyReduceDifferencesAndQuotientsAdvanced();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (exprSimplified.containsAlgebraicOperation()) {
-                    if (simplifyTypes.contains(TypeSimplify.simplify_algebraic_expressions)) {
-                        exprSimplified = exprSimplified.simplifyAlgebraicExpressions();
-                        Canceller.interruptComputationIfNeeded();
-                    }
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_expand_and_collect_equivalents_if_shorter)) {
-                    exprSimplified = exprSimplified.simplifyExpandAndCollectEquivalentsIfShorter();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (exprSimplified.containsFunction() || exprSimplified.containsOperator(TypeOperator.fac)) {
-                    if (simplifyTypes.contains(TypeSimplify.simplify_functional_relations)) {
-                        exprSimplified = exprSimplified.simplifyFunctionalRelations();
-                        Canceller.interruptComputationIfNeeded();
-                    }
-                    if (simplifyTypes.contains(TypeSimplify.simplify_replace_exponential_functions_by_definitions)) {
-                        exprSimplified = exprSimplified.simplifyReplaceExponentialFunctionsByDefinitions();
-                        Canceller.interruptComputationIfNeeded();
-                    }
-                    if (simplifyTypes.contains(TypeSimplify.simplify_replace_exponential_functions_with_respect_to_variable_by_definitions)) {
-                        exprSimplified = exprSimplified.simplifyReplaceExponentialFunctionsWithRespectToVariableByDefinitions(var);
-                        Canceller.interruptComputationIfNeeded();
-                    }
-                    if (simplifyTypes.contains(TypeSimplify.simplify_replace_trigonometrical_functions_by_definitions)) {
-                        exprSimplified = exprSimplified.simplifyReplaceTrigonometricalFunctionsByDefinitions();
-                        Canceller.interruptComputationIfNeeded();
-                    }
-                    if (simplifyTypes.contains(TypeSimplify.simplify_replace_trigonometrical_functions_with_respect_to_variable_by_definitions)) {
-                        exprSimplified = exprSimplified.simplifyReplaceTrigonometricalFunctionsWithRespectToVariableByDefinitions(var);
-                        Canceller.interruptComputationIfNeeded();
-                    }
-                    if (simplifyTypes.contains(TypeSimplify.simplify_collect_logarithms)) {
-                        exprSimplified = exprSimplified.simplifyCollectLogarithms();
-                        Canceller.interruptComputationIfNeeded();
-                    }
-                    if (simplifyTypes.contains(TypeSimplify.simplify_expand_logarithms)) {
-                        exprSimplified = exprSimplified.simplifyExpandLogarithms();
-                        Canceller.interruptComputationIfNeeded();
-                    }
-                    if (simplifyTypes.contains(TypeSimplify.simplify_expand_products_of_complex_exponential_functions)) {
-                        exprSimplified = exprSimplified.simplifyExpandProductsOfComplexExponentialFunctions(var);
-                        Canceller.interruptComputationIfNeeded();
-                    }
-                }
-            } while (!expr.equals(exprSimplified));
-            return exprSimplified;
+            return SimplifyPassScheduler.getScheduler(simplifyTypes, var).simplify(this);
         } catch (java.lang.StackOverflowError e) {
             throw new EvaluationException(Translator.translateOutputMessage(EB_Expression_STACK_OVERFLOW));
         }
@@ -2145,107 +2439,7 @@ public abstract class Expression implements AbstractExpression {
     public Expression simplify(Set<TypeSimplify> simplifyTypes) throws EvaluationException {
 
         try {
-            Expression expr, exprSimplified = this;
-            do {
-                expr = exprSimplified.copy();
-                if (simplifyTypes.contains(TypeSimplify.order_difference_and_division)) {
-                    exprSimplified = exprSimplified.orderDifferencesAndQuotients();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.order_sums_and_products)) {
-                    exprSimplified = exprSimplified.orderSumsAndProducts();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_basic)) {
-                    exprSimplified = exprSimplified.simplifyBasic();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_by_inserting_defined_vars)) {
-                    exprSimplified = exprSimplified.simplifyByInsertingDefinedVars();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_expand_short)) {
-                    exprSimplified = exprSimplified.simplifyExpandShort();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_expand_moderate)) {
-                    exprSimplified = exprSimplified.simplifyExpandModerate();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_expand_powerful)) {
-                    exprSimplified = exprSimplified.simplifyExpandPowerful();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_expand_rational_factors)) {
-                    exprSimplified = exprSimplified.simplifyExpandRationalFactors();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_pull_apart_powers)) {
-                    exprSimplified = exprSimplified.simplifyPullApartPowers();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_multiply_exponents)) {
-                    exprSimplified = exprSimplified.simplifyMultiplyExponents();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_collect_products)) {
-                    exprSimplified = exprSimplified.simplifyCollectProducts();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_factorize_all_but_rationals)) {
-                    exprSimplified = exprSimplified.simplifyFactorizeAllButRationals();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_factorize)) {
-                    exprSimplified = exprSimplified.simplifyFactorize();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_bring_expression_to_common_denominator)) {
-                    exprSimplified = exprSimplified.simplifyBringExpressionToCommonDenominator(TypeFractionSimplification.IF_MULTIPLE_FRACTION_OCCURS);
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_reduce_quotients)) {
-                    exprSimplified = exprSimplified.simplifyReduceQuotients();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_reduce_differences_and_quotients_advanced)) {
-                    exprSimplified = exprSimplified.simplifyReduceDifferencesAndQuotientsAdvanced();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (exprSimplified.containsAlgebraicOperation()) {
-                    if (simplifyTypes.contains(TypeSimplify.simplify_algebraic_expressions)) {
-                        exprSimplified = exprSimplified.simplifyAlgebraicExpressions();
-                        Canceller.interruptComputationIfNeeded();
-                    }
-                }
-                if (simplifyTypes.contains(TypeSimplify.simplify_expand_and_collect_equivalents_if_shorter)) {
-                    exprSimplified = exprSimplified.simplifyExpandAndCollectEquivalentsIfShorter();
-                    Canceller.interruptComputationIfNeeded();
-                }
-                if (exprSimplified.containsFunction() || exprSimplified.containsOperator(TypeOperator.fac)) {
-                    if (simplifyTypes.contains(TypeSimplify.simplify_functional_relations)) {
-                        exprSimplified = exprSimplified.simplifyFunctionalRelations();
-                        Canceller.interruptComputationIfNeeded();
-                    }
-                    if (simplifyTypes.contains(TypeSimplify.simplify_replace_exponential_functions_by_definitions)) {
-                        exprSimplified = exprSimplified.simplifyReplaceExponentialFunctionsByDefinitions();
-                        Canceller.interruptComputationIfNeeded();
-                    }
-                    if (simplifyTypes.contains(TypeSimplify.simplify_replace_trigonometrical_functions_by_definitions)) {
-                        exprSimplified = exprSimplified.simplifyReplaceTrigonometricalFunctionsByDefinitions();
-                        Canceller.interruptComputationIfNeeded();
-                    }
-                    if (simplifyTypes.contains(TypeSimplify.simplify_collect_logarithms)) {
-                        exprSimplified = exprSimplified.simplifyCollectLogarithms();
-                        Canceller.interruptComputationIfNeeded();
-                    }
-                    if (simplifyTypes.contains(TypeSimplify.simplify_expand_logarithms)) {
-                        exprSimplified = exprSimplified.simplifyExpandLogarithms();
-                        Canceller.interruptComputationIfNeeded();
-                    }
-                }
-            } while (!expr.equals(exprSimplified));
-            return exprSimplified;
+            return SimplifyPassScheduler.getScheduler(simplifyTypes, null).simplify(this);
         } catch (java.lang.StackOverflowError e) {
             throw new EvaluationException(Translator.translateOutputMessage(EB_Expression_STACK_OVERFLOW));
         }
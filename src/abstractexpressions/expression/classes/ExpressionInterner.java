@@ -0,0 +1,113 @@
+package abstractexpressions.expression.classes;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * Schwache, kanonisierende Tabelle für Ausdrücke (vgl. Expression.intern()).
+ * Die Einträge werden anhand von getStructuralHash() in Buckets abgelegt und
+ * innerhalb eines Buckets mittels equals() verglichen. Da die Tabelle ihre
+ * Einträge nur über WeakReferences hält, verhindert sie nicht, dass nicht mehr
+ * verwendete Ausdrücke vom Garbage Collector entfernt werden. Die zugehörigen
+ * Einträge werden beim nächsten Zugriff aus der Tabelle gelöscht.
+ */
+final class ExpressionInterner {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private static final class Entry extends WeakReference<Expression> {
+
+        private final int hash;
+        private Entry next;
+
+        private Entry(Expression expr, int hash, Entry next, ReferenceQueue<Expression> queue) {
+            super(expr, queue);
+            this.hash = hash;
+            this.next = next;
+        }
+
+    }
+
+    private final ReferenceQueue<Expression> queue = new ReferenceQueue<>();
+    private Entry[] table = new Entry[INITIAL_CAPACITY];
+    private int size = 0;
+
+    /**
+     * Liefert den kanonischen Vertreter von expr. Ist noch kein zu expr
+     * gleicher Ausdruck in der Tabelle enthalten, so wird expr selbst
+     * aufgenommen und zurückgegeben. Variablen werden nicht aufgenommen, da sie
+     * bereits über Variable.create() eindeutig sind.
+     */
+    synchronized Expression intern(Expression expr) {
+        if (expr instanceof Variable) {
+            return expr;
+        }
+        expungeStaleEntries();
+        int hash = expr.getStructuralHash();
+        int index = indexFor(hash, this.table.length);
+        for (Entry entry = this.table[index]; entry != null; entry = entry.next) {
+            if (entry.hash == hash) {
+                Expression candidate = entry.get();
+                if (candidate != null && candidate.equals(expr)) {
+                    return candidate;
+                }
+            }
+        }
+        expr.setInterned();
+        this.table[index] = new Entry(expr, hash, this.table[index], this.queue);
+        this.size++;
+        if (this.size > 3 * this.table.length / 4) {
+            resize();
+        }
+        return expr;
+    }
+
+    synchronized int size() {
+        expungeStaleEntries();
+        return this.size;
+    }
+
+    private static int indexFor(int hash, int length) {
+        return (hash ^ (hash >>> 16)) & (length - 1);
+    }
+
+    private void resize() {
+        Entry[] newTable = new Entry[2 * this.table.length];
+        for (Entry entry : this.table) {
+            while (entry != null) {
+                Entry next = entry.next;
+                int index = indexFor(entry.hash, newTable.length);
+                entry.next = newTable[index];
+                newTable[index] = entry;
+                entry = next;
+            }
+        }
+        this.table = newTable;
+    }
+
+    /**
+     * Entfernt alle Einträge, deren Ausdrücke bereits vom Garbage Collector
+     * entfernt wurden.
+     */
+    private void expungeStaleEntries() {
+        Object reference;
+        while ((reference = this.queue.poll()) != null) {
+            Entry staleEntry = (Entry) reference;
+            int index = indexFor(staleEntry.hash, this.table.length);
+            Entry previous = null;
+            for (Entry entry = this.table[index]; entry != null; entry = entry.next) {
+                if (entry == staleEntry) {
+                    if (previous == null) {
+                        this.table[index] = entry.next;
+                    } else {
+                        previous.next = entry.next;
+                    }
+                    this.size--;
+                    break;
+                }
+                previous = entry;
+            }
+        }
+    }
+
+}
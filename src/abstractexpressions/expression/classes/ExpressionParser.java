@@ -0,0 +1,414 @@
+package abstractexpressions.expression.classes;
+
+import abstractexpressions.interfaces.IdentifierValidator;
+import exceptions.ExpressionException;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Schneller Parser für Ausdrücke: Die Formel wird in einem Durchlauf in
+ * Tokens zerlegt und anschließend per rekursivem Abstieg (Precedence
+ * Climbing) in linearer Zeit in einen Ausdrucksbaum übersetzt.<br>
+ * Die erzeugten Bäume stimmen exakt mit denen von
+ * Expression.buildBySplitting() überein. Dazu gelten dieselben Prioritäten (+
+ * &lt; - &lt; * &lt; / &lt; ^, jeweils linksassoziativ), dasselbe
+ * Vorzeichenverhalten und dieselbe Einteilung von Betragsstrichen in öffnende
+ * und schließende Striche.<br>
+ * Formeln, die nicht eindeutig in dieses Schema passen (insbesondere alle
+ * fehlerhaften Formeln), werden nicht geparst. In diesem Fall wird null
+ * zurückgegeben und die Formel muss mittels Expression.buildBySplitting()
+ * verarbeitet werden, damit die Fehlermeldungen unverändert bleiben.
+ */
+final class ExpressionParser {
+
+    private static final int TOKEN_NUMBER = 0;
+    private static final int TOKEN_IDENTIFIER = 1;
+    private static final int TOKEN_OPERATION = 2;
+    private static final int TOKEN_OPENING_BRACKET = 3;
+    private static final int TOKEN_CLOSING_BRACKET = 4;
+    private static final int TOKEN_OPENING_ABS_BRACKET = 5;
+    private static final int TOKEN_CLOSING_ABS_BRACKET = 6;
+    private static final int TOKEN_FACULTY = 7;
+    private static final int TOKEN_COMMA = 8;
+
+    private static final Map<String, TypeFunction> FUNCTIONS = new HashMap<>();
+
+    static {
+        for (TypeFunction type : TypeFunction.values()) {
+            FUNCTIONS.put(type.toString(), type);
+        }
+    }
+
+    /**
+     * Signalisiert, dass die Formel nicht vom schnellen Parser verarbeitet
+     * werden kann. Der Stacktrace wird nicht benötigt.
+     */
+    private static final class UnsupportedFormulaException extends Exception {
+
+        private static final UnsupportedFormulaException INSTANCE = new UnsupportedFormulaException();
+
+        private UnsupportedFormulaException() {
+            super(null, null, false, false);
+        }
+
+    }
+
+    private final String formula;
+    private final Set<String> vars;
+    private final IdentifierValidator validator;
+
+    // Tokens: Typ, Anfangs- und Endposition (exklusiv) in formula.
+    private int[] types;
+    private int[] starts;
+    private int[] ends;
+    private int numberOfTokens;
+    // Index des zugehörigen schließenden Tokens zu jeder öffnenden (Betrags-)Klammer.
+    private int[] matchingBrackets;
+    private int position;
+
+    private ExpressionParser(String formula, Set<String> vars, IdentifierValidator validator) {
+        this.formula = formula;
+        this.vars = vars;
+        this.validator = validator;
+    }
+
+    /**
+     * Übersetzt formula in einen Ausdruck oder gibt null zurück, falls die
+     * Formel mittels Expression.buildBySplitting() verarbeitet werden muss.<br>
+     * VORAUSSETZUNG: formula enthält keine Leerzeichen und keine
+     * Großbuchstaben.
+     */
+    static Expression parse(String formula, Set<String> vars, IdentifierValidator validator) {
+        // Variablen erst bei Erfolg übernehmen.
+        Set<String> varsInFormula = vars == null ? null : new HashSet<String>();
+        ExpressionParser parser = new ExpressionParser(formula, varsInFormula, validator);
+        try {
+            parser.tokenize();
+            Expression expr = parser.parseSum(parser.numberOfTokens);
+            if (vars != null) {
+                vars.addAll(varsInFormula);
+            }
+            return expr;
+        } catch (UnsupportedFormulaException | ExpressionException e) {
+            return null;
+        }
+    }
+
+    private static boolean isOperation(char c) {
+        return c == '+' || c == '-' || c == '*' || c == '/' || c == '^';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    /**
+     * Gibt zurück, ob eine Kette von Betragsstrichen, links von der das
+     * Zeichen c steht, aus schließenden Strichen besteht (wie in
+     * Expression.buildBySplitting()).
+     */
+    private static boolean isCharBeforeClosingAbsBrackets(char c) {
+        return isLetter(c) || isDigit(c) || c == '_' || c == '\'' || c == ')';
+    }
+
+    private void addToken(int type, int start, int end) {
+        if (this.numberOfTokens == this.types.length) {
+            int newLength = 2 * this.types.length;
+            this.types = java.util.Arrays.copyOf(this.types, newLength);
+            this.starts = java.util.Arrays.copyOf(this.starts, newLength);
+            this.ends = java.util.Arrays.copyOf(this.ends, newLength);
+        }
+        this.types[this.numberOfTokens] = type;
+        this.starts[this.numberOfTokens] = start;
+        this.ends[this.numberOfTokens] = end;
+        this.numberOfTokens++;
+    }
+
+    /**
+     * Zerlegt die Formel in Tokens und ordnet allen öffnenden (Betrags-)Klammern
+     * ihre schließenden Gegenstücke zu.
+     */
+    private void tokenize() throws UnsupportedFormulaException {
+
+        int length = this.formula.length();
+        int initialCapacity = Math.max(length, 1);
+        this.types = new int[initialCapacity];
+        this.starts = new int[initialCapacity];
+        this.ends = new int[initialCapacity];
+        this.numberOfTokens = 0;
+
+        int i = 0;
+        char c;
+        while (i < length) {
+            c = this.formula.charAt(i);
+            if (isOperation(c)) {
+                // Zwei Operatoren hintereinander sind nicht zulässig.
+                if (i + 1 < length && isOperation(this.formula.charAt(i + 1))) {
+                    throw UnsupportedFormulaException.INSTANCE;
+                }
+                addToken(TOKEN_OPERATION, i, i + 1);
+                i++;
+            } else if (c == '(') {
+                addToken(TOKEN_OPENING_BRACKET, i, i + 1);
+                i++;
+            } else if (c == ')') {
+                addToken(TOKEN_CLOSING_BRACKET, i, i + 1);
+                i++;
+            } else if (c == '!') {
+                addToken(TOKEN_FACULTY, i, i + 1);
+                i++;
+            } else if (c == ',') {
+                addToken(TOKEN_COMMA, i, i + 1);
+                i++;
+            } else if (c == '|') {
+                int j = i;
+                while (j < length && this.formula.charAt(j) == '|') {
+                    j++;
+                }
+                /*
+                 Eine Kette von Betragsstrichen ist genau dann schließend, wenn
+                 links davon eine Zahl, ein Buchstabe, '_', ''' oder ')' steht,
+                 welche(r) nicht das erste Zeichen der Formel ist.
+                 */
+                boolean closing = i >= 2 && isCharBeforeClosingAbsBrackets(this.formula.charAt(i - 1));
+                for (int k = i; k < j; k++) {
+                    addToken(closing ? TOKEN_CLOSING_ABS_BRACKET : TOKEN_OPENING_ABS_BRACKET, k, k + 1);
+                }
+                i = j;
+            } else if (isDigit(c) || c == '.') {
+                int j = i;
+                while (j < length && (isDigit(this.formula.charAt(j)) || this.formula.charAt(j) == '.')) {
+                    j++;
+                }
+                addToken(TOKEN_NUMBER, i, j);
+                i = j;
+            } else if (isLetter(c)) {
+                int j = i;
+                while (j < length && (isLetter(this.formula.charAt(j)) || isDigit(this.formula.charAt(j))
+                        || this.formula.charAt(j) == '_' || this.formula.charAt(j) == '\'')) {
+                    j++;
+                }
+                addToken(TOKEN_IDENTIFIER, i, j);
+                i = j;
+            } else {
+                throw UnsupportedFormulaException.INSTANCE;
+            }
+        }
+
+        // Klammern und Betragsklammern müssen korrekt ineinander verschachtelt sein.
+        this.matchingBrackets = new int[this.numberOfTokens];
+        int[] openBrackets = new int[this.numberOfTokens];
+        int numberOfOpenBrackets = 0;
+        for (int t = 0; t < this.numberOfTokens; t++) {
+            switch (this.types[t]) {
+                case TOKEN_OPENING_BRACKET:
+                case TOKEN_OPENING_ABS_BRACKET:
+                    openBrackets[numberOfOpenBrackets++] = t;
+                    break;
+                case TOKEN_CLOSING_BRACKET:
+                case TOKEN_CLOSING_ABS_BRACKET:
+                    if (numberOfOpenBrackets == 0
+                            || this.types[openBrackets[numberOfOpenBrackets - 1]] != this.types[t] - 1) {
+                        throw UnsupportedFormulaException.INSTANCE;
+                    }
+                    this.matchingBrackets[openBrackets[--numberOfOpenBrackets]] = t;
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (numberOfOpenBrackets != 0) {
+            throw UnsupportedFormulaException.INSTANCE;
+        }
+
+    }
+
+    private boolean isOperationAt(int index, int end, char operation) {
+        return index < end && this.types[index] == TOKEN_OPERATION && this.formula.charAt(this.starts[index]) == operation;
+    }
+
+    /**
+     * Parst eine Summe a_1 + a_2 + ... + a_n (linksassoziativ), welche genau
+     * bis zum Token mit dem Index end reicht. Ein führendes '+' wird
+     * ignoriert.
+     */
+    private Expression parseSum(int end) throws UnsupportedFormulaException, ExpressionException {
+        if (isOperationAt(this.position, end, '+')) {
+            this.position++;
+        }
+        Expression result = parseDifference(end);
+        while (isOperationAt(this.position, end, '+')) {
+            this.position++;
+            result = new BinaryOperation(result, parseDifference(end), TypeBinary.PLUS);
+        }
+        if (this.position != end) {
+            throw UnsupportedFormulaException.INSTANCE;
+        }
+        return result;
+    }
+
+    /**
+     * Parst eine Differenz a_1 - a_2 - ... - a_n (linksassoziativ). Ein
+     * führendes '-' bezieht sich nur auf a_1.
+     */
+    private Expression parseDifference(int end) throws UnsupportedFormulaException, ExpressionException {
+        Expression result;
+        if (isOperationAt(this.position, end, '-')) {
+            this.position++;
+            result = negate(parseProduct(end));
+        } else {
+            result = parseProduct(end);
+        }
+        while (isOperationAt(this.position, end, '-')) {
+            this.position++;
+            result = new BinaryOperation(result, parseProduct(end), TypeBinary.MINUS);
+        }
+        return result;
+    }
+
+    /**
+     * Liefert -expr in derselben Form wie Expression.buildBySplitting().
+     */
+    private static Expression negate(Expression expr) {
+        /*
+         Konstanten und Verhältnisse von Konstanten bilden Ausnahmen: Dann wird das
+         Minuszeichen direkt in den Zähler gezogen.
+         */
+        if (expr instanceof Constant && ((Constant) expr).getValue().compareTo(BigDecimal.ZERO) >= 0) {
+            return new Constant(((Constant) expr).getValue().negate());
+        } else if (expr.isRationalConstant() && ((BinaryOperation) expr).getLeft().isNonNegative()) {
+            return new Constant(((Constant) ((BinaryOperation) expr).getLeft()).getValue().negate()).div(((BinaryOperation) expr).getRight());
+        }
+        return Expression.MINUS_ONE.mult(expr);
+    }
+
+    private Expression parseProduct(int end) throws UnsupportedFormulaException, ExpressionException {
+        Expression result = parseQuotient(end);
+        while (isOperationAt(this.position, end, '*')) {
+            this.position++;
+            result = new BinaryOperation(result, parseQuotient(end), TypeBinary.TIMES);
+        }
+        return result;
+    }
+
+    private Expression parseQuotient(int end) throws UnsupportedFormulaException, ExpressionException {
+        Expression result = parsePower(end);
+        while (isOperationAt(this.position, end, '/')) {
+            this.position++;
+            result = new BinaryOperation(result, parsePower(end), TypeBinary.DIV);
+        }
+        return result;
+    }
+
+    private Expression parsePower(int end) throws UnsupportedFormulaException, ExpressionException {
+        Expression result = parseFaculty(end);
+        while (isOperationAt(this.position, end, '^')) {
+            this.position++;
+            result = new BinaryOperation(result, parseFaculty(end), TypeBinary.POW);
+        }
+        return result;
+    }
+
+    private Expression parseFaculty(int end) throws UnsupportedFormulaException, ExpressionException {
+        Expression result = parseAtom(end);
+        while (this.position < end && this.types[this.position] == TOKEN_FACULTY) {
+            this.position++;
+            result = new Operator(TypeOperator.fac, new Expression[]{result});
+        }
+        return result;
+    }
+
+    /**
+     * Parst eine Zahl, eine Variable, eine Klammer (...), einen Betrag |...|,
+     * eine Funktion, einen Operator oder eine selbstdefinierte Funktion.
+     */
+    private Expression parseAtom(int end) throws UnsupportedFormulaException, ExpressionException {
+
+        if (this.position >= end) {
+            throw UnsupportedFormulaException.INSTANCE;
+        }
+
+        int token = this.position;
+        switch (this.types[token]) {
+            case TOKEN_NUMBER:
+                this.position++;
+                try {
+                    return new Constant(new BigDecimal(this.formula.substring(this.starts[token], this.ends[token])));
+                } catch (NumberFormatException e) {
+                    throw UnsupportedFormulaException.INSTANCE;
+                }
+            case TOKEN_OPENING_BRACKET:
+                return parseInBrackets(token);
+            case TOKEN_OPENING_ABS_BRACKET:
+                return new Function(parseInBrackets(token), TypeFunction.abs);
+            case TOKEN_IDENTIFIER:
+                String identifier = this.formula.substring(this.starts[token], this.ends[token]);
+                if (token + 1 < end && this.types[token + 1] == TOKEN_OPENING_BRACKET) {
+                    return parseCall(identifier, token + 1);
+                }
+                this.position++;
+                if (this.validator.isValidIdentifierOfRequiredType(identifier, Expression.class)) {
+                    if (this.vars != null) {
+                        this.vars.add(identifier);
+                    }
+                    return Variable.create(identifier);
+                }
+                if (Expression.isPI(identifier)) {
+                    return Variable.create(identifier, Math.PI);
+                }
+                throw UnsupportedFormulaException.INSTANCE;
+            default:
+                throw UnsupportedFormulaException.INSTANCE;
+        }
+
+    }
+
+    /**
+     * Parst den Inhalt der (Betrags-)Klammer, welche beim Token
+     * openingBracket beginnt, und setzt die Position hinter die zugehörige
+     * schließende Klammer.
+     */
+    private Expression parseInBrackets(int openingBracket) throws UnsupportedFormulaException, ExpressionException {
+        int closingBracket = this.matchingBrackets[openingBracket];
+        this.position = openingBracket + 1;
+        Expression result = parseSum(closingBracket);
+        this.position = closingBracket + 1;
+        return result;
+    }
+
+    /**
+     * Parst einen Ausdruck der Form name(...), wobei das Token openingBracket
+     * die öffnende Klammer ist.
+     */
+    private Expression parseCall(String name, int openingBracket) throws UnsupportedFormulaException, ExpressionException {
+
+        TypeFunction type = FUNCTIONS.get(name);
+        if (type != null) {
+            Expression argument = parseInBrackets(openingBracket);
+            if (type.equals(TypeFunction.sqrt)) {
+                // Die Wurzel wird intern sofort als (...)^(1/2) aufgefasst.
+                return argument.pow(Expression.ONE.div(Expression.TWO));
+            }
+            return new Function(argument, type);
+        }
+
+        // Operatoren und selbstdefinierte Funktionen werden wie bisher geparst.
+        int closingBracket = this.matchingBrackets[openingBracket];
+        String call = this.formula.substring(this.starts[openingBracket - 1], this.ends[closingBracket]);
+        Expression result = Expression.buildOperatorOrSelfDefinedFunction(call, this.vars, this.validator);
+        if (result == null) {
+            throw UnsupportedFormulaException.INSTANCE;
+        }
+        this.position = closingBracket + 1;
+        return result;
+
+    }
+
+}
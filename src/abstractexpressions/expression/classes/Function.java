@@ -1,5 +1,6 @@
 package abstractexpressions.expression.classes;
 
+import abstractexpressions.expression.computation.Interval;
 import abstractexpressions.expression.basic.ExpressionCollection;
 import enums.TypeExpansion;
 import exceptions.EvaluationException;
@@ -22,6 +23,8 @@ public class Function extends Expression {
     private final Expression left;
     private final TypeFunction type;
 
+    private static final int HASH_SEED = 29;
+
     public Function(Expression left, TypeFunction type) {
         this.left = left;
         this.type = type;
@@ -45,21 +48,46 @@ public class Function extends Expression {
     }
 
     @Override
-    public double evaluate() throws EvaluationException {
-        double argumentValue = left.evaluate();
+    public double evaluate(EvaluationContext context) throws EvaluationException {
+        double value = computeValue(this.type, this.left.evaluate(context));
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
+        }
+        return value;
+    }
+
+    @Override
+    public double evaluateOrNaN(EvaluationContext context) {
+        double argumentValue = this.left.evaluateOrNaN(context);
+        if (Double.isNaN(argumentValue)) {
+            return Double.NaN;
+        }
+        double value = computeValue(this.type, argumentValue);
+        if (Double.isInfinite(value)) {
+            return Double.NaN;
+        }
+        return value;
+    }
+
+    /**
+     * Liefert den Wert der Funktion vom Typ type an der Stelle argumentValue.
+     * Ist der Wert dort nicht definiert, so wird NaN oder ein unendlicher Wert
+     * zurückgegeben. Diese Methode wirft keine Exceptions und kann daher auch
+     * von numerischen Auswertungsroutinen (z.B. CompiledExpression) verwendet
+     * werden.
+     */
+    public static double computeValue(TypeFunction type, double argumentValue) {
         switch (type) {
             case id:
                 if (!Double.isNaN(argumentValue) && !Double.isInfinite(argumentValue)) {
                     return argumentValue;
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
                 }
+                return Double.NaN;
             case abs:
                 if (!Double.isNaN(argumentValue) && !Double.isInfinite(argumentValue)) {
                     return Math.abs(argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
                 }
+                return Double.NaN;
             case sgn:
                 if (!Double.isNaN(argumentValue) && !Double.isInfinite(argumentValue)) {
                     if (argumentValue > 0) {
@@ -69,180 +97,199 @@ public class Function extends Expression {
                         return 0;
                     }
                     return -1;
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
                 }
+                return Double.NaN;
             case exp:
-                if (!Double.isNaN(Math.exp(argumentValue)) && !Double.isInfinite(Math.exp(argumentValue))) {
-                    return Math.exp(argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return Math.exp(argumentValue);
             case lg:
-                if (!Double.isNaN(Math.log10(argumentValue)) && !Double.isInfinite(Math.log10(argumentValue))) {
-                    return Math.log10(argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return Math.log10(argumentValue);
             case ln:
-                if (!Double.isNaN(Math.log(argumentValue)) && !Double.isInfinite(Math.log(argumentValue))) {
-                    return Math.log(argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return Math.log(argumentValue);
             case sin:
-                if (!Double.isNaN(Math.sin(argumentValue)) && !Double.isInfinite(Math.sin(argumentValue))) {
-                    return Math.sin(argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return Math.sin(argumentValue);
             case cos:
-                if (!Double.isNaN(Math.cos(argumentValue)) && !Double.isInfinite(Math.cos(argumentValue))) {
-                    return Math.cos(argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return Math.cos(argumentValue);
             case tan:
-                if (!Double.isNaN(Math.tan(argumentValue)) && !Double.isInfinite(Math.tan(argumentValue))) {
-                    return Math.tan(argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return Math.tan(argumentValue);
             case cot:
-                if (!Double.isNaN(1 / Math.tan(argumentValue)) && !Double.isInfinite(1 / Math.tan(argumentValue))) {
-                    return 1 / Math.tan(argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return 1 / Math.tan(argumentValue);
             case sec:
-                if (!Double.isNaN(1 / Math.cos(argumentValue)) && !Double.isInfinite(1 / Math.cos(argumentValue))) {
-                    return 1 / Math.cos(argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return 1 / Math.cos(argumentValue);
             case cosec:
-                if (!Double.isNaN(1 / Math.sin(argumentValue)) && !Double.isInfinite(1 / Math.sin(argumentValue))) {
-                    return 1 / Math.sin(argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return 1 / Math.sin(argumentValue);
             case sinh:
-                if (!Double.isNaN(Math.sinh(argumentValue)) && !Double.isInfinite(Math.sinh(argumentValue))) {
-                    return Math.sinh(argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return Math.sinh(argumentValue);
             case cosh:
-                if (!Double.isNaN(Math.cosh(argumentValue)) && !Double.isInfinite(Math.cosh(argumentValue))) {
-                    return Math.cosh(argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return Math.cosh(argumentValue);
             case tanh:
-                if (!Double.isNaN(Math.tanh(argumentValue)) && !Double.isInfinite(Math.tanh(argumentValue))) {
-                    return Math.tanh(argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return Math.tanh(argumentValue);
             case coth:
-                if (!Double.isNaN(1 / Math.tanh(argumentValue)) && !Double.isInfinite(1 / Math.tanh(argumentValue))) {
-                    return 1 / Math.tanh(argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return 1 / Math.tanh(argumentValue);
             case sech:
-                if (!Double.isNaN(1 / Math.cosh(argumentValue)) && !Double.isInfinite(1 / Math.cosh(argumentValue))) {
-                    return 1 / Math.cosh(argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return 1 / Math.cosh(argumentValue);
             case cosech:
-                if (!Double.isNaN(1 / Math.sinh(argumentValue)) && !Double.isInfinite(1 / Math.sinh(argumentValue))) {
-                    return 1 / Math.sinh(argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return 1 / Math.sinh(argumentValue);
             case arcsin:
-                if (!Double.isNaN(Math.asin(argumentValue)) && !Double.isInfinite(Math.asin(argumentValue))) {
-                    return Math.asin(argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return Math.asin(argumentValue);
             case arccos:
-                if (!Double.isNaN(Math.acos(argumentValue)) && !Double.isInfinite(Math.acos(argumentValue))) {
-                    return Math.acos(argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return Math.acos(argumentValue);
             case arctan:
-                if (!Double.isNaN(Math.atan(argumentValue)) && !Double.isInfinite(Math.atan(argumentValue))) {
-                    return Math.atan(argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return Math.atan(argumentValue);
             case arccot:
-                if (!Double.isNaN(Math.atan(1 / argumentValue)) && !Double.isInfinite(Math.atan(1 / argumentValue))) {
-                    return Math.atan(1 / argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return Math.atan(1 / argumentValue);
             case arcsec:
-                if (!Double.isNaN(Math.acos(1 / argumentValue)) && !Double.isInfinite(Math.acos(1 / argumentValue))) {
-                    return Math.acos(1 / argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return Math.acos(1 / argumentValue);
             case arccosec:
-                if (!Double.isNaN(Math.asin(1 / argumentValue)) && !Double.isInfinite(Math.asin(1 / argumentValue))) {
-                    return Math.asin(1 / argumentValue);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return Math.asin(1 / argumentValue);
             case arsinh:
-                if (!Double.isNaN(Math.log(argumentValue + Math.sqrt(Math.pow(argumentValue, 2) + 1))) && !Double.isInfinite(Math.log(argumentValue + Math.sqrt(Math.pow(argumentValue, 2) + 1)))) {
-                    return Math.log(argumentValue + Math.sqrt(Math.pow(argumentValue, 2) + 1));
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
+                // arsinh ist ungerade. Für negative Argumente würde sich in der
+                // Formel argumentValue + sqrt(...) fast alles wegheben.
+                if (argumentValue < 0) {
+                    return -computeValue(TypeFunction.arsinh, -argumentValue);
                 }
+                return Math.log(argumentValue + Math.sqrt(Math.pow(argumentValue, 2) + 1));
             case arcosh:
-                if (!Double.isNaN(Math.log(argumentValue + Math.sqrt(Math.pow(argumentValue, 2) - 1))) && !Double.isInfinite(Math.log(argumentValue + Math.sqrt(Math.pow(argumentValue, 2) - 1)))) {
-                    return Math.log(argumentValue + Math.sqrt(Math.pow(argumentValue, 2) - 1));
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return Math.log(argumentValue + Math.sqrt(Math.pow(argumentValue, 2) - 1));
             case artanh:
-                if (!Double.isNaN(Math.log((1 + argumentValue) / (1 - argumentValue)) / 2) && !Double.isInfinite(Math.log((1 + argumentValue) / (1 - argumentValue)) / 2)) {
-                    return Math.log((1 + argumentValue) / (1 - argumentValue)) / 2;
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return Math.log((1 + argumentValue) / (1 - argumentValue)) / 2;
             case arcoth:
-                if (!Double.isNaN(Math.log((1 + argumentValue) / (argumentValue - 1)) / 2) && !Double.isInfinite(Math.log((1 + argumentValue) / (argumentValue - 1)) / 2)) {
-                    return Math.log((1 + argumentValue) / (argumentValue - 1)) / 2;
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return Math.log((1 + argumentValue) / (argumentValue - 1)) / 2;
             case arsech:
-                if (!Double.isNaN(Math.log(1 / argumentValue + Math.sqrt(Math.pow(1 / argumentValue, 2) - 1))) && !Double.isInfinite(Math.log(1 / argumentValue + Math.sqrt(Math.pow(1 / argumentValue, 2) - 1)))) {
-                    return Math.log(1 / argumentValue + Math.sqrt(Math.pow(1 / argumentValue, 2) - 1));
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
-                }
+                return Math.log(1 / argumentValue + Math.sqrt(Math.pow(1 / argumentValue, 2) - 1));
             case arcosech:
-                if (!Double.isNaN(Math.log(1 / argumentValue + Math.sqrt(Math.pow(1 / argumentValue, 2) + 1))) && !Double.isInfinite(Math.log(1 / argumentValue + Math.sqrt(Math.pow(1 / argumentValue, 2) + 1)))) {
-                    return Math.log(1 / argumentValue + Math.sqrt(Math.pow(1 / argumentValue, 2) + 1));
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
+                return computeValue(TypeFunction.arsinh, 1 / argumentValue);
+            case sqrt:
+                return Math.pow(argumentValue, 0.5);
+            default:
+                return 0;
+        }
+    }
+
+    @Override
+    public Interval evaluateInterval(String[] vars, Interval[] ranges) {
+        return computeInterval(this.type, this.left.evaluateInterval(vars, ranges));
+    }
+
+    /**
+     * Liefert ein Intervall, welches alle Werte der Funktion vom Typ type auf
+     * dem Intervall argument enthält (Intervallversion von computeValue()).
+     */
+    public static Interval computeInterval(TypeFunction type, Interval argument) {
+
+        if (argument.isEmpty()) {
+            return Interval.EMPTY;
+        }
+        double a = argument.getInf(), b = argument.getSup();
+        boolean defined = argument.isDefined();
+        Interval restrictedArgument;
+
+        switch (type) {
+            case id:
+                return argument;
+            case abs:
+                return argument.abs();
+            case sgn:
+                return new Interval(Math.signum(a), Math.signum(b), defined);
+            // Monoton wachsende Funktionen.
+            case exp:
+            case sinh:
+            case tanh:
+            case arctan:
+            case arsinh:
+                return Interval.hull(computeValue(type, a), computeValue(type, b), defined);
+            case cosh:
+                if (a < 0 && b > 0) {
+                    return Interval.hull(1, Math.max(Math.cosh(a), Math.cosh(b)), defined);
                 }
+                return Interval.hull(Math.cosh(a), Math.cosh(b), defined);
+            // Monotone Funktionen mit eingeschränktem Definitionsbereich.
+            case lg:
+            case ln:
             case sqrt:
-                if (!Double.isNaN(Math.pow(argumentValue, 0.5)) && !Double.isInfinite(Math.pow(argumentValue, 0.5))) {
-                    return Math.pow(argumentValue, 0.5);
-                } else {
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Function_UNDEFINED_VALUE));
+                restrictedArgument = argument.restrict(0, Double.POSITIVE_INFINITY);
+                break;
+            case arcsin:
+            case arccos:
+            case artanh:
+                restrictedArgument = argument.restrict(-1, 1);
+                break;
+            case arcosh:
+                restrictedArgument = argument.restrict(1, Double.POSITIVE_INFINITY);
+                break;
+            case arsech:
+                restrictedArgument = argument.restrict(0, 1);
+                break;
+            case sin:
+                return computeIntervalOfPeriodicFunction(argument, Math.PI / 2, 3 * Math.PI / 2, false);
+            case cos:
+                return computeIntervalOfPeriodicFunction(argument, 0, Math.PI, true);
+            case tan:
+                if (b - a >= Math.PI || containsPointOfLattice(a, b, Math.PI / 2, Math.PI)) {
+                    // Polstelle im Intervall.
+                    return Interval.ENTIRE;
                 }
+                return Interval.hull(Math.tan(a), Math.tan(b), defined);
+            // Kehrwerte und Funktionen von Kehrwerten (vgl. computeValue()).
+            case cot:
+                return computeInterval(TypeFunction.tan, argument).reciprocal();
+            case sec:
+                return computeInterval(TypeFunction.cos, argument).reciprocal();
+            case cosec:
+                return computeInterval(TypeFunction.sin, argument).reciprocal();
+            case coth:
+                return computeInterval(TypeFunction.tanh, argument).reciprocal();
+            case sech:
+                return computeInterval(TypeFunction.cosh, argument).reciprocal();
+            case cosech:
+                return computeInterval(TypeFunction.sinh, argument).reciprocal();
+            case arccot:
+                return computeInterval(TypeFunction.arctan, argument.reciprocal());
+            case arcsec:
+                return computeInterval(TypeFunction.arccos, argument.reciprocal());
+            case arccosec:
+                return computeInterval(TypeFunction.arcsin, argument.reciprocal());
+            case arcoth:
+                return computeInterval(TypeFunction.artanh, argument.reciprocal());
+            case arcosech:
+                return computeInterval(TypeFunction.arsinh, argument.reciprocal());
             default:
-                return 0;
+                return Interval.ENTIRE;
+        }
+
+        if (restrictedArgument.isEmpty()) {
+            return Interval.EMPTY;
         }
+        return Interval.hull(computeValue(type, restrictedArgument.getInf()), computeValue(type, restrictedArgument.getSup()),
+                restrictedArgument.isDefined());
+
+    }
+
+    /**
+     * Prüft, ob [a, b] (bis auf Rundungsfehler) einen Punkt der Form offset +
+     * k * period, k ganzzahlig, enthält.
+     */
+    private static boolean containsPointOfLattice(double a, double b, double offset, double period) {
+        double tolerance = 1E-9 * period;
+        return Math.ceil((a - offset - tolerance) / period) * period + offset <= b + tolerance;
+    }
+
+    /**
+     * Intervallauswertung von sin bzw. cos (isCosine = true). Die Maxima der
+     * Funktion liegen bei offsetOfMaxima + 2k&#960;, die Minima bei
+     * offsetOfMinima + 2k&#960;.
+     */
+    private static Interval computeIntervalOfPeriodicFunction(Interval argument, double offsetOfMaxima, double offsetOfMinima,
+            boolean isCosine) {
+        double a = argument.getInf(), b = argument.getSup();
+        // Bei sehr großen Argumenten ist die Lage der Extrema numerisch nicht mehr bestimmbar.
+        if (b - a >= 2 * Math.PI || Math.abs(a) > 1E9 || Math.abs(b) > 1E9) {
+            return new Interval(-1, 1, argument.isDefined());
+        }
+        Interval values = isCosine ? Interval.hull(Math.cos(a), Math.cos(b), argument.isDefined())
+                : Interval.hull(Math.sin(a), Math.sin(b), argument.isDefined());
+        double inf = containsPointOfLattice(a, b, offsetOfMinima, 2 * Math.PI) ? -1 : Math.max(values.getInf(), -1);
+        double sup = containsPointOfLattice(a, b, offsetOfMaxima, 2 * Math.PI) ? 1 : Math.min(values.getSup(), 1);
+        return new Interval(inf, sup, argument.isDefined());
     }
 
     @Override
@@ -256,22 +303,22 @@ public class Function extends Expression {
     }
 
     @Override
-    public boolean contains(String var) {
-        return this.left.contains(var);
+    protected Set<String> computeContainedVarsForContains() {
+        return this.left.getContainedVarsForContains();
     }
 
     @Override
-    public boolean containsApproximates() {
+    protected boolean computeContainsApproximates() {
         return this.left.containsApproximates();
     }
 
     @Override
-    public boolean containsFunction() {
+    protected boolean computeContainsFunction() {
         return true;
     }
 
     @Override
-    public boolean containsExponentialFunction() {
+    protected boolean computeContainsExponentialFunction() {
         if ((this.type.equals(TypeFunction.exp) || this.type.equals(TypeFunction.sinh)
                 || this.type.equals(TypeFunction.cosh) || this.type.equals(TypeFunction.tanh)
                 || this.type.equals(TypeFunction.coth) || this.type.equals(TypeFunction.sech)
@@ -283,7 +330,7 @@ public class Function extends Expression {
     }
 
     @Override
-    public boolean containsTrigonometricalFunction() {
+    protected boolean computeContainsTrigonometricalFunction() {
         return (this.type.equals(TypeFunction.sin) || this.type.equals(TypeFunction.cos)
                 || this.type.equals(TypeFunction.tan) || this.type.equals(TypeFunction.cot)
                 || this.type.equals(TypeFunction.sec) || this.type.equals(TypeFunction.cosec)) && !this.left.isConstant()
@@ -291,17 +338,17 @@ public class Function extends Expression {
     }
 
     @Override
-    public boolean containsIndefiniteIntegral() {
+    protected boolean computeContainsIndefiniteIntegral() {
         return this.left.containsIndefiniteIntegral();
     }
 
     @Override
-    public boolean containsOperator() {
+    protected boolean computeContainsOperator() {
         return this.left.containsOperator();
     }
 
     @Override
-    public boolean containsAlgebraicOperation() {
+    protected boolean computeContainsAlgebraicOperation() {
         /*
          Ausdrücke wie exp(ln(x)/2) (= x^(1/2)) zählen hier noch nicht zu algebraischen 
          Operationen. Sobald diese aber entsprechend vereinfacht werden, dagegen schon!
@@ -312,8 +359,8 @@ public class Function extends Expression {
     }
 
     @Override
-    public boolean containsOperator(TypeOperator type) {
-        return this.left.containsOperator(type);
+    protected Set<TypeOperator> computeContainedOperatorTypes() {
+        return this.left.getContainedOperatorTypes();
     }
 
     @Override
@@ -642,6 +689,9 @@ public class Function extends Expression {
 
     @Override
     public boolean equals(Expression expr) {
+        if (isComparableByReference(expr)) {
+            return this == expr;
+        }
         return expr instanceof Function && this.type.equals(((Function) expr).getType())
                 && this.getLeft().equals(((Function) expr).getLeft());
     }
@@ -715,13 +765,49 @@ public class Function extends Expression {
                 && this.type.isOddFunction() && this.left.antiEquivalent(((Function) expr).left);
     }
 
+    @Override
+    protected int computeEquivalenceHash() {
+        // Bei geraden Funktionen darf sich das Argument um ein Vorzeichen unterscheiden.
+        if (this.type.isEvenFunction()) {
+            return 31 * HASH_SEED + this.type.ordinal();
+        }
+        return 31 * (31 * HASH_SEED + this.type.ordinal()) + this.left.getEquivalenceHash();
+    }
+
+    @Override
+    protected int computeSignInsensitiveHash() {
+        if (this.type.isOddFunction()) {
+            return 31 * (31 * HASH_SEED + this.type.ordinal()) + this.left.getSignInsensitiveHash();
+        }
+        return getEquivalenceHash();
+    }
+
+    @Override
+    protected int computeStructuralHash() {
+        return 31 * (31 * HASH_SEED + this.type.ordinal()) + this.left.getStructuralHash();
+    }
+
+    @Override
+    protected Expression internSubexpressions() {
+        Expression leftInterned = this.left.intern();
+        if (leftInterned == this.left) {
+            return this;
+        }
+        return new Function(leftInterned, this.type);
+    }
+
+    @Override
+    protected boolean canBeInterned() {
+        return isCanonical(this.left);
+    }
+
     @Override
     public boolean hasPositiveSign() {
         return true;
     }
 
     @Override
-    public int getLength() {
+    protected int computeLength() {
         if (((Function) this).getLeft().getLength() == 1) {
             return 1;
         }
@@ -903,6 +989,36 @@ public class Function extends Expression {
             return functionSimplified;
         }
 
+        // Regeln für trigonometrische Funktionen.
+        return simplifyTrigonometricalFunction(function);
+
+    }
+
+    /**
+     * Vereinfacht die (trigonometrische) Funktion function mittels der Regeln
+     * aus SimplifyTrigonometryUtils.
+     *
+     * @throws EvaluationException
+     */
+    private static Expression simplifyTrigonometricalFunction(Function function) throws EvaluationException {
+        if (!SimplifyProfiler.isEnabled()) {
+            return simplifyTrigonometricalFunctionByRules(function);
+        }
+        SimplifyProfiler.Measurement measurement = SimplifyProfiler.start();
+        Expression functionSimplified = function;
+        try {
+            functionSimplified = simplifyTrigonometricalFunctionByRules(function);
+            return functionSimplified;
+        } finally {
+            SimplifyProfiler.stop(measurement, SimplifyProfiler.FAMILY_TRIGONOMETRY_RULES, function.getType().name(), 1,
+                    functionSimplified != function && !functionSimplified.equals(function));
+        }
+    }
+
+    private static Expression simplifyTrigonometricalFunctionByRules(Function function) throws EvaluationException {
+
+        Expression functionSimplified;
+
         // Subtraktion ganzer Vielfacher von Pi in Argumenten von trigonometrischen Funtionen.
         functionSimplified = SimplifyTrigonometryUtils.reduceSineCosineSecansCosecansIfArgumentContainsSummandOfMultipleOfPi(function);
         if (!functionSimplified.equals(function)) {
@@ -14,17 +14,22 @@ import abstractexpressions.expression.basic.ExpressionCollection;
 import abstractexpressions.expression.basic.SimplifyUtilities;
 import enums.TypeFractionSimplification;
 import exceptions.CancellationException;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.EnumMap;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import operationparser.OperationParser;
+import operationparser.ParseResultPattern;
 import lang.translator.Translator;
 
 public class Operator extends Expression {
@@ -45,6 +50,8 @@ public class Operator extends Expression {
     private Object[] params;
     private boolean precise;
 
+    private static final int HASH_SEED = 37;
+
     // Patterns für die einzelnen Operatoren.
     private static final String PATTERN_DIFF = "diff(expr,indet+)";
     private static final String PATTERN_DIFF_WITH_ORDER = "diff(expr,indet,integer(0,2147483647))";
@@ -66,6 +73,13 @@ public class Operator extends Expression {
     private static final String PATTERN_TAYLOR = "taylor(expr,indet(!2),expr,integer(0,2147483647))";
     private static final String PATTERN_VAR = "var(expr+)";
 
+    // Bereits geparste Pattern, einmalig beim Laden der Klasse ermittelt.
+    private static final Map<String, ParseResultPattern> RESULT_PATTERNS = OperationParser.getResultPatterns(Operator.class);
+    private static final Map<String, ParseResultPattern> RESULT_PATTERNS_BY_OPERATOR_NAME = OperationParser.getResultPatternsByOperationName(RESULT_PATTERNS);
+
+    // Vereinfachungsmethoden der einzelnen Operatortypen, einmalig beim Laden der Klasse ermittelt.
+    private static final Map<TypeOperator, MethodHandle> SIMPLIFY_METHODS = createSimplifyMethods();
+
     public Operator(TypeOperator type, Object[] params) {
         this.type = type;
         this.params = params;
@@ -92,10 +106,12 @@ public class Operator extends Expression {
 
     public void setType(TypeOperator typeOperator) {
         this.type = typeOperator;
+        clearCachedProperties();
     }
 
     public void setParams(Object[] params) {
         this.params = params;
+        clearCachedProperties();
     }
 
     public void setPrecise(boolean precise) {
@@ -113,6 +129,19 @@ public class Operator extends Expression {
         return TypeOperator.valueOf(operator);
     }
 
+    /**
+     * Liefert das bereits geparste Pattern zu pattern.
+     *
+     * @throws ExpressionException
+     */
+    private static ParseResultPattern getResultPattern(String pattern) throws ExpressionException {
+        ParseResultPattern resultPattern = RESULT_PATTERNS.get(pattern);
+        if (resultPattern != null) {
+            return resultPattern;
+        }
+        return OperationParser.getResultPattern(pattern);
+    }
+
     /**
      * Ermittelt den zugehörigen Operator und liefert eine Instanz der Klasse
      * Operator.
@@ -128,33 +157,28 @@ public class Operator extends Expression {
         switch (type) {
             case diff:
                 if (params.length != 3) {
-                    return OperationParser.parseDefaultOperator(operator, params, vars, PATTERN_DIFF);
+                    return OperationParser.parseDefaultOperator(operator, params, vars, getResultPattern(PATTERN_DIFF));
                 }
                 try {
-                    return OperationParser.parseDefaultOperator(operator, params, vars, PATTERN_DIFF);
+                    return OperationParser.parseDefaultOperator(operator, params, vars, getResultPattern(PATTERN_DIFF));
                 } catch (ExpressionException e) {
                     try {
-                        return OperationParser.parseDefaultOperator(operator, params, vars, PATTERN_DIFF_WITH_ORDER);
+                        return OperationParser.parseDefaultOperator(operator, params, vars, getResultPattern(PATTERN_DIFF_WITH_ORDER));
                     } catch (ExpressionException ex) {
                         throw new ExpressionException(Translator.translateOutputMessage(EB_Operator_3_PARAMETER_IN_DIFF_IS_INVALID));
                     }
                 }
             case integral:
                 if (params.length <= 2) {
-                    return OperationParser.parseDefaultOperator(operator, params, vars, PATTERN_INT_INDEF);
+                    return OperationParser.parseDefaultOperator(operator, params, vars, getResultPattern(PATTERN_INT_INDEF));
                 }
-                return OperationParser.parseDefaultOperator(operator, params, vars, PATTERN_INT_DEF);
+                return OperationParser.parseDefaultOperator(operator, params, vars, getResultPattern(PATTERN_INT_DEF));
         }
 
-        // Mittels Reflection das passende Pattern suchen.
-        Field[] fields = Operator.class.getDeclaredFields();
-        for (Field field : fields) {
-            try {
-                if (field.getType().equals(String.class) && Modifier.isStatic(field.getModifiers()) && ((String) field.get(null)).startsWith(operator)) {
-                    return OperationParser.parseDefaultOperator(operator, params, vars, (String) field.get(null));
-                }
-            } catch (IllegalArgumentException | IllegalAccessException ex) {
-            }
+        // Das passende (bereits geparste) Pattern suchen.
+        ParseResultPattern resultPattern = RESULT_PATTERNS_BY_OPERATOR_NAME.get(operator);
+        if (resultPattern != null) {
+            return OperationParser.parseDefaultOperator(operator, params, vars, resultPattern);
         }
 
         throw new ExpressionException(Translator.translateOutputMessage(EB_Operator_INVALID_OPERATOR));
@@ -167,7 +191,26 @@ public class Operator extends Expression {
     }
 
     @Override
-    public double evaluate() throws EvaluationException {
+    public double evaluate(EvaluationContext context) throws EvaluationException {
+
+        if (this.type.equals(TypeOperator.integral) && !this.precise && this.params.length == 4) {
+            /*
+             Approximative bestimmte Integrale direkt numerisch auswerten, und
+             zwar mit gröberer Toleranz als in simplifyBasicInt(), da
+             evaluate() etwa beim Zeichnen für jeden Pixel aufgerufen wird.
+             */
+            Expression integrand = (Expression) this.params[0];
+            Set<String> varsInIntegrand = new HashSet<>();
+            integrand.addContainedVars(varsInIntegrand);
+            varsInIntegrand.remove((String) this.params[1]);
+            if (varsInIntegrand.isEmpty()) {
+                double a = ((Expression) this.params[2]).evaluate(context);
+                double b = ((Expression) this.params[3]).evaluate(context);
+                return NumericalUtils.integrateByGaussKronrod(integrand, (String) this.params[1], a, b,
+                        NumericalUtils.EVALUATION_INTEGRATION_TOLERANCE,
+                        ComputationBounds.BOUND_NUMERIC_MAX_NUMBER_OF_INTEGRATION_SUBINTERVALS_IN_EVALUATION, context, false);
+            }
+        }
 
         /*
          Bei der Auswertung von Operatoren wird zunächst versucht, den
@@ -181,19 +224,19 @@ public class Operator extends Expression {
         }
 
         if (this.getType().equals(TypeOperator.diff)) {
-            return simplifyBasicDiff().evaluate();
+            return simplifyBasicDiff().evaluate(context);
         }
         if (this.getType().equals(TypeOperator.fac)) {
 
             Expression expr = this.simplifyBasicFac();
             if (expr instanceof Operator && ((Operator) expr).getType().equals(TypeOperator.fac)) {
-                return AnalysisUtils.Gamma(((Expression) this.params[0]).evaluate() + 1);
+                return AnalysisUtils.Gamma(((Expression) this.params[0]).evaluate(context) + 1);
             }
-            return expr.evaluate();
+            return expr.evaluate(context);
 
         }
         if (this.getType().equals(TypeOperator.gcd)) {
-            return simplifyBasicGCD().evaluate();
+            return simplifyBasicGCD().evaluate(context);
         }
         if (this.getType().equals(TypeOperator.integral)) {
 
@@ -212,38 +255,37 @@ public class Operator extends Expression {
                      welche mittels numerischer Verfahren behandelt werden
                      kann.
                      */
-                    double a = ((Expression) this.params[2]).evaluate();
-                    double b = ((Expression) this.params[3]).evaluate();
-                    double result = NumericalUtils.integrateBySimpson((Expression) ((Operator) expr).getParams()[0], (String) this.params[1], a, b, 1000);
-                    double betterResult = NumericalUtils.integrateBySimpson((Expression) ((Operator) expr).getParams()[0], (String) this.params[1], a, b, 2000);
-                    double almostPreciseResult = 16 / ((double) 15) * betterResult - 1 / ((double) 15) * result;
-                    return almostPreciseResult;
+                    double a = ((Expression) this.params[2]).evaluate(context);
+                    double b = ((Expression) this.params[3]).evaluate(context);
+                    return NumericalUtils.integrateByGaussKronrod((Expression) ((Operator) expr).getParams()[0], (String) this.params[1], a, b,
+                            NumericalUtils.EVALUATION_INTEGRATION_TOLERANCE,
+                            ComputationBounds.BOUND_NUMERIC_MAX_NUMBER_OF_INTEGRATION_SUBINTERVALS_IN_EVALUATION, context, false);
                 }
 
             }
-            return expr.evaluate();
+            return expr.evaluate(context);
 
         }
         if (this.getType().equals(TypeOperator.laplace)) {
-            return simplifyBasicLaplace().evaluate();
+            return simplifyBasicLaplace().evaluate(context);
         }
         if (this.getType().equals(TypeOperator.lcm)) {
-            return simplifyBasicLCM().evaluate();
+            return simplifyBasicLCM().evaluate(context);
         }
         if (this.getType().equals(TypeOperator.mod)) {
-            return simplifyBasicMod().evaluate();
+            return simplifyBasicMod().evaluate(context);
         }
         if (this.getType().equals(TypeOperator.modpow)) {
-            return simplifyBasicModPow().evaluate();
+            return simplifyBasicModPow().evaluate(context);
         }
         if (this.getType().equals(TypeOperator.prod)) {
-            return simplifyBasicProd().evaluate();
+            return simplifyBasicProd().evaluate(context);
         }
         if (this.getType().equals(TypeOperator.sum)) {
-            return simplifyBasicSum().evaluate();
+            return simplifyBasicSum().evaluate(context);
         }
         if (this.getType().equals(TypeOperator.taylor)) {
-            return simplifyBasicTaylor().evaluate();
+            return simplifyBasicTaylor().evaluate(context);
         }
         return 0;
 
@@ -326,28 +368,33 @@ public class Operator extends Expression {
     }
 
     @Override
-    public boolean contains(String var) {
+    protected Set<String> computeContainedVarsForContains() {
 
         if (this.type.equals(TypeOperator.integral) && this.params.length == 2) {
-            return ((Expression) this.params[0]).contains(var);
-        }
-
-        // Im bestimmten Integral zählt die Integrationsvariable NICHT als vorkommende Veränderliche.
-        if (this.type.equals(TypeOperator.integral) && this.params.length == 4) {
-            return (((Expression) this.params[0]).contains(var) || ((Expression) this.params[2]).contains(var)
-                    || ((Expression) this.params[3]).contains(var)) && !var.equals((String) this.params[1]);
+            return ((Expression) this.params[0]).getContainedVarsForContains();
         }
 
-        // In der Summe oder im Produkt zählt der Index NICHT als vorkommende Veränderliche!
-        if (this.type.equals(TypeOperator.prod) || this.type.equals(TypeOperator.sum)) {
-            return (((Expression) this.params[0]).contains(var) || ((Expression) this.params[2]).contains(var)
-                    || ((Expression) this.params[3]).contains(var)) && !((String) this.params[1]).equals(var);
+        /*
+         Im bestimmten Integral zählt die Integrationsvariable NICHT als vorkommende 
+         Veränderliche. In der Summe oder im Produkt zählt der Index NICHT als 
+         vorkommende Veränderliche!
+         */
+        if (this.type.equals(TypeOperator.integral) && this.params.length == 4
+                || this.type.equals(TypeOperator.prod) || this.type.equals(TypeOperator.sum)) {
+            Set<String> result = union(((Expression) this.params[0]).getContainedVarsForContains(),
+                    union(((Expression) this.params[2]).getContainedVarsForContains(), ((Expression) this.params[3]).getContainedVarsForContains()));
+            if (result.contains((String) this.params[1])) {
+                result = new HashSet<>(result);
+                result.remove((String) this.params[1]);
+                result = Collections.unmodifiableSet(result);
+            }
+            return result;
         }
 
-        boolean result = false;
+        Set<String> result = Collections.emptySet();
         for (Object param : this.params) {
             if (param instanceof Expression) {
-                result = result || ((Expression) param).contains(var);
+                result = union(result, ((Expression) param).getContainedVarsForContains());
             }
         }
         return result;
@@ -355,7 +402,7 @@ public class Operator extends Expression {
     }
 
     @Override
-    public boolean containsApproximates() {
+    protected boolean computeContainsApproximates() {
         boolean result = false;
         for (Object param : this.params) {
             if (param instanceof Expression) {
@@ -366,7 +413,7 @@ public class Operator extends Expression {
     }
 
     @Override
-    public boolean containsFunction() {
+    protected boolean computeContainsFunction() {
         boolean result = false;
         for (Object param : this.params) {
             if (param instanceof Expression) {
@@ -377,7 +424,7 @@ public class Operator extends Expression {
     }
 
     @Override
-    public boolean containsExponentialFunction() {
+    protected boolean computeContainsExponentialFunction() {
         boolean result = false;
         for (Object param : this.params) {
             if (param instanceof Expression) {
@@ -388,7 +435,7 @@ public class Operator extends Expression {
     }
 
     @Override
-    public boolean containsTrigonometricalFunction() {
+    protected boolean computeContainsTrigonometricalFunction() {
         boolean result = false;
         for (Object param : this.params) {
             if (param instanceof Expression) {
@@ -399,22 +446,22 @@ public class Operator extends Expression {
     }
 
     @Override
-    public boolean containsIndefiniteIntegral() {
+    protected boolean computeContainsIndefiniteIntegral() {
         return this.type.equals(TypeOperator.integral) && this.params.length == 2;
     }
 
     @Override
-    public boolean containsOperator() {
+    protected boolean computeContainsOperator() {
         return true;
     }
 
     @Override
-    public boolean containsOperator(TypeOperator type) {
-        return this.type.equals(type);
+    protected Set<TypeOperator> computeContainedOperatorTypes() {
+        return Collections.singleton(this.type);
     }
 
     @Override
-    public boolean containsAlgebraicOperation() {
+    protected boolean computeContainsAlgebraicOperation() {
         boolean containsAlgebraicOperation = false;
         for (Object param : this.params) {
             if (param instanceof Expression) {
@@ -957,6 +1004,10 @@ public class Operator extends Expression {
     @Override
     public boolean equals(Expression expr) {
 
+        if (isComparableByReference(expr)) {
+            return this == expr;
+        }
+
         if (expr instanceof Operator) {
 
             Operator operator = (Operator) expr;
@@ -1046,13 +1097,109 @@ public class Operator extends Expression {
 
     }
 
+    @Override
+    protected int computeEquivalenceHash() {
+        int hash = 31 * (31 * HASH_SEED + this.type.ordinal()) + this.params.length;
+        for (Object param : this.params) {
+            if (param instanceof Expression) {
+                hash = 31 * hash + ((Expression) param).getEquivalenceHash();
+            } else {
+                hash = 31 * hash + Objects.hashCode(param);
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    protected int computeSignInsensitiveHash() {
+
+        int numberOfSignInsensitiveParams;
+        if (this.type.equals(TypeOperator.fourier) || this.type.equals(TypeOperator.integral)
+                || this.type.equals(TypeOperator.sum) || this.type.equals(TypeOperator.taylor)) {
+            // Antiäquivalent, wenn die ersten Parameter antiäquivalent sind.
+            numberOfSignInsensitiveParams = 1;
+        } else if (this.type.equals(TypeOperator.diff)
+                || this.type.equals(TypeOperator.laplace) || this.type.equals(TypeOperator.mu)) {
+            // Antiäquivalent, wenn alle Parameter antiäquivalent sind.
+            numberOfSignInsensitiveParams = this.params.length;
+        } else {
+            return getEquivalenceHash();
+        }
+
+        int hash = 31 * (31 * HASH_SEED + this.type.ordinal()) + this.params.length;
+        for (int i = 0; i < this.params.length; i++) {
+            if (this.params[i] instanceof Expression) {
+                if (i < numberOfSignInsensitiveParams) {
+                    hash = 31 * hash + ((Expression) this.params[i]).getSignInsensitiveHash();
+                } else {
+                    hash = 31 * hash + ((Expression) this.params[i]).getEquivalenceHash();
+                }
+            } else {
+                hash = 31 * hash + Objects.hashCode(this.params[i]);
+            }
+        }
+        return hash;
+
+    }
+
+    @Override
+    protected int computeStructuralHash() {
+        int hash = 31 * (31 * HASH_SEED + this.type.ordinal()) + this.params.length;
+        for (Object param : this.params) {
+            if (param instanceof Expression) {
+                hash = 31 * hash + ((Expression) param).getStructuralHash();
+            } else {
+                hash = 31 * hash + Objects.hashCode(param);
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    protected Expression internSubexpressions() {
+        Object[] paramsInterned = null;
+        for (int i = 0; i < this.params.length; i++) {
+            if (this.params[i] instanceof Expression) {
+                Expression paramInterned = ((Expression) this.params[i]).intern();
+                if (paramInterned != this.params[i]) {
+                    if (paramsInterned == null) {
+                        paramsInterned = this.params.clone();
+                    }
+                    paramsInterned[i] = paramInterned;
+                }
+            }
+        }
+        if (paramsInterned == null) {
+            return this;
+        }
+        return new Operator(this.type, paramsInterned, this.precise);
+    }
+
+    @Override
+    protected boolean canBeInterned() {
+        /*
+         Da equals() die Genauigkeit von Operatoren nicht berücksichtigt, werden
+         nur exakte Operatoren interniert. Ansonsten könnte ein approximativer
+         Operator durch einen exakten ersetzt werden (und umgekehrt).
+         */
+        if (!this.precise) {
+            return false;
+        }
+        for (Object param : this.params) {
+            if (param instanceof Expression && !isCanonical((Expression) param)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public boolean hasPositiveSign() {
         return true;
     }
 
     @Override
-    public int getLength() {
+    protected int computeLength() {
         Object[] arguments = ((Operator) this).getParams();
         int length = 0;
         for (Object argument : arguments) {
@@ -1240,28 +1387,41 @@ public class Operator extends Expression {
         }
         Operator operator = new Operator(this.type, resultParams, this.precise);
 
-        // Mittels Reflection die passende Ausführmethode ermittln (durch Vergleich der Annotation).
-        Method[] methods = Operator.class.getDeclaredMethods();
+        // Die passende Ausführmethode aus der Tabelle der Vereinfachungsmethoden ermitteln.
+        MethodHandle simplifyMethod = SIMPLIFY_METHODS.get(this.type);
+        if (simplifyMethod != null) {
+            try {
+                return (Expression) simplifyMethod.invokeExact(operator);
+            } catch (EvaluationException | CancellationException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new EvaluationException(Translator.translateOutputMessage(EB_Operator_INVALID_OPERATOR));
+            }
+        }
+
+        return operator;
+
+    }
+
+    /**
+     * Ermittelt (durch Auslesen der Annotationen) zu jedem Operatortyp die
+     * zugehörige Vereinfachungsmethode.
+     */
+    private static Map<TypeOperator, MethodHandle> createSimplifyMethods() {
+        Map<TypeOperator, MethodHandle> simplifyMethods = new EnumMap<>(TypeOperator.class);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodType methodType = MethodType.methodType(Expression.class, Operator.class);
         SimplifyOperator annotation;
-        for (Method method : methods) {
+        for (Method method : Operator.class.getDeclaredMethods()) {
             annotation = method.getAnnotation(SimplifyOperator.class);
-            if (annotation != null && annotation.type().equals(this.type)) {
+            if (annotation != null && !simplifyMethods.containsKey(annotation.type())) {
                 try {
-                    return (Expression) method.invoke(operator);
-                } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                    if (e.getCause() instanceof EvaluationException) {
-                        throw (EvaluationException) e.getCause();
-                    }
-                    if (e.getCause() instanceof CancellationException) {
-                        throw (CancellationException) e.getCause();
-                    }
-                    throw new EvaluationException(Translator.translateOutputMessage(EB_Operator_INVALID_OPERATOR));
+                    simplifyMethods.put(annotation.type(), lookup.unreflect(method).asType(methodType));
+                } catch (IllegalAccessException e) {
                 }
             }
         }
-
-        return operator;
-
+        return simplifyMethods;
     }
 
     @Override
@@ -1480,10 +1640,8 @@ public class Operator extends Expression {
                     // Falls keine Parameter im Integranden auftauchen -> Integral approximativ berechnen.
                     double lowerLimit = ((Expression) params[2]).evaluate();
                     double upperLimit = ((Expression) params[3]).evaluate();
-                    double result = NumericalUtils.integrateBySimpson(expr, (String) params[1], lowerLimit, upperLimit, 1000);
-                    double betterResult = NumericalUtils.integrateBySimpson(expr, (String) params[1], lowerLimit, upperLimit, 2000);
-                    double almostPreciseResult = 16 / ((double) 15) * betterResult - 1 / ((double) 15) * result;
-                    return new Constant(almostPreciseResult);
+                    return new Constant(NumericalUtils.integrateByGaussKronrod(expr, (String) params[1], lowerLimit, upperLimit,
+                            NumericalUtils.DEFAULT_INTEGRATION_TOLERANCE, EvaluationContext.GLOBAL, true));
                 }
             }
 
@@ -0,0 +1,153 @@
+package abstractexpressions.expression.classes;
+
+import abstractexpressions.expression.basic.ExpressionCollection;
+import computationbounds.ComputationBounds;
+import enums.TypeSimplify;
+import exceptions.EvaluationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import process.Canceller;
+import process.ComputationBudget;
+
+/**
+ * Paralleles Anwenden eines Vereinfachungspasses auf die einzelnen Summanden
+ * bzw. Faktoren einer Summe bzw. eines Produkts. Enthält die Summe bzw. das
+ * Produkt mindestens
+ * ComputationBounds.BOUND_ALGEBRA_MIN_NUMBER_OF_TERMS_FOR_PARALLEL_SIMPLIFICATION
+ * Terme, so werden diese mittels Fork/Join parallel vereinfacht. Jedes
+ * Ergebnis wird wieder an der Stelle des ursprünglichen Terms abgelegt, das
+ * Ergebnis stimmt also mit dem der sequentiellen Vereinfachung überein.<br>
+ * Die parallele Vereinfachung findet nur statt, wenn sie eingeschaltet ist
+ * (vgl. Expression.setParallelSimplificationEnabled()) und die Vereinfachung
+ * der Terme keinen globalen Zustand verändert. Letzteres ist bei Operatoren
+ * nicht gewährleistet (Summen und Produkte setzen etwa ihren Index als
+ * vordefinierte Variable), daher werden Terme mit Operatoren sequentiell
+ * vereinfacht. Ebenso wird sequentiell vereinfacht, solange im aktuellen
+ * Thread ein ComputationBudget aktiv ist, da dieses nur im eigenen Thread
+ * gezählt wird.
+ */
+final class ParallelSimplification {
+
+    private static volatile boolean enabled = false;
+
+    private static ForkJoinPool pool;
+
+    private ParallelSimplification() {
+    }
+
+    /**
+     * Vereinfacht die Terme terms[from], ..., terms[to - 1] und legt die
+     * Ergebnisse in results ab. Wird die Anzahl der Terme klein genug, so wird
+     * sequentiell vereinfacht.
+     */
+    private static final class SimplifyTermsTask extends RecursiveAction {
+
+        private final TypeSimplify pass;
+        private final Expression[] terms;
+        private final Expression[] results;
+        private final int from;
+        private final int to;
+        private final AtomicReference<EvaluationException> error;
+        // Thread, welcher die Vereinfachung angestoßen hat (für Abbrüche).
+        private final Thread caller;
+
+        private SimplifyTermsTask(TypeSimplify pass, Expression[] terms, Expression[] results, int from, int to,
+                AtomicReference<EvaluationException> error, Thread caller) {
+            this.pass = pass;
+            this.terms = terms;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.error = error;
+            this.caller = caller;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= 1) {
+                for (int i = this.from; i < this.to && this.error.get() == null && !this.caller.isInterrupted(); i++) {
+                    try {
+                        this.results[i] = SimplifyPassScheduler.applyPass(this.pass, this.terms[i], null);
+                    } catch (EvaluationException e) {
+                        this.error.compareAndSet(null, e);
+                    }
+                }
+                return;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            invokeAll(new SimplifyTermsTask(this.pass, this.terms, this.results, this.from, middle, this.error, this.caller),
+                    new SimplifyTermsTask(this.pass, this.terms, this.results, middle, this.to, this.error, this.caller));
+        }
+
+    }
+
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    static void setEnabled(boolean enabled) {
+        ParallelSimplification.enabled = enabled;
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool();
+        }
+        return pool;
+    }
+
+    /**
+     * Wendet den Pass pass auf jeden Term in terms an und ersetzt den Term
+     * durch das Ergebnis. Je nach Anzahl und Art der Terme geschieht dies
+     * parallel oder sequentiell.
+     *
+     * @throws EvaluationException
+     */
+    static void applyPassToTerms(ExpressionCollection terms, TypeSimplify pass) throws EvaluationException {
+
+        if (!canBeSimplifiedInParallel(terms)) {
+            for (int i = 0; i < terms.getBound(); i++) {
+                if (terms.get(i) != null) {
+                    terms.put(i, SimplifyPassScheduler.applyPass(pass, terms.get(i), null));
+                }
+            }
+            return;
+        }
+
+        Expression[] termsAsArray = new Expression[terms.getBound()];
+        for (int i = 0; i < terms.getBound(); i++) {
+            termsAsArray[i] = terms.get(i);
+        }
+        Expression[] results = new Expression[termsAsArray.length];
+        AtomicReference<EvaluationException> error = new AtomicReference<>();
+        getPool().invoke(new SimplifyTermsTask(pass, termsAsArray, results, 0, termsAsArray.length, error,
+                Thread.currentThread()));
+
+        // Wurde der aufrufende Thread währenddessen abgebrochen, so wird hier die CancellationException geworfen.
+        Canceller.interruptComputationIfNeeded();
+        if (error.get() != null) {
+            throw error.get();
+        }
+        for (int i = 0; i < results.length; i++) {
+            terms.put(i, results[i]);
+        }
+
+    }
+
+    private static boolean canBeSimplifiedInParallel(ExpressionCollection terms) {
+        if (!enabled || terms.getBound() < ComputationBounds.BOUND_ALGEBRA_MIN_NUMBER_OF_TERMS_FOR_PARALLEL_SIMPLIFICATION
+                || ComputationBudget.getCurrentBudget() != null
+                || ForkJoinTask.inForkJoinPool()) {
+            return false;
+        }
+        for (int i = 0; i < terms.getBound(); i++) {
+            if (terms.get(i) == null || terms.get(i).containsOperator()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -1,8 +1,10 @@
 package abstractexpressions.expression.classes;
 
+import abstractexpressions.expression.computation.Interval;
 import enums.TypeExpansion;
 import enums.TypeFractionSimplification;
 import exceptions.EvaluationException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Set;
 import lang.translator.Translator;
@@ -84,10 +86,12 @@ public class SelfDefinedFunction extends Expression {
 
     public void setAbstractExpression(Expression abstractExpression) {
         this.abstractExpression = abstractExpression;
+        clearCachedProperties();
     }
 
     public void setLeft(Expression[] left) {
         this.left = left;
+        clearCachedProperties();
     }
 
     public static HashMap<String, Expression> getAbstractExpressionsForSelfDefinedFunctions() {
@@ -107,6 +111,7 @@ public class SelfDefinedFunction extends Expression {
          Falls eine Funktion mit demselben Namen bereits vorhanden ist, wird diese 
          überschrieben!
          */
+        SimplifyCache.invalidate();
         abstractExpressionsForSelfDefinedFunctions.put(f.getName(), f.getAbstractExpression());
         argumentsForSelfDefinedFunctions.put(f.getName(), f.getArguments());
         innerExpressionsForSelfDefinedFunctions.put(f.getName(), f.getLeft());
@@ -117,6 +122,7 @@ public class SelfDefinedFunction extends Expression {
      * vorhanden.
      */
     public static void removeSelfDefinedFunction(String f) {
+        SimplifyCache.invalidate();
         abstractExpressionsForSelfDefinedFunctions.remove(f);
         argumentsForSelfDefinedFunctions.remove(f);
         innerExpressionsForSelfDefinedFunctions.remove(f);
@@ -128,8 +134,18 @@ public class SelfDefinedFunction extends Expression {
     }
 
     @Override
-    public double evaluate() throws EvaluationException {
-        return this.replaceSelfDefinedFunctionsByPredefinedFunctions().evaluate();
+    public double evaluate(EvaluationContext context) throws EvaluationException {
+        return this.replaceSelfDefinedFunctionsByPredefinedFunctions().evaluate(context);
+    }
+
+    @Override
+    public double evaluateOrNaN(EvaluationContext context) {
+        return this.replaceSelfDefinedFunctionsByPredefinedFunctions().evaluateOrNaN(context);
+    }
+
+    @Override
+    public Interval evaluateInterval(String[] vars, Interval[] ranges) {
+        return this.replaceSelfDefinedFunctionsByPredefinedFunctions().evaluateInterval(vars, ranges);
     }
 
     @Override
@@ -147,16 +163,16 @@ public class SelfDefinedFunction extends Expression {
     }
 
     @Override
-    public boolean contains(String var) {
-        boolean result = false;
+    protected Set<String> computeContainedVarsForContains() {
+        Set<String> result = Collections.emptySet();
         for (int i = 0; i < this.left.length; i++) {
-            result = result || ((Expression) this.left[i]).contains(var);
+            result = union(result, this.left[i].getContainedVarsForContains());
         }
         return result;
     }
 
     @Override
-    public boolean containsApproximates() {
+    protected boolean computeContainsApproximates() {
         boolean result = false;
         for (int i = 0; i < this.left.length; i++) {
             result = result || this.left[i].containsApproximates();
@@ -165,7 +181,7 @@ public class SelfDefinedFunction extends Expression {
     }
 
     @Override
-    public boolean containsFunction() {
+    protected boolean computeContainsFunction() {
         boolean result = false;
         for (int i = 0; i < this.left.length; i++) {
             result = result || this.left[i].containsFunction();
@@ -174,7 +190,7 @@ public class SelfDefinedFunction extends Expression {
     }
 
     @Override
-    public boolean containsExponentialFunction() {
+    protected boolean computeContainsExponentialFunction() {
         boolean result = false;
         for (int i = 0; i < this.left.length; i++) {
             result = result || this.left[i].containsExponentialFunction();
@@ -183,7 +199,7 @@ public class SelfDefinedFunction extends Expression {
     }
 
     @Override
-    public boolean containsTrigonometricalFunction() {
+    protected boolean computeContainsTrigonometricalFunction() {
         boolean result = false;
         for (int i = 0; i < this.left.length; i++) {
             result = result || this.left[i].containsTrigonometricalFunction();
@@ -192,7 +208,7 @@ public class SelfDefinedFunction extends Expression {
     }
 
     @Override
-    public boolean containsIndefiniteIntegral() {
+    protected boolean computeContainsIndefiniteIntegral() {
         boolean result = false;
         for (int i = 0; i < this.left.length; i++) {
             result = result || this.left[i].containsIndefiniteIntegral();
@@ -201,7 +217,7 @@ public class SelfDefinedFunction extends Expression {
     }
 
     @Override
-    public boolean containsOperator() {
+    protected boolean computeContainsOperator() {
         boolean result = false;
         for (int i = 0; i < this.left.length; i++) {
             result = result || this.left[i].containsOperator();
@@ -210,16 +226,16 @@ public class SelfDefinedFunction extends Expression {
     }
 
     @Override
-    public boolean containsOperator(TypeOperator type) {
-        boolean result = false;
+    protected Set<TypeOperator> computeContainedOperatorTypes() {
+        Set<TypeOperator> result = this.abstractExpression.getContainedOperatorTypes();
         for (int i = 0; i < this.left.length; i++) {
-            result = result || this.left[i].containsOperator(type);
+            result = union(result, this.left[i].getContainedOperatorTypes());
         }
-        return result || this.abstractExpression.containsOperator(type);
+        return result;
     }
 
     @Override
-    public boolean containsAlgebraicOperation() {
+    protected boolean computeContainsAlgebraicOperation() {
         boolean containsAlgebraicOperation = false;
         for (int i = 0; i < this.left.length; i++) {
             containsAlgebraicOperation = containsAlgebraicOperation || this.left[i].containsAlgebraicOperation();
@@ -386,6 +402,10 @@ public class SelfDefinedFunction extends Expression {
     @Override
     public boolean equals(Expression expr) {
 
+        if (isComparableByReference(expr)) {
+            return this == expr;
+        }
+
         if (expr instanceof SelfDefinedFunction) {
             SelfDefinedFunction f = (SelfDefinedFunction) expr;
             boolean result = (this.name.equals(f.name)) && (this.arguments.length == f.arguments.length)
@@ -433,13 +453,71 @@ public class SelfDefinedFunction extends Expression {
         return false;
     }
 
+    @Override
+    protected int computeEquivalenceHash() {
+        int hash = 31 * this.name.hashCode() + this.abstractExpression.getEquivalenceHash();
+        for (String argument : this.arguments) {
+            hash = 31 * hash + argument.hashCode();
+        }
+        for (Expression argument : this.left) {
+            hash = 31 * hash + argument.getEquivalenceHash();
+        }
+        return hash;
+    }
+
+    @Override
+    protected int computeSignInsensitiveHash() {
+        // Selbstdefinierte Funktionen sind niemals antiäquivalent.
+        return getEquivalenceHash();
+    }
+
+    @Override
+    protected int computeStructuralHash() {
+        int hash = 31 * this.name.hashCode() + this.abstractExpression.getStructuralHash();
+        for (String argument : this.arguments) {
+            hash = 31 * hash + argument.hashCode();
+        }
+        for (Expression argument : this.left) {
+            hash = 31 * hash + argument.getStructuralHash();
+        }
+        return hash;
+    }
+
+    @Override
+    protected Expression internSubexpressions() {
+        Expression abstractExpressionInterned = this.abstractExpression.intern();
+        Expression[] leftInterned = new Expression[this.left.length];
+        boolean changed = abstractExpressionInterned != this.abstractExpression;
+        for (int i = 0; i < this.left.length; i++) {
+            leftInterned[i] = this.left[i].intern();
+            changed = changed || leftInterned[i] != this.left[i];
+        }
+        if (!changed) {
+            return this;
+        }
+        return new SelfDefinedFunction(this.name, this.arguments, abstractExpressionInterned, leftInterned);
+    }
+
+    @Override
+    protected boolean canBeInterned() {
+        if (!isCanonical(this.abstractExpression)) {
+            return false;
+        }
+        for (Expression argument : this.left) {
+            if (!isCanonical(argument)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public boolean hasPositiveSign() {
         return this.abstractExpression.hasPositiveSign();
     }
 
     @Override
-    public int getLength() {
+    protected int computeLength() {
         int length = 0;
         for (Expression argument : this.left) {
             length += argument.getLength();
@@ -0,0 +1,183 @@
+package abstractexpressions.expression.classes;
+
+import computationbounds.ComputationBounds;
+import enums.TypeSimplify;
+import exceptions.EvaluationException;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gemeinsamer Cache für die Ergebnisse von Expression.simplify() und
+ * Expression.simplify(Set&lt;TypeSimplify&gt;). Algorithmen, welche wiederholt
+ * dieselben Ausdrücke vereinfachen (etwa das Lösen von Gleichungen oder die
+ * Berechnung von Taylorpolynomen), können hierüber bereits berechnete
+ * Vereinfachungen wiederverwenden.<br>
+ * Der Cache enthält höchstens
+ * ComputationBounds.BOUND_ALGEBRA_MAX_NUMBER_OF_CACHED_SIMPLIFICATIONS Einträge,
+ * bei Überschreitung wird der am längsten nicht verwendete Eintrag entfernt.
+ * Ändert sich globaler Zustand, von welchem das Ergebnis einer Vereinfachung
+ * abhängen kann (vordefinierte Werte und Abhängigkeiten von Variablen,
+ * selbstdefinierte Funktionen), so wird der Cache geleert.<br>
+ * BEMERKUNG: Ausdrücke mit approximativen Anteilen werden nicht gecacht, da
+ * equals() die Genauigkeit von Operatoren nicht berücksichtigt.
+ */
+public final class SimplifyCache {
+
+    private static final class Key {
+
+        private final Expression expr;
+        private final Set<TypeSimplify> simplifyTypes;
+        private final int hash;
+
+        private Key(Expression expr, Set<TypeSimplify> simplifyTypes) {
+            this.expr = expr;
+            this.simplifyTypes = simplifyTypes;
+            this.hash = 31 * expr.getStructuralHash() + (simplifyTypes == null ? 0 : simplifyTypes.hashCode());
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) obj;
+            if (this.hash != key.hash || !this.expr.equals(key.expr)) {
+                return false;
+            }
+            return this.simplifyTypes == null ? key.simplifyTypes == null : this.simplifyTypes.equals(key.simplifyTypes);
+        }
+
+    }
+
+    private static final Map<Key, Expression> CACHE = new LinkedHashMap<Key, Expression>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Expression> eldest) {
+            return size() > ComputationBounds.BOUND_ALGEBRA_MAX_NUMBER_OF_CACHED_SIMPLIFICATIONS;
+        }
+
+    };
+
+    private static long hits = 0;
+    private static long misses = 0;
+
+    // Zählt die Änderungen am globalen Zustand. Der Cache ist nur gültig, solange cacheVersion damit übereinstimmt.
+    private static final AtomicLong STATE_VERSION = new AtomicLong();
+    private static long cacheVersion = 0;
+
+    private SimplifyCache() {
+    }
+
+    /**
+     * Liefert expr.simplify(), wobei bereits berechnete Ergebnisse aus dem
+     * Cache genommen werden.
+     *
+     * @throws EvaluationException
+     */
+    public static Expression simplify(Expression expr) throws EvaluationException {
+        return simplify(expr, null);
+    }
+
+    /**
+     * Liefert expr.simplify(simplifyTypes), wobei bereits berechnete
+     * Ergebnisse aus dem Cache genommen werden. Für simplifyTypes == null wird
+     * expr.simplify() verwendet.
+     *
+     * @throws EvaluationException
+     */
+    public static Expression simplify(Expression expr, Set<TypeSimplify> simplifyTypes) throws EvaluationException {
+
+        if (ComputationBounds.BOUND_ALGEBRA_MAX_NUMBER_OF_CACHED_SIMPLIFICATIONS <= 0 || expr.containsApproximates()) {
+            return simplifyWithoutCache(expr, simplifyTypes);
+        }
+
+        /*
+         Die Menge der Vereinfachungstypen wird kopiert, damit spätere
+         Änderungen an simplifyTypes keine Auswirkungen auf den Cache haben.
+         */
+        Set<TypeSimplify> simplifyTypesCopy = null;
+        if (simplifyTypes != null) {
+            simplifyTypesCopy = EnumSet.noneOf(TypeSimplify.class);
+            simplifyTypesCopy.addAll(simplifyTypes);
+        }
+        Key key = new Key(expr, simplifyTypesCopy);
+
+        long version = STATE_VERSION.get();
+        synchronized (CACHE) {
+            if (cacheVersion != version) {
+                CACHE.clear();
+                cacheVersion = version;
+            }
+            Expression result = CACHE.get(key);
+            if (result != null) {
+                hits++;
+                return result;
+            }
+            misses++;
+        }
+
+        // Die Vereinfachung selbst findet außerhalb der Synchronisation statt.
+        Expression result = simplifyWithoutCache(expr, simplifyTypesCopy);
+        synchronized (CACHE) {
+            // Hat sich der globale Zustand währenddessen geändert, so wird das Ergebnis verworfen.
+            if (cacheVersion == version && STATE_VERSION.get() == version) {
+                CACHE.put(key, result);
+            }
+        }
+        return result;
+
+    }
+
+    private static Expression simplifyWithoutCache(Expression expr, Set<TypeSimplify> simplifyTypes) throws EvaluationException {
+        if (simplifyTypes == null) {
+            return expr.simplify();
+        }
+        return expr.simplify(simplifyTypes);
+    }
+
+    /**
+     * Erklärt alle Einträge des Caches für ungültig. Wird aufgerufen, sobald
+     * sich globaler Zustand ändert, von dem Vereinfachungen abhängen.
+     */
+    static void invalidate() {
+        STATE_VERSION.incrementAndGet();
+    }
+
+    /**
+     * Leert den Cache und setzt die Zähler für Treffer und Fehlschläge zurück.
+     */
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+            hits = 0;
+            misses = 0;
+        }
+    }
+
+    public static int getSize() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    public static long getHits() {
+        synchronized (CACHE) {
+            return hits;
+        }
+    }
+
+    public static long getMisses() {
+        synchronized (CACHE) {
+            return misses;
+        }
+    }
+
+}
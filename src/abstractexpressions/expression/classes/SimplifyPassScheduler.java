@@ -0,0 +1,333 @@
+package abstractexpressions.expression.classes;
+
+import enums.TypeFractionSimplification;
+import enums.TypeSimplify;
+import exceptions.EvaluationException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import process.Canceller;
+import process.ComputationBudget;
+
+/**
+ * Steuert die Fixpunktiteration der einzelnen Vereinfachungsschritte (Pässe)
+ * in Expression.simplify(). Die Pässe werden wie bisher reihum ausgeführt, bis
+ * ein vollständiger Durchlauf den Ausdruck nicht mehr verändert. Dabei wird
+ * nach jedem Pass festgehalten, ob er den Ausdruck verändert hat. Ein Pass,
+ * welcher den Ausdruck nicht verändert hat, wird so lange übersprungen, bis ein
+ * anderer Pass den Ausdruck wieder verändert, denn er würde auf denselben
+ * Ausdruck erneut nichts bewirken. Insbesondere entfällt dadurch ein Großteil
+ * des letzten (bestätigenden) Durchlaufs.
+ */
+final class SimplifyPassScheduler {
+
+    /**
+     * Bedingung, unter welcher ein Pass ausgeführt wird. Sie wird unmittelbar
+     * vor dem Pass für den aktuellen Ausdruck geprüft.
+     */
+    private enum Condition {
+
+        ALWAYS, ALGEBRAIC, NOT_ALGEBRAIC, FUNCTIONAL, NOT_ALGEBRAIC_AND_FUNCTIONAL;
+
+        private boolean holds(Expression expr) {
+            switch (this) {
+                case ALGEBRAIC:
+                    return expr.containsAlgebraicOperation();
+                case NOT_ALGEBRAIC:
+                    return !expr.containsAlgebraicOperation();
+                case FUNCTIONAL:
+                    return containsFunctionOrFactorial(expr);
+                case NOT_ALGEBRAIC_AND_FUNCTIONAL:
+                    return !expr.containsAlgebraicOperation() && containsFunctionOrFactorial(expr);
+                default:
+                    return true;
+            }
+        }
+
+        private static boolean containsFunctionOrFactorial(Expression expr) {
+            return expr.containsFunction() || expr.containsOperator(TypeOperator.fac);
+        }
+
+    }
+
+    // Reihenfolge der Pässe in simplify().
+    private static final TypeSimplify[] DEFAULT_PASSES = new TypeSimplify[]{
+        TypeSimplify.order_difference_and_division,
+        TypeSimplify.order_sums_and_products,
+        TypeSimplify.simplify_basic,
+        TypeSimplify.simplify_by_inserting_defined_vars,
+        TypeSimplify.simplify_pull_apart_powers,
+        TypeSimplify.simplify_collect_products,
+        TypeSimplify.simplify_expand_rational_factors,
+        TypeSimplify.simplify_factorize,
+        TypeSimplify.simplify_bring_expression_to_common_denominator,
+        TypeSimplify.simplify_reduce_quotients,
+        TypeSimplify.simplify_reduce_differences_and_quotients_advanced,
+        TypeSimplify.simplify_algebraic_expressions,
+        TypeSimplify.simplify_expand_and_collect_equivalents_if_shorter,
+        TypeSimplify.simplify_functional_relations,
+        TypeSimplify.simplify_collect_logarithms};
+
+    // Reihenfolge der Pässe in simplify(Set<TypeSimplify>) und simplify(Set<TypeSimplify>, String).
+    private static final TypeSimplify[] ORDERED_PASSES = new TypeSimplify[]{
+        TypeSimplify.order_difference_and_division,
+        TypeSimplify.order_sums_and_products,
+        TypeSimplify.simplify_basic,
+        TypeSimplify.simplify_by_inserting_defined_vars,
+        TypeSimplify.simplify_expand_short,
+        TypeSimplify.simplify_expand_moderate,
+        TypeSimplify.simplify_expand_powerful,
+        TypeSimplify.simplify_expand_rational_factors,
+        TypeSimplify.simplify_pull_apart_powers,
+        TypeSimplify.simplify_multiply_exponents,
+        TypeSimplify.simplify_collect_products,
+        TypeSimplify.simplify_factorize_all_but_rationals,
+        TypeSimplify.simplify_factorize,
+        TypeSimplify.simplify_bring_expression_to_common_denominator,
+        TypeSimplify.simplify_reduce_quotients,
+        TypeSimplify.simplify_reduce_differences_and_quotients_advanced,
+        TypeSimplify.simplify_algebraic_expressions,
+        TypeSimplify.simplify_expand_and_collect_equivalents_if_shorter,
+        TypeSimplify.simplify_functional_relations,
+        TypeSimplify.simplify_replace_exponential_functions_by_definitions,
+        TypeSimplify.simplify_replace_exponential_functions_with_respect_to_variable_by_definitions,
+        TypeSimplify.simplify_replace_trigonometrical_functions_by_definitions,
+        TypeSimplify.simplify_replace_trigonometrical_functions_with_respect_to_variable_by_definitions,
+        TypeSimplify.simplify_collect_logarithms,
+        TypeSimplify.simplify_expand_logarithms,
+        TypeSimplify.simplify_expand_products_of_complex_exponential_functions};
+
+    private static final SimplifyPassScheduler DEFAULT_SCHEDULER = new SimplifyPassScheduler(DEFAULT_PASSES,
+            getConditions(DEFAULT_PASSES), null);
+
+    private final TypeSimplify[] passes;
+    private final Condition[] conditions;
+    private final String var;
+
+    private SimplifyPassScheduler(TypeSimplify[] passes, Condition[] conditions, String var) {
+        this.passes = passes;
+        this.conditions = conditions;
+        this.var = var;
+    }
+
+    /**
+     * Liefert den Scheduler für die Standardvereinfachung simplify().
+     */
+    static SimplifyPassScheduler getDefaultScheduler() {
+        return DEFAULT_SCHEDULER;
+    }
+
+    /**
+     * Liefert den Scheduler für simplify(Set&lt;TypeSimplify&gt;, String). Die
+     * Pässe werden in der festen Reihenfolge ORDERED_PASSES ausgeführt. Pässe,
+     * welche var benötigen, werden nur für var != null ausgeführt.
+     */
+    static SimplifyPassScheduler getScheduler(Set<TypeSimplify> simplifyTypes, String var) {
+        List<TypeSimplify> passes = new ArrayList<>();
+        for (TypeSimplify pass : ORDERED_PASSES) {
+            if (simplifyTypes.contains(pass) && (var != null || !requiresVariable(pass))) {
+                passes.add(pass);
+            }
+        }
+        TypeSimplify[] passesAsArray = passes.toArray(new TypeSimplify[passes.size()]);
+        return new SimplifyPassScheduler(passesAsArray, getConditions(passesAsArray), var);
+    }
+
+    /**
+     * Liefert den Scheduler für simplify(TypeSimplify...). Die Pässe werden in
+     * der angegebenen Reihenfolge ausgeführt. Wie bisher werden die Pässe
+     * hinter simplify_algebraic_expressions nur für Ausdrücke ohne algebraische
+     * Operationen ausgeführt und Pässe, welche eine Variable benötigen,
+     * ignoriert.
+     */
+    static SimplifyPassScheduler getScheduler(TypeSimplify... simplifyTypes) {
+        List<TypeSimplify> passes = new ArrayList<>();
+        List<Condition> conditions = new ArrayList<>();
+        for (TypeSimplify pass : simplifyTypes) {
+            if (requiresVariable(pass) || !Arrays.asList(ORDERED_PASSES).contains(pass)) {
+                continue;
+            }
+            passes.add(pass);
+            Condition condition = getCondition(pass);
+            if (condition.equals(Condition.FUNCTIONAL)) {
+                condition = Condition.NOT_ALGEBRAIC_AND_FUNCTIONAL;
+            } else if (pass.equals(TypeSimplify.simplify_expand_and_collect_equivalents_if_shorter)) {
+                condition = Condition.NOT_ALGEBRAIC;
+            }
+            conditions.add(condition);
+        }
+        return new SimplifyPassScheduler(passes.toArray(new TypeSimplify[passes.size()]),
+                conditions.toArray(new Condition[conditions.size()]), null);
+    }
+
+    private static Condition[] getConditions(TypeSimplify[] passes) {
+        Condition[] conditions = new Condition[passes.length];
+        for (int i = 0; i < passes.length; i++) {
+            conditions[i] = getCondition(passes[i]);
+        }
+        return conditions;
+    }
+
+    private static Condition getCondition(TypeSimplify pass) {
+        switch (pass) {
+            case simplify_algebraic_expressions:
+                return Condition.ALGEBRAIC;
+            case simplify_functional_relations:
+            case simplify_replace_exponential_functions_by_definitions:
+            case simplify_replace_exponential_functions_with_respect_to_variable_by_definitions:
+            case simplify_replace_trigonometrical_functions_by_definitions:
+            case simplify_replace_trigonometrical_functions_with_respect_to_variable_by_definitions:
+            case simplify_collect_logarithms:
+            case simplify_expand_logarithms:
+            case simplify_expand_products_of_complex_exponential_functions:
+                return Condition.FUNCTIONAL;
+            default:
+                return Condition.ALWAYS;
+        }
+    }
+
+    private static boolean requiresVariable(TypeSimplify pass) {
+        return pass.equals(TypeSimplify.simplify_replace_exponential_functions_with_respect_to_variable_by_definitions)
+                || pass.equals(TypeSimplify.simplify_replace_trigonometrical_functions_with_respect_to_variable_by_definitions)
+                || pass.equals(TypeSimplify.simplify_expand_products_of_complex_exponential_functions);
+    }
+
+    /**
+     * Wendet den Pass pass auf expr an. var wird nur von Pässen benötigt, die
+     * sich auf eine Variable beziehen.
+     *
+     * @throws EvaluationException
+     */
+    static Expression applyPass(TypeSimplify pass, Expression expr, String var) throws EvaluationException {
+        switch (pass) {
+            case order_difference_and_division:
+                return expr.orderDifferencesAndQuotients();
+            case order_sums_and_products:
+                return expr.orderSumsAndProducts();
+            case simplify_basic:
+                return expr.simplifyBasic();
+            case simplify_by_inserting_defined_vars:
+                return expr.simplifyByInsertingDefinedVars();
+            case simplify_expand_short:
+                return expr.simplifyExpandShort();
+            case simplify_expand_moderate:
+                return expr.simplifyExpandModerate();
+            case simplify_expand_powerful:
+                return expr.simplifyExpandPowerful();
+            case simplify_expand_rational_factors:
+                return expr.simplifyExpandRationalFactors();
+            case simplify_pull_apart_powers:
+                return expr.simplifyPullApartPowers();
+            case simplify_multiply_exponents:
+                return expr.simplifyMultiplyExponents();
+            case simplify_collect_products:
+                return expr.simplifyCollectProducts();
+            case simplify_factorize_all_but_rationals:
+                return expr.simplifyFactorizeAllButRationals();
+            case simplify_factorize:
+                return expr.simplifyFactorize();
+            case simplify_bring_expression_to_common_denominator:
+                return expr.simplifyBringExpressionToCommonDenominator(TypeFractionSimplification.IF_MULTIPLE_FRACTION_OCCURS);
+            case simplify_reduce_quotients:
+                return expr.simplifyReduceQuotients();
+            case simplify_reduce_differences_and_quotients_advanced:
+                return expr.simplifyReduceDifferencesAndQuotientsAdvanced();
+            case simplify_algebraic_expressions:
+                return expr.simplifyAlgebraicExpressions();
+            case simplify_expand_and_collect_equivalents_if_shorter:
+                return expr.simplifyExpandAndCollectEquivalentsIfShorter();
+            case simplify_functional_relations:
+                return expr.simplifyFunctionalRelations();
+            case simplify_replace_exponential_functions_by_definitions:
+                return expr.simplifyReplaceExponentialFunctionsByDefinitions();
+            case simplify_replace_exponential_functions_with_respect_to_variable_by_definitions:
+                return expr.simplifyReplaceExponentialFunctionsWithRespectToVariableByDefinitions(var);
+            case simplify_replace_trigonometrical_functions_by_definitions:
+                return expr.simplifyReplaceTrigonometricalFunctionsByDefinitions();
+            case simplify_replace_trigonometrical_functions_with_respect_to_variable_by_definitions:
+                return expr.simplifyReplaceTrigonometricalFunctionsWithRespectToVariableByDefinitions(var);
+            case simplify_collect_logarithms:
+                return expr.simplifyCollectLogarithms();
+            case simplify_expand_logarithms:
+                return expr.simplifyExpandLogarithms();
+            case simplify_expand_products_of_complex_exponential_functions:
+                return expr.simplifyExpandProductsOfComplexExponentialFunctions(var);
+            default:
+                return expr;
+        }
+    }
+
+    /**
+     * Wendet den Pass pass auf expr an und erfasst dabei, falls eingeschaltet,
+     * die Messwerte des Passes in SimplifyProfiler.
+     *
+     * @throws EvaluationException
+     */
+    private Expression applyPassWithProfiling(TypeSimplify pass, Expression expr) throws EvaluationException {
+        if (!SimplifyProfiler.isEnabled()) {
+            return applyPass(pass, expr, this.var);
+        }
+        long numberOfNodes = SimplifyProfiler.getNumberOfNodes(expr);
+        SimplifyProfiler.Measurement measurement = SimplifyProfiler.start();
+        Expression exprAfterPass = expr;
+        try {
+            exprAfterPass = applyPass(pass, expr, this.var);
+            return exprAfterPass;
+        } finally {
+            SimplifyProfiler.stop(measurement, SimplifyProfiler.FAMILY_PASSES, pass.name(), numberOfNodes,
+                    exprAfterPass != expr && !exprAfterPass.equals(expr));
+        }
+    }
+
+    /**
+     * Führt die Pässe reihum auf expr aus, bis ein vollständiger Durchlauf expr
+     * nicht mehr verändert, und gibt das Ergebnis zurück.
+     *
+     * @throws EvaluationException
+     */
+    Expression simplify(Expression expr) throws EvaluationException {
+
+        Expression exprSimplified = Expression.isInterningEnabled() ? expr.intern() : expr;
+
+        /*
+         version zählt die Veränderungen des Ausdrucks. unchangedInVersion[i]
+         ist die Version, in welcher Pass i zuletzt ohne Wirkung ausgeführt
+         wurde. Solange sich die Version nicht ändert, kann Pass i übersprungen
+         werden.
+         */
+        int version = 0;
+        int[] unchangedInVersion = new int[this.passes.length];
+        Arrays.fill(unchangedInVersion, -1);
+
+        Expression exprBeforeRound;
+        boolean changed;
+        do {
+            exprBeforeRound = exprSimplified;
+            changed = false;
+            ComputationBudget.registerSimplifyIteration();
+            for (int i = 0; i < this.passes.length; i++) {
+                if (unchangedInVersion[i] == version || !this.conditions[i].holds(exprSimplified)) {
+                    continue;
+                }
+                Expression exprAfterPass = applyPassWithProfiling(this.passes[i], exprSimplified);
+                Canceller.interruptComputationIfNeeded();
+                if (exprAfterPass == exprSimplified || exprAfterPass.equals(exprSimplified)) {
+                    unchangedInVersion[i] = version;
+                } else {
+                    version++;
+                    changed = true;
+                }
+                exprSimplified = exprAfterPass;
+            }
+            if (Expression.isInterningEnabled()) {
+                exprSimplified = exprSimplified.intern();
+            }
+            // Ein Durchlauf kann den Ausdruck auch verändern und wieder zurückverwandeln.
+        } while (changed && !exprBeforeRound.equals(exprSimplified));
+
+        return exprSimplified;
+
+    }
+
+}
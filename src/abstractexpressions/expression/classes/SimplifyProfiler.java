@@ -0,0 +1,312 @@
+package abstractexpressions.expression.classes;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Optionale Messung der Vereinfachung. Ist die Messung eingeschaltet, so
+ * werden für jeden Pass von simplify() (Familie FAMILY_PASSES, Name = Name des
+ * TypeSimplify) sowie für die Regelfamilien FAMILY_BINARY_OPERATION_RULES
+ * (Name = Typ der Operation) und FAMILY_TRIGONOMETRY_RULES (Name = Typ der
+ * Funktion) folgende Größen erfasst:<br>
+ * (1) Anzahl der Aufrufe,<br>
+ * (2) Gesamtzeit sowie Eigenzeit (Gesamtzeit ohne die Zeit verschachtelter,
+ * ebenfalls gemessener Aufrufe) in Nanosekunden,<br>
+ * (3) Anzahl der besuchten Knoten (bei Pässen die Anzahl der Knoten des
+ * Ausdrucks, bei Regeln die Anzahl der Aufrufe),<br>
+ * (4) Anzahl der Aufrufe, welche den Ausdruck verändert haben.<br>
+ * Die Werte können mittels getSnapshot() abgefragt und zusätzlich über JMX
+ * (vgl. registerMBean()) eingesehen werden. Ist die Messung ausgeschaltet
+ * (Standard), so kostet sie pro Messpunkt nur das Lesen eines Schalters.
+ */
+public final class SimplifyProfiler {
+
+    public static final String FAMILY_PASSES = "TypeSimplify";
+    public static final String FAMILY_BINARY_OPERATION_RULES = "SimplifyBinaryOperationUtils";
+    public static final String FAMILY_TRIGONOMETRY_RULES = "SimplifyTrigonometryUtils";
+
+    private static final String MBEAN_NAME = "ExpressionBuilder:type=SimplifyProfiler";
+
+    private static volatile boolean enabled = false;
+
+    private static final ConcurrentMap<String, Counters> COUNTERS = new ConcurrentHashMap<>();
+
+    // Aktuell laufende Messung des jeweiligen Threads (für die Berechnung der Eigenzeiten).
+    private static final ThreadLocal<Measurement> CURRENT_MEASUREMENT = new ThreadLocal<>();
+
+    private SimplifyProfiler() {
+    }
+
+    private static final class Counters {
+
+        private final String family;
+        private final String name;
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong totalTimeNanos = new AtomicLong();
+        private final AtomicLong selfTimeNanos = new AtomicLong();
+        private final AtomicLong nodesVisited = new AtomicLong();
+        private final AtomicLong changes = new AtomicLong();
+
+        private Counters(String family, String name) {
+            this.family = family;
+            this.name = name;
+        }
+
+    }
+
+    /**
+     * Eine laufende Messung. Wird von start() erzeugt und muss mittels stop()
+     * (in einem finally-Block) beendet werden.
+     */
+    static final class Measurement {
+
+        private final Measurement parent;
+        private final long startTime;
+        private long nestedTimeNanos;
+
+        private Measurement(Measurement parent) {
+            this.parent = parent;
+            this.startTime = System.nanoTime();
+        }
+
+    }
+
+    /**
+     * Messwerte eines Passes bzw. einer Regel zum Zeitpunkt von getSnapshot().
+     */
+    public static final class Entry {
+
+        private final String family;
+        private final String name;
+        private final long calls;
+        private final long totalTimeNanos;
+        private final long selfTimeNanos;
+        private final long nodesVisited;
+        private final long changes;
+
+        private Entry(Counters counters) {
+            this.family = counters.family;
+            this.name = counters.name;
+            this.calls = counters.calls.get();
+            this.totalTimeNanos = counters.totalTimeNanos.get();
+            this.selfTimeNanos = counters.selfTimeNanos.get();
+            this.nodesVisited = counters.nodesVisited.get();
+            this.changes = counters.changes.get();
+        }
+
+        public String getFamily() {
+            return this.family;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public long getCalls() {
+            return this.calls;
+        }
+
+        public long getTotalTimeNanos() {
+            return this.totalTimeNanos;
+        }
+
+        public long getSelfTimeNanos() {
+            return this.selfTimeNanos;
+        }
+
+        public long getNodesVisited() {
+            return this.nodesVisited;
+        }
+
+        public long getChanges() {
+            return this.changes;
+        }
+
+        @Override
+        public String toString() {
+            return this.family + "." + this.name + ": calls = " + this.calls + ", total = " + this.totalTimeNanos
+                    + " ns, self = " + this.selfTimeNanos + " ns, nodes = " + this.nodesVisited + ", changes = " + this.changes;
+        }
+
+    }
+
+    private static final class ProfilerMXBean implements SimplifyProfilerMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return SimplifyProfiler.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            SimplifyProfiler.setEnabled(enabled);
+        }
+
+        @Override
+        public void reset() {
+            SimplifyProfiler.reset();
+        }
+
+        @Override
+        public List<Entry> getEntries() {
+            return SimplifyProfiler.getSnapshot();
+        }
+
+        @Override
+        public String[] getReport() {
+            List<Entry> entries = SimplifyProfiler.getSnapshot();
+            String[] report = new String[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                report[i] = entries.get(i).toString();
+            }
+            return report;
+        }
+
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Schaltet die Messung ein oder aus. Bereits erfasste Werte bleiben
+     * erhalten (vgl. reset()).
+     */
+    public static void setEnabled(boolean enabled) {
+        SimplifyProfiler.enabled = enabled;
+    }
+
+    /**
+     * Verwirft alle bisher erfassten Werte.
+     */
+    public static void reset() {
+        COUNTERS.clear();
+    }
+
+    /**
+     * Liefert die bisher erfassten Werte, sortiert nach Familie und
+     * absteigender Eigenzeit.
+     */
+    public static List<Entry> getSnapshot() {
+        List<Entry> entries = new ArrayList<>();
+        for (Counters counters : COUNTERS.values()) {
+            entries.add(new Entry(counters));
+        }
+        Collections.sort(entries, new Comparator<Entry>() {
+
+            @Override
+            public int compare(Entry entry1, Entry entry2) {
+                int result = entry1.getFamily().compareTo(entry2.getFamily());
+                if (result != 0) {
+                    return result;
+                }
+                return Long.compare(entry2.getSelfTimeNanos(), entry1.getSelfTimeNanos());
+            }
+
+        });
+        return entries;
+    }
+
+    /**
+     * Registriert die Messung als MXBean (SimplifyProfilerMXBean) beim
+     * Plattform-MBeanServer. Ein wiederholter Aufruf hat keine Wirkung.
+     *
+     * @throws JMException
+     */
+    public static synchronized void registerMBean() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName(MBEAN_NAME);
+        if (!server.isRegistered(objectName)) {
+            server.registerMBean(new ProfilerMXBean(), objectName);
+        }
+    }
+
+    /**
+     * Beginnt eine Messung. Ist die Messung ausgeschaltet, so wird null
+     * zurückgegeben.
+     */
+    static Measurement start() {
+        if (!enabled) {
+            return null;
+        }
+        Measurement measurement = new Measurement(CURRENT_MEASUREMENT.get());
+        CURRENT_MEASUREMENT.set(measurement);
+        return measurement;
+    }
+
+    /**
+     * Beendet die Messung measurement und verbucht sie unter family und name.
+     * Für measurement == null geschieht nichts.
+     */
+    static void stop(Measurement measurement, String family, String name, long nodesVisited, boolean changed) {
+        if (measurement == null) {
+            return;
+        }
+        long elapsedTime = System.nanoTime() - measurement.startTime;
+        CURRENT_MEASUREMENT.set(measurement.parent);
+        if (measurement.parent != null) {
+            measurement.parent.nestedTimeNanos += elapsedTime;
+        }
+        Counters counters = getCounters(family, name);
+        counters.calls.incrementAndGet();
+        counters.totalTimeNanos.addAndGet(elapsedTime);
+        counters.selfTimeNanos.addAndGet(elapsedTime - measurement.nestedTimeNanos);
+        counters.nodesVisited.addAndGet(nodesVisited);
+        if (changed) {
+            counters.changes.incrementAndGet();
+        }
+    }
+
+    private static Counters getCounters(String family, String name) {
+        String key = family + "." + name;
+        Counters counters = COUNTERS.get(key);
+        if (counters == null) {
+            Counters newCounters = new Counters(family, name);
+            counters = COUNTERS.putIfAbsent(key, newCounters);
+            if (counters == null) {
+                counters = newCounters;
+            }
+        }
+        return counters;
+    }
+
+    /**
+     * Gibt die Anzahl der Knoten des Ausdrucks expr zurück.
+     */
+    static long getNumberOfNodes(Expression expr) {
+        if (expr instanceof BinaryOperation) {
+            return 1 + getNumberOfNodes(((BinaryOperation) expr).getLeft()) + getNumberOfNodes(((BinaryOperation) expr).getRight());
+        }
+        if (expr instanceof Function) {
+            return 1 + getNumberOfNodes(((Function) expr).getLeft());
+        }
+        if (expr instanceof Operator) {
+            long numberOfNodes = 1;
+            for (Object param : ((Operator) expr).getParams()) {
+                if (param instanceof Expression) {
+                    numberOfNodes += getNumberOfNodes((Expression) param);
+                }
+            }
+            return numberOfNodes;
+        }
+        if (expr instanceof SelfDefinedFunction) {
+            long numberOfNodes = 1;
+            for (Expression argument : ((SelfDefinedFunction) expr).getLeft()) {
+                numberOfNodes += getNumberOfNodes(argument);
+            }
+            return numberOfNodes;
+        }
+        return 1;
+    }
+
+}
@@ -0,0 +1,31 @@
+package abstractexpressions.expression.classes;
+
+import java.util.List;
+
+/**
+ * JMX-Schnittstelle von SimplifyProfiler (vgl.
+ * SimplifyProfiler.registerMBean()).
+ */
+public interface SimplifyProfilerMXBean {
+
+    public boolean isEnabled();
+
+    public void setEnabled(boolean enabled);
+
+    /**
+     * Verwirft alle bisher erfassten Werte.
+     */
+    public void reset();
+
+    /**
+     * Liefert die bisher erfassten Werte (vgl. SimplifyProfiler.getSnapshot()).
+     */
+    public List<SimplifyProfiler.Entry> getEntries();
+
+    /**
+     * Liefert die bisher erfassten Werte in lesbarer Form, eine Zeile pro Pass
+     * bzw. Regel.
+     */
+    public String[] getReport();
+
+}
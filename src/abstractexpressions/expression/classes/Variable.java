@@ -1,17 +1,19 @@
 package abstractexpressions.expression.classes;
 
+import abstractexpressions.expression.computation.Interval;
 import enums.TypeExpansion;
 import enums.TypeFractionSimplification;
 import exceptions.EvaluationException;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import lang.translator.Translator;
 
 public class Variable extends Expression {
 
-    protected static Map<String, Variable> variables = new HashMap<>();
+    protected static Map<String, Variable> variables = new ConcurrentHashMap<>();
     protected String name;
     private double value;
     private Expression preciseExpression;
@@ -81,8 +83,9 @@ public class Variable extends Expression {
      * auf 0 gesetzt)
      */
     public static Variable create(String name) {
-        if (variables.containsKey(name)) {
-            return variables.get(name);
+        Variable existingVariable = variables.get(name);
+        if (existingVariable != null) {
+            return existingVariable;
         } else if (name.equals("pi")) {
             Variable result = new Variable("pi", Math.PI);
             variables.put(name, result);
@@ -119,6 +122,9 @@ public class Variable extends Expression {
      */
     public static Variable create(String name, Expression preciseExpression) {
         if (variables.containsKey(name)) {
+            if (variables.get(name).preciseExpression != preciseExpression) {
+                SimplifyCache.invalidate();
+            }
             variables.get(name).preciseExpression = preciseExpression;
             return variables.get(name);
         } else if (name.equals("pi")) {
@@ -126,6 +132,9 @@ public class Variable extends Expression {
             variables.put(name, result);
             return result;
         } else {
+            if (preciseExpression != null) {
+                SimplifyCache.invalidate();
+            }
             Variable result = new Variable(name, preciseExpression);
             variables.put(name, result);
             setDependenceIfDependenceAlreadyExists(name);
@@ -165,6 +174,7 @@ public class Variable extends Expression {
     public static void setDependingOnVariable(String name, String dependingVariable) {
         // PI darf nicht von irgendeiner Variablen abhängig sein.
         if (!name.equals("pi")) {
+            SimplifyCache.invalidate();
             Variable var = Variable.create(name);
             var.dependingOnVariable = dependingVariable;
             setDependingOnVariableForFurtherVariables(name, dependingVariable);
@@ -218,6 +228,9 @@ public class Variable extends Expression {
     
     public static void setPrecise(String name, boolean precise) {
         if (variables.containsKey(name)) {
+            if (variables.get(name).precise != precise) {
+                SimplifyCache.invalidate();
+            }
             variables.get(name).precise = precise;
         } else {
             Variable.create(name);
@@ -226,6 +239,7 @@ public class Variable extends Expression {
     }
 
     public static void setAllPrecise(boolean precise) {
+        SimplifyCache.invalidate();
         for (String var : variables.keySet()) {
             variables.get(var).precise = precise;
         }
@@ -255,7 +269,7 @@ public class Variable extends Expression {
     }
 
     @Override
-    public double evaluate() throws EvaluationException {
+    public double evaluate(EvaluationContext context) throws EvaluationException {
 
         /* 
          Falls der Variable ein konstanter Wert zugeordnet wurde, dann soll dieser  
@@ -263,14 +277,46 @@ public class Variable extends Expression {
          Dann soll x beim Evaluieren 1.33333333333333 zurückgeben.
          */
         if (this.preciseExpression != null) {
-            return this.preciseExpression.evaluate();
+            return this.preciseExpression.evaluate(context);
         }
-        if (!Double.isNaN(this.value) && !Double.isInfinite(this.value)) {
-            return this.value;
+        // Belegungen im Kontext haben Vorrang vor dem globalen Wert.
+        int index = context.indexOf(this.name);
+        double value = index >= 0 ? context.getValueAt(index) : this.value;
+        if (!Double.isNaN(value) && !Double.isInfinite(value)) {
+            return value;
         }
         throw new EvaluationException(Translator.translateOutputMessage("EB_Variable_VARIABLE_HAS_UNDEFINED_VALUE", this.name));
     }
 
+    @Override
+    public double evaluateOrNaN(EvaluationContext context) {
+        if (this.preciseExpression != null) {
+            return this.preciseExpression.evaluateOrNaN(context);
+        }
+        int index = context.indexOf(this.name);
+        double value = index >= 0 ? context.getValueAt(index) : this.value;
+        if (Double.isInfinite(value)) {
+            return Double.NaN;
+        }
+        return value;
+    }
+
+    @Override
+    public Interval evaluateInterval(String[] vars, Interval[] ranges) {
+        if (this.preciseExpression != null) {
+            return this.preciseExpression.evaluateInterval(vars, ranges);
+        }
+        for (int i = 0; i < vars.length; i++) {
+            if (vars[i].equals(this.name)) {
+                return ranges[i];
+            }
+        }
+        if (Double.isNaN(this.value) || Double.isInfinite(this.value)) {
+            return Interval.EMPTY;
+        }
+        return new Interval(this.value, this.value);
+    }
+
     @Override
     public Expression simplifyByInsertingDefinedVars() throws EvaluationException {
         if (this.preciseExpression != null) {
@@ -294,47 +340,47 @@ public class Variable extends Expression {
     }
 
     @Override
-    public boolean contains(String var) {
-        return this.name.equals(var);
+    protected Set<String> computeContainedVarsForContains() {
+        return Collections.singleton(this.name);
     }
 
     @Override
-    public boolean containsApproximates() {
+    protected boolean computeContainsApproximates() {
         return false;
     }
 
     @Override
-    public boolean containsFunction() {
+    protected boolean computeContainsFunction() {
         return false;
     }
 
     @Override
-    public boolean containsExponentialFunction() {
+    protected boolean computeContainsExponentialFunction() {
         return false;
     }
 
     @Override
-    public boolean containsTrigonometricalFunction() {
+    protected boolean computeContainsTrigonometricalFunction() {
         return false;
     }
 
     @Override
-    public boolean containsIndefiniteIntegral() {
+    protected boolean computeContainsIndefiniteIntegral() {
         return false;
     }
 
     @Override
-    public boolean containsOperator() {
+    protected boolean computeContainsOperator() {
         return false;
     }
 
     @Override
-    public boolean containsOperator(TypeOperator type) {
-        return false;
+    protected Set<TypeOperator> computeContainedOperatorTypes() {
+        return Collections.emptySet();
     }
 
     @Override
-    public boolean containsAlgebraicOperation(){
+    protected boolean computeContainsAlgebraicOperation() {
         return false;
     }
     
@@ -457,13 +503,39 @@ public class Variable extends Expression {
         return false;
     }
 
+    @Override
+    protected int computeEquivalenceHash() {
+        return this.getName().hashCode();
+    }
+
+    @Override
+    protected int computeSignInsensitiveHash() {
+        return this.getName().hashCode();
+    }
+
+    @Override
+    protected int computeStructuralHash() {
+        return this.getName().hashCode();
+    }
+
+    @Override
+    protected Expression internSubexpressions() {
+        return this;
+    }
+
+    @Override
+    protected boolean canBeInterned() {
+        // Variablen sind bereits über Variable.create() eindeutig.
+        return false;
+    }
+
     @Override
     public boolean hasPositiveSign() {
         return true;
     }
 
     @Override
-    public int getLength() {
+    protected int computeLength() {
         return 1;
     }
 
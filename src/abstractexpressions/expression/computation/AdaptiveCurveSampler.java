@@ -0,0 +1,102 @@
+package abstractexpressions.expression.computation;
+
+import java.util.Arrays;
+
+/**
+ * Adaptives Abtasten einer Funktion f(x) für das Zeichnen von Graphen. Der
+ * Bereich wird zunächst in gleich große Teilintervalle zerlegt. Ein
+ * Teilintervall wird (rekursiv) halbiert, falls der Wert von f in seinem
+ * Mittelpunkt um mehr als die vorgegebene Toleranz von der linearen
+ * Interpolation der Randwerte abweicht (der Graph dort also gekrümmt ist) oder
+ * falls f an einem, aber nicht an allen dieser drei Punkte undefiniert ist.
+ * Sprungstellen und Definitionslücken werden dadurch bis zur maximalen
+ * Verfeinerungstiefe eingegrenzt.
+ */
+public final class AdaptiveCurveSampler {
+
+    private final CompiledExpression f;
+    private final double tolerance;
+    private final int maxDepth;
+
+    private double[] xs = new double[256];
+    private double[] ys = new double[256];
+    private int numberOfPoints = 0;
+
+    private AdaptiveCurveSampler(CompiledExpression f, double tolerance, int maxDepth) {
+        this.f = f;
+        this.tolerance = tolerance;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Tastet f im Bereich xStart &#8804; x &#8804; xEnd ab und gibt die
+     * Punkte {x, f(x)} (aufsteigend nach x sortiert) zurück. Der Bereich wird
+     * zunächst in numberOfIntervals Teilintervalle zerlegt, von denen jedes
+     * höchstens maxDepth-mal halbiert wird.<br>
+     * VORAUSSETZUNG: f wurde bzgl. genau einer Variablen kompiliert.
+     */
+    public static double[][] sample(CompiledExpression f, double xStart, double xEnd, int numberOfIntervals,
+            double tolerance, int maxDepth) {
+
+        AdaptiveCurveSampler sampler = new AdaptiveCurveSampler(f, tolerance, maxDepth);
+        double x_0 = xStart;
+        double y_0 = f.evaluateOrNaN(x_0);
+        sampler.addPoint(x_0, y_0);
+        for (int i = 1; i <= numberOfIntervals; i++) {
+            double x_1 = xStart + (xEnd - xStart) * i / numberOfIntervals;
+            double y_1 = f.evaluateOrNaN(x_1);
+            sampler.refine(x_0, y_0, x_1, y_1, 0);
+            x_0 = x_1;
+            y_0 = y_1;
+        }
+
+        double[][] points = new double[sampler.numberOfPoints][2];
+        for (int i = 0; i < sampler.numberOfPoints; i++) {
+            points[i][0] = sampler.xs[i];
+            points[i][1] = sampler.ys[i];
+        }
+        return points;
+
+    }
+
+    private void addPoint(double x, double y) {
+        if (this.numberOfPoints == this.xs.length) {
+            this.xs = Arrays.copyOf(this.xs, 2 * this.numberOfPoints);
+            this.ys = Arrays.copyOf(this.ys, 2 * this.numberOfPoints);
+        }
+        this.xs[this.numberOfPoints] = x;
+        this.ys[this.numberOfPoints] = y;
+        this.numberOfPoints++;
+    }
+
+    private static boolean isDefined(double y) {
+        return !Double.isNaN(y) && !Double.isInfinite(y);
+    }
+
+    /**
+     * Fügt die Punkte des Intervalls (x_0, x_1] hinzu, wobei der Punkt (x_0,
+     * y_0) bereits hinzugefügt wurde.
+     */
+    private void refine(double x_0, double y_0, double x_1, double y_1, int depth) {
+
+        double xMiddle = (x_0 + x_1) / 2;
+        double yMiddle = this.f.evaluateOrNaN(xMiddle);
+
+        boolean refinementNeeded;
+        if (isDefined(y_0) && isDefined(yMiddle) && isDefined(y_1)) {
+            refinementNeeded = Math.abs(yMiddle - (y_0 + y_1) / 2) > this.tolerance;
+        } else {
+            refinementNeeded = isDefined(y_0) || isDefined(yMiddle) || isDefined(y_1);
+        }
+
+        if (refinementNeeded && depth < this.maxDepth) {
+            refine(x_0, y_0, xMiddle, yMiddle, depth + 1);
+            refine(xMiddle, yMiddle, x_1, y_1, depth + 1);
+        } else {
+            addPoint(xMiddle, yMiddle);
+            addPoint(x_1, y_1);
+        }
+
+    }
+
+}
@@ -0,0 +1,295 @@
+package abstractexpressions.expression.computation;
+
+import abstractexpressions.expression.classes.Expression;
+import graphic.util.MarchingSquaresGrid;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import process.Canceller;
+
+/**
+ * Adaptives Abtasten einer Funktion f(x, y) für Marching Squares. Statt alle
+ * Punkte eines feinen Gitters auszuwerten, wird das Gitter zunächst in grobe
+ * Zellen zerlegt. Eine Zelle wird (wie bei einem Quadtree) nur dann geviertelt,
+ * wenn f an ihren Ecken (bzw. an bereits ausgewerteten Punkten ihres Randes)
+ * verschiedene Vorzeichen besitzt, eine Null- oder eine undefinierte Stelle
+ * hat oder wenn sich nach Intervallauswertung (vgl.
+ * Expression.evaluateInterval()) nicht ausschließen lässt, dass f auf der Zelle
+ * eine Nullstelle besitzt. Die Werte an den Gitterpunkten nicht verfeinerter Zellen werden
+ * bilinear aus den Eckwerten interpoliert, besitzen dort also dasselbe
+ * Vorzeichen wie die Ecken.<br>
+ * Die Zellen werden ebenenweise (von grob nach fein) verfeinert. Ist die
+ * maximale Anzahl an Auswertungen erreicht, so wird nicht weiter verfeinert,
+ * d.h. das Budget verteilt sich gleichmäßig auf die gesamte Kurve.<br>
+ * BEMERKUNG: Kurvenstücke, die vollständig im Inneren einer Zelle liegen, ohne
+ * deren Rand zu schneiden, werden nur dann gefunden, wenn die
+ * Intervallauswertung von f eine brauchbare Abschätzung liefert (also nicht
+ * für Ausdrücke mit Operatoren) und das Budget für die Verfeinerung ausreicht.
+ */
+public final class AdaptiveMarchingSquares {
+
+    /**
+     * Anzahl der groben Zellen (pro Achse), mit denen die Verfeinerung
+     * beginnt.
+     */
+    public static final int DEFAULT_NUMBER_OF_INITIAL_CELLS = 16;
+
+    // Zustände der Gitterpunkte.
+    private static final byte UNKNOWN = 0;
+    private static final byte EVALUATED = 1;
+    private static final byte INTERPOLATED = 2;
+
+    private final CompiledExpression f;
+    private final Expression expression;
+    private final String varAbsc, varOrd;
+    private final boolean intervalEvaluationPossible;
+    private final int numberOfIntervalsX, numberOfIntervalsY;
+    private final double xStart, yStart, deltaX, deltaY;
+    private final int maxNumberOfEvaluations;
+
+    private final double[] values;
+    private final byte[] states;
+    private int numberOfEvaluations = 0;
+
+    private AdaptiveMarchingSquares(Expression f, String varAbsc, String varOrd, double xStart, double xEnd,
+            double yStart, double yEnd, int numberOfIntervalsX, int numberOfIntervalsY, int maxNumberOfEvaluations) {
+        this.f = CompiledExpression.compile(f, varAbsc, varOrd);
+        this.expression = f;
+        this.varAbsc = varAbsc;
+        this.varOrd = varOrd;
+        // Für Operatoren liefert die Intervallauswertung keine Information.
+        this.intervalEvaluationPossible = !f.containsOperator();
+        this.numberOfIntervalsX = numberOfIntervalsX;
+        this.numberOfIntervalsY = numberOfIntervalsY;
+        this.xStart = xStart;
+        this.yStart = yStart;
+        this.deltaX = (xEnd - xStart) / numberOfIntervalsX;
+        this.deltaY = (yEnd - yStart) / numberOfIntervalsY;
+        this.maxNumberOfEvaluations = maxNumberOfEvaluations;
+        this.values = new double[(numberOfIntervalsX + 1) * (numberOfIntervalsY + 1)];
+        this.states = new byte[this.values.length];
+    }
+
+    /**
+     * Tastet f im Bereich xStart &#8804; varAbsc &#8804; xEnd, yStart &#8804;
+     * varOrd &#8804; yEnd auf einem Gitter aus numberOfIntervals *
+     * numberOfIntervals Quadraten adaptiv ab. Dabei werden höchstens
+     * maxNumberOfEvaluations Auswertungen von f durchgeführt (die Ecken der
+     * groben Anfangszellen werden in jedem Fall ausgewertet).<br>
+     * VORAUSSETZUNG: f hängt nur von varAbsc und varOrd ab.
+     */
+    public static MarchingSquaresGrid solve(Expression f, String varAbsc, String varOrd,
+            double xStart, double xEnd, double yStart, double yEnd, int numberOfIntervals, int maxNumberOfEvaluations) {
+        AdaptiveMarchingSquares solver = new AdaptiveMarchingSquares(f, varAbsc, varOrd, xStart, xEnd, yStart, yEnd,
+                numberOfIntervals, numberOfIntervals, maxNumberOfEvaluations);
+        solver.sample(DEFAULT_NUMBER_OF_INITIAL_CELLS);
+        return new MarchingSquaresGrid(numberOfIntervals, numberOfIntervals, solver.values, solver.numberOfEvaluations);
+    }
+
+    private int getIndex(int i, int j) {
+        return i * (this.numberOfIntervalsY + 1) + j;
+    }
+
+    private double evaluate(int i, int j) {
+        int index = getIndex(i, j);
+        if (this.states[index] != EVALUATED) {
+            this.values[index] = this.f.evaluateOrNaN(this.xStart + i * this.deltaX, this.yStart + j * this.deltaY);
+            this.states[index] = EVALUATED;
+            this.numberOfEvaluations++;
+            if (this.numberOfEvaluations % 1024 == 0) {
+                Canceller.interruptComputationIfNeeded();
+            }
+        }
+        return this.values[index];
+    }
+
+    /**
+     * Gibt 1 bzw. -1 zurück, falls value positiv bzw. negativ ist, und 0
+     * sonst (d.h. für 0 und NaN).
+     */
+    private static int getSign(double value) {
+        if (value > 0) {
+            return 1;
+        }
+        if (value < 0) {
+            return -1;
+        }
+        return 0;
+    }
+
+    /**
+     * Zelle mit den Gitterpunkten (i, j) bis (i + width, j + height).
+     */
+    private static final class Cell {
+
+        private final int i, j, width, height;
+
+        private Cell(int i, int j, int width, int height) {
+            this.i = i;
+            this.j = j;
+            this.width = width;
+            this.height = height;
+        }
+
+    }
+
+    private void sample(int numberOfInitialCells) {
+
+        int cellWidth = Math.max(1, (this.numberOfIntervalsX + numberOfInitialCells - 1) / numberOfInitialCells);
+        int cellHeight = Math.max(1, (this.numberOfIntervalsY + numberOfInitialCells - 1) / numberOfInitialCells);
+
+        Deque<Cell> cellsToProcess = new ArrayDeque<>();
+        for (int i = 0; i < this.numberOfIntervalsX; i += cellWidth) {
+            for (int j = 0; j < this.numberOfIntervalsY; j += cellHeight) {
+                cellsToProcess.add(new Cell(i, j, Math.min(cellWidth, this.numberOfIntervalsX - i),
+                        Math.min(cellHeight, this.numberOfIntervalsY - j)));
+            }
+        }
+
+        List<Cell> unrefinedCells = new ArrayList<>();
+        boolean cellsRefined = true;
+        while (cellsRefined) {
+
+            processCells(cellsToProcess, unrefinedCells);
+
+            /*
+             Durch die Verfeinerung benachbarter Zellen können auf dem Rand
+             einer nicht verfeinerten Zelle neue Vorzeichenwechsel sichtbar
+             werden. Solche Zellen werden nachträglich verfeinert.
+             */
+            cellsRefined = false;
+            List<Cell> cellsStillUnrefined = new ArrayList<>();
+            for (Cell cell : unrefinedCells) {
+                if (this.numberOfEvaluations + 5 <= this.maxNumberOfEvaluations && hasSignChangeOnBoundary(cell)) {
+                    cellsToProcess.add(cell);
+                    cellsRefined = true;
+                } else {
+                    cellsStillUnrefined.add(cell);
+                }
+            }
+            unrefinedCells = cellsStillUnrefined;
+
+        }
+
+        for (Cell cell : unrefinedCells) {
+            interpolate(cell);
+        }
+
+    }
+
+    /**
+     * Wertet die Ecken aller Zellen in cellsToProcess aus und verfeinert
+     * diese, falls nötig und das Budget es zulässt. Nicht verfeinerte Zellen
+     * (mit mehr als einem Quadrat) werden zu unrefinedCells hinzugefügt.
+     */
+    private void processCells(Deque<Cell> cellsToProcess, List<Cell> unrefinedCells) {
+
+        while (!cellsToProcess.isEmpty()) {
+
+            Cell cell = cellsToProcess.poll();
+            int sign = getSign(evaluate(cell.i, cell.j));
+            int signBottomRight = getSign(evaluate(cell.i + cell.width, cell.j));
+            int signTopLeft = getSign(evaluate(cell.i, cell.j + cell.height));
+            int signTopRight = getSign(evaluate(cell.i + cell.width, cell.j + cell.height));
+            boolean signChange = sign == 0 || signBottomRight != sign || signTopLeft != sign || signTopRight != sign
+                    || hasSignChangeOnBoundary(cell);
+
+            if (cell.width <= 1 && cell.height <= 1) {
+                continue;
+            }
+            if (!signChange && this.intervalEvaluationPossible) {
+                signChange = !isSignDefinite(cell);
+            }
+            // Eine Verfeinerung kostet höchstens 5 neue Auswertungen (vgl. auch sample()).
+            if (!signChange || this.numberOfEvaluations + 5 > this.maxNumberOfEvaluations) {
+                unrefinedCells.add(cell);
+                continue;
+            }
+
+            int halfWidth = (cell.width + 1) / 2;
+            int halfHeight = (cell.height + 1) / 2;
+            /*
+             Die neuen Ecken der Teilzellen werden sofort ausgewertet, damit
+             das Budget auch bei ebenenweiser Verarbeitung eingehalten wird.
+             */
+            evaluate(cell.i + halfWidth, cell.j);
+            evaluate(cell.i + halfWidth, cell.j + cell.height);
+            evaluate(cell.i, cell.j + halfHeight);
+            evaluate(cell.i + cell.width, cell.j + halfHeight);
+            evaluate(cell.i + halfWidth, cell.j + halfHeight);
+            cellsToProcess.add(new Cell(cell.i, cell.j, halfWidth, halfHeight));
+            if (cell.width > 1) {
+                cellsToProcess.add(new Cell(cell.i + halfWidth, cell.j, cell.width - halfWidth, halfHeight));
+            }
+            if (cell.height > 1) {
+                cellsToProcess.add(new Cell(cell.i, cell.j + halfHeight, halfWidth, cell.height - halfHeight));
+            }
+            if (cell.width > 1 && cell.height > 1) {
+                cellsToProcess.add(new Cell(cell.i + halfWidth, cell.j + halfHeight, cell.width - halfWidth, cell.height - halfHeight));
+            }
+
+        }
+
+    }
+
+    /**
+     * Prüft mittels Intervallauswertung, ob f auf der gesamten Zelle definiert
+     * ist und dort ein festes Vorzeichen besitzt.
+     */
+    private boolean isSignDefinite(Cell cell) {
+        Interval rangeX = new Interval(this.xStart + cell.i * this.deltaX, this.xStart + (cell.i + cell.width) * this.deltaX);
+        Interval rangeY = new Interval(this.yStart + cell.j * this.deltaY, this.yStart + (cell.j + cell.height) * this.deltaY);
+        return this.expression.evaluateInterval(new String[]{this.varAbsc, this.varOrd},
+                new Interval[]{rangeX, rangeY}).isDefinedAndSignDefinite();
+    }
+
+    /**
+     * Prüft, ob einer der bereits ausgewerteten Punkte auf dem Rand der Zelle
+     * ein anderes Vorzeichen als die linke untere Ecke besitzt.
+     */
+    private boolean hasSignChangeOnBoundary(Cell cell) {
+        int sign = getSign(this.values[getIndex(cell.i, cell.j)]);
+        for (int p = 0; p <= cell.width; p++) {
+            if (hasDifferentSign(cell.i + p, cell.j, sign) || hasDifferentSign(cell.i + p, cell.j + cell.height, sign)) {
+                return true;
+            }
+        }
+        for (int q = 0; q <= cell.height; q++) {
+            if (hasDifferentSign(cell.i, cell.j + q, sign) || hasDifferentSign(cell.i + cell.width, cell.j + q, sign)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasDifferentSign(int i, int j, int sign) {
+        int index = getIndex(i, j);
+        return this.states[index] == EVALUATED && getSign(this.values[index]) != sign;
+    }
+
+    /**
+     * Belegt alle noch nicht bekannten Gitterpunkte der Zelle mit den bilinear
+     * aus den Eckwerten interpolierten Werten.
+     */
+    private void interpolate(Cell cell) {
+        double valueBottomLeft = this.values[getIndex(cell.i, cell.j)];
+        double valueBottomRight = this.values[getIndex(cell.i + cell.width, cell.j)];
+        double valueTopLeft = this.values[getIndex(cell.i, cell.j + cell.height)];
+        double valueTopRight = this.values[getIndex(cell.i + cell.width, cell.j + cell.height)];
+        for (int p = 0; p <= cell.width; p++) {
+            double s = (double) p / cell.width;
+            for (int q = 0; q <= cell.height; q++) {
+                int index = getIndex(cell.i + p, cell.j + q);
+                if (this.states[index] != UNKNOWN) {
+                    continue;
+                }
+                double t = (double) q / cell.height;
+                this.values[index] = (1 - s) * ((1 - t) * valueBottomLeft + t * valueTopLeft)
+                        + s * ((1 - t) * valueBottomRight + t * valueTopRight);
+                this.states[index] = INTERPOLATED;
+            }
+        }
+    }
+
+}
@@ -9,6 +9,7 @@ import static abstractexpressions.expression.classes.Expression.TWO;
 import static abstractexpressions.expression.classes.Expression.ZERO;
 import abstractexpressions.expression.classes.Function;
 import abstractexpressions.expression.classes.Operator;
+import abstractexpressions.expression.classes.SimplifyCache;
 import abstractexpressions.expression.classes.TypeFunction;
 import abstractexpressions.expression.classes.TypeOperator;
 import abstractexpressions.expression.classes.Variable;
@@ -329,13 +330,13 @@ public abstract class AnalysisUtils {
         }
 
         // Entwicklungspunkt ist a und die Variable var, nach der entwickelt wird, hat den Wert a.
-        f = f.simplify();
+        f = SimplifyCache.simplify(f);
         Expression taylorPolynomial = Expression.ZERO;
 
         Expression[] coefficient = new Expression[degree + 1];
         BigDecimal[] factorial = new BigDecimal[degree + 1];
         factorial[0] = BigDecimal.ONE;
-        coefficient[0] = f.replaceVariable(var, x_0).simplify();
+        coefficient[0] = SimplifyCache.simplify(f.replaceVariable(var, x_0));
 
         if (coefficient[0].containsIndefiniteIntegral()) {
             /*
@@ -349,9 +350,9 @@ public abstract class AnalysisUtils {
 
         for (int i = 1; i <= degree; i++) {
             f = f.diff(var);
-            f = f.simplify();
+            f = SimplifyCache.simplify(f);
             factorial[i] = factorial[i - 1].multiply(new BigDecimal(i));
-            coefficient[i] = f.replaceVariable(var, x_0).simplify();
+            coefficient[i] = SimplifyCache.simplify(f.replaceVariable(var, x_0));
 
             if (coefficient[i].containsIndefiniteIntegral()) {
                 /*
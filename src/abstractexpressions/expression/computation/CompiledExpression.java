@@ -0,0 +1,369 @@
+package abstractexpressions.expression.computation;
+
+import abstractexpressions.expression.classes.BinaryOperation;
+import abstractexpressions.expression.classes.EvaluationContext;
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.classes.Function;
+import abstractexpressions.expression.classes.TypeFunction;
+import abstractexpressions.expression.classes.Variable;
+import exceptions.EvaluationException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import lang.translator.Translator;
+
+/**
+ * Kompilierte Form eines Ausdrucks für die schnelle, wiederholte numerische
+ * Auswertung. Der Ausdrucksbaum wird beim Kompilieren in ein flaches
+ * Postfix-Programm übersetzt, welches auf einem Vektor von Argumenten (in der
+ * Reihenfolge der beim Kompilieren angegebenen Variablen) ausgewertet wird.
+ * Bei der Auswertung wird weder Speicher allokiert noch auf die globale
+ * Variablentabelle zugegriffen.<br>
+ * Teilausdrücke, die von keiner der Argumentvariablen abhängen, werden bereits
+ * beim Kompilieren ausgewertet. Die Werte aller übrigen Variablen werden
+ * ebenfalls zum Zeitpunkt des Kompilierens eingefroren.<br>
+ * Operatoren (int, sum, ...), die von den Argumentvariablen abhängen, können
+ * nicht übersetzt werden. Für diese werden die Argumentwerte in einem eigenen
+ * EvaluationContext belegt und der Operator wird wie üblich mittels
+ * evaluate(context) ausgewertet.<br>
+ * BEMERKUNG: Eine Instanz besitzt einen eigenen Arbeitsstapel und darf daher
+ * nicht gleichzeitig von mehreren Threads verwendet werden. Für jeden weiteren
+ * Thread kann mittels copy() eine Kopie erzeugt werden, die sich das
+ * (unveränderliche) Programm mit dem Original teilt.
+ */
+public class CompiledExpression {
+
+    private static final String CC_CompiledExpression_UNDEFINED_VALUE = "CC_CompiledExpression_UNDEFINED_VALUE";
+    private static final String CC_CompiledExpression_WRONG_NUMBER_OF_ARGUMENTS = "CC_CompiledExpression_WRONG_NUMBER_OF_ARGUMENTS";
+
+    // Befehlscodes des Postfix-Programms.
+    private static final int OP_CONSTANT = 0;
+    private static final int OP_VARIABLE = 1;
+    private static final int OP_PLUS = 2;
+    private static final int OP_MINUS = 3;
+    private static final int OP_TIMES = 4;
+    private static final int OP_DIV = 5;
+    private static final int OP_POW = 6;
+    private static final int OP_POW_ODD_ROOT_WITH_ODD_NUMERATOR = 7;
+    private static final int OP_POW_ODD_ROOT_WITH_EVEN_NUMERATOR = 8;
+    private static final int OP_FUNCTION = 9;
+    private static final int OP_FALLBACK = 10;
+
+    private static final TypeFunction[] FUNCTION_TYPES = TypeFunction.values();
+
+    private final String[] vars;
+    private final int[] instructions;
+    /*
+     operands[i] ist der Index, auf den sich der i-te Befehl bezieht: Index in
+     constants (OP_CONSTANT), in vars (OP_VARIABLE), in FUNCTION_TYPES
+     (OP_FUNCTION) bzw. in fallbackExpressions (OP_FALLBACK).
+     */
+    private final int[] operands;
+    private final double[] constants;
+    private final Expression[] fallbackExpressions;
+    private final double[] stack;
+    private final EvaluationContext fallbackContext = new EvaluationContext();
+
+    private CompiledExpression(String[] vars, int[] instructions, int[] operands, double[] constants,
+            Expression[] fallbackExpressions, int stackSize) {
+        this.vars = vars;
+        this.instructions = instructions;
+        this.operands = operands;
+        this.constants = constants;
+        this.fallbackExpressions = fallbackExpressions;
+        this.stack = new double[Math.max(stackSize, 1)];
+    }
+
+    /**
+     * Übersetzt den Ausdruck expr in ein Programm, welches in den Variablen
+     * vars (in dieser Reihenfolge) ausgewertet werden kann.
+     */
+    public static CompiledExpression compile(Expression expr, String... vars) {
+        Compiler compiler = new Compiler(vars);
+        compiler.compile(expr.replaceSelfDefinedFunctionsByPredefinedFunctions());
+        return compiler.toCompiledExpression();
+    }
+
+    /**
+     * Gibt eine Kopie zurück, die sich das Programm mit der vorliegenden
+     * Instanz teilt, aber einen eigenen Arbeitsstapel besitzt. Damit kann
+     * derselbe Ausdruck in mehreren Threads gleichzeitig ausgewertet werden.
+     */
+    public CompiledExpression copy() {
+        return new CompiledExpression(this.vars, this.instructions, this.operands, this.constants,
+                this.fallbackExpressions, this.stack.length);
+    }
+
+    /**
+     * Gibt die Namen der Argumentvariablen in der Reihenfolge zurück, in der
+     * die Argumente bei evaluate() erwartet werden.
+     */
+    public String[] getVars() {
+        return this.vars.clone();
+    }
+
+    /**
+     * Gibt die Anzahl der Befehle des kompilierten Programms zurück.
+     */
+    public int getNumberOfInstructions() {
+        return this.instructions.length;
+    }
+
+    /**
+     * Wertet den kompilierten Ausdruck an der Stelle args aus. Dabei ist
+     * args[i] der Wert der i-ten Argumentvariablen.
+     *
+     * @throws EvaluationException
+     */
+    public double evaluate(double... args) throws EvaluationException {
+        if (args.length != this.vars.length) {
+            throw new EvaluationException(Translator.translateOutputMessage(CC_CompiledExpression_WRONG_NUMBER_OF_ARGUMENTS,
+                    String.valueOf(this.vars.length), String.valueOf(args.length)));
+        }
+        double value = run(args);
+        if (Double.isNaN(value)) {
+            throw new EvaluationException(Translator.translateOutputMessage(CC_CompiledExpression_UNDEFINED_VALUE));
+        }
+        return value;
+    }
+
+    /**
+     * Liefert denselben Wert wie evaluate(args), falls dieser definiert ist,
+     * und NaN sonst (ohne dabei Exceptions zu erzeugen).
+     *
+     * @throws IllegalArgumentException falls die Anzahl der Argumente nicht
+     * stimmt.
+     */
+    public double evaluateOrNaN(double... args) {
+        if (args.length != this.vars.length) {
+            throw new IllegalArgumentException(Translator.translateOutputMessage(CC_CompiledExpression_WRONG_NUMBER_OF_ARGUMENTS,
+                    String.valueOf(this.vars.length), String.valueOf(args.length)));
+        }
+        return run(args);
+    }
+
+    /**
+     * Führt das Programm aus. Liefert NaN, sobald ein Zwischenergebnis nicht
+     * definiert ist (NaN oder unendlich), ansonsten den Wert des Ausdrucks.
+     */
+    private double run(double[] args) {
+
+        final double[] s = this.stack;
+        int top = -1;
+        double left, right, value;
+
+        for (int i = 0; i < this.instructions.length; i++) {
+            switch (this.instructions[i]) {
+                case OP_CONSTANT:
+                    value = this.constants[this.operands[i]];
+                    break;
+                case OP_VARIABLE:
+                    value = args[this.operands[i]];
+                    break;
+                case OP_PLUS:
+                    right = s[top--];
+                    value = s[top--] + right;
+                    break;
+                case OP_MINUS:
+                    right = s[top--];
+                    value = s[top--] - right;
+                    break;
+                case OP_TIMES:
+                    right = s[top--];
+                    value = s[top--] * right;
+                    break;
+                case OP_DIV:
+                    right = s[top--];
+                    value = s[top--] / right;
+                    break;
+                case OP_POW:
+                    right = s[top--];
+                    value = Math.pow(s[top--], right);
+                    break;
+                case OP_POW_ODD_ROOT_WITH_ODD_NUMERATOR:
+                    // Wurzeln ungerader Ordnung aus negativen Zahlen (wie in BinaryOperation.evaluate()).
+                    right = s[top--];
+                    left = s[top--];
+                    value = left < 0 ? -Math.pow(-left, right) : Math.pow(left, right);
+                    break;
+                case OP_POW_ODD_ROOT_WITH_EVEN_NUMERATOR:
+                    right = s[top--];
+                    left = s[top--];
+                    value = left < 0 ? Math.pow(-left, right) : Math.pow(left, right);
+                    break;
+                case OP_FUNCTION:
+                    value = Function.computeValue(FUNCTION_TYPES[this.operands[i]], s[top--]);
+                    break;
+                default:
+                    value = evaluateFallback(this.fallbackExpressions[this.operands[i]], args);
+                    break;
+            }
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                return Double.NaN;
+            }
+            s[++top] = value;
+        }
+
+        return s[top];
+
+    }
+
+    /**
+     * Wertet einen nicht übersetzbaren Teilausdruck mit den Argumentwerten als
+     * Variablenbelegung aus.
+     */
+    private double evaluateFallback(Expression expr, double[] args) {
+        for (int i = 0; i < this.vars.length; i++) {
+            this.fallbackContext.setValue(this.vars[i], args[i]);
+        }
+        return expr.evaluateOrNaN(this.fallbackContext);
+    }
+
+    /**
+     * Übersetzer von Ausdrucksbäumen in Postfix-Programme.
+     */
+    private static class Compiler {
+
+        private final String[] vars;
+        private final List<Integer> instructions = new ArrayList<>();
+        private final List<Integer> operands = new ArrayList<>();
+        private final List<Double> constants = new ArrayList<>();
+        private final List<Expression> fallbackExpressions = new ArrayList<>();
+        private final Map<Expression, Boolean> dependencies = new IdentityHashMap<>();
+        private int stackSize = 0;
+        private int maxStackSize = 0;
+
+        private Compiler(String[] vars) {
+            this.vars = vars.clone();
+        }
+
+        private void compile(Expression expr) {
+
+            if (!dependsOnArguments(expr)) {
+                // Konstante Teilausdrücke bereits jetzt auswerten. Undefinierte Werte werden als NaN gespeichert.
+                this.constants.add(expr.evaluateOrNaN());
+                emit(OP_CONSTANT, this.constants.size() - 1, 1);
+                return;
+            }
+
+            if (expr instanceof Variable) {
+                emit(OP_VARIABLE, indexOfArgument(((Variable) expr).getName()), 1);
+                return;
+            }
+
+            if (expr instanceof BinaryOperation) {
+                BinaryOperation binary = (BinaryOperation) expr;
+                compile(binary.getLeft());
+                compile(binary.getRight());
+                switch (binary.getType()) {
+                    case PLUS:
+                        emit(OP_PLUS, 0, -1);
+                        break;
+                    case MINUS:
+                        emit(OP_MINUS, 0, -1);
+                        break;
+                    case TIMES:
+                        emit(OP_TIMES, 0, -1);
+                        break;
+                    case DIV:
+                        emit(OP_DIV, 0, -1);
+                        break;
+                    default:
+                        emitPower(binary.getRight());
+                        break;
+                }
+                return;
+            }
+
+            if (expr instanceof Function) {
+                compile(((Function) expr).getLeft());
+                emit(OP_FUNCTION, ((Function) expr).getType().ordinal(), 0);
+                return;
+            }
+
+            // Operatoren u.ä. können nicht übersetzt werden.
+            this.fallbackExpressions.add(expr);
+            emit(OP_FALLBACK, this.fallbackExpressions.size() - 1, 1);
+
+        }
+
+        private void emitPower(Expression exponent) {
+            // Analog zu BinaryOperation.evaluate(): Wurzeln ungerader Ordnung aus negativen Zahlen abfangen.
+            if (exponent.isRationalConstant() && ((BinaryOperation) exponent).getRight().isOddIntegerConstant()) {
+                if (((BinaryOperation) exponent).getLeft().isOddIntegerConstant()) {
+                    emit(OP_POW_ODD_ROOT_WITH_ODD_NUMERATOR, 0, -1);
+                } else {
+                    emit(OP_POW_ODD_ROOT_WITH_EVEN_NUMERATOR, 0, -1);
+                }
+            } else {
+                emit(OP_POW, 0, -1);
+            }
+        }
+
+        private void emit(int instruction, int operand, int stackChange) {
+            this.instructions.add(instruction);
+            this.operands.add(operand);
+            this.stackSize += stackChange;
+            this.maxStackSize = Math.max(this.maxStackSize, this.stackSize);
+        }
+
+        /**
+         * Gibt zurück, ob expr von einer Argumentvariablen abhängt, der kein
+         * fester Wert zugewiesen wurde. Die Ergebnisse werden für alle
+         * Teilausdrücke zwischengespeichert, damit das Kompilieren linear in
+         * der Größe des Ausdrucks bleibt.
+         */
+        private boolean dependsOnArguments(Expression expr) {
+            Boolean dependsOnArguments = this.dependencies.get(expr);
+            if (dependsOnArguments != null) {
+                return dependsOnArguments;
+            }
+            boolean result;
+            if (expr instanceof BinaryOperation) {
+                // Beide Seiten auswerten, damit auch für diese das Ergebnis gespeichert wird.
+                boolean leftDepends = dependsOnArguments(((BinaryOperation) expr).getLeft());
+                boolean rightDepends = dependsOnArguments(((BinaryOperation) expr).getRight());
+                result = leftDepends || rightDepends;
+            } else if (expr instanceof Function) {
+                result = dependsOnArguments(((Function) expr).getLeft());
+            } else {
+                result = false;
+                for (String var : this.vars) {
+                    if (expr.contains(var) && Variable.create(var).getPreciseExpression() == null) {
+                        result = true;
+                        break;
+                    }
+                }
+            }
+            this.dependencies.put(expr, result);
+            return result;
+        }
+
+        private int indexOfArgument(String var) {
+            for (int i = 0; i < this.vars.length; i++) {
+                if (this.vars[i].equals(var)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private CompiledExpression toCompiledExpression() {
+            int[] instructionArray = new int[this.instructions.size()];
+            int[] operandArray = new int[this.operands.size()];
+            for (int i = 0; i < instructionArray.length; i++) {
+                instructionArray[i] = this.instructions.get(i);
+                operandArray[i] = this.operands.get(i);
+            }
+            double[] constantArray = new double[this.constants.size()];
+            for (int i = 0; i < constantArray.length; i++) {
+                constantArray[i] = this.constants.get(i);
+            }
+            return new CompiledExpression(this.vars, instructionArray, operandArray, constantArray,
+                    this.fallbackExpressions.toArray(new Expression[this.fallbackExpressions.size()]), this.maxStackSize);
+        }
+
+    }
+
+}
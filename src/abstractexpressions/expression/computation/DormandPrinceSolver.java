@@ -0,0 +1,328 @@
+package abstractexpressions.expression.computation;
+
+import abstractexpressions.expression.classes.Expression;
+import computationbounds.ComputationBounds;
+import exceptions.EvaluationException;
+import java.util.ArrayList;
+import java.util.List;
+import process.Canceller;
+
+/**
+ * Numerisches Lösen der Differentialgleichung y^{(ord)} = f(x, y, y', ...,
+ * y^{(ord - 1)}) mit dem eingebetteten Runge-Kutta-Verfahren von Dormand und
+ * Prince (Ordnung 5(4)) mit Schrittweitensteuerung. Nach jedem Schritt wird
+ * der Fehler durch die Differenz der Lösungen fünfter und vierter Ordnung
+ * geschätzt und die Schrittweite so gewählt, dass dieser Fehler (komponentenweise
+ * absolut bzw. relativ) höchstens tolerance beträgt.<br>
+ * Die rechte Seite f wird einmal mittels CompiledExpression kompiliert. Alle
+ * Arbeitsvektoren werden beim Erzeugen des Lösers angelegt und für alle
+ * Schritte wiederverwendet. Mittels stetiger Fortsetzung (dense output)
+ * können Werte an beliebigen (etwa äquidistanten) Stellen ohne zusätzliche
+ * Auswertungen von f bestimmt werden.<br>
+ * BEMERKUNG: Eine Instanz darf nicht gleichzeitig von mehreren Threads
+ * verwendet werden.
+ */
+public final class DormandPrinceSolver {
+
+    // Koeffizienten des Verfahrens.
+    private static final double C2 = 1.0 / 5, C3 = 3.0 / 10, C4 = 4.0 / 5, C5 = 8.0 / 9;
+    private static final double A21 = 1.0 / 5;
+    private static final double A31 = 3.0 / 40, A32 = 9.0 / 40;
+    private static final double A41 = 44.0 / 45, A42 = -56.0 / 15, A43 = 32.0 / 9;
+    private static final double A51 = 19372.0 / 6561, A52 = -25360.0 / 2187, A53 = 64448.0 / 6561, A54 = -212.0 / 729;
+    private static final double A61 = 9017.0 / 3168, A62 = -355.0 / 33, A63 = 46732.0 / 5247, A64 = 49.0 / 176,
+            A65 = -5103.0 / 18656;
+    private static final double A71 = 35.0 / 384, A73 = 500.0 / 1113, A74 = 125.0 / 192, A75 = -2187.0 / 6784,
+            A76 = 11.0 / 84;
+    // Differenz der Gewichte fünfter und vierter Ordnung (für die Fehlerschätzung).
+    private static final double E1 = 71.0 / 57600, E3 = -71.0 / 16695, E4 = 71.0 / 1920, E5 = -17253.0 / 339200,
+            E6 = 22.0 / 525, E7 = -1.0 / 40;
+    // Koeffizienten der stetigen Fortsetzung.
+    private static final double D1 = -12715105075.0 / 11282082432.0, D3 = 87487479700.0 / 32700410799.0,
+            D4 = -10690763975.0 / 1880347072, D5 = 701980252875.0 / 199316789632.0, D6 = -1453857185.0 / 822651844,
+            D7 = 69997945.0 / 29380423;
+
+    // Schranken für den Faktor, um den sich die Schrittweite pro Schritt ändern darf.
+    private static final double MIN_STEP_FACTOR = 0.2;
+    private static final double MAX_STEP_FACTOR = 10;
+    private static final double SAFETY_FACTOR = 0.9;
+
+    private final CompiledExpression f;
+    private final int ord;
+    private final double tolerance;
+
+    // Argumente für f: (x, y, y', ..., y^{(ord - 1)}).
+    private final double[] args;
+    private final double[] y, yNew, yStage, yError;
+    private final double[] k1, k2, k3, k4, k5, k6, k7;
+
+    private int numberOfEvaluations;
+    private int numberOfAcceptedSteps;
+    private int numberOfRejectedSteps;
+
+    /**
+     * Erzeugt einen Löser für die Differentialgleichung y^{(ord)} = f, wobei x
+     * = argumentVar und y = functionVar ist. VORAUSSETZUNG: f enthält
+     * höchstens die Variablen x, y, y', y'', ..., y^{(ord - 1)} und ord &#8805;
+     * 1.
+     */
+    public DormandPrinceSolver(Expression f, String argumentVar, String functionVar, int ord, double tolerance) {
+
+        String[] vars = new String[ord + 1];
+        vars[0] = argumentVar;
+        vars[1] = functionVar;
+        for (int i = 2; i <= ord; i++) {
+            vars[i] = vars[i - 1] + "'";
+        }
+        this.f = CompiledExpression.compile(f, vars);
+        this.ord = ord;
+        this.tolerance = tolerance;
+
+        this.args = new double[ord + 1];
+        this.y = new double[ord];
+        this.yNew = new double[ord];
+        this.yStage = new double[ord];
+        this.yError = new double[ord];
+        this.k1 = new double[ord];
+        this.k2 = new double[ord];
+        this.k3 = new double[ord];
+        this.k4 = new double[ord];
+        this.k5 = new double[ord];
+        this.k6 = new double[ord];
+        this.k7 = new double[ord];
+
+    }
+
+    /**
+     * Gibt die Anzahl der Auswertungen von f während des letzten Aufrufs von
+     * solve() zurück.
+     */
+    public int getNumberOfEvaluations() {
+        return this.numberOfEvaluations;
+    }
+
+    public int getNumberOfAcceptedSteps() {
+        return this.numberOfAcceptedSteps;
+    }
+
+    public int getNumberOfRejectedSteps() {
+        return this.numberOfRejectedSteps;
+    }
+
+    /**
+     * Berechnet die rechte Seite des zugehörigen Systems erster Ordnung an der
+     * Stelle (x, z) und legt sie in k ab.
+     *
+     * @throws EvaluationException
+     */
+    private void evaluateSystem(double x, double[] z, double[] k) throws EvaluationException {
+        this.args[0] = x;
+        System.arraycopy(z, 0, this.args, 1, this.ord);
+        System.arraycopy(z, 1, k, 0, this.ord - 1);
+        k[this.ord - 1] = this.f.evaluate(this.args);
+        this.numberOfEvaluations++;
+    }
+
+    /**
+     * Löst die Differentialgleichung auf dem Intervall zwischen x_0 und x_1 zum
+     * Anfangswert y_0 = (y(x_0), y'(x_0), ..., y^{(ord - 1)}(x_0)). Die
+     * Rückgabe enthält die Paare (x, y(x)) an allen Stellen, an denen ein
+     * Schritt des Verfahrens endet.
+     */
+    public double[][] solve(double x_0, double x_1, double[] y_0) {
+        return solve(x_0, x_1, y_0, 0);
+    }
+
+    /**
+     * Löst die Differentialgleichung wie solve(x_0, x_1, y_0). Ist n &#8805;
+     * 1, so enthält die Rückgabe die Paare (x, y(x)) an den n + 1
+     * äquidistanten Stellen x_0 + i * (x_1 - x_0) / n, i = 0, ..., n, welche
+     * mittels stetiger Fortsetzung berechnet werden. Die Rückgabe entspricht
+     * damit der von NumericalUtils.solveDifferentialEquationByRungeKutta().
+     * Tritt unterwegs ein undefinierter Wert auf, so wird die Lösung bis zu
+     * dieser Stelle zurückgegeben.
+     */
+    public double[][] solve(double x_0, double x_1, double[] y_0, int n) {
+
+        this.numberOfEvaluations = 0;
+        this.numberOfAcceptedSteps = 0;
+        this.numberOfRejectedSteps = 0;
+
+        List<double[]> solution = new ArrayList<>();
+        boolean denseOutput = n >= 1;
+        int nextOutputIndex = 1;
+
+        double x = x_0;
+        System.arraycopy(y_0, 0, this.y, 0, this.ord);
+        solution.add(new double[]{x_0, y_0[0]});
+
+        double direction = Math.signum(x_1 - x_0);
+        if (direction == 0) {
+            return toArray(solution);
+        }
+        double minStepSize = 1E-12 * Math.abs(x_1 - x_0);
+
+        try {
+
+            evaluateSystem(x, this.y, this.k1);
+            double h = direction * getInitialStepSize(Math.abs(x_1 - x_0));
+            boolean lastStepRejected = false;
+
+            while (direction * (x_1 - x) > 0) {
+
+                Canceller.interruptComputationIfNeeded();
+                if (this.numberOfAcceptedSteps + this.numberOfRejectedSteps
+                        >= ComputationBounds.BOUND_NUMERIC_MAX_NUMBER_OF_STEPS_IN_DIFFERENTIAL_EQUATION
+                        || Math.abs(h) < minStepSize) {
+                    break;
+                }
+                if (direction * (x + h - x_1) > 0) {
+                    h = x_1 - x;
+                }
+
+                double error = step(x, h);
+
+                if (error <= 1) {
+
+                    if (denseOutput) {
+                        // Alle Ausgabestellen in (x, x + h] durch stetige Fortsetzung bestimmen.
+                        while (nextOutputIndex <= n) {
+                            double xOutput = nextOutputIndex == n ? x_1 : x_0 + nextOutputIndex * (x_1 - x_0) / n;
+                            if (direction * (xOutput - (x + h)) > 0) {
+                                break;
+                            }
+                            solution.add(new double[]{xOutput, interpolate((xOutput - x) / h, h)});
+                            nextOutputIndex++;
+                        }
+                    } else {
+                        solution.add(new double[]{x + h, this.yNew[0]});
+                    }
+
+                    // FSAL: die letzte Stufe ist die erste Stufe des nächsten Schritts.
+                    x = x + h;
+                    System.arraycopy(this.yNew, 0, this.y, 0, this.ord);
+                    System.arraycopy(this.k7, 0, this.k1, 0, this.ord);
+                    this.numberOfAcceptedSteps++;
+
+                    double factor = error == 0 ? MAX_STEP_FACTOR
+                            : Math.min(MAX_STEP_FACTOR, Math.max(MIN_STEP_FACTOR, SAFETY_FACTOR * Math.pow(error, -0.2)));
+                    if (lastStepRejected) {
+                        factor = Math.min(factor, 1);
+                    }
+                    h = h * factor;
+                    lastStepRejected = false;
+
+                } else {
+
+                    // Schritt verwerfen (auch bei NaN) und mit kleinerer Schrittweite wiederholen.
+                    double factor = Double.isNaN(error) ? MIN_STEP_FACTOR
+                            : Math.max(MIN_STEP_FACTOR, SAFETY_FACTOR * Math.pow(error, -0.2));
+                    h = h * factor;
+                    this.numberOfRejectedSteps++;
+                    lastStepRejected = true;
+
+                }
+
+            }
+
+        } catch (EvaluationException e) {
+            // Numerische Lösung BIS zum undefinierten Wert ausgeben.
+        }
+
+        return toArray(solution);
+
+    }
+
+    /**
+     * Einfache Schätzung einer Anfangsschrittweite anhand der Größe von y und
+     * y' an der Anfangsstelle.
+     */
+    private double getInitialStepSize(double lengthOfInterval) {
+        double normOfY = 0, normOfDerivative = 0;
+        for (int i = 0; i < this.ord; i++) {
+            double scale = this.tolerance + this.tolerance * Math.abs(this.y[i]);
+            normOfY += (this.y[i] / scale) * (this.y[i] / scale);
+            normOfDerivative += (this.k1[i] / scale) * (this.k1[i] / scale);
+        }
+        normOfY = Math.sqrt(normOfY / this.ord);
+        normOfDerivative = Math.sqrt(normOfDerivative / this.ord);
+        double h;
+        if (normOfY < 1E-5 || normOfDerivative < 1E-5) {
+            h = 1E-6 * Math.max(lengthOfInterval, 1);
+        } else {
+            h = 0.01 * normOfY / normOfDerivative;
+        }
+        return Math.min(h, lengthOfInterval);
+    }
+
+    /**
+     * Führt einen Schritt der Weite h ab der Stelle (x, y) aus. Die Näherung
+     * fünfter Ordnung wird in yNew abgelegt, die Ableitung dort in k7.
+     * Zurückgegeben wird der geschätzte Fehler relativ zur Toleranz (d.h. ein
+     * Wert &#8804; 1 bedeutet, dass der Schritt angenommen wird).
+     *
+     * @throws EvaluationException
+     */
+    private double step(double x, double h) throws EvaluationException {
+
+        int n = this.ord;
+        double[] z = this.yStage;
+
+        for (int i = 0; i < n; i++) {
+            z[i] = this.y[i] + h * A21 * this.k1[i];
+        }
+        evaluateSystem(x + C2 * h, z, this.k2);
+        for (int i = 0; i < n; i++) {
+            z[i] = this.y[i] + h * (A31 * this.k1[i] + A32 * this.k2[i]);
+        }
+        evaluateSystem(x + C3 * h, z, this.k3);
+        for (int i = 0; i < n; i++) {
+            z[i] = this.y[i] + h * (A41 * this.k1[i] + A42 * this.k2[i] + A43 * this.k3[i]);
+        }
+        evaluateSystem(x + C4 * h, z, this.k4);
+        for (int i = 0; i < n; i++) {
+            z[i] = this.y[i] + h * (A51 * this.k1[i] + A52 * this.k2[i] + A53 * this.k3[i] + A54 * this.k4[i]);
+        }
+        evaluateSystem(x + C5 * h, z, this.k5);
+        for (int i = 0; i < n; i++) {
+            z[i] = this.y[i] + h * (A61 * this.k1[i] + A62 * this.k2[i] + A63 * this.k3[i] + A64 * this.k4[i]
+                    + A65 * this.k5[i]);
+        }
+        evaluateSystem(x + h, z, this.k6);
+        for (int i = 0; i < n; i++) {
+            this.yNew[i] = this.y[i] + h * (A71 * this.k1[i] + A73 * this.k3[i] + A74 * this.k4[i] + A75 * this.k5[i]
+                    + A76 * this.k6[i]);
+        }
+        evaluateSystem(x + h, this.yNew, this.k7);
+
+        double error = 0;
+        for (int i = 0; i < n; i++) {
+            this.yError[i] = h * (E1 * this.k1[i] + E3 * this.k3[i] + E4 * this.k4[i] + E5 * this.k5[i]
+                    + E6 * this.k6[i] + E7 * this.k7[i]);
+            double scale = this.tolerance + this.tolerance * Math.max(Math.abs(this.y[i]), Math.abs(this.yNew[i]));
+            error += (this.yError[i] / scale) * (this.yError[i] / scale);
+        }
+        return Math.sqrt(error / n);
+
+    }
+
+    /**
+     * Stetige Fortsetzung (vierter Ordnung) der ersten Komponente y innerhalb
+     * des zuletzt berechneten Schritts der Weite h an der relativen Stelle
+     * theta &#8712; [0, 1].
+     */
+    private double interpolate(double theta, double h) {
+        double yDifference = this.yNew[0] - this.y[0];
+        double b = h * this.k1[0] - yDifference;
+        double c = yDifference - h * this.k7[0] - b;
+        double d = h * (D1 * this.k1[0] + D3 * this.k3[0] + D4 * this.k4[0] + D5 * this.k5[0] + D6 * this.k6[0]
+                + D7 * this.k7[0]);
+        double theta1 = 1 - theta;
+        return this.y[0] + theta * (yDifference + theta1 * (b + theta * (c + theta1 * d)));
+    }
+
+    private static double[][] toArray(List<double[]> solution) {
+        return solution.toArray(new double[solution.size()][]);
+    }
+
+}
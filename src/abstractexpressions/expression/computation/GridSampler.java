@@ -0,0 +1,124 @@
+package abstractexpressions.expression.computation;
+
+import abstractexpressions.expression.classes.Expression;
+import graphic.util.SurfaceGrid;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import process.Canceller;
+
+/**
+ * Abtasten einer Funktion f(x, y) auf einem rechteckigen Gitter (etwa für
+ * 3D-Graphen). Die Zeilen des Gitters werden auf die Threads eines
+ * gemeinsamen Pools verteilt. Jeder Thread wertet f mittels einer eigenen
+ * Kopie des kompilierten Ausdrucks aus, sodass die globale Variablentabelle
+ * nicht verändert wird.
+ */
+public final class GridSampler {
+
+    /**
+     * Anzahl der Zeilen, ab der diese auf mehrere Threads verteilt werden.
+     */
+    private static final int NUMBER_OF_ROWS_TO_SAMPLE_IN_PARALLEL = 8;
+
+    private static ForkJoinPool pool;
+
+    private final CompiledExpression f;
+    private final double x_0, x_1, y_0, y_1;
+    private final int numberOfIntervalsX, numberOfIntervalsY;
+    private final double[] values;
+
+    private GridSampler(Expression f, String varAbsc, String varOrd, double x_0, double x_1, double y_0, double y_1,
+            int numberOfIntervalsX, int numberOfIntervalsY) {
+        this.f = CompiledExpression.compile(f, varAbsc, varOrd);
+        this.x_0 = x_0;
+        this.x_1 = x_1;
+        this.y_0 = y_0;
+        this.y_1 = y_1;
+        this.numberOfIntervalsX = numberOfIntervalsX;
+        this.numberOfIntervalsY = numberOfIntervalsY;
+        this.values = new double[(numberOfIntervalsX + 1) * (numberOfIntervalsY + 1)];
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool();
+        }
+        return pool;
+    }
+
+    /**
+     * Tastet f im Bereich x_0 &#8804; varAbsc &#8804; x_1, y_0 &#8804; varOrd
+     * &#8804; y_1 auf einem Gitter aus numberOfIntervalsX *
+     * numberOfIntervalsY Rechtecken ab. Ausdrücke mit Operatoren werden
+     * sequentiell abgetastet.<br>
+     * VORAUSSETZUNG: f hängt nur von varAbsc und varOrd ab. Die Werte aller
+     * übrigen Variablen werden zu Beginn der Berechnung eingefroren.
+     */
+    public static SurfaceGrid sample(Expression f, String varAbsc, String varOrd, double x_0, double x_1,
+            double y_0, double y_1, int numberOfIntervalsX, int numberOfIntervalsY) {
+
+        if (numberOfIntervalsX < 1 || numberOfIntervalsY < 1) {
+            throw new IllegalArgumentException("Number of intervals must be positive.");
+        }
+
+        GridSampler sampler = new GridSampler(f, varAbsc, varOrd, x_0, x_1, y_0, y_1, numberOfIntervalsX, numberOfIntervalsY);
+        if (f.containsOperator() || ForkJoinTask.inForkJoinPool() || numberOfIntervalsX < NUMBER_OF_ROWS_TO_SAMPLE_IN_PARALLEL) {
+            sampler.sampleRows(sampler.f, 0, numberOfIntervalsX + 1);
+        } else {
+            getPool().invoke(new RowTask(sampler, 0, numberOfIntervalsX + 1));
+            Canceller.interruptComputationIfNeeded();
+        }
+
+        BitSet definedPoints = new BitSet(sampler.values.length);
+        for (int index = 0; index < sampler.values.length; index++) {
+            if (!Double.isNaN(sampler.values[index]) && !Double.isInfinite(sampler.values[index])) {
+                definedPoints.set(index);
+            }
+        }
+        return new SurfaceGrid(x_0, x_1, y_0, y_1, numberOfIntervalsX, numberOfIntervalsY, sampler.values, definedPoints);
+
+    }
+
+    /**
+     * Tastet die Zeilen from, ..., to - 1 parallel ab.
+     */
+    private static final class RowTask extends RecursiveAction {
+
+        private final GridSampler sampler;
+        private final int from, to;
+
+        private RowTask(GridSampler sampler, int from, int to) {
+            this.sampler = sampler;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= NUMBER_OF_ROWS_TO_SAMPLE_IN_PARALLEL) {
+                this.sampler.sampleRows(this.sampler.f.copy(), this.from, this.to);
+                return;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            invokeAll(new RowTask(this.sampler, this.from, middle), new RowTask(this.sampler, middle, this.to));
+        }
+
+    }
+
+    /**
+     * Wertet f an allen Gitterpunkten (i, j) mit from &#8804; i &lt; to aus.
+     */
+    private void sampleRows(CompiledExpression f, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Canceller.interruptComputationIfNeeded();
+            double x = this.x_0 + (this.x_1 - this.x_0) * i / this.numberOfIntervalsX;
+            int index = i * (this.numberOfIntervalsY + 1);
+            for (int j = 0; j <= this.numberOfIntervalsY; j++) {
+                this.values[index + j] = f.evaluateOrNaN(x, this.y_0 + (this.y_1 - this.y_0) * j / this.numberOfIntervalsY);
+            }
+        }
+    }
+
+}
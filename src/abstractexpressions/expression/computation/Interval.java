@@ -0,0 +1,261 @@
+package abstractexpressions.expression.computation;
+
+/**
+ * Abgeschlossenes Intervall [inf, sup] für die Intervallarithmetik. Ein
+ * Intervall, welches als Ergebnis einer Intervallauswertung entsteht, enthält
+ * garantiert alle definierten Werte des Ausdrucks auf dem betrachteten Bereich
+ * (die Grenzen werden dazu stets nach außen gerundet). Zusätzlich wird
+ * vermerkt, ob der Ausdruck auf dem gesamten Bereich definiert ist. Ein
+ * Intervall mit inf &gt; sup (vgl. EMPTY) besagt, dass der Ausdruck nirgends
+ * definiert ist.
+ */
+public final class Interval {
+
+    /**
+     * Intervall, über das keinerlei Aussage möglich ist.
+     */
+    public static final Interval ENTIRE = new Interval(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, false);
+
+    /**
+     * Ergebnis für Ausdrücke, die auf dem gesamten Bereich undefiniert sind.
+     */
+    public static final Interval EMPTY = new Interval(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, false);
+
+    /**
+     * Relativer Fehler, um den die Werte transzendenter Funktionen (zusätzlich
+     * zur Rundung) nach außen verschoben werden.
+     */
+    private static final double RELATIVE_ROUNDING_TOLERANCE = 1E-10;
+
+    private final double inf;
+    private final double sup;
+    private final boolean defined;
+
+    /**
+     * Erzeugt das Intervall [inf, sup] für einen auf dem gesamten Bereich
+     * definierten Ausdruck.
+     */
+    public Interval(double inf, double sup) {
+        this(inf, sup, true);
+    }
+
+    public Interval(double inf, double sup, boolean defined) {
+        this.inf = inf;
+        this.sup = sup;
+        this.defined = defined && inf <= sup && !Double.isInfinite(inf) && !Double.isInfinite(sup);
+    }
+
+    /**
+     * Gibt ein Intervall zurück, welches den (gerundeten) Wert value sowie
+     * dessen beide Nachbarn enthält. Ist value undefiniert, so wird EMPTY
+     * zurückgegeben.
+     */
+    public static Interval around(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return EMPTY;
+        }
+        return new Interval(down(value), up(value));
+    }
+
+    /**
+     * Gibt das kleinste Intervall zurück, welches value_1 und value_2 enthält
+     * (großzügig nach außen gerundet, um auch die Rundungsfehler von
+     * Math.exp() etc. abzudecken; unendliche Grenzen bleiben unverändert). Ist
+     * einer der Werte undefiniert, so wird ENTIRE zurückgegeben.
+     */
+    public static Interval hull(double value_1, double value_2, boolean defined) {
+        if (Double.isNaN(value_1) || Double.isNaN(value_2)) {
+            return ENTIRE;
+        }
+        double lower = Math.min(value_1, value_2), upper = Math.max(value_1, value_2);
+        if (!Double.isInfinite(lower)) {
+            lower = down(down(lower - RELATIVE_ROUNDING_TOLERANCE * Math.abs(lower)));
+        }
+        if (!Double.isInfinite(upper)) {
+            upper = up(up(upper + RELATIVE_ROUNDING_TOLERANCE * Math.abs(upper)));
+        }
+        return new Interval(lower, upper, defined);
+    }
+
+    private static double down(double value) {
+        return Math.nextAfter(value, Double.NEGATIVE_INFINITY);
+    }
+
+    private static double up(double value) {
+        return Math.nextUp(value);
+    }
+
+    public double getInf() {
+        return this.inf;
+    }
+
+    public double getSup() {
+        return this.sup;
+    }
+
+    /**
+     * Gibt zurück, ob der Ausdruck auf dem gesamten Bereich definiert ist.
+     */
+    public boolean isDefined() {
+        return this.defined;
+    }
+
+    /**
+     * Gibt zurück, ob der Ausdruck auf dem gesamten Bereich undefiniert ist.
+     */
+    public boolean isEmpty() {
+        return this.inf > this.sup;
+    }
+
+    public boolean contains(double value) {
+        return this.inf <= value && value <= this.sup;
+    }
+
+    /**
+     * Gibt zurück, ob der Ausdruck auf dem gesamten Bereich definiert ist und
+     * dort nur positive bzw. nur negative Werte annimmt.
+     */
+    public boolean isDefinedAndSignDefinite() {
+        return this.defined && (this.inf > 0 || this.sup < 0);
+    }
+
+    public Interval add(Interval interval) {
+        if (isEmpty() || interval.isEmpty()) {
+            return EMPTY;
+        }
+        return new Interval(down(this.inf + interval.inf), up(this.sup + interval.sup), this.defined && interval.defined);
+    }
+
+    public Interval negate() {
+        return new Interval(-this.sup, -this.inf, this.defined);
+    }
+
+    public Interval sub(Interval interval) {
+        return add(interval.negate());
+    }
+
+    /**
+     * Produkt zweier Grenzen, wobei 0 * &#8734; = 0 gesetzt wird.
+     */
+    private static double multiplyBounds(double a, double b) {
+        if (a == 0 || b == 0) {
+            return 0;
+        }
+        return a * b;
+    }
+
+    public Interval mult(Interval interval) {
+        if (isEmpty() || interval.isEmpty()) {
+            return EMPTY;
+        }
+        double p_1 = multiplyBounds(this.inf, interval.inf);
+        double p_2 = multiplyBounds(this.inf, interval.sup);
+        double p_3 = multiplyBounds(this.sup, interval.inf);
+        double p_4 = multiplyBounds(this.sup, interval.sup);
+        return new Interval(down(Math.min(Math.min(p_1, p_2), Math.min(p_3, p_4))),
+                up(Math.max(Math.max(p_1, p_2), Math.max(p_3, p_4))), this.defined && interval.defined);
+    }
+
+    /**
+     * Gibt die Menge aller Kehrwerte 1/x für x in diesem Intervall zurück.
+     * Enthält das Intervall die 0, so ist das Ergebnis nicht definiert.
+     */
+    public Interval reciprocal() {
+        if (isEmpty() || this.inf == 0 && this.sup == 0) {
+            return EMPTY;
+        }
+        if (this.inf > 0 || this.sup < 0) {
+            return new Interval(down(1 / this.sup), up(1 / this.inf), this.defined);
+        }
+        if (this.inf == 0) {
+            return new Interval(down(1 / this.sup), Double.POSITIVE_INFINITY, false);
+        }
+        if (this.sup == 0) {
+            return new Interval(Double.NEGATIVE_INFINITY, up(1 / this.inf), false);
+        }
+        return ENTIRE;
+    }
+
+    public Interval div(Interval interval) {
+        return mult(interval.reciprocal());
+    }
+
+    /**
+     * Gibt die Menge aller |x| für x in diesem Intervall zurück.
+     */
+    public Interval abs() {
+        if (isEmpty() || this.inf >= 0) {
+            return this;
+        }
+        if (this.sup <= 0) {
+            return negate();
+        }
+        return new Interval(0, Math.max(-this.inf, this.sup), this.defined);
+    }
+
+    /**
+     * Gibt den Durchschnitt dieses Intervalls mit dem Definitionsbereich
+     * [lower, upper] zurück. Ragt das Intervall über den Definitionsbereich
+     * hinaus, so ist das Ergebnis nicht definiert.
+     */
+    public Interval restrict(double lower, double upper) {
+        if (isEmpty() || this.sup < lower || this.inf > upper) {
+            return EMPTY;
+        }
+        return new Interval(Math.max(this.inf, lower), Math.min(this.sup, upper),
+                this.defined && this.inf >= lower && this.sup <= upper);
+    }
+
+    /**
+     * Gibt die Menge aller x^n für x in diesem Intervall zurück (n ganzzahlig).
+     */
+    public Interval pow(int n) {
+        if (isEmpty()) {
+            return EMPTY;
+        }
+        if (n == 0) {
+            return new Interval(1, 1, this.defined);
+        }
+        if (n < 0) {
+            return pow(-n).reciprocal();
+        }
+        if (n % 2 == 1) {
+            return hull(Math.pow(this.inf, n), Math.pow(this.sup, n), this.defined);
+        }
+        Interval absoluteValues = abs();
+        return hull(Math.pow(absoluteValues.inf, n), Math.pow(absoluteValues.sup, n), this.defined);
+    }
+
+    /**
+     * Gibt die Menge aller x^y für x in diesem Intervall und y in exponent
+     * zurück. Für negative Basen ist x^y nicht definiert.
+     */
+    public Interval pow(Interval exponent) {
+        if (isEmpty() || exponent.isEmpty()) {
+            return EMPTY;
+        }
+        Interval base = restrict(0, Double.POSITIVE_INFINITY);
+        if (base.isEmpty()) {
+            return EMPTY;
+        }
+        if (base.inf == 0 && exponent.inf <= 0) {
+            // 0^y ist für y < 0 nicht definiert.
+            return ENTIRE;
+        }
+        // x^y ist für x >= 0 in beiden Argumenten monoton, die Extrema liegen also in den Ecken.
+        double p_1 = Math.pow(base.inf, exponent.inf);
+        double p_2 = Math.pow(base.inf, exponent.sup);
+        double p_3 = Math.pow(base.sup, exponent.inf);
+        double p_4 = Math.pow(base.sup, exponent.sup);
+        Interval result = hull(Math.min(p_1, p_2), Math.max(p_1, p_2), base.defined && exponent.defined);
+        Interval otherCorners = hull(Math.min(p_3, p_4), Math.max(p_3, p_4), base.defined && exponent.defined);
+        return new Interval(Math.min(result.inf, otherCorners.inf), Math.max(result.sup, otherCorners.sup),
+                result.defined && otherCorners.defined);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + this.inf + ", " + this.sup + "]" + (this.defined ? "" : "?");
+    }
+
+}
@@ -1,13 +1,24 @@
 package abstractexpressions.expression.computation;
 
 import exceptions.EvaluationException;
+import abstractexpressions.expression.classes.EvaluationContext;
 import abstractexpressions.expression.classes.Expression;
 import abstractexpressions.expression.classes.Variable;
+import computationbounds.ComputationBounds;
 import graphic.util.MarchingCube;
 import graphic.util.MarchingSquare;
+import graphic.util.MarchingSquaresGrid;
+import graphic.util.SurfaceMesh;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
 import lang.translator.Translator;
+import process.Canceller;
+import process.ComputationBudget;
 
 public abstract class NumericalUtils {
 
@@ -54,7 +65,7 @@ public abstract class NumericalUtils {
      * @throws EvaluationException
      */
     private static double[] rungeKuttaStep(Expression[] exprs, String argumentVar, String[] functionVar,
-            int ord, double x, double y[], double h) throws EvaluationException {
+            int ord, double x, double y[], double h, EvaluationContext context) throws EvaluationException {
 
         double[] k_1 = new double[ord];
         double[] k_2 = new double[ord];
@@ -68,36 +79,36 @@ public abstract class NumericalUtils {
         /**
          * Berechnung von k_1.
          */
-        Variable.setValue(argumentVar, x);
+        context.setValue(argumentVar, x);
         for (int i = 0; i < ord; i++) {
-            Variable.setValue(functionVar[i], y[i]);
+            context.setValue(functionVar[i], y[i]);
         }
         for (int i = 0; i < ord; i++) {
-            k_1[i] = exprs[i].evaluate();
+            k_1[i] = exprs[i].evaluate(context);
         }
 
         /**
          * Berechnung von k_2.
          */
-        Variable.setValue(argumentVar, x + h / 2);
+        context.setValue(argumentVar, x + h / 2);
         double[] y_1 = add(y, mult(h / 2, k_1));
         for (int i = 0; i < ord; i++) {
-            Variable.setValue(functionVar[i], y_1[i]);
+            context.setValue(functionVar[i], y_1[i]);
         }
         for (int i = 0; i < ord; i++) {
-            k_2[i] = exprs[i].evaluate();
+            k_2[i] = exprs[i].evaluate(context);
         }
 
         /**
          * Berechnung von k_3.
          */
-        Variable.setValue(argumentVar, x + h);
+        context.setValue(argumentVar, x + h);
         double[] y_2 = add(y, add(mult(-h, k_1), mult(2 * h, k_2)));
         for (int i = 0; i < ord; i++) {
-            Variable.setValue(functionVar[i], y_2[i]);
+            context.setValue(functionVar[i], y_2[i]);
         }
         for (int i = 0; i < ord; i++) {
-            k_3[i] = exprs[i].evaluate();
+            k_3[i] = exprs[i].evaluate(context);
         }
 
         return add(y, mult(h / 6, add(k_1, add(mult(4, k_2), k_3))));
@@ -141,6 +152,7 @@ public abstract class NumericalUtils {
         double[] y_act = y_0;
 
         double[][] solutionVector = new double[n + 1][ord + 1];
+        EvaluationContext context = new EvaluationContext();
 
         solutionVector[0][0] = x_act;
         System.arraycopy(y_act, 0, solutionVector[0], 1, ord);
@@ -151,7 +163,7 @@ public abstract class NumericalUtils {
             x_act = x_0 + i * h;
 
             try {
-                y_act = rungeKuttaStep(exprs, argumentVar, varPrimes, ord, x_act, y_act, h);
+                y_act = rungeKuttaStep(exprs, argumentVar, varPrimes, ord, x_act, y_act, h, context);
                 solutionVector[i][0] = x_act;
                 System.arraycopy(y_act, 0, solutionVector[i], 1, ord);
             } catch (EvaluationException e) {
@@ -187,6 +199,21 @@ public abstract class NumericalUtils {
         return solutionFunction;
     }
 
+    /**
+     * Sei x = argumentVar und y = functionVar. Gibt die numerische Lösung der
+     * Differentialgleichung y^{(ord)} = f an den n + 1 äquidistanten Stellen
+     * x_0 + i * (x_1 - x_0) / n zurück (wie
+     * solveDifferentialEquationByRungeKutta()). Die Lösung wird dabei mit dem
+     * adaptiven Verfahren von Dormand und Prince mit der Toleranz tolerance
+     * berechnet (vgl. DormandPrinceSolver), die Schrittweite ist also
+     * unabhängig von n. VORAUSSETZUNG: f enthält höchstens die Variablen x, y,
+     * y', y'', ..., y^{(ord - 1)}, ord &#8805; 1 und n &#8805; 1.
+     */
+    public static double[][] solveDifferentialEquationByDormandPrince(Expression f, String argumentVar, String functionVar,
+            int ord, double x_0, double x_1, double[] y_0, int n, double tolerance) {
+        return new DormandPrinceSolver(f, argumentVar, functionVar, ord, tolerance).solve(x_0, x_1, y_0, n);
+    }
+
     /**
      * Approximiert das Integral über f von x_0 bis x_1 (nach der Regel von
      * Simpson). Dabei wird das Intervall [x_0, x_1] in n Schritte unterteilt.
@@ -197,8 +224,21 @@ public abstract class NumericalUtils {
      */
     public static double integrateBySimpson(Expression f, String var, double x_0, double x_1, int n)
             throws EvaluationException {
+        return integrateBySimpson(f, var, x_0, x_1, n, EvaluationContext.GLOBAL);
+    }
+
+    /**
+     * Approximiert das Integral über f von x_0 bis x_1 wie
+     * integrateBySimpson(f, var, x_0, x_1, n). Alle übrigen Variablen in f
+     * werden dabei gemäß context ausgewertet, context selbst wird nicht
+     * verändert.
+     *
+     * @throws EvaluationException
+     */
+    public static double integrateBySimpson(Expression f, String var, double x_0, double x_1, int n,
+            EvaluationContext context) throws EvaluationException {
 
-        Variable.setValue(var, x_0);
+        EvaluationContext integrationContext = new EvaluationContext(context);
         double h = (x_1 - x_0) / (2 * n);
 
         double weight;
@@ -218,13 +258,297 @@ public abstract class NumericalUtils {
                 weight = 4;
             }
 
-            Variable.setValue(var, x_0 + i * h);
-            integral = integral + weight * f.evaluate();
+            integrationContext.setValue(var, x_0 + i * h);
+            integral = integral + weight * f.evaluate(integrationContext);
         }
 
         return integral * h / 3;
     }
 
+    /**
+     * Stützstellen der Kronrod-Regel mit 15 Punkten auf [-1, 1] (nur die
+     * nichtnegativen, absteigend). Die Stützstellen mit ungeradem Index sind
+     * zugleich die Stützstellen der Gauß-Regel mit 7 Punkten.
+     */
+    private static final double[] GAUSS_KRONROD_NODES = {
+        0.991455371120812639206854697526329, 0.949107912342758524526189684047851,
+        0.864864423359769072789712788640926, 0.741531185599394439863864773280788,
+        0.586087235467691130294144845693013, 0.405845151377397166906606412076961,
+        0.207784955007898467600689403773245, 0.0};
+    private static final double[] KRONROD_WEIGHTS = {
+        0.022935322010529224963732008058970, 0.063092092629978553290700663189204,
+        0.104790010322250183839876322541518, 0.140653259715525918745189590510238,
+        0.169004726639267902826583426598550, 0.190350578064785409913256402421014,
+        0.204432940075298892414161999234649, 0.209482141084727828012999174891714};
+    private static final double[] GAUSS_WEIGHTS = {
+        0.129484966168869693270611432679082, 0.279705391489276667901467771423780,
+        0.381830050505118944950369775488975, 0.417959183673469387755102040816327};
+
+    /**
+     * Standardtoleranz (absolut bzw. relativ zum Wert des Integrals) für
+     * integrateByGaussKronrod().
+     */
+    public static final double DEFAULT_INTEGRATION_TOLERANCE = 1E-12;
+
+    /**
+     * Toleranz (absolut bzw. relativ zum Wert des Integrals) für die
+     * Auswertung von Integralen mittels evaluate(). Diese wird etwa beim
+     * Zeichnen von Graphen für jeden Pixel aufgerufen, weshalb eine gröbere
+     * Näherung genügt.
+     */
+    public static final double EVALUATION_INTEGRATION_TOLERANCE = 1E-8;
+
+    /**
+     * Anzahl der Teilintervalle, welche im parallelen Modus von
+     * integrateByGaussKronrod() pro Schritt gleichzeitig halbiert werden. Die
+     * Anzahl ist bewusst unabhängig von der Anzahl der Prozessoren, damit das
+     * Ergebnis nicht vom Rechner abhängt.
+     */
+    private static final int NUMBER_OF_INTERVALS_TO_BISECT_IN_PARALLEL = 8;
+
+    /**
+     * Teilbereiche beim Lösen impliziter Gleichungen, die (pro Achse) höchstens
+     * so viele Gitterintervalle umfassen, werden ohne vorherige
+     * Intervallauswertung abgetastet.
+     */
+    private static final int MIN_NUMBER_OF_INTERVALS_FOR_INTERVAL_CULLING = 4;
+
+    private static ForkJoinPool integrationPool;
+
+    /**
+     * Teilintervall [a, b] der adaptiven Integration mit der Näherung
+     * integral und dem geschätzten Fehler error. Teilintervalle werden
+     * absteigend nach ihrem Fehler angeordnet.
+     */
+    private static final class IntegrationInterval implements Comparable<IntegrationInterval> {
+
+        private final double a;
+        private final double b;
+        private final double integral;
+        private final double error;
+
+        private IntegrationInterval(double a, double b, double integral, double error) {
+            this.a = a;
+            this.b = b;
+            this.integral = integral;
+            this.error = error;
+        }
+
+        @Override
+        public int compareTo(IntegrationInterval interval) {
+            return Double.compare(interval.error, this.error);
+        }
+
+    }
+
+    /**
+     * Berechnet die Teilintegrale über die Intervalle [bounds[2i],
+     * bounds[2i + 1]], i = from, ..., to - 1, parallel.
+     */
+    private static final class IntegrationTask extends RecursiveAction {
+
+        private final Expression f;
+        private final String var;
+        private final double[] bounds;
+        private final IntegrationInterval[] results;
+        private final int from;
+        private final int to;
+        private final EvaluationContext context;
+        private final AtomicReference<EvaluationException> error;
+
+        private IntegrationTask(Expression f, String var, double[] bounds, IntegrationInterval[] results,
+                int from, int to, EvaluationContext context, AtomicReference<EvaluationException> error) {
+            this.f = f;
+            this.var = var;
+            this.bounds = bounds;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.context = context;
+            this.error = error;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= 1) {
+                // Jeder Task wertet in einer eigenen Kopie des Kontextes aus.
+                EvaluationContext taskContext = new EvaluationContext(this.context);
+                for (int i = this.from; i < this.to && this.error.get() == null; i++) {
+                    try {
+                        this.results[i] = integrateByGaussKronrodOnInterval(this.f, this.var,
+                                this.bounds[2 * i], this.bounds[2 * i + 1], taskContext);
+                    } catch (EvaluationException e) {
+                        this.error.compareAndSet(null, e);
+                    }
+                }
+                return;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            invokeAll(new IntegrationTask(this.f, this.var, this.bounds, this.results, this.from, middle, this.context, this.error),
+                    new IntegrationTask(this.f, this.var, this.bounds, this.results, middle, this.to, this.context, this.error));
+        }
+
+    }
+
+    private static synchronized ForkJoinPool getIntegrationPool() {
+        if (integrationPool == null) {
+            integrationPool = new ForkJoinPool();
+        }
+        return integrationPool;
+    }
+
+    /**
+     * Approximiert das Integral über f von a bis b mittels Gauß-Kronrod-Regel
+     * (G7/K15). Der Fehler wird durch den Betrag der Differenz zwischen der
+     * Gauß- und der Kronrod-Näherung abgeschätzt.
+     *
+     * @throws EvaluationException
+     */
+    private static IntegrationInterval integrateByGaussKronrodOnInterval(Expression f, String var, double a, double b,
+            EvaluationContext context) throws EvaluationException {
+
+        double center = (a + b) / 2;
+        double halfLength = (b - a) / 2;
+
+        // Mittelpunkt (Stützstelle beider Regeln).
+        context.setValue(var, center);
+        double valueAtCenter = f.evaluate(context);
+        double integralKronrod = KRONROD_WEIGHTS[7] * valueAtCenter;
+        double integralGauss = GAUSS_WEIGHTS[3] * valueAtCenter;
+
+        double valueLeft, valueRight;
+        for (int i = 0; i < 7; i++) {
+            context.setValue(var, center - halfLength * GAUSS_KRONROD_NODES[i]);
+            valueLeft = f.evaluate(context);
+            context.setValue(var, center + halfLength * GAUSS_KRONROD_NODES[i]);
+            valueRight = f.evaluate(context);
+            integralKronrod += KRONROD_WEIGHTS[i] * (valueLeft + valueRight);
+            if (i % 2 == 1) {
+                integralGauss += GAUSS_WEIGHTS[i / 2] * (valueLeft + valueRight);
+            }
+        }
+
+        integralKronrod *= halfLength;
+        integralGauss *= halfLength;
+        return new IntegrationInterval(a, b, integralKronrod, Math.abs(integralKronrod - integralGauss));
+
+    }
+
+    /**
+     * Approximiert das Integral über f von x_0 bis x_1 adaptiv mittels
+     * Gauß-Kronrod-Regel (G7/K15) mit der Toleranz
+     * DEFAULT_INTEGRATION_TOLERANCE (vgl. integrateByGaussKronrod(f, var, x_0,
+     * x_1, tolerance, context, parallel)).
+     *
+     * @throws EvaluationException
+     */
+    public static double integrateByGaussKronrod(Expression f, String var, double x_0, double x_1)
+            throws EvaluationException {
+        return integrateByGaussKronrod(f, var, x_0, x_1, DEFAULT_INTEGRATION_TOLERANCE, EvaluationContext.GLOBAL, false);
+    }
+
+    /**
+     * Approximiert das Integral über f von x_0 bis x_1 adaptiv mittels
+     * Gauß-Kronrod-Regel (G7/K15). Es wird stets dasjenige Teilintervall
+     * halbiert, welches den größten geschätzten Fehler besitzt, bis der
+     * geschätzte Gesamtfehler höchstens tolerance bzw. tolerance * |Integral|
+     * beträgt oder
+     * ComputationBounds.BOUND_NUMERIC_MAX_NUMBER_OF_INTEGRATION_SUBINTERVALS
+     * Teilintervalle erreicht sind (vgl. integrateByGaussKronrod(f, var, x_0,
+     * x_1, tolerance, maxNumberOfSubintervals, context, parallel)).
+     *
+     * @throws EvaluationException
+     */
+    public static double integrateByGaussKronrod(Expression f, String var, double x_0, double x_1, double tolerance,
+            EvaluationContext context, boolean parallel) throws EvaluationException {
+        return integrateByGaussKronrod(f, var, x_0, x_1, tolerance,
+                ComputationBounds.BOUND_NUMERIC_MAX_NUMBER_OF_INTEGRATION_SUBINTERVALS, context, parallel);
+    }
+
+    /**
+     * Approximiert das Integral über f von x_0 bis x_1 adaptiv mittels
+     * Gauß-Kronrod-Regel (G7/K15). Es wird stets dasjenige Teilintervall
+     * halbiert, welches den größten geschätzten Fehler besitzt, bis der
+     * geschätzte Gesamtfehler höchstens tolerance bzw. tolerance * |Integral|
+     * beträgt oder maxNumberOfSubintervals Teilintervalle erreicht sind. Im
+     * parallelen Modus werden pro Schritt mehrere Teilintervalle halbiert und
+     * die Hälften auf mehreren Kernen ausgewertet (nicht, falls f Operatoren
+     * enthält oder ein ComputationBudget aktiv ist). Alle übrigen Variablen in f werden gemäß context
+     * ausgewertet, context selbst wird nicht verändert.<br>
+     * VORAUSSETZUNG: f hängt höchstens von var und von in context belegten
+     * Variablen ab.
+     *
+     * @throws EvaluationException
+     */
+    public static double integrateByGaussKronrod(Expression f, String var, double x_0, double x_1, double tolerance,
+            int maxNumberOfSubintervals, EvaluationContext context, boolean parallel) throws EvaluationException {
+
+        EvaluationContext integrationContext = new EvaluationContext(context);
+        PriorityQueue<IntegrationInterval> intervals = new PriorityQueue<>();
+        IntegrationInterval initialInterval = integrateByGaussKronrodOnInterval(f, var, x_0, x_1, integrationContext);
+        intervals.add(initialInterval);
+
+        double integral = initialInterval.integral;
+        double error = initialInterval.error;
+
+        /*
+         Paralleles Halbieren nur, falls nicht bereits innerhalb eines
+         Fork/Join-Tasks gerechnet wird, f keine Operatoren enthält (deren
+         Auswertung Variablen global belegt) und im aktuellen Thread kein
+         ComputationBudget aktiv ist (dieses greift nur im eigenen Thread).
+         */
+        int numberOfIntervalsToBisect = parallel && !f.containsOperator() && ComputationBudget.getCurrentBudget() == null
+                && !ForkJoinTask.inForkJoinPool() ? NUMBER_OF_INTERVALS_TO_BISECT_IN_PARALLEL : 1;
+        IntegrationInterval[] intervalsToBisect = new IntegrationInterval[numberOfIntervalsToBisect];
+        IntegrationInterval[] halves = new IntegrationInterval[2 * numberOfIntervalsToBisect];
+        double[] boundsOfHalves = new double[4 * numberOfIntervalsToBisect];
+
+        while (error > Math.max(tolerance, tolerance * Math.abs(integral))
+                && intervals.size() < maxNumberOfSubintervals) {
+
+            Canceller.interruptComputationIfNeeded();
+
+            int n = 0;
+            while (n < numberOfIntervalsToBisect && !intervals.isEmpty()) {
+                IntegrationInterval interval = intervals.poll();
+                intervalsToBisect[n] = interval;
+                double middle = (interval.a + interval.b) / 2;
+                boundsOfHalves[4 * n] = interval.a;
+                boundsOfHalves[4 * n + 1] = middle;
+                boundsOfHalves[4 * n + 2] = middle;
+                boundsOfHalves[4 * n + 3] = interval.b;
+                n++;
+            }
+
+            if (n == 1) {
+                halves[0] = integrateByGaussKronrodOnInterval(f, var, boundsOfHalves[0], boundsOfHalves[1], integrationContext);
+                halves[1] = integrateByGaussKronrodOnInterval(f, var, boundsOfHalves[2], boundsOfHalves[3], integrationContext);
+            } else {
+                AtomicReference<EvaluationException> evaluationError = new AtomicReference<>();
+                getIntegrationPool().invoke(new IntegrationTask(f, var, boundsOfHalves, halves, 0, 2 * n, context, evaluationError));
+                if (evaluationError.get() != null) {
+                    throw evaluationError.get();
+                }
+            }
+
+            for (int i = 0; i < n; i++) {
+                integral += halves[2 * i].integral + halves[2 * i + 1].integral - intervalsToBisect[i].integral;
+                error += halves[2 * i].error + halves[2 * i + 1].error - intervalsToBisect[i].error;
+                intervals.add(halves[2 * i]);
+                intervals.add(halves[2 * i + 1]);
+            }
+
+        }
+
+        // Zum Schluss neu aufsummieren, um Rundungsfehler aus den Aktualisierungen zu vermeiden.
+        integral = 0;
+        for (IntegrationInterval interval : intervals) {
+            integral += interval.integral;
+        }
+        return integral;
+
+    }
+
     /**
      * Newton-Verfahren für die Gleichung x_0 mit vorgegebenen Startwert x_0 und
      * einer vorgegebenen Anzahl n von Schritten. Gibt nach n Iterationen des
@@ -234,20 +558,23 @@ public abstract class NumericalUtils {
      * @throws EvaluationException
      */
     public static double solveEquationByNewtonIteration(Expression f, String var, double x_0, int n) throws EvaluationException {
+        return solveEquationByNewtonIteration(f, var, x_0, n, new EvaluationContext());
+    }
+
+    private static double solveEquationByNewtonIteration(Expression f, String var, double x_0, int n, EvaluationContext context) throws EvaluationException {
 
         Expression derivative = f.diff(var).simplify();
-        Variable.setValue(var, x_0);
         double zeroOfEquation = x_0;
 
         /**
          * Regel: x_{i + 1} = x_i - f(x_i)/f'(x_i), i = 0, ..., n - 1.
          */
         for (int i = 0; i < n; i++) {
-            Variable.setValue(var, zeroOfEquation);
-            if (derivative.evaluate() == 0) {
+            context.setValue(var, zeroOfEquation);
+            if (derivative.evaluate(context) == 0) {
                 throw new EvaluationException(Translator.translateOutputMessage(CC_NumericalUtils_UNDEFINED_VALUE));
             }
-            zeroOfEquation = zeroOfEquation - f.evaluate() / derivative.evaluate();
+            zeroOfEquation = zeroOfEquation - f.evaluate(context) / derivative.evaluate(context);
             if (Double.isNaN(zeroOfEquation) || Double.isInfinite(zeroOfEquation)) {
                 throw new EvaluationException(Translator.translateOutputMessage(CC_NumericalUtils_UNDEFINED_VALUE));
             }
@@ -258,44 +585,17 @@ public abstract class NumericalUtils {
     }
 
     /**
-     * Hauptmethode zum (numerischen) Lösen der Gleichung f = 0 mittels
-     * Newton-Verfahren. VORAUSSETZUNG: f hängt nur von der Variablen var ab.
+     * Hauptmethode zum (numerischen) Lösen der Gleichung f = 0 im Bereich x_1
+     * &#8804; var &#8804; x_2. Gesucht wird auf einem Gitter aus n Intervallen
+     * (vgl. RootFinder.findRoots()). VORAUSSETZUNG: f hängt nur von der
+     * Variablen var ab.
      */
     public static List<Double> solveEquation(Expression f, String var, double x_1, double x_2, int n) {
 
         List<Double> zerosOfEquation = new ArrayList<>();
-
-        double x;
-        double valueAtCurrentArgument, valueAtNextArgument;
-
-        for (int i = 0; i < n; i++) {
-            try {
-                x = x_1 + i * (x_2 - x_1) / n;
-                Variable.setValue(var, x);
-                valueAtCurrentArgument = f.evaluate();
-                x = x_1 + (i + 1) * (x_2 - x_1) / n;
-                Variable.setValue(var, x);
-                valueAtNextArgument = f.evaluate();
-                if (valueAtCurrentArgument == 0) {
-                    zerosOfEquation.add(x_1 + i * (x_2 - x_1) / n);
-                } else if (valueAtCurrentArgument * valueAtNextArgument < 0) {
-                    /**
-                     * Es liegt eine Nullstelle zwischen den beiden x-Werten
-                     * vor. -> Newton-Iteration anwenden.
-                     */
-                    double x_0 = x_1 + (x_2 - x_1) * (((double) i) / n + 1 / (n * (1 + Math.abs(valueAtNextArgument) / Math.abs(valueAtCurrentArgument))));
-                    double zero = solveEquationByNewtonIteration(f, var, x_0, 100);
-                    if ((x_1 + i * (x_2 - x_1) / n < zero) && (x_1 + (i + 1) * (x_2 - x_1) / n > zero)) {
-                        zerosOfEquation.add(zero);
-                    }
-                }
-                if (i == n - 1 && valueAtNextArgument == 0) {
-                    zerosOfEquation.add(x_2);
-                }
-            } catch (EvaluationException e) {
-            }
+        for (RootFinder.Root root : new RootFinder(f, var).findRoots(x_1, x_2, n)) {
+            zerosOfEquation.add(root.getValue());
         }
-
         return zerosOfEquation;
 
     }
@@ -315,20 +615,9 @@ public abstract class NumericalUtils {
         MarchingSquare square;
 
         Double[][] innerPoints = new Double[numberOfIntervals + 1][numberOfIntervals + 1];
-
-        for (int i = 0; i <= numberOfIntervals; i++) {
-            for (int j = 0; j <= numberOfIntervals; j++) {
-
-                Variable.setValue(varAbsc, xStart + i * (xEnd - xStart) / numberOfIntervals);
-                Variable.setValue(varOrd, yStart + j * (yEnd - yStart) / numberOfIntervals);
-                try {
-                    innerPoints[i][j] = f.evaluate();
-                } catch (EvaluationException e) {
-                    innerPoints[i][j] = Double.NaN;
-                }
-
-            }
-        }
+        boolean[][] evaluatedPoints = new boolean[numberOfIntervals + 1][numberOfIntervals + 1];
+        sampleImplicitEquation2D(f, varAbsc, varOrd, xStart, xEnd, yStart, yEnd, numberOfIntervals,
+                0, numberOfIntervals, 0, numberOfIntervals, innerPoints, evaluatedPoints, new EvaluationContext());
 
         for (int i = 0; i < numberOfIntervals; i++) {
             for (int j = 0; j < numberOfIntervals; j++) {
@@ -348,6 +637,74 @@ public abstract class NumericalUtils {
 
     }
 
+    /**
+     * Belegt values[i][j] für alle Gitterpunkte (i, j) des Bereichs iStart
+     * &#8804; i &#8804; iEnd, jStart &#8804; j &#8804; jEnd mit den Werten von
+     * f. Besitzt f auf einem Teilbereich nach Intervallauswertung ein festes
+     * Vorzeichen, so wird f dort nicht ausgewertet. Stattdessen erhalten die
+     * (noch nicht ausgewerteten) Gitterpunkte einen Wert mit diesem Vorzeichen.
+     * Die Quadrate eines solchen Teilbereichs enthalten keine Kurvenstücke.
+     */
+    private static void sampleImplicitEquation2D(Expression f, String varAbsc, String varOrd,
+            double xStart, double xEnd, double yStart, double yEnd, int numberOfIntervals,
+            int iStart, int iEnd, int jStart, int jEnd, Double[][] values, boolean[][] evaluatedPoints, EvaluationContext context) {
+
+        if (Math.max(iEnd - iStart, jEnd - jStart) > MIN_NUMBER_OF_INTERVALS_FOR_INTERVAL_CULLING) {
+
+            Interval range = f.evaluateInterval(new String[]{varAbsc, varOrd}, new Interval[]{
+                new Interval(xStart + iStart * (xEnd - xStart) / numberOfIntervals, xStart + iEnd * (xEnd - xStart) / numberOfIntervals),
+                new Interval(yStart + jStart * (yEnd - yStart) / numberOfIntervals, yStart + jEnd * (yEnd - yStart) / numberOfIntervals)});
+            if (range.isDefinedAndSignDefinite()) {
+                double valueWithSameSign = range.getInf() > 0 ? range.getInf() : range.getSup();
+                for (int i = iStart; i <= iEnd; i++) {
+                    for (int j = jStart; j <= jEnd; j++) {
+                        if (!evaluatedPoints[i][j]) {
+                            values[i][j] = valueWithSameSign;
+                        }
+                    }
+                }
+                return;
+            }
+
+            int iMiddle = (iStart + iEnd) / 2, jMiddle = (jStart + jEnd) / 2;
+            sampleImplicitEquation2D(f, varAbsc, varOrd, xStart, xEnd, yStart, yEnd, numberOfIntervals,
+                    iStart, iMiddle, jStart, jMiddle, values, evaluatedPoints, context);
+            sampleImplicitEquation2D(f, varAbsc, varOrd, xStart, xEnd, yStart, yEnd, numberOfIntervals,
+                    iMiddle, iEnd, jStart, jMiddle, values, evaluatedPoints, context);
+            sampleImplicitEquation2D(f, varAbsc, varOrd, xStart, xEnd, yStart, yEnd, numberOfIntervals,
+                    iStart, iMiddle, jMiddle, jEnd, values, evaluatedPoints, context);
+            sampleImplicitEquation2D(f, varAbsc, varOrd, xStart, xEnd, yStart, yEnd, numberOfIntervals,
+                    iMiddle, iEnd, jMiddle, jEnd, values, evaluatedPoints, context);
+            return;
+
+        }
+
+        for (int i = iStart; i <= iEnd; i++) {
+            for (int j = jStart; j <= jEnd; j++) {
+                if (!evaluatedPoints[i][j]) {
+                    context.setValue(varAbsc, xStart + i * (xEnd - xStart) / numberOfIntervals);
+                    context.setValue(varOrd, yStart + j * (yEnd - yStart) / numberOfIntervals);
+                    values[i][j] = f.evaluateOrNaN(context);
+                    evaluatedPoints[i][j] = true;
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Löst die (implizite) Gleichung f(var1, var2) = 0 im Bereich x_0 &#8804;
+     * varAbsc &#8804; x_1, y_0 &#8804; varOrd &#8804; y_1 auf einem Gitter aus
+     * numberOfIntervals * numberOfIntervals Quadraten. Dabei wird nur in der
+     * Nähe der Kurve verfeinert und f höchstens maxNumberOfEvaluations-mal
+     * ausgewertet (vgl. AdaptiveMarchingSquares).<br>
+     * VORAUSSETZUNG: f hängt nur von varAbsc und varOrd ab.
+     */
+    public static MarchingSquaresGrid solveImplicitEquation2D(Expression f, String varAbsc, String varOrd,
+            double xStart, double xEnd, double yStart, double yEnd, int numberOfIntervals, int maxNumberOfEvaluations) {
+        return AdaptiveMarchingSquares.solve(f, varAbsc, varOrd, xStart, xEnd, yStart, yEnd, numberOfIntervals, maxNumberOfEvaluations);
+    }
+
     public static MarchingCube[][][] solveImplicitEquation3D(Expression f, String varAbsc, String varOrd, String varAppl,
             double xStart, double xEnd, double yStart, double yEnd, double zStart, double zEnd) {
 
@@ -357,22 +714,10 @@ public abstract class NumericalUtils {
         MarchingCube cube;
 
         boolean[][][] innerPoints = new boolean[numberOfIntervals + 1][numberOfIntervals + 1][numberOfIntervals + 1];
-
-        for (int i = 0; i <= numberOfIntervals; i++) {
-            for (int j = 0; j <= numberOfIntervals; j++) {
-                for (int k = 0; k <= numberOfIntervals; k++) {
-
-                    Variable.setValue(varAbsc, xStart + i * (xEnd - xStart) / numberOfIntervals);
-                    Variable.setValue(varOrd, yStart + j * (yEnd - yStart) / numberOfIntervals);
-                    Variable.setValue(varAppl, zStart + k * (zEnd - zStart) / numberOfIntervals);
-                    try {
-                        innerPoints[i][j][k] = f.evaluate() <= 0;
-                    } catch (EvaluationException e) {
-                    }
-
-                }
-            }
-        }
+        boolean[][][] evaluatedPoints = new boolean[numberOfIntervals + 1][numberOfIntervals + 1][numberOfIntervals + 1];
+        sampleImplicitEquation3D(f, new String[]{varAbsc, varOrd, varAppl}, new double[]{xStart, yStart, zStart},
+                new double[]{xEnd, yEnd, zEnd}, numberOfIntervals, new int[]{0, 0, 0},
+                new int[]{numberOfIntervals, numberOfIntervals, numberOfIntervals}, innerPoints, evaluatedPoints, new EvaluationContext());
 
         for (int i = 0; i < numberOfIntervals; i++) {
             for (int j = 0; j < numberOfIntervals; j++) {
@@ -398,4 +743,82 @@ public abstract class NumericalUtils {
 
     }
 
+    /**
+     * Bestimmt für alle Gitterpunkte (i, j, k) des Bereichs start[0] &#8804; i
+     * &#8804; end[0], start[1] &#8804; j &#8804; end[1], start[2] &#8804; k
+     * &#8804; end[2], ob f dort &#8804; 0 ist (undefinierte Stellen gelten als
+     * äußere Punkte). Teilbereiche, auf denen dies bereits nach
+     * Intervallauswertung feststeht, werden nicht abgetastet.
+     */
+    private static void sampleImplicitEquation3D(Expression f, String[] vars, double[] lowerBounds, double[] upperBounds,
+            int numberOfIntervals, int[] start, int[] end, boolean[][][] innerPoints, boolean[][][] evaluatedPoints,
+            EvaluationContext context) {
+
+        if (Math.max(end[0] - start[0], Math.max(end[1] - start[1], end[2] - start[2])) > MIN_NUMBER_OF_INTERVALS_FOR_INTERVAL_CULLING) {
+
+            Interval[] box = new Interval[3];
+            for (int a = 0; a < 3; a++) {
+                box[a] = new Interval(lowerBounds[a] + start[a] * (upperBounds[a] - lowerBounds[a]) / numberOfIntervals,
+                        lowerBounds[a] + end[a] * (upperBounds[a] - lowerBounds[a]) / numberOfIntervals);
+            }
+            Interval range = f.evaluateInterval(vars, box);
+            boolean allPointsAreOuterPoints = range.getInf() > 0;
+            boolean allPointsAreInnerPoints = range.isDefined() && range.getSup() <= 0;
+            if (allPointsAreOuterPoints || allPointsAreInnerPoints) {
+                for (int i = start[0]; i <= end[0]; i++) {
+                    for (int j = start[1]; j <= end[1]; j++) {
+                        for (int k = start[2]; k <= end[2]; k++) {
+                            if (!evaluatedPoints[i][j][k]) {
+                                innerPoints[i][j][k] = allPointsAreInnerPoints;
+                            }
+                        }
+                    }
+                }
+                return;
+            }
+
+            int[] middle = {(start[0] + end[0]) / 2, (start[1] + end[1]) / 2, (start[2] + end[2]) / 2};
+            for (int octant = 0; octant < 8; octant++) {
+                int[] startOfOctant = new int[3];
+                int[] endOfOctant = new int[3];
+                for (int a = 0; a < 3; a++) {
+                    startOfOctant[a] = (octant >> a & 1) == 0 ? start[a] : middle[a];
+                    endOfOctant[a] = (octant >> a & 1) == 0 ? middle[a] : end[a];
+                }
+                sampleImplicitEquation3D(f, vars, lowerBounds, upperBounds, numberOfIntervals, startOfOctant, endOfOctant,
+                        innerPoints, evaluatedPoints, context);
+            }
+            return;
+
+        }
+
+        for (int i = start[0]; i <= end[0]; i++) {
+            for (int j = start[1]; j <= end[1]; j++) {
+                for (int k = start[2]; k <= end[2]; k++) {
+                    if (!evaluatedPoints[i][j][k]) {
+                        context.setValue(vars[0], lowerBounds[0] + i * (upperBounds[0] - lowerBounds[0]) / numberOfIntervals);
+                        context.setValue(vars[1], lowerBounds[1] + j * (upperBounds[1] - lowerBounds[1]) / numberOfIntervals);
+                        context.setValue(vars[2], lowerBounds[2] + k * (upperBounds[2] - lowerBounds[2]) / numberOfIntervals);
+                        // Undefinierte Stellen (NaN) gelten als äußere Punkte.
+                        innerPoints[i][j][k] = f.evaluateOrNaN(context) <= 0;
+                        evaluatedPoints[i][j][k] = true;
+                    }
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Berechnet ein Dreiecksnetz der (impliziten) Fläche f(varAbsc, varOrd,
+     * varAppl) = 0 im Bereich x_0 &#8804; varAbsc &#8804; x_1, y_0 &#8804;
+     * varOrd &#8804; y_1, z_0 &#8804; varAppl &#8804; z_1 auf einem Gitter aus
+     * numberOfIntervals^3 Würfeln (vgl. SparseMarchingCubes).<br>
+     * VORAUSSETZUNG: f hängt nur von varAbsc, varOrd und varAppl ab.
+     */
+    public static SurfaceMesh solveImplicitEquation3D(Expression f, String varAbsc, String varOrd, String varAppl,
+            double xStart, double xEnd, double yStart, double yEnd, double zStart, double zEnd, int numberOfIntervals) {
+        return SparseMarchingCubes.solve(f, varAbsc, varOrd, varAppl, xStart, xEnd, yStart, yEnd, zStart, zEnd, numberOfIntervals);
+    }
+
 }
@@ -0,0 +1,341 @@
+package abstractexpressions.expression.computation;
+
+import abstractexpressions.expression.classes.Expression;
+import exceptions.EvaluationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import process.Canceller;
+
+/**
+ * Numerisches Bestimmen der Nullstellen einer Funktion f in einer Variablen.
+ * f und (falls möglich) f' werden einmalig symbolisch abgeleitet und
+ * kompiliert (vgl. CompiledExpression). Nullstellen werden zunächst durch
+ * Vorzeichenwechsel auf einem äquidistanten Gitter eingeschlossen und dann
+ * mit einem abgesicherten Newton-Verfahren verfeinert: Liegt der
+ * Newton-Schritt nicht im aktuellen Einschließungsintervall oder ist f' nicht
+ * definiert, so wird ein Sekantenschritt bzw. eine Intervallhalbierung
+ * ausgeführt. Da das Einschließungsintervall stets mitgeführt wird, besitzt
+ * jede gefundene Nullstelle eine garantierte Fehlerschranke (unter der
+ * Voraussetzung, dass f stetig ist).<br>
+ * Das Gitter wird in Blöcken parallel ausgewertet, sofern f keine Operatoren
+ * enthält.
+ */
+public final class RootFinder {
+
+    /**
+     * Eine Nullstelle value mit der Fehlerschranke errorBound, d.h. die exakte
+     * Nullstelle liegt in [value - errorBound, value + errorBound].
+     */
+    public static final class Root {
+
+        private final double value;
+        private final double errorBound;
+
+        private Root(double value, double errorBound) {
+            this.value = value;
+            this.errorBound = errorBound;
+        }
+
+        public double getValue() {
+            return this.value;
+        }
+
+        public double getErrorBound() {
+            return this.errorBound;
+        }
+
+        @Override
+        public String toString() {
+            return this.value + " +- " + this.errorBound;
+        }
+
+    }
+
+    private static final int MAX_NUMBER_OF_ITERATIONS = 100;
+
+    /**
+     * Anzahl der Gitterintervalle pro Block bei der parallelen Suche. Bei
+     * weniger als zwei Blöcken wird sequentiell gesucht.
+     */
+    private static final int NUMBER_OF_INTERVALS_PER_CHUNK = 256;
+
+    private static ForkJoinPool pool;
+
+    private final CompiledExpression f;
+    // Ableitung von f oder null, falls diese nicht bestimmt werden konnte.
+    private final CompiledExpression derivative;
+    private final boolean parallelizable;
+
+    public RootFinder(Expression f, String var) {
+        this.f = CompiledExpression.compile(f, var);
+        CompiledExpression compiledDerivative;
+        try {
+            compiledDerivative = CompiledExpression.compile(f.diff(var).simplify(), var);
+        } catch (EvaluationException e) {
+            compiledDerivative = null;
+        }
+        this.derivative = compiledDerivative;
+        this.parallelizable = !f.containsOperator();
+    }
+
+    private RootFinder(CompiledExpression f, CompiledExpression derivative) {
+        this.f = f;
+        this.derivative = derivative;
+        this.parallelizable = false;
+    }
+
+    /**
+     * Gibt eine Kopie mit eigenen Arbeitsstapeln zurück (zum Auswerten in
+     * einem weiteren Thread).
+     */
+    private RootFinder copy() {
+        return new RootFinder(this.f.copy(), this.derivative == null ? null : this.derivative.copy());
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool();
+        }
+        return pool;
+    }
+
+    /**
+     * Sucht die Nullstellen von f im Bereich x_1 &#8804; var &#8804; x_2.
+     * Dazu wird [x_1, x_2] in n gleich lange Intervalle unterteilt. Gefunden
+     * werden Gitterpunkte, an denen f verschwindet, sowie alle Nullstellen in
+     * Gitterintervallen, an deren Rändern f verschiedene Vorzeichen besitzt.
+     * Die Nullstellen werden aufsteigend (bzgl. der Gitterreihenfolge)
+     * zurückgegeben.
+     */
+    public List<Root> findRoots(double x_1, double x_2, int n) {
+
+        int numberOfChunks = (n + NUMBER_OF_INTERVALS_PER_CHUNK - 1) / NUMBER_OF_INTERVALS_PER_CHUNK;
+        if (!this.parallelizable || numberOfChunks < 2 || ForkJoinTask.inForkJoinPool()) {
+            List<Root> roots = new ArrayList<>();
+            findRootsInGridIntervals(x_1, x_2, n, 0, n, roots);
+            return roots;
+        }
+
+        List<List<Root>> rootsInChunks = new ArrayList<>();
+        for (int i = 0; i < numberOfChunks; i++) {
+            rootsInChunks.add(new ArrayList<Root>());
+        }
+        getPool().invoke(new SearchTask(this, x_1, x_2, n, 0, numberOfChunks, rootsInChunks));
+        Canceller.interruptComputationIfNeeded();
+
+        List<Root> roots = new ArrayList<>();
+        for (List<Root> rootsInChunk : rootsInChunks) {
+            roots.addAll(rootsInChunk);
+        }
+        return roots;
+
+    }
+
+    /**
+     * Durchsucht die Blöcke fromChunk, ..., toChunk - 1 parallel.
+     */
+    private static final class SearchTask extends RecursiveAction {
+
+        private final RootFinder rootFinder;
+        private final double x_1, x_2;
+        private final int n;
+        private final int fromChunk, toChunk;
+        private final List<List<Root>> rootsInChunks;
+
+        private SearchTask(RootFinder rootFinder, double x_1, double x_2, int n, int fromChunk, int toChunk,
+                List<List<Root>> rootsInChunks) {
+            this.rootFinder = rootFinder;
+            this.x_1 = x_1;
+            this.x_2 = x_2;
+            this.n = n;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.rootsInChunks = rootsInChunks;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.toChunk - this.fromChunk <= 1) {
+                int from = this.fromChunk * NUMBER_OF_INTERVALS_PER_CHUNK;
+                int to = Math.min(from + NUMBER_OF_INTERVALS_PER_CHUNK, this.n);
+                this.rootFinder.copy().findRootsInGridIntervals(this.x_1, this.x_2, this.n, from, to,
+                        this.rootsInChunks.get(this.fromChunk));
+                return;
+            }
+            int middle = (this.fromChunk + this.toChunk) >>> 1;
+            invokeAll(new SearchTask(this.rootFinder, this.x_1, this.x_2, this.n, this.fromChunk, middle, this.rootsInChunks),
+                    new SearchTask(this.rootFinder, this.x_1, this.x_2, this.n, middle, this.toChunk, this.rootsInChunks));
+        }
+
+    }
+
+    /**
+     * Sucht die Nullstellen in den Gitterintervallen from, ..., to - 1 und
+     * fügt sie zu roots hinzu.
+     */
+    private void findRootsInGridIntervals(double x_1, double x_2, int n, int from, int to, List<Root> roots) {
+
+        double x = x_1 + from * (x_2 - x_1) / n;
+        double valueAtCurrentArgument = this.f.evaluateOrNaN(x);
+        double nextX, valueAtNextArgument;
+
+        for (int i = from; i < to; i++) {
+
+            if (i % NUMBER_OF_INTERVALS_PER_CHUNK == 0) {
+                Canceller.interruptComputationIfNeeded();
+            }
+            nextX = x_1 + (i + 1) * (x_2 - x_1) / n;
+            valueAtNextArgument = this.f.evaluateOrNaN(nextX);
+
+            if (!Double.isNaN(valueAtCurrentArgument) && !Double.isNaN(valueAtNextArgument)) {
+                if (valueAtCurrentArgument == 0) {
+                    roots.add(new Root(x, 0));
+                } else if (valueAtCurrentArgument * valueAtNextArgument < 0) {
+                    Root root = findRootInBracket(x, nextX, valueAtCurrentArgument, valueAtNextArgument);
+                    if (root != null) {
+                        roots.add(root);
+                    }
+                }
+                if (i == n - 1 && valueAtNextArgument == 0) {
+                    roots.add(new Root(x_2, 0));
+                }
+            }
+
+            x = nextX;
+            valueAtCurrentArgument = valueAtNextArgument;
+
+        }
+
+    }
+
+    /**
+     * Bestimmt eine Nullstelle von f zwischen a und b, sofern f dort
+     * verschiedene Vorzeichen besitzt. Ansonsten wird null zurückgegeben.
+     */
+    public Root findRootInBracket(double a, double b) {
+        double valueAtA = this.f.evaluateOrNaN(a);
+        double valueAtB = this.f.evaluateOrNaN(b);
+        if (valueAtA == 0) {
+            return new Root(a, 0);
+        }
+        if (valueAtB == 0) {
+            return new Root(b, 0);
+        }
+        if (!(valueAtA * valueAtB < 0)) {
+            return null;
+        }
+        return findRootInBracket(a, b, valueAtA, valueAtB);
+    }
+
+    /**
+     * Abgesichertes Newton-Verfahren auf dem Einschließungsintervall [a, b]
+     * mit f(a) * f(b) &lt; 0. Das Verfahren bricht ab, sobald das Intervall
+     * bis auf Maschinengenauigkeit geschrumpft ist. Tritt unterwegs ein
+     * undefinierter Wert auf oder wächst |f| zum Schluss über die Werte an den
+     * ursprünglichen Rändern (Polstelle statt Nullstelle), so wird null
+     * zurückgegeben.
+     */
+    private Root findRootInBracket(double a, double b, double valueAtA, double valueAtB) {
+
+        if (a > b) {
+            double t = a;
+            a = b;
+            b = t;
+            t = valueAtA;
+            valueAtA = valueAtB;
+            valueAtB = t;
+        }
+        double tolerance = Math.max(4 * Math.ulp(Math.max(Math.abs(a), Math.abs(b))), 1E-15 * (b - a));
+        double initialAbsoluteValue = Math.min(Math.abs(valueAtA), Math.abs(valueAtB));
+
+        double x = valueAtB - valueAtA != 0 ? a - valueAtA * (b - a) / (valueAtB - valueAtA) : (a + b) / 2;
+        double widthBeforeLastStep = b - a;
+        int numberOfSlowSteps = 0;
+
+        for (int i = 0; i < MAX_NUMBER_OF_ITERATIONS && b - a > tolerance; i++) {
+
+            if (!(x > a && x < b) || numberOfSlowSteps >= 2) {
+                // Sicherung: Intervallhalbierung.
+                x = (a + b) / 2;
+                numberOfSlowSteps = 0;
+            }
+
+            double valueAtX = this.f.evaluateOrNaN(x);
+            if (Double.isNaN(valueAtX)) {
+                return null;
+            }
+            if (valueAtX == 0) {
+                return new Root(x, 0);
+            }
+            if (valueAtA * valueAtX < 0) {
+                b = x;
+                valueAtB = valueAtX;
+            } else {
+                a = x;
+                valueAtA = valueAtX;
+            }
+
+            if (b - a > 0.5 * widthBeforeLastStep) {
+                numberOfSlowSteps++;
+            } else {
+                numberOfSlowSteps = 0;
+            }
+            widthBeforeLastStep = b - a;
+
+            // Nächster Kandidat: Newton-Schritt, falls f' definiert ist, ansonsten Sekantenschritt.
+            double valueOfDerivative = this.derivative == null ? Double.NaN : this.derivative.evaluateOrNaN(x);
+            double step;
+            if (!Double.isNaN(valueOfDerivative) && valueOfDerivative != 0) {
+                step = -valueAtX / valueOfDerivative;
+            } else {
+                step = -valueAtX * (b - a) / (valueAtB - valueAtA);
+            }
+
+            if (Math.abs(step) < (b - a) / 4) {
+                /*
+                 Das Verfahren konvergiert, das Intervall schrumpft aber nur
+                 von einer Seite. Daher wird zusätzlich knapp hinter dem
+                 nächsten Iterationswert ausgewertet, um das Intervall auch
+                 von der anderen Seite einzuschränken.
+                 */
+                double candidate = x + step;
+                double probe = candidate + Math.signum(step) * (Math.abs(step) + tolerance);
+                if (probe > a && probe < b) {
+                    double valueAtProbe = this.f.evaluateOrNaN(probe);
+                    if (Double.isNaN(valueAtProbe)) {
+                        return null;
+                    }
+                    if (valueAtProbe == 0) {
+                        return new Root(probe, 0);
+                    }
+                    if (valueAtA * valueAtProbe < 0) {
+                        b = probe;
+                        valueAtB = valueAtProbe;
+                    } else {
+                        a = probe;
+                        valueAtA = valueAtProbe;
+                    }
+                    widthBeforeLastStep = b - a;
+                }
+                x = candidate;
+            } else {
+                x = x + step;
+            }
+
+        }
+
+        if (Math.min(Math.abs(valueAtA), Math.abs(valueAtB)) > initialAbsoluteValue) {
+            return null;
+        }
+        // Als Näherung wird der Rand mit dem kleineren Funktionswert gewählt.
+        if (Math.abs(valueAtA) <= Math.abs(valueAtB)) {
+            return new Root(a, b - a);
+        }
+        return new Root(b, b - a);
+
+    }
+
+}
@@ -0,0 +1,471 @@
+package abstractexpressions.expression.computation;
+
+import abstractexpressions.expression.classes.Expression;
+import graphic.util.SurfaceMesh;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import process.Canceller;
+
+/**
+ * Berechnung eines Dreiecksnetzes der Fläche f(x, y, z) = 0 (Marching Cubes).
+ * Die Funktionswerte werden schichtweise (parallel) auf einem Gitter aus
+ * numberOfIntervals^3 Würfeln abgetastet. Zuvor werden je Würfelschicht
+ * mittels Intervallauswertung (vgl. Expression.evaluateInterval()) alle
+ * Quader bestimmt, die garantiert nur innere bzw. nur äußere Punkte enthalten.
+ * Diese werden nicht abgetastet, sodass der Aufwand im Wesentlichen mit der
+ * Größe der Fläche (und nicht mit der des Gitters) wächst. Anschließend werden (ebenfalls
+ * parallel, je Würfelschicht) nur diejenigen Würfel trianguliert, deren Ecken
+ * nicht alle innere bzw. alle äußere Punkte sind. Ein Punkt gilt als innerer
+ * Punkt, falls f dort &#8804; 0 ist (undefinierte Stellen gelten als äußere
+ * Punkte).<br>
+ * Um die Mehrdeutigkeiten der klassischen Würfelfälle zu vermeiden, wird jeder
+ * Würfel entlang seiner Hauptdiagonale in sechs Tetraeder zerlegt. Die Ecken
+ * des Netzes liegen auf den Kanten dieser Tetraeder und werden linear aus den
+ * Funktionswerten an deren Endpunkten interpoliert. Da benachbarte Würfel
+ * dieselben Kanten verwenden, ist das Netz geschlossen und gemeinsame Ecken
+ * werden nur einmal abgelegt.
+ */
+public final class SparseMarchingCubes {
+
+    /**
+     * Zerlegung eines Würfels in Tetraeder. Die Ecken des Würfels werden als
+     * Bitmasken angegeben (Bit 0: x, Bit 1: y, Bit 2: z). Die Ecken jedes
+     * Tetraeders sind aufsteigend, d.h. jede Kante verläuft vom kleineren zum
+     * größeren Eckpunkt in positiver Koordinatenrichtung.
+     */
+    private static final int[][] TETRAHEDRA = {{0, 1, 3, 7}, {0, 1, 5, 7}, {0, 2, 3, 7},
+    {0, 2, 6, 7}, {0, 4, 5, 7}, {0, 4, 6, 7}};
+
+    /**
+     * Rechtecke (innerhalb einer Würfelschicht), die (pro Achse) höchstens so
+     * viele Gitterintervalle umfassen, werden ohne vorherige
+     * Intervallauswertung abgetastet.
+     */
+    private static final int MIN_NUMBER_OF_INTERVALS_FOR_CULLING = 4;
+
+    /**
+     * Platzhalter für Gitterpunkte, an denen f nicht ausgewertet wird, da sie
+     * garantiert innere bzw. äußere Punkte sind.
+     */
+    private static final double VALUE_OF_INNER_POINT = -1;
+    private static final double VALUE_OF_OUTER_POINT = Double.NaN;
+
+    // Phasen der Berechnung.
+    private static final int PHASE_CULLING = 0;
+    private static final int PHASE_SAMPLING = 1;
+    private static final int PHASE_TRIANGULATION = 2;
+
+    private static ForkJoinPool pool;
+
+    private final CompiledExpression f;
+    private final Expression expression;
+    private final String[] vars;
+    private final int numberOfIntervals;
+    private final double xStart, yStart, zStart, deltaX, deltaY, deltaZ;
+    private final boolean parallelizable;
+
+    private final double[] values;
+    private final boolean[] neededPoints;
+
+    private SparseMarchingCubes(Expression f, String varAbsc, String varOrd, String varAppl, double xStart, double xEnd,
+            double yStart, double yEnd, double zStart, double zEnd, int numberOfIntervals) {
+        this.f = CompiledExpression.compile(f, varAbsc, varOrd, varAppl);
+        this.expression = f;
+        this.vars = new String[]{varAbsc, varOrd, varAppl};
+        this.numberOfIntervals = numberOfIntervals;
+        this.xStart = xStart;
+        this.yStart = yStart;
+        this.zStart = zStart;
+        this.deltaX = (xEnd - xStart) / numberOfIntervals;
+        this.deltaY = (yEnd - yStart) / numberOfIntervals;
+        this.deltaZ = (zEnd - zStart) / numberOfIntervals;
+        this.parallelizable = !f.containsOperator();
+        this.values = new double[(numberOfIntervals + 1) * (numberOfIntervals + 1) * (numberOfIntervals + 1)];
+        this.neededPoints = new boolean[this.values.length];
+        if (!this.parallelizable) {
+            // Für Operatoren liefert die Intervallauswertung keine Information.
+            Arrays.fill(this.neededPoints, true);
+        }
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool();
+        }
+        return pool;
+    }
+
+    /**
+     * Berechnet ein Dreiecksnetz der Fläche f = 0 im Bereich xStart &#8804;
+     * varAbsc &#8804; xEnd, yStart &#8804; varOrd &#8804; yEnd, zStart
+     * &#8804; varAppl &#8804; zEnd auf einem Gitter aus numberOfIntervals^3
+     * Würfeln.<br>
+     * VORAUSSETZUNG: f hängt nur von varAbsc, varOrd und varAppl ab.
+     */
+    public static SurfaceMesh solve(Expression f, String varAbsc, String varOrd, String varAppl,
+            double xStart, double xEnd, double yStart, double yEnd, double zStart, double zEnd, int numberOfIntervals) {
+
+        SparseMarchingCubes solver = new SparseMarchingCubes(f, varAbsc, varOrd, varAppl, xStart, xEnd, yStart, yEnd,
+                zStart, zEnd, numberOfIntervals);
+        int n = numberOfIntervals;
+
+        // Kanten (kodiert als Schlüssel, vgl. getEdgeKey()) der Ecken aller Dreiecke, je Würfelschicht.
+        LongList[] cornersInSlabs = new LongList[n];
+        int[] numbersOfCrossedCells = new int[n];
+
+        if (!solver.parallelizable || ForkJoinTask.inForkJoinPool()) {
+            if (solver.parallelizable) {
+                for (int k = 0; k < n; k++) {
+                    solver.cullSlab(k);
+                }
+            }
+            for (int k = 0; k <= n; k++) {
+                solver.sampleLayer(solver.f, k);
+            }
+            for (int k = 0; k < n; k++) {
+                cornersInSlabs[k] = new LongList();
+                numbersOfCrossedCells[k] = solver.triangulateSlab(k, cornersInSlabs[k]);
+            }
+        } else {
+            getPool().invoke(new GridTask(solver, PHASE_CULLING, 0, n, cornersInSlabs, numbersOfCrossedCells));
+            Canceller.interruptComputationIfNeeded();
+            getPool().invoke(new GridTask(solver, PHASE_SAMPLING, 0, n + 1, cornersInSlabs, numbersOfCrossedCells));
+            Canceller.interruptComputationIfNeeded();
+            getPool().invoke(new GridTask(solver, PHASE_TRIANGULATION, 0, n, cornersInSlabs, numbersOfCrossedCells));
+            Canceller.interruptComputationIfNeeded();
+        }
+
+        return solver.createMesh(cornersInSlabs, numbersOfCrossedCells);
+
+    }
+
+    /**
+     * Führt die Phase phase für die Schichten bzw. Würfelschichten from, ...,
+     * to - 1 parallel durch.
+     */
+    private static final class GridTask extends RecursiveAction {
+
+        private final SparseMarchingCubes solver;
+        private final int phase;
+        private final int from, to;
+        private final LongList[] cornersInSlabs;
+        private final int[] numbersOfCrossedCells;
+
+        private GridTask(SparseMarchingCubes solver, int phase, int from, int to,
+                LongList[] cornersInSlabs, int[] numbersOfCrossedCells) {
+            this.solver = solver;
+            this.phase = phase;
+            this.from = from;
+            this.to = to;
+            this.cornersInSlabs = cornersInSlabs;
+            this.numbersOfCrossedCells = numbersOfCrossedCells;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= 1) {
+                switch (this.phase) {
+                    case PHASE_CULLING:
+                        this.solver.cullSlab(this.from);
+                        break;
+                    case PHASE_SAMPLING:
+                        this.solver.sampleLayer(this.solver.f.copy(), this.from);
+                        break;
+                    default:
+                        this.cornersInSlabs[this.from] = new LongList();
+                        this.numbersOfCrossedCells[this.from] = this.solver.triangulateSlab(this.from, this.cornersInSlabs[this.from]);
+                }
+                return;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            invokeAll(new GridTask(this.solver, this.phase, this.from, middle, this.cornersInSlabs, this.numbersOfCrossedCells),
+                    new GridTask(this.solver, this.phase, middle, this.to, this.cornersInSlabs, this.numbersOfCrossedCells));
+        }
+
+    }
+
+    /**
+     * Einfache Liste primitiver long-Werte.
+     */
+    private static final class LongList {
+
+        private long[] elements = new long[64];
+        private int size = 0;
+
+        private void add(long element) {
+            if (this.size == this.elements.length) {
+                this.elements = Arrays.copyOf(this.elements, 2 * this.size);
+            }
+            this.elements[this.size++] = element;
+        }
+
+    }
+
+    private int getPointIndex(int i, int j, int k) {
+        return (k * (this.numberOfIntervals + 1) + j) * (this.numberOfIntervals + 1) + i;
+    }
+
+    private static boolean isInnerPoint(double value) {
+        return value <= 0;
+    }
+
+    /**
+     * Bestimmt die Gitterpunkte der k-ten Würfelschicht, an denen f
+     * ausgewertet werden muss. Alle übrigen Gitterpunkte dieser Würfelschicht
+     * erhalten einen Platzhalter. Da ein Gitterpunkt nicht zugleich
+     * garantiert innerer und garantiert äußerer Punkt sein kann, stimmen die
+     * Platzhalter benachbarter Würfelschichten stets überein.
+     */
+    private void cullSlab(int k) {
+        Canceller.interruptComputationIfNeeded();
+        Interval rangeZ = new Interval(this.zStart + k * this.deltaZ, this.zStart + (k + 1) * this.deltaZ);
+        cullRectangle(k, rangeZ, 0, this.numberOfIntervals, 0, this.numberOfIntervals);
+    }
+
+    private void cullRectangle(int k, Interval rangeZ, int iStart, int iEnd, int jStart, int jEnd) {
+
+        if (Math.max(iEnd - iStart, jEnd - jStart) > MIN_NUMBER_OF_INTERVALS_FOR_CULLING) {
+
+            Interval rangeX = new Interval(this.xStart + iStart * this.deltaX, this.xStart + iEnd * this.deltaX);
+            Interval rangeY = new Interval(this.yStart + jStart * this.deltaY, this.yStart + jEnd * this.deltaY);
+            Interval range = this.expression.evaluateInterval(this.vars, new Interval[]{rangeX, rangeY, rangeZ});
+            if (range.getInf() > 0 || range.isDefined() && range.getSup() <= 0) {
+                double value = range.getInf() > 0 ? VALUE_OF_OUTER_POINT : VALUE_OF_INNER_POINT;
+                for (int l = k; l <= k + 1; l++) {
+                    for (int j = jStart; j <= jEnd; j++) {
+                        int index = getPointIndex(0, j, l);
+                        Arrays.fill(this.values, index + iStart, index + iEnd + 1, value);
+                    }
+                }
+                return;
+            }
+
+            int iMiddle = (iStart + iEnd) / 2, jMiddle = (jStart + jEnd) / 2;
+            cullRectangle(k, rangeZ, iStart, iMiddle, jStart, jMiddle);
+            cullRectangle(k, rangeZ, iMiddle, iEnd, jStart, jMiddle);
+            cullRectangle(k, rangeZ, iStart, iMiddle, jMiddle, jEnd);
+            cullRectangle(k, rangeZ, iMiddle, iEnd, jMiddle, jEnd);
+            return;
+
+        }
+
+        for (int l = k; l <= k + 1; l++) {
+            for (int j = jStart; j <= jEnd; j++) {
+                int index = getPointIndex(0, j, l);
+                Arrays.fill(this.neededPoints, index + iStart, index + iEnd + 1, true);
+            }
+        }
+
+    }
+
+    /**
+     * Wertet f an allen benötigten Gitterpunkten der k-ten Schicht aus.
+     */
+    private void sampleLayer(CompiledExpression f, int k) {
+        Canceller.interruptComputationIfNeeded();
+        double z = this.zStart + k * this.deltaZ;
+        for (int j = 0; j <= this.numberOfIntervals; j++) {
+            double y = this.yStart + j * this.deltaY;
+            int index = getPointIndex(0, j, k);
+            for (int i = 0; i <= this.numberOfIntervals; i++) {
+                if (this.neededPoints[index + i]) {
+                    this.values[index + i] = f.evaluateOrNaN(this.xStart + i * this.deltaX, y, z);
+                }
+            }
+        }
+    }
+
+    /**
+     * Trianguliert alle von der Fläche geschnittenen Würfel der k-ten
+     * Würfelschicht, fügt die Ecken der dabei entstehenden Dreiecke zu corners
+     * hinzu und gibt die Anzahl dieser Würfel zurück.
+     */
+    private int triangulateSlab(int k, LongList corners) {
+
+        Canceller.interruptComputationIfNeeded();
+        int numberOfCrossedCells = 0;
+        double[] cubeValues = new double[8];
+
+        for (int j = 0; j < this.numberOfIntervals; j++) {
+            for (int i = 0; i < this.numberOfIntervals; i++) {
+
+                int numberOfInnerPoints = 0;
+                for (int c = 0; c < 8; c++) {
+                    cubeValues[c] = this.values[getPointIndex(i + (c & 1), j + (c >> 1 & 1), k + (c >> 2 & 1))];
+                    if (isInnerPoint(cubeValues[c])) {
+                        numberOfInnerPoints++;
+                    }
+                }
+                if (numberOfInnerPoints == 0 || numberOfInnerPoints == 8) {
+                    continue;
+                }
+
+                numberOfCrossedCells++;
+                for (int[] tetrahedron : TETRAHEDRA) {
+                    triangulateTetrahedron(i, j, k, tetrahedron, cubeValues, corners);
+                }
+
+            }
+        }
+
+        return numberOfCrossedCells;
+
+    }
+
+    private void triangulateTetrahedron(int i, int j, int k, int[] tetrahedron, double[] cubeValues, LongList corners) {
+
+        int[] innerCorners = new int[4];
+        int[] outerCorners = new int[4];
+        int numberOfInnerCorners = 0, numberOfOuterCorners = 0;
+        for (int c : tetrahedron) {
+            if (isInnerPoint(cubeValues[c])) {
+                innerCorners[numberOfInnerCorners++] = c;
+            } else {
+                outerCorners[numberOfOuterCorners++] = c;
+            }
+        }
+
+        switch (numberOfInnerCorners) {
+            case 1:
+                addTriangle(i, j, k, corners, innerCorners[0], outerCorners[0],
+                        innerCorners[0], outerCorners[1], innerCorners[0], outerCorners[2]);
+                break;
+            case 2:
+                // Die geschnittenen Kanten bilden ein Viereck, welches in zwei Dreiecke zerlegt wird.
+                addTriangle(i, j, k, corners, innerCorners[0], outerCorners[0],
+                        innerCorners[0], outerCorners[1], innerCorners[1], outerCorners[1]);
+                addTriangle(i, j, k, corners, innerCorners[0], outerCorners[0],
+                        innerCorners[1], outerCorners[1], innerCorners[1], outerCorners[0]);
+                break;
+            case 3:
+                addTriangle(i, j, k, corners, innerCorners[0], outerCorners[0],
+                        innerCorners[1], outerCorners[0], innerCorners[2], outerCorners[0]);
+                break;
+            default:
+            // Tetraeder wird nicht geschnitten.
+        }
+
+    }
+
+    /**
+     * Gibt den Parameter t &#8712; [0, 1] zurück, an dem die lineare
+     * Interpolation zwischen valueStart und valueEnd verschwindet (bzw. 1/2,
+     * falls einer der Werte undefiniert ist).
+     */
+    private static double getParameterOfZero(double valueStart, double valueEnd) {
+        if (Double.isNaN(valueStart) || Double.isNaN(valueEnd)) {
+            return 0.5;
+        }
+        return valueStart / (valueStart - valueEnd);
+    }
+
+    /**
+     * Fügt das Dreieck mit den Ecken auf den Würfelkanten (innerCorner_m,
+     * outerCorner_m), m = 1, 2, 3, hinzu. Die Ecken werden so angeordnet, dass
+     * die Normale (im Sinne der Rechte-Hand-Regel) zu den äußeren Punkten
+     * zeigt. Die Orientierung wird anhand der Kantenmittelpunkte bestimmt, da
+     * die interpolierten Ecken (etwa bei Nullstellen in Gitterpunkten)
+     * zusammenfallen können.
+     */
+    private void addTriangle(int i, int j, int k, LongList corners,
+            int innerCorner_1, int outerCorner_1, int innerCorner_2, int outerCorner_2, int innerCorner_3, int outerCorner_3) {
+
+        double[] p_1 = getMiddlePoint(innerCorner_1, outerCorner_1);
+        double[] p_2 = getMiddlePoint(innerCorner_2, outerCorner_2);
+        double[] p_3 = getMiddlePoint(innerCorner_3, outerCorner_3);
+
+        double[] u = {p_2[0] - p_1[0], p_2[1] - p_1[1], p_2[2] - p_1[2]};
+        double[] v = {p_3[0] - p_1[0], p_3[1] - p_1[1], p_3[2] - p_1[2]};
+        double normalX = u[1] * v[2] - u[2] * v[1];
+        double normalY = u[2] * v[0] - u[0] * v[2];
+        double normalZ = u[0] * v[1] - u[1] * v[0];
+        double orientation = normalX * ((outerCorner_1 & 1) - (innerCorner_1 & 1))
+                + normalY * ((outerCorner_1 >> 1 & 1) - (innerCorner_1 >> 1 & 1))
+                + normalZ * ((outerCorner_1 >> 2 & 1) - (innerCorner_1 >> 2 & 1));
+
+        corners.add(getEdgeKey(i, j, k, innerCorner_1, outerCorner_1));
+        if (orientation >= 0) {
+            corners.add(getEdgeKey(i, j, k, innerCorner_2, outerCorner_2));
+            corners.add(getEdgeKey(i, j, k, innerCorner_3, outerCorner_3));
+        } else {
+            corners.add(getEdgeKey(i, j, k, innerCorner_3, outerCorner_3));
+            corners.add(getEdgeKey(i, j, k, innerCorner_2, outerCorner_2));
+        }
+
+    }
+
+    /**
+     * Gibt den Mittelpunkt der Kante (c, d) in Koordinaten relativ zum Würfel
+     * (d.h. in [0, 1]^3) zurück.
+     */
+    private static double[] getMiddlePoint(int c, int d) {
+        return new double[]{((c & 1) + (d & 1)) / 2.0, ((c >> 1 & 1) + (d >> 1 & 1)) / 2.0,
+            ((c >> 2 & 1) + (d >> 2 & 1)) / 2.0};
+    }
+
+    /**
+     * Gibt einen eindeutigen Schlüssel für die Gitterkante zwischen den Ecken
+     * c und d des Würfels (i, j, k) zurück. Dieser setzt sich aus dem Index
+     * des Anfangspunktes und der Richtung (als Bitmaske) zusammen.
+     */
+    private long getEdgeKey(int i, int j, int k, int c, int d) {
+        int start = Math.min(c, d), end = Math.max(c, d);
+        return 8L * getPointIndex(i + (start & 1), j + (start >> 1 & 1), k + (start >> 2 & 1)) + (start ^ end);
+    }
+
+    /**
+     * Fasst die Dreiecke aller Würfelschichten zu einem Netz zusammen. Jeder
+     * Gitterkante wird dabei genau eine Netzecke zugeordnet.
+     */
+    private SurfaceMesh createMesh(LongList[] cornersInSlabs, int[] numbersOfCrossedCells) {
+
+        int numberOfCorners = 0, numberOfCrossedCells = 0;
+        for (int k = 0; k < cornersInSlabs.length; k++) {
+            numberOfCorners += cornersInSlabs[k].size;
+            numberOfCrossedCells += numbersOfCrossedCells[k];
+        }
+
+        long[] corners = new long[numberOfCorners];
+        int position = 0;
+        for (LongList cornersInSlab : cornersInSlabs) {
+            System.arraycopy(cornersInSlab.elements, 0, corners, position, cornersInSlab.size);
+            position += cornersInSlab.size;
+        }
+
+        // Sortierte Liste aller verschiedenen Kanten. Der Index einer Kante darin ist der Index der Netzecke.
+        long[] edges = Arrays.copyOf(corners, numberOfCorners);
+        Arrays.sort(edges);
+        int numberOfEdges = 0;
+        for (int m = 0; m < edges.length; m++) {
+            if (m == 0 || edges[m] != edges[m - 1]) {
+                edges[numberOfEdges++] = edges[m];
+            }
+        }
+
+        int n = this.numberOfIntervals;
+        double[] vertices = new double[3 * numberOfEdges];
+        for (int m = 0; m < numberOfEdges; m++) {
+            int pointIndex = (int) (edges[m] >>> 3);
+            int direction = (int) (edges[m] & 7);
+            int i = pointIndex % (n + 1);
+            int j = pointIndex / (n + 1) % (n + 1);
+            int k = pointIndex / ((n + 1) * (n + 1));
+            double t = getParameterOfZero(this.values[pointIndex],
+                    this.values[getPointIndex(i + (direction & 1), j + (direction >> 1 & 1), k + (direction >> 2 & 1))]);
+            vertices[3 * m] = this.xStart + (i + t * (direction & 1)) * this.deltaX;
+            vertices[3 * m + 1] = this.yStart + (j + t * (direction >> 1 & 1)) * this.deltaY;
+            vertices[3 * m + 2] = this.zStart + (k + t * (direction >> 2 & 1)) * this.deltaZ;
+        }
+
+        int[] triangles = new int[numberOfCorners];
+        for (int m = 0; m < numberOfCorners; m++) {
+            triangles[m] = Arrays.binarySearch(edges, 0, numberOfEdges, corners[m]);
+        }
+
+        return new SurfaceMesh(vertices, triangles, numberOfCrossedCells);
+
+    }
+
+}
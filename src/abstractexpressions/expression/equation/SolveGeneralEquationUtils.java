@@ -12,6 +12,7 @@ import static abstractexpressions.expression.classes.Expression.ONE;
 import static abstractexpressions.expression.classes.Expression.TWO;
 import static abstractexpressions.expression.classes.Expression.ZERO;
 import abstractexpressions.expression.classes.Function;
+import abstractexpressions.expression.classes.SimplifyCache;
 import abstractexpressions.expression.classes.TypeFunction;
 import enums.TypeSimplify;
 import abstractexpressions.expression.classes.Variable;
@@ -27,6 +28,7 @@ import java.util.HashSet;
 import abstractexpressions.expression.substitution.SubstitutionUtilities;
 import exceptions.NotAlgebraicallySolvableException;
 import java.util.Set;
+import process.Canceller;
 
 public abstract class SolveGeneralEquationUtils {
 
@@ -103,11 +105,12 @@ public abstract class SolveGeneralEquationUtils {
             return new ExpressionCollection();
         }
         solveTries--;
+        Canceller.interruptComputationIfNeeded();
 
         // Zunächst beide Seiten entsprechend vereinfachen.
         try {
-            f = f.simplify(simplifyTypesEquation);
-            g = g.simplify(simplifyTypesEquation);
+            f = SimplifyCache.simplify(f, simplifyTypesEquation);
+            g = SimplifyCache.simplify(g, simplifyTypesEquation);
         } catch (EvaluationException e) {
             return new ExpressionCollection();
         }
@@ -1384,9 +1387,10 @@ public abstract class SolveGeneralEquationUtils {
             return new ExpressionCollection();
         }
         solveTries--;
+        Canceller.interruptComputationIfNeeded();
 
         try {
-            f = f.simplify(simplifyTypesEquation);
+            f = SimplifyCache.simplify(f, simplifyTypesEquation);
         } catch (EvaluationException e) {
             /*
              Wenn beim Vereinfachen etwas schief gelaufen ist, dann war das
@@ -1545,7 +1549,7 @@ public abstract class SolveGeneralEquationUtils {
          die Ergebnisfunktion von der vorherigen unterscheidet, dann soll versucht
          werden, die neue Gleichung zu lösen.
          */
-        Expression fExpanded = f.simplify(simplifyTypesExpandedEquation);
+        Expression fExpanded = SimplifyCache.simplify(f, simplifyTypesExpandedEquation);
         if (!f.equals(fExpanded)) {
             return solveZeroEquation(fExpanded, var);
         }
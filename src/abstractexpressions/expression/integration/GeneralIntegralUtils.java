@@ -25,6 +25,7 @@ import java.util.HashSet;
 import abstractexpressions.expression.substitution.SubstitutionUtilities;
 import abstractexpressions.expression.basic.SimplifyRationalFunctionUtils;
 import java.util.Set;
+import process.Canceller;
 
 public abstract class GeneralIntegralUtils {
 
@@ -457,6 +458,7 @@ public abstract class GeneralIntegralUtils {
             // Dann war der Operator expr kein unbestimmtes Integral.
             return expr;
         }
+        Canceller.interruptComputationIfNeeded();
 
         /*
          Integranden vereinfachen. Wichtig: hier muss nicht "allgemein"
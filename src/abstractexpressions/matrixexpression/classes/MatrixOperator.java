@@ -14,15 +14,18 @@ import abstractexpressions.expression.classes.TypeOperator;
 import java.awt.Dimension;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.EnumMap;
 import java.util.HashSet;
 import abstractexpressions.matrixexpression.basic.SimplifyMatrixOperatorUtils;
 import exceptions.CancellationException;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
+import java.util.Map;
 import java.util.Set;
 import operationparser.OperationParser;
+import operationparser.ParseResultPattern;
 import lang.translator.Translator;
 
 public class MatrixOperator extends MatrixExpression {
@@ -54,6 +57,13 @@ public class MatrixOperator extends MatrixExpression {
     public static final String PATTERN_ROT = "rot(matexpr,uniqueindet,uniqueindet,uniqueindet)";
     public static final String PATTERN_SUM = "sum(matexpr,indet(!2,!3),expr,expr)";
 
+    // Bereits geparste Pattern, einmalig beim Laden der Klasse ermittelt.
+    private static final Map<String, ParseResultPattern> RESULT_PATTERNS = OperationParser.getResultPatterns(MatrixOperator.class);
+    private static final Map<String, ParseResultPattern> RESULT_PATTERNS_BY_OPERATOR_NAME = OperationParser.getResultPatternsByOperationName(RESULT_PATTERNS);
+
+    // Vereinfachungsmethoden der einzelnen Operatortypen, einmalig beim Laden der Klasse ermittelt.
+    private static final Map<TypeMatrixOperator, MethodHandle> SIMPLIFY_METHODS = createSimplifyMethods();
+
     public MatrixOperator() {
     }
 
@@ -107,6 +117,19 @@ public class MatrixOperator extends MatrixExpression {
         return TypeMatrixOperator.valueOf(operator);
     }
 
+    /**
+     * Liefert das bereits geparste Pattern zu pattern.
+     *
+     * @throws ExpressionException
+     */
+    private static ParseResultPattern getResultPattern(String pattern) throws ExpressionException {
+        ParseResultPattern resultPattern = RESULT_PATTERNS.get(pattern);
+        if (resultPattern != null) {
+            return resultPattern;
+        }
+        return OperationParser.getResultPattern(pattern);
+    }
+
     /**
      * Ermittelt den zugehörigen Operator und liefert eine Instanz der Klasse
      * Operator.
@@ -121,19 +144,19 @@ public class MatrixOperator extends MatrixExpression {
         switch (type) {
             case diff:
                 if (params.length != 3) {
-                    return OperationParser.parseDefaultMatrixOperator(operator, params, vars, PATTERN_DIFF);
+                    return OperationParser.parseDefaultMatrixOperator(operator, params, vars, getResultPattern(PATTERN_DIFF));
                 }
                 try {
-                    return OperationParser.parseDefaultMatrixOperator(operator, params, vars, PATTERN_DIFF);
+                    return OperationParser.parseDefaultMatrixOperator(operator, params, vars, getResultPattern(PATTERN_DIFF));
                 } catch (ExpressionException e) {
                     try {
-                        return OperationParser.parseDefaultMatrixOperator(operator, params, vars, PATTERN_DIFF_WITHOUT_ORDER);
+                        return OperationParser.parseDefaultMatrixOperator(operator, params, vars, getResultPattern(PATTERN_DIFF_WITHOUT_ORDER));
                     } catch (ExpressionException ex) {
                         throw new ExpressionException(Translator.translateOutputMessage(MEB_MatrixOperator_3_PARAMETER_IN_DIFF_IS_INVALID));
                     }
                 }
             case div:
-                MatrixOperator divOpr =  OperationParser.parseDefaultMatrixOperator(operator, params, vars, PATTERN_DIV);
+                MatrixOperator divOpr =  OperationParser.parseDefaultMatrixOperator(operator, params, vars, getResultPattern(PATTERN_DIV));
                 Object[] oprParams = divOpr.getParams();
                 MatrixExpression argument = (MatrixExpression) oprParams[0];
                 try {
@@ -147,20 +170,15 @@ public class MatrixOperator extends MatrixExpression {
                 }
             case integral:
                 if (params.length <= 2) {
-                    return OperationParser.parseDefaultMatrixOperator(operator, params, vars, PATTERN_INT_INDEF);
+                    return OperationParser.parseDefaultMatrixOperator(operator, params, vars, getResultPattern(PATTERN_INT_INDEF));
                 }
-                return OperationParser.parseDefaultMatrixOperator(operator, params, vars, PATTERN_INT_DEF);
+                return OperationParser.parseDefaultMatrixOperator(operator, params, vars, getResultPattern(PATTERN_INT_DEF));
         }
 
-        // Mittels Reflection das passende Pattern suchen.
-        Field[] fields = MatrixOperator.class.getDeclaredFields();
-        for (Field field : fields) {
-            try {
-                if (field.getType().equals(String.class) && Modifier.isStatic(field.getModifiers()) && ((String) field.get(null)).startsWith(operator)) {
-                    return OperationParser.parseDefaultMatrixOperator(operator, params, vars, (String) field.get(null));
-                }
-            } catch (IllegalArgumentException | IllegalAccessException ex) {
-            }
+        // Das passende (bereits geparste) Pattern suchen.
+        ParseResultPattern resultPattern = RESULT_PATTERNS_BY_OPERATOR_NAME.get(operator);
+        if (resultPattern != null) {
+            return OperationParser.parseDefaultMatrixOperator(operator, params, vars, resultPattern);
         }
 
         throw new ExpressionException(MEB_MatrixOperator_INVALID_MATRIX_OPERATOR);
@@ -628,28 +646,41 @@ public class MatrixOperator extends MatrixExpression {
         }
         MatrixOperator operator = new MatrixOperator(this.type, resultParams, this.precise);
 
-        // Mittels Reflection die passende Ausführmethode ermittln (durch Vergleich der Annotation).
-        Method[] methods = MatrixOperator.class.getDeclaredMethods();
+        // Die passende Ausführmethode aus der Tabelle der Vereinfachungsmethoden ermitteln.
+        MethodHandle simplifyMethod = SIMPLIFY_METHODS.get(this.type);
+        if (simplifyMethod != null) {
+            try {
+                return (MatrixExpression) simplifyMethod.invokeExact(operator);
+            } catch (EvaluationException | CancellationException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new EvaluationException(Translator.translateOutputMessage(MEB_MatrixOperator_INVALID_MATRIX_OPERATOR));
+            }
+        }
+
+        return operator;
+
+    }
+
+    /**
+     * Ermittelt (durch Auslesen der Annotationen) zu jedem Operatortyp die
+     * zugehörige Vereinfachungsmethode.
+     */
+    private static Map<TypeMatrixOperator, MethodHandle> createSimplifyMethods() {
+        Map<TypeMatrixOperator, MethodHandle> simplifyMethods = new EnumMap<>(TypeMatrixOperator.class);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodType methodType = MethodType.methodType(MatrixExpression.class, MatrixOperator.class);
         SimplifyMatrixOperator annotation;
-        for (Method method : methods) {
+        for (Method method : MatrixOperator.class.getDeclaredMethods()) {
             annotation = method.getAnnotation(SimplifyMatrixOperator.class);
-            if (annotation != null && annotation.type().equals(this.type)) {
+            if (annotation != null && !simplifyMethods.containsKey(annotation.type())) {
                 try {
-                    return (MatrixExpression) method.invoke(operator);
-                } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                    if (e.getCause() instanceof EvaluationException) {
-                        throw (EvaluationException) e.getCause();
-                    }
-                    if (e.getCause() instanceof CancellationException) {
-                        throw (CancellationException) e.getCause();
-                    }
-                    throw new EvaluationException(Translator.translateOutputMessage(MEB_MatrixOperator_INVALID_MATRIX_OPERATOR));
+                    simplifyMethods.put(annotation.type(), lookup.unreflect(method).asType(methodType));
+                } catch (IllegalAccessException e) {
                 }
             }
         }
-
-        return operator;
-
+        return simplifyMethods;
     }
 
     @Override
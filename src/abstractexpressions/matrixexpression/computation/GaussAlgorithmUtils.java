@@ -2,6 +2,7 @@ package abstractexpressions.matrixexpression.computation;
 
 import exceptions.EvaluationException;
 import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.classes.SimplifyCache;
 import static abstractexpressions.expression.classes.Expression.ZERO;
 import abstractexpressions.expression.classes.Variable;
 import java.awt.Dimension;
@@ -42,7 +43,7 @@ public abstract class GaussAlgorithmUtils {
         Expression currentEntry;
 
         for (int i = 0; i < matrix.getRowNumber(); i++) {
-            currentEntry = matrix.getEntry(i, 0).simplify();
+            currentEntry = SimplifyCache.simplify(matrix.getEntry(i, 0));
             if (currentEntry.equals(Expression.ZERO)) {
                 indexOfFirstRowWithNonZeroFirstEntry++;
             } else {
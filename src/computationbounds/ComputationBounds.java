@@ -27,6 +27,8 @@ public abstract class ComputationBounds {
     public static final int BOUND_ALGEBRA_MAX_NUMBER_OF_SUMMANDS_IN_SHORT_EXPANSION;
     public static final int BOUND_ALGEBRA_MAX_DEGREE_OF_POLYNOMIAL;
     public static final int BOUND_ALGEBRA_MAX_DEGREE_OF_POLYNOMIAL_FOR_DECOMPOSITION;
+    public static final int BOUND_ALGEBRA_MAX_NUMBER_OF_CACHED_SIMPLIFICATIONS;
+    public static final int BOUND_ALGEBRA_MIN_NUMBER_OF_TERMS_FOR_PARALLEL_SIMPLIFICATION;
     public static final int BOUND_OPERATOR_MAX_DEGREE_OF_POLYNOMIAL_INSIDE_SUM;
     public static final int BOUND_OPERATOR_MAX_NUMBER_OF_MEMBERS_IN_SUM_OR_PRODUCT;
     public static final int BOUND_OPERATOR_MAX_INTEGRABLE_POWER;
@@ -35,6 +37,9 @@ public abstract class ComputationBounds {
     public static final int BOUND_MATRIX_MAX_POWER_OF_RATIONAL_MATRIX;
     public static final int BOUND_MATRIX_MAX_DIM_FOR_COMPUTE_DET_EXPLICITELY;
     public static final int BOUND_NUMERIC_DEFAULT_NUMBER_OF_INTERVALS;
+    public static final int BOUND_NUMERIC_MAX_NUMBER_OF_INTEGRATION_SUBINTERVALS;
+    public static final int BOUND_NUMERIC_MAX_NUMBER_OF_INTEGRATION_SUBINTERVALS_IN_EVALUATION;
+    public static final int BOUND_NUMERIC_MAX_NUMBER_OF_STEPS_IN_DIFFERENTIAL_EQUATION;
     public static final int BOUND_NUMERIC_MAX_OPERATOR_NORM_TO_COMPUTE_MATRIX_FUNCTION;
 
     private static NodeList nList = null;
@@ -69,6 +74,8 @@ public abstract class ComputationBounds {
         BOUND_ALGEBRA_MAX_NUMBER_OF_SUMMANDS_IN_SHORT_EXPANSION = getBound("BOUND_ALGEBRA_MAX_NUMBER_OF_SUMMANDS_IN_SHORT_EXPANSION");
         BOUND_ALGEBRA_MAX_DEGREE_OF_POLYNOMIAL = getBound("BOUND_ALGEBRA_MAX_DEGREE_OF_POLYNOMIAL");
         BOUND_ALGEBRA_MAX_DEGREE_OF_POLYNOMIAL_FOR_DECOMPOSITION = getBound("BOUND_ALGEBRA_MAX_DEGREE_OF_POLYNOMIAL_FOR_DECOMPOSITION");
+        BOUND_ALGEBRA_MAX_NUMBER_OF_CACHED_SIMPLIFICATIONS = getBound("BOUND_ALGEBRA_MAX_NUMBER_OF_CACHED_SIMPLIFICATIONS");
+        BOUND_ALGEBRA_MIN_NUMBER_OF_TERMS_FOR_PARALLEL_SIMPLIFICATION = getBound("BOUND_ALGEBRA_MIN_NUMBER_OF_TERMS_FOR_PARALLEL_SIMPLIFICATION");
         BOUND_OPERATOR_MAX_DEGREE_OF_POLYNOMIAL_INSIDE_SUM = getBound("BOUND_OPERATOR_MAX_DEGREE_OF_POLYNOMIAL_INSIDE_SUM");
         BOUND_OPERATOR_MAX_NUMBER_OF_MEMBERS_IN_SUM_OR_PRODUCT = getBound("BOUND_OPERATOR_MAX_NUMBER_OF_MEMBERS_IN_SUM_OR_PRODUCT");
         BOUND_OPERATOR_MAX_INTEGRABLE_POWER = getBound("BOUND_OPERATOR_MAX_INTEGRABLE_POWER");
@@ -77,6 +84,9 @@ public abstract class ComputationBounds {
         BOUND_MATRIX_MAX_POWER_OF_RATIONAL_MATRIX = getBound("BOUND_MATRIX_MAX_POWER_OF_RATIONAL_MATRIX");
         BOUND_MATRIX_MAX_DIM_FOR_COMPUTE_DET_EXPLICITELY = getBound("BOUND_MATRIX_MAX_DIM_FOR_COMPUTE_DET_EXPLICITELY");
         BOUND_NUMERIC_DEFAULT_NUMBER_OF_INTERVALS = getBound("BOUND_NUMERIC_DEFAULT_NUMBER_OF_INTERVALS");
+        BOUND_NUMERIC_MAX_NUMBER_OF_INTEGRATION_SUBINTERVALS = getBound("BOUND_NUMERIC_MAX_NUMBER_OF_INTEGRATION_SUBINTERVALS");
+        BOUND_NUMERIC_MAX_NUMBER_OF_INTEGRATION_SUBINTERVALS_IN_EVALUATION = getBound("BOUND_NUMERIC_MAX_NUMBER_OF_INTEGRATION_SUBINTERVALS_IN_EVALUATION");
+        BOUND_NUMERIC_MAX_NUMBER_OF_STEPS_IN_DIFFERENTIAL_EQUATION = getBound("BOUND_NUMERIC_MAX_NUMBER_OF_STEPS_IN_DIFFERENTIAL_EQUATION");
         BOUND_NUMERIC_MAX_OPERATOR_NORM_TO_COMPUTE_MATRIX_FUNCTION = getBound("BOUND_NUMERIC_MAX_OPERATOR_NORM_TO_COMPUTE_MATRIX_FUNCTION");
     }
 
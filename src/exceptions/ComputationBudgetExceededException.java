@@ -0,0 +1,45 @@
+package exceptions;
+
+import lang.translator.Translator;
+import process.ComputationBudget;
+
+/**
+ * Wird geworfen, wenn eine Berechnung das ihr zugeteilte ComputationBudget
+ * überschreitet. Enthält die überschrittene Schranke sowie den bis zum Abbruch
+ * verbrauchten Anteil des Budgets.
+ */
+public class ComputationBudgetExceededException extends CancellationException {
+
+    private static final String CN_COMPUTATION_BUDGET_EXCEEDED = "CN_COMPUTATION_BUDGET_EXCEEDED";
+
+    private final ComputationBudget.Limit exceededLimit;
+    private final long elapsedTimeMillis;
+    private final long simplifyIterations;
+    private final long createdNodes;
+
+    public ComputationBudgetExceededException(ComputationBudget budget, ComputationBudget.Limit exceededLimit) {
+        super(Translator.translateOutputMessage(CN_COMPUTATION_BUDGET_EXCEEDED, budget.getElapsedTimeMillis(),
+                budget.getSimplifyIterations(), budget.getCreatedNodes()));
+        this.exceededLimit = exceededLimit;
+        this.elapsedTimeMillis = budget.getElapsedTimeMillis();
+        this.simplifyIterations = budget.getSimplifyIterations();
+        this.createdNodes = budget.getCreatedNodes();
+    }
+
+    public ComputationBudget.Limit getExceededLimit() {
+        return this.exceededLimit;
+    }
+
+    public long getElapsedTimeMillis() {
+        return this.elapsedTimeMillis;
+    }
+
+    public long getSimplifyIterations() {
+        return this.simplifyIterations;
+    }
+
+    public long getCreatedNodes() {
+        return this.createdNodes;
+    }
+
+}
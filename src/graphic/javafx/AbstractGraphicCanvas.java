@@ -1,5 +1,6 @@
 package graphic.javafx;
 
+import abstractexpressions.expression.classes.EvaluationContext;
 import static graphic.javafx.AbstractGraphicCanvas2D.FONT;
 import java.awt.image.RenderedImage;
 import java.io.File;
@@ -23,6 +24,13 @@ public abstract class AbstractGraphicCanvas extends Canvas {
     
     protected static final Text FIRST_AXIS = createText("1. axis");
     protected static final Text SECOND_AXIS = createText("2. axis");
+
+    /**
+     * Variablenbelegungen beim Berechnen der Graphen. Jede Zeichenfläche
+     * besitzt einen eigenen Kontext, sodass die globalen Variablenwerte
+     * unverändert bleiben.
+     */
+    protected final EvaluationContext evaluationContext = new EvaluationContext();
     
     public AbstractGraphicCanvas() {
         super(500, 500);
@@ -1,5 +1,7 @@
 package graphic.javafx;
 
+import graphic.util.FrameTimer;
+import graphic.util.RenderPipeline3D;
 import java.awt.Point;
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -75,7 +77,11 @@ public abstract class AbstractGraphicCanvas3D extends AbstractGraphicCanvas impl
     protected static final Color gridColorGridOnlyBright = Color.BLACK;
     protected static final Color gridColorGridOnlyDark = Color.GRAY;
 
-    protected List<TangentPolygon>[][] abstractGraph3D;
+    /**
+     * Misst die Dauer der einzelnen Bilder (insbesondere während der
+     * Rotation).
+     */
+    protected final FrameTimer frameTimer = new FrameTimer();
     /**
      * Standardwert für die Anzahl der Unterteilungen des zu zeichnenden
      * Bereichs der x,y-Ebene entlang x und y. Wird mit Veränderung des
@@ -221,6 +227,10 @@ public abstract class AbstractGraphicCanvas3D extends AbstractGraphicCanvas impl
         presentationMode = prMode;
     }
 
+    public FrameTimer getFrameTimer() {
+        return this.frameTimer;
+    }
+
     public boolean getIsRotating() {
         return this.isRotating;
     }
@@ -499,6 +509,43 @@ public abstract class AbstractGraphicCanvas3D extends AbstractGraphicCanvas impl
      * graphische Darstellung.
      */
     protected int[] convertToPixel(double x, double y, double z) {
+        double[] pixel = convertToPixelCoordinates(x, y, z);
+        return new int[]{(int) pixel[0], (int) pixel[1]};
+    }
+
+    /**
+     * Gibt die Matrix m der (affinen) Abbildung convertToPixel() für den
+     * aktuellen Blickwinkel zurück, d.h. ein Punkt (x, y, z) besitzt die
+     * (ungerundeten) Pixelkoordinaten (m[0] * x + m[1] * y + m[2] * z + m[3],
+     * m[4] * x + m[5] * y + m[6] * z + m[7]). Damit kann eine große Anzahl von
+     * Punkten projiziert werden, ohne für jeden Punkt die Winkel neu zu
+     * berechnen (vgl. RenderPipeline3D).
+     */
+    protected double[] computeProjectionMatrix() {
+
+        double[] center = {this.axeCenterXOrigin, this.axeCenterYOrigin, this.axeCenterZOrigin};
+        double[] steps = {(this.maxXOrigin - this.minXOrigin) / 2, (this.maxYOrigin - this.minYOrigin) / 2,
+            (this.maxZOrigin - this.minZOrigin) / 2};
+        double[] pixelOfCenter = convertToPixelCoordinates(center[0], center[1], center[2]);
+
+        double[] m = new double[8];
+        for (int a = 0; a < 3; a++) {
+            if (steps[a] == 0 || Double.isNaN(steps[a]) || Double.isInfinite(steps[a])) {
+                steps[a] = 1;
+            }
+            double[] point = center.clone();
+            point[a] += steps[a];
+            double[] pixel = convertToPixelCoordinates(point[0], point[1], point[2]);
+            m[a] = (pixel[0] - pixelOfCenter[0]) / steps[a];
+            m[4 + a] = (pixel[1] - pixelOfCenter[1]) / steps[a];
+        }
+        m[3] = pixelOfCenter[0] - m[0] * center[0] - m[1] * center[1] - m[2] * center[2];
+        m[7] = pixelOfCenter[1] - m[4] * center[0] - m[5] * center[1] - m[6] * center[2];
+        return m;
+
+    }
+
+    private double[] convertToPixelCoordinates(double x, double y, double z) {
 
         double angleAbsc = getGraphicalAngle(this.bigRadius, this.smallRadius, this.angle);
         double angleOrd;
@@ -509,7 +556,7 @@ public abstract class AbstractGraphicCanvas3D extends AbstractGraphicCanvas impl
         }
 
         // pixel sind die Pixelkoordinaten für die Graphische Darstellung von (x, y, z)
-        int[] pixel = new int[2];
+        double[] pixel = new double[2];
 
         // Berechnung von pixels[0]
         double x_1, x_2;
@@ -540,7 +587,7 @@ public abstract class AbstractGraphicCanvas3D extends AbstractGraphicCanvas impl
             x_2 = -(2 * (y - this.axeCenterYOrigin) / (this.maxYOrigin - this.minYOrigin)) * this.bigRadius / Math.sqrt(1 + Math.pow(this.bigRadius * Math.tan(angleOrd * Math.PI / 180) / this.smallRadius, 2));
         }
 
-        pixel[0] = (int) (250 + this.zoomfactor * (x_1 + x_2));
+        pixel[0] = 250 + this.zoomfactor * (x_1 + x_2);
 
         // Berechnung von pixel[1]
         double y_1, y_2, y_3;
@@ -568,7 +615,7 @@ public abstract class AbstractGraphicCanvas3D extends AbstractGraphicCanvas impl
          */
         y_3 = -this.height * (z - this.axeCenterZOrigin) / (this.maxZOrigin - this.axeCenterZOrigin);
 
-        pixel[1] = (int) (250 + this.zoomfactor * (y_1 + y_2 + y_3));
+        pixel[1] = 250 + this.zoomfactor * (y_1 + y_2 + y_3);
 
         return pixel;
 
@@ -592,6 +639,81 @@ public abstract class AbstractGraphicCanvas3D extends AbstractGraphicCanvas impl
         return Math.atan(smallRadius * Math.tan(angle * Math.PI / 180) / bigRadius) * 180 / Math.PI + 360;
     }
 
+    /**
+     * Gibt die Richtung zurück, in welcher der Betrachter (vom Ursprung aus
+     * gesehen) steht. Die Koordinaten sind dabei auf die Maße des
+     * Darstellungsbereichs skaliert (vgl. RenderPipeline3D.sortByDepth()).
+     */
+    protected double[] computeViewDirection() {
+        return new double[]{
+            Math.sin(this.angle / 180 * Math.PI) * Math.cos(this.verticalAngle / 180 * Math.PI) / (this.maxX - this.minX),
+            -Math.cos(this.angle / 180 * Math.PI) * Math.cos(this.verticalAngle / 180 * Math.PI) / (this.maxY - this.minY),
+            Math.sin(this.verticalAngle / 180 * Math.PI) / (this.maxZ - this.minZ)};
+    }
+
+    /**
+     * Zeichnet alle Polygone von pipeline von hinten nach vorne. Die Ecken
+     * werden mittels einer einzigen Matrix projiziert und die
+     * Zeichenreihenfolge des letzten Bildes wird nur aktualisiert. Ein Polygon
+     * der Gruppe k erhält (abhängig von der Höhe seines Schwerpunktes) eine
+     * Farbe im Farbspektrum von colors.get(k) zwischen minZ und maxZ.
+     */
+    protected void drawRenderPipeline(RenderPipeline3D pipeline, GraphicsContext gc, List<Color> colors, double minZ, double maxZ) {
+
+        if (pipeline == null || pipeline.getNumberOfPolygons() == 0) {
+            return;
+        }
+
+        pipeline.project(computeProjectionMatrix());
+        double[] direction = computeViewDirection();
+
+        Color c;
+        for (int p : pipeline.sortByDepth(direction[0], direction[1], direction[2])) {
+            c = computeColor(colors.get(pipeline.getGroup(p)), minZ, maxZ, pipeline.getCenterCoordinate(p, 2));
+            drawInfinitesimalTangentSpace(getTangentSpaceFromRenderPipeline(pipeline, p), gc, c);
+        }
+
+    }
+
+    /**
+     * Zeichnet nur die Umrisse aller Polygone von pipeline. Da dabei nichts
+     * verdeckt wird, müssen die Polygone nicht sortiert werden.
+     */
+    protected void drawGridFromRenderPipeline(RenderPipeline3D pipeline, GraphicsContext gc) {
+
+        if (pipeline == null || pipeline.getNumberOfPolygons() == 0) {
+            return;
+        }
+
+        pipeline.project(computeProjectionMatrix());
+
+        switch (backgroundColorMode) {
+            case BRIGHT:
+                gc.setStroke(gridColorGridOnlyBright);
+                break;
+            case DARK:
+                gc.setStroke(gridColorGridOnlyDark);
+                break;
+        }
+        for (int p = 0; p < pipeline.getNumberOfPolygons(); p++) {
+            TangentPolygon polygon = getTangentSpaceFromRenderPipeline(pipeline, p);
+            gc.strokePolygon(polygon.getArrayOfXCoordinates(), polygon.getArrayOfYCoordinates(), polygon.getPoints().size());
+        }
+
+    }
+
+    /**
+     * Gibt das (bereits projizierte) Polygon polygon von pipeline in
+     * Pixelkoordinaten zurück.
+     */
+    private static TangentPolygon getTangentSpaceFromRenderPipeline(RenderPipeline3D pipeline, int polygon) {
+        TangentPolygon tangent = new TangentPolygon();
+        for (int k = 0; k < pipeline.getNumberOfPolygonVertices(polygon); k++) {
+            tangent.addPoint(new double[]{pipeline.getPixelX(polygon, k), pipeline.getPixelY(polygon, k)});
+        }
+        return tangent;
+    }
+
     /**
      * Zeichnet ein (tangentiales) viereckiges Plättchen des 3D-Graphen.
      */
@@ -1179,7 +1301,9 @@ public abstract class AbstractGraphicCanvas3D extends AbstractGraphicCanvas impl
                 Thread.sleep(50);
             } catch (InterruptedException e) {
             }
+            this.frameTimer.start();
             draw();
+            this.frameTimer.stop();
 
         }
     }
@@ -3,7 +3,7 @@ package graphic.javafx;
 import exceptions.EvaluationException;
 import abstractexpressions.expression.classes.Constant;
 import abstractexpressions.expression.classes.Expression;
-import abstractexpressions.expression.classes.Variable;
+import graphic.util.CurveTileCache;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -18,6 +18,12 @@ public class GraphicCanvas2D extends AbstractGraphicCanvas2D {
      */
     private List<Expression> exprs = new ArrayList<>();
     private final List<double[][]> graphs2D = new ArrayList<>();
+    /**
+     * Cache für die adaptiv abgetasteten Kacheln der Graphen (die Werte
+     * übriger Variablen werden beim Abtasten eingefroren, daher wird der
+     * Cache beim Setzen neuer Ausdrücke geleert).
+     */
+    private final CurveTileCache tileCache = new CurveTileCache(CurveTileCache.DEFAULT_CAPACITY);
     private final List<Color> COLORS = new ArrayList<>();
 
     public GraphicCanvas2D() {
@@ -39,16 +45,19 @@ public class GraphicCanvas2D extends AbstractGraphicCanvas2D {
     public void setVarAbsc(String varAbsc) {
         this.varAbsc = varAbsc;
         this.varOrd = null;
+        this.tileCache.clear();
     }
 
     public void setVars(String varAbsc, String varOrd) {
         this.varAbsc = varAbsc;
         this.varOrd = varOrd;
+        this.tileCache.clear();
     }
 
     public void setExpressions(List<Expression> exprs) {
         this.exprs = exprs;
         this.graphs2D.clear();
+        this.tileCache.clear();
         this.COLORS.clear();
         setColors();
     }
@@ -57,6 +66,7 @@ public class GraphicCanvas2D extends AbstractGraphicCanvas2D {
         this.exprs = new ArrayList<>();
         this.exprs.addAll(Arrays.asList(exprs));
         this.graphs2D.clear();
+        this.tileCache.clear();
         this.COLORS.clear();
         this.specialPoints = null;
         setColors();
@@ -155,12 +165,8 @@ public class GraphicCanvas2D extends AbstractGraphicCanvas2D {
         double y;
         for (Expression expr : this.exprs) {
             for (int j = 0; j < 100; j++) {
-                Variable.setValue(this.varAbsc, varAbscStart + j * (varAbscEnd - varAbscStart) / 100);
-                try {
-                    y = expr.evaluate();
-                } catch (EvaluationException e) {
-                    y = Double.NaN;
-                }
+                this.evaluationContext.setValue(this.varAbsc, varAbscStart + j * (varAbscEnd - varAbscStart) / 100);
+                y = expr.evaluateOrNaN(this.evaluationContext);
                 if (!Double.isNaN(y) && !Double.isInfinite(y)) {
                     if (Double.isNaN(globalMinY)) {
                         globalMinY = y;
@@ -224,43 +230,15 @@ public class GraphicCanvas2D extends AbstractGraphicCanvas2D {
         double varAbscEnd = exprAbscEnd.evaluate();
 
         this.graphs2D.clear();
-        double[][] pointsOnGraphs;
-
-        for (int i = 0; i < this.exprs.size(); i++) {
-
-            pointsOnGraphs = new double[1001][2];
-
-            /*
-             Falls this.expr.get(i) konstant ist -> den Funktionswert nur
-             einmal berechnen!
-             */
-            if (this.exprs.get(i).isConstant()) {
-                Variable.setValue(this.varAbsc, varAbscStart);
-                double constOrdValue;
-                try {
-                    constOrdValue = this.exprs.get(i).evaluate();
-                } catch (EvaluationException e) {
-                    constOrdValue = Double.NaN;
-                }
-                for (int j = 0; j <= 1000; j++) {
-                    pointsOnGraphs[j][0] = varAbscStart + (varAbscEnd - varAbscStart) * j / 1000;
-                    pointsOnGraphs[j][1] = constOrdValue;
-                }
-            } else {
-                Variable.setValue(this.varAbsc, varAbscStart);
-                for (int j = 0; j <= 1000; j++) {
-                    pointsOnGraphs[j][0] = varAbscStart + (varAbscEnd - varAbscStart) * j / 1000;
-                    Variable.setValue(this.varAbsc, varAbscStart + (varAbscEnd - varAbscStart) * j / 1000);
-                    try {
-                        pointsOnGraphs[j][1] = this.exprs.get(i).evaluate();
-                    } catch (EvaluationException e) {
-                        pointsOnGraphs[j][1] = Double.NaN;
-                    }
-                }
-            }
-
-            this.graphs2D.add(i, pointsOnGraphs);
 
+        /*
+         Die Graphen werden (abhängig von der aktuellen Pixelgröße) adaptiv
+         abgetastet. Beim Verschieben und Zoomen werden nur die Kacheln neu
+         berechnet, die sich noch nicht im Cache befinden.
+         */
+        for (Expression expr : this.exprs) {
+            this.graphs2D.add(this.tileCache.getGraph(expr, this.varAbsc, varAbscStart, varAbscEnd,
+                    this.maxX / 250, this.maxY / 250));
         }
 
     }
@@ -430,8 +408,8 @@ public class GraphicCanvas2D extends AbstractGraphicCanvas2D {
         for (int i = lowerPixelBoundX; i <= upperPixelBoundX; i++) {
             for (int j = 0; j < this.exprs.size(); j++) {
                 try {
-                    Variable.setValue(this.varAbsc, convertToEuclideanCoordinateX(i));
-                    functionValue = this.exprs.get(j).evaluate();
+                    this.evaluationContext.setValue(this.varAbsc, convertToEuclideanCoordinateX(i));
+                    functionValue = this.exprs.get(j).evaluate(this.evaluationContext);
                     functionValueAsPixel = convertToPixelY(functionValue);
                     distance = computeDistanceOfPixels(new int[]{this.mouseCoordinateX, this.mouseCoordinateY},
                             new int[]{i, functionValueAsPixel});
@@ -2,7 +2,6 @@ package graphic.javafx;
 
 import exceptions.EvaluationException;
 import abstractexpressions.expression.classes.Expression;
-import abstractexpressions.expression.classes.Variable;
 import java.util.ArrayList;
 import java.util.List;
 import javafx.scene.canvas.GraphicsContext;
@@ -63,10 +62,10 @@ public class GraphicCanvasCurves2D extends AbstractGraphicCanvas2D {
         double x, y;
         for (int i = 0; i < 100; i++) {
 
-            Variable.setValue(this.var, t_0 + i * (t_1 - t_0) / 100);
+            this.evaluationContext.setValue(this.var, t_0 + i * (t_1 - t_0) / 100);
             try {
-                x = this.expr[0].evaluate();
-                y = this.expr[1].evaluate();
+                x = this.expr[0].evaluate(this.evaluationContext);
+                y = this.expr[1].evaluate(this.evaluationContext);
             } catch (EvaluationException e) {
                 x = Double.NaN;
                 y = Double.NaN;
@@ -137,16 +136,16 @@ public class GraphicCanvasCurves2D extends AbstractGraphicCanvas2D {
         for (int i = 0; i < 10000; i++) {
 
             double[] pointOnCurve = new double[2];
-            Variable.setValue(this.var, t);
+            this.evaluationContext.setValue(this.var, t);
             try {
                 /*
                  h wird nun passend ermittelt, so dass die Distanz zwischen
                  zwei Punkten auf der Kurve nur wenige Pixel beträgt.
                  */
                 if (t_1 >= t_0) {
-                    h = (this.maxX / 250 + this.maxY / 250) / (Math.abs(tangentVector[0].evaluate()) + Math.abs(tangentVector[1].evaluate()));
+                    h = (this.maxX / 250 + this.maxY / 250) / (Math.abs(tangentVector[0].evaluate(this.evaluationContext)) + Math.abs(tangentVector[1].evaluate(this.evaluationContext)));
                 } else {
-                    h = -(this.maxX / 250 + this.maxY / 250) / (Math.abs(tangentVector[0].evaluate()) + Math.abs(tangentVector[1].evaluate()));
+                    h = -(this.maxX / 250 + this.maxY / 250) / (Math.abs(tangentVector[0].evaluate(this.evaluationContext)) + Math.abs(tangentVector[1].evaluate(this.evaluationContext)));
                 }
             } catch (EvaluationException e) {
                 h = (t_1 - t_0) / 1000;
@@ -166,10 +165,10 @@ public class GraphicCanvasCurves2D extends AbstractGraphicCanvas2D {
                 t = t_1;
             }
 
-            Variable.setValue(this.var, t);
+            this.evaluationContext.setValue(this.var, t);
             try {
-                pointOnCurve[0] = this.expr[0].evaluate();
-                pointOnCurve[1] = this.expr[1].evaluate();
+                pointOnCurve[0] = this.expr[0].evaluate(this.evaluationContext);
+                pointOnCurve[1] = this.expr[1].evaluate(this.evaluationContext);
             } catch (EvaluationException e) {
                 pointOnCurve[0] = Double.NaN;
                 pointOnCurve[1] = Double.NaN;
@@ -2,7 +2,6 @@ package graphic.javafx;
 
 import exceptions.EvaluationException;
 import abstractexpressions.expression.classes.Expression;
-import abstractexpressions.expression.classes.Variable;
 import java.util.ArrayList;
 import java.util.List;
 import javafx.scene.canvas.GraphicsContext;
@@ -72,11 +71,11 @@ public class GraphicCanvasCurves3D extends AbstractGraphicCanvas3D {
         double x, y, z;
         for (int i = 0; i < 100; i++) {
 
-            Variable.setValue(this.var, t_0 + i * (t_1 - t_0) / 100);
+            this.evaluationContext.setValue(this.var, t_0 + i * (t_1 - t_0) / 100);
             try {
-                x = exprs[0].evaluate();
-                y = exprs[1].evaluate();
-                z = exprs[2].evaluate();
+                x = exprs[0].evaluate(this.evaluationContext);
+                y = exprs[1].evaluate(this.evaluationContext);
+                z = exprs[2].evaluate(this.evaluationContext);
             } catch (EvaluationException e) {
                 x = Double.NaN;
                 y = Double.NaN;
@@ -175,18 +174,18 @@ public class GraphicCanvasCurves3D extends AbstractGraphicCanvas3D {
         for (int i = 0; i < 10000; i++) {
 
             double[] pointOnCurve = new double[3];
-            Variable.setValue(var, t);
+            this.evaluationContext.setValue(var, t);
             try {
                 /*
                  h wird nun passend ermittelt, so dass die Distanz zwischen
                  zwei Punkten auf der Kurve nur wenige Pixel beträgt.
                  */
                 if (t_1 >= t_0) {
-                    h = (this.maxX / 250 + this.maxY / 250 + this.maxZ / 250) / (Math.abs(tangentVector[0].evaluate()) + Math.abs(tangentVector[1].evaluate())
-                            + Math.abs(tangentVector[2].evaluate()));
+                    h = (this.maxX / 250 + this.maxY / 250 + this.maxZ / 250) / (Math.abs(tangentVector[0].evaluate(this.evaluationContext)) + Math.abs(tangentVector[1].evaluate(this.evaluationContext))
+                            + Math.abs(tangentVector[2].evaluate(this.evaluationContext)));
                 } else {
-                    h = -(this.maxX / 250 + this.maxY / 250 + this.maxZ / 250) / (Math.abs(tangentVector[0].evaluate()) + Math.abs(tangentVector[1].evaluate())
-                            + Math.abs(tangentVector[2].evaluate()));
+                    h = -(this.maxX / 250 + this.maxY / 250 + this.maxZ / 250) / (Math.abs(tangentVector[0].evaluate(this.evaluationContext)) + Math.abs(tangentVector[1].evaluate(this.evaluationContext))
+                            + Math.abs(tangentVector[2].evaluate(this.evaluationContext)));
                 }
             } catch (EvaluationException e) {
                 h = (t_1 - t_0) / 1000;
@@ -208,11 +207,11 @@ public class GraphicCanvasCurves3D extends AbstractGraphicCanvas3D {
                 }
             }
 
-            Variable.setValue(var, t);
+            this.evaluationContext.setValue(var, t);
             try {
-                pointOnCurve[0] = this.exprs[0].evaluate();
-                pointOnCurve[1] = this.exprs[1].evaluate();
-                pointOnCurve[2] = this.exprs[2].evaluate();
+                pointOnCurve[0] = this.exprs[0].evaluate(this.evaluationContext);
+                pointOnCurve[1] = this.exprs[1].evaluate(this.evaluationContext);
+                pointOnCurve[2] = this.exprs[2].evaluate(this.evaluationContext);
             } catch (EvaluationException e) {
                 pointOnCurve[0] = Double.NaN;
                 pointOnCurve[1] = Double.NaN;
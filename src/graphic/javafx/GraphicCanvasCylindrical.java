@@ -2,10 +2,9 @@ package graphic.javafx;
 
 import exceptions.EvaluationException;
 import abstractexpressions.expression.classes.Expression;
-import abstractexpressions.expression.classes.Variable;
+import graphic.util.RenderPipeline3D;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
@@ -29,6 +28,12 @@ public class GraphicCanvasCylindrical extends AbstractGraphicCanvas3D {
      */
     private List<double[][][]> cylindricalGraphs3DForGraphic = new ArrayList<>();
     private List<boolean[][]> cylindricalGraphs3DAreDefined = new ArrayList<>();
+    /**
+     * Polygone der vergröberten Graphen. Diese werden nur bei Änderung der
+     * Auflösung neu erzeugt.
+     */
+    private RenderPipeline3D renderPipeline;
+    private int numberOfIntervalsAlongRForGraphic, numberOfIntervalsAlongPhiForGraphic;
 
     private final List<Color> colors = new ArrayList<>();
 
@@ -116,6 +121,7 @@ public class GraphicCanvasCylindrical extends AbstractGraphicCanvas3D {
 
         this.cylindricalGraphs3D = new ArrayList<>();
         this.cylindricalGraphs3DAreDefined = new ArrayList<>();
+        this.renderPipeline = null;
 
         double currentR, currentPhi;
         double[][][] singleGraph;
@@ -129,23 +135,18 @@ public class GraphicCanvasCylindrical extends AbstractGraphicCanvas3D {
 
             singleGraph = new double[101][numberOfIntervalsAlongPhi + 1][3];
             singleGraphIsDefined = new boolean[101][numberOfIntervalsAlongPhi + 1];
-            Variable.setValue(this.varR, this.minR);
-            Variable.setValue(this.varPhi, this.minPhi);
+            this.evaluationContext.setValue(this.varR, this.minR);
+            this.evaluationContext.setValue(this.varPhi, this.minPhi);
             for (int i = 0; i <= 100; i++) {
                 for (int j = 0; j <= numberOfIntervalsAlongPhi; j++) {
                     currentR = this.minR + (this.maxR - this.minR) * i / 100;
                     currentPhi = this.minPhi + (this.maxPhi - this.minPhi) * j / numberOfIntervalsAlongPhi;
                     singleGraph[i][j][0] = currentR * Math.cos(currentPhi);
                     singleGraph[i][j][1] = currentR * Math.sin(currentPhi);
-                    Variable.setValue(this.varR, currentR);
-                    Variable.setValue(this.varPhi, currentPhi);
-                    try {
-                        singleGraph[i][j][2] = expr.evaluate();
-                        singleGraphIsDefined[i][j] = true;
-                    } catch (EvaluationException e) {
-                        singleGraph[i][j][2] = Double.NaN;
-                        singleGraphIsDefined[i][j] = false;
-                    }
+                    this.evaluationContext.setValue(this.varR, currentR);
+                    this.evaluationContext.setValue(this.varPhi, currentPhi);
+                    singleGraph[i][j][2] = expr.evaluateOrNaN(this.evaluationContext);
+                    singleGraphIsDefined[i][j] = !Double.isNaN(singleGraph[i][j][2]);
                 }
             }
             this.cylindricalGraphs3D.add(singleGraph);
@@ -182,6 +183,11 @@ public class GraphicCanvasCylindrical extends AbstractGraphicCanvas3D {
             numberOfIntervalsAlongPhi = 2;
         }
 
+        if (this.renderPipeline != null && this.numberOfIntervalsAlongRForGraphic == numberOfIntervalsAlongR
+                && this.numberOfIntervalsAlongPhiForGraphic == numberOfIntervalsAlongPhi) {
+            return;
+        }
+
         this.cylindricalGraphs3DForGraphic = new ArrayList<>();
 
         double[][][] graph3DForGraphic;
@@ -222,278 +228,12 @@ public class GraphicCanvasCylindrical extends AbstractGraphicCanvas3D {
 
         }
 
-    }
-
-    /**
-     * Zeichnet ein (tangentiales) viereckiges Plättchen eines 3D-Graphen.
-     */
-    private void drawInfinitesimalTangentSpace(int x_1, int y_1, int x_2, int y_2,
-            int x_3, int y_3, int x_4, int y_4, GraphicsContext gc) {
-
-        switch (backgroundColorMode) {
-            case BRIGHT:
-                gc.setStroke(gridColorGridOnlyBright);
-                break;
-            case DARK:
-                gc.setStroke(gridColorGridOnlyDark);
-                break;
-        }
-
-        gc.strokeLine(x_1, y_1, x_2, y_2);
-        gc.strokeLine(x_2, y_2, x_3, y_3);
-        gc.strokeLine(x_3, y_3, x_4, y_4);
-        gc.strokeLine(x_4, y_4, x_1, y_1);
-
-    }
-
-    /**
-     * Berechnet die Höhe des Schwerpunktes eines Tangentialplättchens, falls es
-     * definiert ist.
-     */
-    private double computeAverageHeightOfInfinitesimalTangentSpace(int indexOfGraph3D, int i, int j) {
-
-        double averageHeightOfTangentSpace = 0;
-        int numberOfDefinedBorderPoints = 0;
-
-        if (this.cylindricalGraphs3DAreDefined.get(indexOfGraph3D)[i][j]) {
-            averageHeightOfTangentSpace += this.cylindricalGraphs3DForGraphic.get(indexOfGraph3D)[i][j][2];
-            numberOfDefinedBorderPoints++;
-        }
-        if (this.cylindricalGraphs3DAreDefined.get(indexOfGraph3D)[i + 1][j]) {
-            averageHeightOfTangentSpace += this.cylindricalGraphs3DForGraphic.get(indexOfGraph3D)[i + 1][j][2];
-            numberOfDefinedBorderPoints++;
-        }
-        if (this.cylindricalGraphs3DAreDefined.get(indexOfGraph3D)[i][j + 1]) {
-            averageHeightOfTangentSpace += this.cylindricalGraphs3DForGraphic.get(indexOfGraph3D)[i][j + 1][2];
-            numberOfDefinedBorderPoints++;
-        }
-        if (this.cylindricalGraphs3DAreDefined.get(indexOfGraph3D)[i + 1][j + 1]) {
-            averageHeightOfTangentSpace += this.cylindricalGraphs3DForGraphic.get(indexOfGraph3D)[i + 1][j + 1][2];
-            numberOfDefinedBorderPoints++;
-        }
-
-        if (numberOfDefinedBorderPoints == 4) {
-            return averageHeightOfTangentSpace / numberOfDefinedBorderPoints;
-        }
-        return Double.NaN;
-
-    }
-
-    /**
-     * Zeichnet alle 3D-Graphen in Zylinderkoordinaten.
-     */
-    private void drawGraphsFromCylindricalGraphs3DForGraphic(GraphicsContext gc) {
-
-        int numberOfIntervalsAlongAbsc = 0;
-        int numberOfIntervalsAlongOrd = 0;
-
-        // Anzahl der Intervalle für das Zeichnen ermitteln.
-        for (double[][][] cylindricalgraph3DForGraphic : this.cylindricalGraphs3DForGraphic) {
-            if (cylindricalgraph3DForGraphic.length > 0) {
-                numberOfIntervalsAlongAbsc = cylindricalgraph3DForGraphic.length - 1;
-                numberOfIntervalsAlongOrd = cylindricalgraph3DForGraphic[0].length - 1;
-                break;
-            }
-        }
-
-        // Dann können keine Graphen gezeichnet werden.
-        if (numberOfIntervalsAlongAbsc == 0 || numberOfIntervalsAlongOrd == 0) {
-            return;
-        }
-
-        //Koordinaten der einzelnen Graphen in graphische Koordinaten umwandeln
-        ArrayList<int[][][]> graphicalGraphs = new ArrayList<>();
-        int[][][] graphicalGraph;
-
+        this.renderPipeline = new RenderPipeline3D();
         for (int k = 0; k < this.cylindricalGraphs3DForGraphic.size(); k++) {
-            graphicalGraph = new int[numberOfIntervalsAlongAbsc + 1][numberOfIntervalsAlongOrd + 1][2];
-            for (int i = 0; i < numberOfIntervalsAlongAbsc + 1; i++) {
-                for (int j = 0; j < numberOfIntervalsAlongOrd + 1; j++) {
-                    graphicalGraph[i][j] = convertToPixel(this.cylindricalGraphs3DForGraphic.get(k)[i][j][0], this.cylindricalGraphs3DForGraphic.get(k)[i][j][1],
-                            this.cylindricalGraphs3DForGraphic.get(k)[i][j][2]);
-                }
-            }
-            graphicalGraphs.add(graphicalGraph);
+            this.renderPipeline.addGrid(k, this.cylindricalGraphs3DForGraphic.get(k), this.cylindricalGraphs3DAreDefined.get(k));
         }
-
-        /*
-         Jetzt wird der Graph, abhängig vom Winkel angle, gezeichnet. Es muss
-         deshalb nach dem Winkel unterschieden werden, da der Graph stets "von
-         hinten nach vorne" gezeichnet werden soll. Voraussetzung: 0 <= angle
-         < 360
-         */
-        HashMap<Integer, Double> heightsOfCentersOfInfinitesimalTangentSpaces = new HashMap<>();
-        Double heightOfCentersOfInfinitesimalTangentSpace;
-        ArrayList<Integer> indices;
-
-        if (this.angle <= 90) {
-
-            for (int i = 0; i < numberOfIntervalsAlongAbsc; i++) {
-
-                for (int j = 0; j < numberOfIntervalsAlongOrd; j++) {
-
-                    // Alle Schwerpunkte der einzelnen Tangentialplättchen berechnen.
-                    heightsOfCentersOfInfinitesimalTangentSpaces.clear();
-                    for (int k = 0; k < this.cylindricalGraphs3DForGraphic.size(); k++) {
-                        heightOfCentersOfInfinitesimalTangentSpace = computeAverageHeightOfInfinitesimalTangentSpace(k, i, numberOfIntervalsAlongOrd - j - 1);
-                        if (!heightOfCentersOfInfinitesimalTangentSpace.equals(Double.NaN)) {
-                            heightsOfCentersOfInfinitesimalTangentSpaces.put(k, heightOfCentersOfInfinitesimalTangentSpace);
-                        }
-                    }
-                    // Indizes für eine aufsteigende Ordnung berechnen.
-                    indices = getIndicesForAscendingSorting(heightsOfCentersOfInfinitesimalTangentSpaces);
-
-                    for (int k = 0; k < indices.size(); k++) {
-
-                        // Für die vorkommenden Indizes ist der entsprechende Graph automatisch in allen 4 Randpunkten definiert.
-                        drawInfinitesimalTangentSpace(graphicalGraphs.get(indices.get(k))[i][numberOfIntervalsAlongOrd - j - 1][0], graphicalGraphs.get(indices.get(k))[i][numberOfIntervalsAlongOrd - j - 1][1],
-                                graphicalGraphs.get(indices.get(k))[i + 1][numberOfIntervalsAlongOrd - j - 1][0], graphicalGraphs.get(indices.get(k))[i + 1][numberOfIntervalsAlongOrd - j - 1][1],
-                                graphicalGraphs.get(indices.get(k))[i + 1][numberOfIntervalsAlongOrd - j][0], graphicalGraphs.get(indices.get(k))[i + 1][numberOfIntervalsAlongOrd - j][1],
-                                graphicalGraphs.get(indices.get(k))[i][numberOfIntervalsAlongOrd - j][0], graphicalGraphs.get(indices.get(k))[i][numberOfIntervalsAlongOrd - j][1],
-                                gc);
-
-                    }
-
-                }
-
-            }
-
-        } else if (this.angle <= 180) {
-
-            for (int i = 0; i < numberOfIntervalsAlongAbsc; i++) {
-
-                for (int j = 0; j < numberOfIntervalsAlongOrd; j++) {
-
-                    // Alle Schwerpunkte der einzelnen Tangentialplättchen berechnen.
-                    heightsOfCentersOfInfinitesimalTangentSpaces.clear();
-                    for (int k = 0; k < this.cylindricalGraphs3DForGraphic.size(); k++) {
-                        heightOfCentersOfInfinitesimalTangentSpace = computeAverageHeightOfInfinitesimalTangentSpace(k, i, j);
-                        if (!heightOfCentersOfInfinitesimalTangentSpace.equals(Double.NaN)) {
-                            heightsOfCentersOfInfinitesimalTangentSpaces.put(k, heightOfCentersOfInfinitesimalTangentSpace);
-                        }
-                    }
-                    // Indizes für eine aufsteigende Ordnung berechnen.
-                    indices = getIndicesForAscendingSorting(heightsOfCentersOfInfinitesimalTangentSpaces);
-
-                    for (int k = 0; k < indices.size(); k++) {
-
-                        // Für die vorkommenden Indizes ist der entsprechende Graph automatisch in allen 4 Randpunkten definiert.
-                        drawInfinitesimalTangentSpace(graphicalGraphs.get(indices.get(k))[i][j][0], graphicalGraphs.get(indices.get(k))[i][j][1],
-                                graphicalGraphs.get(indices.get(k))[i + 1][j][0], graphicalGraphs.get(indices.get(k))[i + 1][j][1],
-                                graphicalGraphs.get(indices.get(k))[i + 1][j + 1][0], graphicalGraphs.get(indices.get(k))[i + 1][j + 1][1],
-                                graphicalGraphs.get(indices.get(k))[i][j + 1][0], graphicalGraphs.get(indices.get(k))[i][j + 1][1],
-                                gc);
-
-                    }
-
-                }
-
-            }
-
-        } else if (this.angle <= 270) {
-
-            for (int i = 0; i < numberOfIntervalsAlongAbsc; i++) {
-
-                for (int j = 0; j < numberOfIntervalsAlongOrd; j++) {
-
-                    // Alle Schwerpunkte der einzelnen Tangentialplättchen berechnen.
-                    heightsOfCentersOfInfinitesimalTangentSpaces.clear();
-                    for (int k = 0; k < this.cylindricalGraphs3DForGraphic.size(); k++) {
-                        heightOfCentersOfInfinitesimalTangentSpace = computeAverageHeightOfInfinitesimalTangentSpace(k, numberOfIntervalsAlongAbsc - i - 1, j);
-                        if (!heightOfCentersOfInfinitesimalTangentSpace.equals(Double.NaN)) {
-                            heightsOfCentersOfInfinitesimalTangentSpaces.put(k, heightOfCentersOfInfinitesimalTangentSpace);
-                        }
-                    }
-                    // Indizes für eine aufsteigende Ordnung berechnen.
-                    indices = getIndicesForAscendingSorting(heightsOfCentersOfInfinitesimalTangentSpaces);
-
-                    for (int k = 0; k < indices.size(); k++) {
-
-                        // Für die vorkommenden Indizes ist der entsprechende Graph automatisch in allen 4 Randpunkten definiert.
-                        drawInfinitesimalTangentSpace(graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i - 1][j][0], graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i - 1][j][1],
-                                graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i][j][0], graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i][j][1],
-                                graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i][j + 1][0], graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i][j + 1][1],
-                                graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i - 1][j + 1][0], graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i - 1][j + 1][1],
-                                gc);
-
-                    }
-
-                }
-
-            }
-
-        } else {
-
-            for (int i = 0; i < numberOfIntervalsAlongAbsc; i++) {
-
-                for (int j = 0; j < numberOfIntervalsAlongOrd; j++) {
-
-                    // Alle Schwerpunkte der einzelnen Tangentialplättchen berechnen.
-                    heightsOfCentersOfInfinitesimalTangentSpaces.clear();
-                    for (int k = 0; k < this.cylindricalGraphs3DForGraphic.size(); k++) {
-                        heightOfCentersOfInfinitesimalTangentSpace = computeAverageHeightOfInfinitesimalTangentSpace(k, numberOfIntervalsAlongAbsc - i - 1, numberOfIntervalsAlongOrd - j - 1);
-                        if (!heightOfCentersOfInfinitesimalTangentSpace.equals(Double.NaN)) {
-                            heightsOfCentersOfInfinitesimalTangentSpaces.put(k, heightOfCentersOfInfinitesimalTangentSpace);
-                        }
-                    }
-                    // Indizes für eine aufsteigende Ordnung berechnen.
-                    indices = getIndicesForAscendingSorting(heightsOfCentersOfInfinitesimalTangentSpaces);
-
-                    for (int k = 0; k < indices.size(); k++) {
-
-                        // Für die vorkommenden Indizes ist der entsprechende Graph automatisch in allen 4 Randpunkten definiert.
-                        drawInfinitesimalTangentSpace(graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i - 1][numberOfIntervalsAlongOrd - j - 1][0], graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i - 1][numberOfIntervalsAlongOrd - j - 1][1],
-                                graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i][numberOfIntervalsAlongOrd - j - 1][0], graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i][numberOfIntervalsAlongOrd - j - 1][1],
-                                graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i][numberOfIntervalsAlongOrd - j][0], graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i][numberOfIntervalsAlongOrd - j][1],
-                                graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i - 1][numberOfIntervalsAlongOrd - j][0], graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i - 1][numberOfIntervalsAlongOrd - j][1],
-                                gc);
-
-                    }
-
-                }
-
-            }
-
-        }
-
-    }
-
-    /**
-     * Hilfsmethode. Gibt eine Liste von Indizes zurück, gemäß welcher die
-     * Double-Werte im HashMap im Parameter aufsteigend sortiert sind.
-     */
-    private static ArrayList<Integer> getIndicesForAscendingSorting(HashMap<Integer, Double> centersOfInfinitesimalTangentSpaces) {
-
-        HashMap<Integer, Double> copyOfCenters = new HashMap<>();
-        ArrayList<Integer> sortedCenters = new ArrayList<>();
-
-        // Manuell kopieren. clone() traue ich nicht!
-        for (Integer i : centersOfInfinitesimalTangentSpaces.keySet()) {
-            copyOfCenters.put(i, centersOfInfinitesimalTangentSpaces.get(i));
-        }
-
-        int indexWithLeastElement;
-        double minimalValue;
-        while (!copyOfCenters.isEmpty()) {
-
-            indexWithLeastElement = -1;
-            minimalValue = Double.POSITIVE_INFINITY;
-            for (Integer i : copyOfCenters.keySet()) {
-                if (indexWithLeastElement == -1) {
-                    indexWithLeastElement = i;
-                    minimalValue = copyOfCenters.get(i);
-                } else if (copyOfCenters.get(i) < minimalValue) {
-                    indexWithLeastElement = i;
-                    minimalValue = copyOfCenters.get(i);
-                }
-            }
-
-            sortedCenters.add(indexWithLeastElement);
-            copyOfCenters.remove(indexWithLeastElement);
-
-        }
-
-        return sortedCenters;
+        this.numberOfIntervalsAlongRForGraphic = numberOfIntervalsAlongR;
+        this.numberOfIntervalsAlongPhiForGraphic = numberOfIntervalsAlongPhi;
 
     }
 
@@ -565,7 +305,8 @@ public class GraphicCanvasCylindrical extends AbstractGraphicCanvas3D {
         drawLevelsOnWest(gc, null, null, null);
         drawLevelsOnNorth(gc, null, null, null);
         drawLevelsBottom(gc);
-        drawGraphsFromCylindricalGraphs3DForGraphic(gc);
+        // Es werden nur die Umrisse der Plättchen gezeichnet.
+        drawGridFromRenderPipeline(this.renderPipeline, gc);
 
     }
 
@@ -2,7 +2,6 @@ package graphic.javafx;
 
 import exceptions.EvaluationException;
 import abstractexpressions.expression.classes.Expression;
-import abstractexpressions.expression.classes.Variable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -76,10 +75,10 @@ public class GraphicCanvasPolar extends AbstractGraphicCanvas2D {
         for (int i = 0; i < this.exprs.size(); i++) {
             for (int j = 0; j < 100; j++) {
 
-                Variable.setValue(this.var, phi_0 + j * (phi_1 - phi_0) / 100);
+                this.evaluationContext.setValue(this.var, phi_0 + j * (phi_1 - phi_0) / 100);
                 try {
-                    x = this.exprs.get(i).evaluate() * Math.cos(phi_0 + j * (phi_1 - phi_0) / 100);
-                    y = this.exprs.get(i).evaluate() * Math.sin(phi_0 + j * (phi_1 - phi_0) / 100);
+                    x = this.exprs.get(i).evaluate(this.evaluationContext) * Math.cos(phi_0 + j * (phi_1 - phi_0) / 100);
+                    y = this.exprs.get(i).evaluate(this.evaluationContext) * Math.sin(phi_0 + j * (phi_1 - phi_0) / 100);
                 } catch (EvaluationException e) {
                     x = Double.NaN;
                     y = Double.NaN;
@@ -136,12 +135,12 @@ public class GraphicCanvasPolar extends AbstractGraphicCanvas2D {
             pointsOnGraphs = new double[1001][2];
 
             // Falls this.expr.get(i) konstant ist -> den Funktionswert nur einmal berechnen!
-            Variable.setValue(this.var, phiStart);
+            this.evaluationContext.setValue(this.var, phiStart);
             for (int j = 0; j <= 1000; j++) {
-                Variable.setValue(this.var, phiStart + (phiEnd - phiStart) * j / 1000);
+                this.evaluationContext.setValue(this.var, phiStart + (phiEnd - phiStart) * j / 1000);
                 try {
-                    pointsOnGraphs[j][0] = this.exprs.get(i).evaluate() * Math.cos(phiStart + (phiEnd - phiStart) * j / 1000);
-                    pointsOnGraphs[j][1] = this.exprs.get(i).evaluate() * Math.sin(phiStart + (phiEnd - phiStart) * j / 1000);
+                    pointsOnGraphs[j][0] = this.exprs.get(i).evaluate(this.evaluationContext) * Math.cos(phiStart + (phiEnd - phiStart) * j / 1000);
+                    pointsOnGraphs[j][1] = this.exprs.get(i).evaluate(this.evaluationContext) * Math.sin(phiStart + (phiEnd - phiStart) * j / 1000);
                 } catch (EvaluationException e) {
                     pointsOnGraphs[j][0] = Double.NaN;
                     pointsOnGraphs[j][1] = Double.NaN;
@@ -188,7 +187,7 @@ public class GraphicCanvasPolar extends AbstractGraphicCanvas2D {
         this.zoomfactorY = 1;
         setExpressions(exprs);
         computeScreenSizes(phi_0, phi_1);
-        expressionToGraph(phi_0.evaluate(), phi_1.evaluate());
+        expressionToGraph(phi_0.evaluate(this.evaluationContext), phi_1.evaluate(this.evaluationContext));
         draw();
     }
 
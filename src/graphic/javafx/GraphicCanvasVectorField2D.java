@@ -3,7 +3,6 @@ package graphic.javafx;
 import exceptions.EvaluationException;
 import abstractexpressions.expression.classes.Constant;
 import abstractexpressions.expression.classes.Expression;
-import abstractexpressions.expression.classes.Variable;
 import java.util.ArrayList;
 import abstractexpressions.matrixexpression.classes.Matrix;
 import abstractexpressions.matrixexpression.classes.MatrixExpression;
@@ -94,12 +93,12 @@ public class GraphicCanvasVectorField2D extends AbstractGraphicCanvas2D {
          einmal berechnen!
          */
         if (this.vectorFieldExpr.isConstant()) {
-            Variable.setValue(this.varAbsc, varAbscStart);
-            Variable.setValue(this.varOrd, varOrdStart);
+            this.evaluationContext.setValue(this.varAbsc, varAbscStart);
+            this.evaluationContext.setValue(this.varOrd, varOrdStart);
             double constAbscValue, constOrdValue;
             try {
-                constAbscValue = this.vectorFieldExpr.getEntry(0, 0).evaluate();
-                constOrdValue = this.vectorFieldExpr.getEntry(1, 0).evaluate();
+                constAbscValue = this.vectorFieldExpr.getEntry(0, 0).evaluate(this.evaluationContext);
+                constOrdValue = this.vectorFieldExpr.getEntry(1, 0).evaluate(this.evaluationContext);
             } catch (EvaluationException e) {
                 constAbscValue = Double.NaN;
                 constOrdValue = Double.NaN;
@@ -115,18 +114,18 @@ public class GraphicCanvasVectorField2D extends AbstractGraphicCanvas2D {
                 }
             }
         } else {
-            Variable.setValue(this.varAbsc, varAbscStart);
-            Variable.setValue(this.varOrd, varOrdStart);
+            this.evaluationContext.setValue(this.varAbsc, varAbscStart);
+            this.evaluationContext.setValue(this.varOrd, varOrdStart);
             for (int i = 0; i <= NUMBER_OF_SUBDIV_X; i++) {
                 for (int j = 0; j <= NUMBER_OF_SUBDIV_Y; j++) {
                     vectorFieldArrow = new double[4];
                     vectorFieldArrow[0] = varAbscStart + (varAbscEnd - varAbscStart) * i / NUMBER_OF_SUBDIV_X;
                     vectorFieldArrow[1] = varOrdStart + (varOrdEnd - varOrdStart) * j / NUMBER_OF_SUBDIV_Y;
-                    Variable.setValue(this.varAbsc, varAbscStart + (varAbscEnd - varAbscStart) * i / NUMBER_OF_SUBDIV_X);
-                    Variable.setValue(this.varOrd, varOrdStart + (varOrdEnd - varOrdStart) * j / NUMBER_OF_SUBDIV_Y);
+                    this.evaluationContext.setValue(this.varAbsc, varAbscStart + (varAbscEnd - varAbscStart) * i / NUMBER_OF_SUBDIV_X);
+                    this.evaluationContext.setValue(this.varOrd, varOrdStart + (varOrdEnd - varOrdStart) * j / NUMBER_OF_SUBDIV_Y);
                     try {
-                        vectorFieldArrow[2] = vectorFieldArrow[0] + this.vectorFieldExpr.getEntry(0, 0).evaluate();
-                        vectorFieldArrow[3] = vectorFieldArrow[1] + this.vectorFieldExpr.getEntry(1, 0).evaluate();
+                        vectorFieldArrow[2] = vectorFieldArrow[0] + this.vectorFieldExpr.getEntry(0, 0).evaluate(this.evaluationContext);
+                        vectorFieldArrow[3] = vectorFieldArrow[1] + this.vectorFieldExpr.getEntry(1, 0).evaluate(this.evaluationContext);
                     } catch (EvaluationException e) {
                         vectorFieldArrow[2] = Double.NaN;
                         vectorFieldArrow[3] = Double.NaN;
@@ -270,13 +269,13 @@ public class GraphicCanvasVectorField2D extends AbstractGraphicCanvas2D {
     @Override
     protected void drawMousePointOnGraph() {
         GraphicsContext gc = getGraphicsContext2D();
-        Variable.setValue(this.varAbsc, convertToEuclideanCoordinateX(this.mouseCoordinateX));
-        Variable.setValue(this.varOrd, convertToEuclideanCoordinateY(this.mouseCoordinateY));
+        this.evaluationContext.setValue(this.varAbsc, convertToEuclideanCoordinateX(this.mouseCoordinateX));
+        this.evaluationContext.setValue(this.varOrd, convertToEuclideanCoordinateY(this.mouseCoordinateY));
         try {
-            MatrixExpression vector = this.vectorFieldExpr.evaluate();
+            MatrixExpression vector = this.vectorFieldExpr;
             if (vector.isMatrix(2, 1)) {
-                int endPointVectorX = convertToPixelX(((Matrix) vector).getEntry(0, 0).add(this.varAbsc).evaluate());
-                int endPointVectorY = convertToPixelY(((Matrix) vector).getEntry(1, 0).add(this.varOrd).evaluate());
+                int endPointVectorX = convertToPixelX(((Matrix) vector).getEntry(0, 0).add(this.varAbsc).evaluate(this.evaluationContext));
+                int endPointVectorY = convertToPixelY(((Matrix) vector).getEntry(1, 0).add(this.varOrd).evaluate(this.evaluationContext));
                 drawCirclePoint(gc, this.mouseCoordinateX, this.mouseCoordinateY, true);
                 drawVectorLine(gc, this.mouseCoordinateX, this.mouseCoordinateY, endPointVectorX, endPointVectorY, true);
                 double angle = getAngleOfVector(this.mouseCoordinateX, this.mouseCoordinateY, endPointVectorX, endPointVectorY);
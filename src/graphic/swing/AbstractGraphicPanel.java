@@ -1,5 +1,6 @@
 package graphic.swing;
 
+import abstractexpressions.expression.classes.EvaluationContext;
 import java.awt.Graphics;
 import java.awt.image.BufferedImage;
 import java.io.File;
@@ -9,6 +10,13 @@ import javax.swing.JPanel;
 
 public abstract class AbstractGraphicPanel extends JPanel {
 
+    /**
+     * Variablenbelegungen beim Berechnen der Graphen. Jedes Panel besitzt
+     * einen eigenen Kontext, sodass die globalen Variablenwerte unverändert
+     * bleiben und mehrere Panels unabhängig voneinander rechnen können.
+     */
+    protected final EvaluationContext evaluationContext = new EvaluationContext();
+
     /**
      * Exportiert die gegebene Grafik als eine PNG-Datei und legt sie auf dem
      * gegebenen Pfad filePath ab.
@@ -2,14 +2,13 @@ package graphic.swing;
 
 import exceptions.EvaluationException;
 import abstractexpressions.expression.classes.Expression;
-import abstractexpressions.expression.classes.Variable;
+import abstractexpressions.expression.computation.GridSampler;
+import graphic.util.RenderPipeline3D;
+import graphic.util.SurfaceGrid;
 import java.awt.Color;
 import java.awt.Graphics;
-import java.awt.Graphics2D;
-import java.awt.geom.GeneralPath;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 
 public class GraphicPanel3D extends AbstractGraphicPanel3D {
@@ -31,6 +30,25 @@ public class GraphicPanel3D extends AbstractGraphicPanel3D {
      */
     private List<double[][][]> graphs3DForGraphic = new ArrayList<>();
     private List<boolean[][]> graphs3DAreDefined = new ArrayList<>();
+    /**
+     * Polygone der vergröberten Graphen. Diese werden nur bei Änderung der
+     * Auflösung neu erzeugt, damit beim Drehen nur noch projiziert und die
+     * Zeichenreihenfolge des letzten Bildes aktualisiert werden muss.
+     */
+    private RenderPipeline3D renderPipeline;
+    private int numberOfPointsForGraphic;
+
+    /**
+     * Anzahl der Gitterintervalle (pro Achse), auf denen die Graphen abgetastet
+     * werden.
+     */
+    private int numberOfIntervals = 100;
+
+    /**
+     * Maximale Anzahl der gezeichneten Gitterpunkte pro Achse. Feiner
+     * abgetastete Graphen werden für das Zeichnen ausgedünnt.
+     */
+    private static final int MAX_NUMBER_OF_POINTS_FOR_GRAPHIC = 50;
 
     private final List<Color> colors = new ArrayList<>();
 
@@ -48,6 +66,10 @@ public class GraphicPanel3D extends AbstractGraphicPanel3D {
         return this.colors;
     }
 
+    public void setNumberOfIntervals(int numberOfIntervals) {
+        this.numberOfIntervals = Math.max(1, numberOfIntervals);
+    }
+
     private void setExpressions(List<Expression> exprs) {
         this.exprs.clear();
         this.exprs.addAll(exprs);
@@ -111,33 +133,14 @@ public class GraphicPanel3D extends AbstractGraphicPanel3D {
 
         this.graphs3D = new ArrayList<>();
         this.graphs3DAreDefined = new ArrayList<>();
+        this.renderPipeline = null;
 
-        double[][][] singleGraph;
-        boolean[][] singleGraphIsDefined;
+        SurfaceGrid singleGraph;
         for (Expression expr : exprs) {
-
-            singleGraph = new double[101][101][3];
-            singleGraphIsDefined = new boolean[101][101];
-            Variable.setValue(this.varAbsc, x_0);
-            Variable.setValue(this.varOrd, y_0);
-            for (int i = 0; i <= 100; i++) {
-                for (int j = 0; j <= 100; j++) {
-                    singleGraph[i][j][0] = x_0 + (x_1 - x_0) * i / 100;
-                    singleGraph[i][j][1] = y_0 + (y_1 - y_0) * j / 100;
-                    Variable.setValue(this.varAbsc, x_0 + (x_1 - x_0) * i / 100);
-                    Variable.setValue(this.varOrd, y_0 + (y_1 - y_0) * j / 100);
-                    try {
-                        singleGraph[i][j][2] = expr.evaluate();
-                        singleGraphIsDefined[i][j] = true;
-                    } catch (EvaluationException e) {
-                        singleGraph[i][j][2] = Double.NaN;
-                        singleGraphIsDefined[i][j] = false;
-                    }
-                }
-            }
-            this.graphs3D.add(singleGraph);
-            this.graphs3DAreDefined.add(singleGraphIsDefined);
-
+            singleGraph = GridSampler.sample(expr, this.varAbsc, this.varOrd, x_0, x_1, y_0, y_1,
+                    this.numberOfIntervals, this.numberOfIntervals);
+            this.graphs3D.add(singleGraph.toGraph3D());
+            this.graphs3DAreDefined.add(singleGraph.toDefinedPointsArray());
         }
 
         // Zeichenbereich berechnen.
@@ -152,13 +155,18 @@ public class GraphicPanel3D extends AbstractGraphicPanel3D {
      */
     private void convertGraphsToCoarserGraphs() {
 
-        int numberOfIntervals = (int) (50 * this.zoomfactor);
+        // Anzahl der gezeichneten Gitterpunkte pro Achse (höchstens MAX_NUMBER_OF_POINTS_FOR_GRAPHIC).
+        int numberOfPoints = (int) (MAX_NUMBER_OF_POINTS_FOR_GRAPHIC * this.zoomfactor);
 
-        if (numberOfIntervals > 50) {
-            numberOfIntervals = 50;
+        if (numberOfPoints > MAX_NUMBER_OF_POINTS_FOR_GRAPHIC) {
+            numberOfPoints = MAX_NUMBER_OF_POINTS_FOR_GRAPHIC;
         }
-        if (numberOfIntervals < 2) {
-            numberOfIntervals = 2;
+        if (numberOfPoints < 2) {
+            numberOfPoints = 2;
+        }
+
+        if (this.renderPipeline != null && this.numberOfPointsForGraphic == numberOfPoints) {
+            return;
         }
 
         this.graphs3DForGraphic = new ArrayList<>();
@@ -168,25 +176,24 @@ public class GraphicPanel3D extends AbstractGraphicPanel3D {
         this.graphs3DAreDefined.clear();
         for (double[][][] graph3D : this.graphs3D) {
 
-            graph3DForGraphic = new double[numberOfIntervals][numberOfIntervals][3];
-            coarserGraph3DIsDefined = new boolean[numberOfIntervals][numberOfIntervals];
+            /*
+             Ist der Graph gröber abgetastet als gezeichnet wird, so werden alle
+             Gitterpunkte übernommen, andernfalls werden die Gitterpunkte
+             gleichmäßig ausgedünnt.
+             */
+            int numberOfPointsI = Math.min(numberOfPoints, graph3D.length);
+            int numberOfPointsJ = Math.min(numberOfPoints, graph3D[0].length);
+            graph3DForGraphic = new double[numberOfPointsI][numberOfPointsJ][3];
+            coarserGraph3DIsDefined = new boolean[numberOfPointsI][numberOfPointsJ];
 
             int currentIndexI, currentIndexJ;
 
-            for (int i = 0; i < numberOfIntervals; i++) {
+            for (int i = 0; i < numberOfPointsI; i++) {
 
-                if (graph3D.length <= numberOfIntervals) {
-                    currentIndexI = graph3D.length - 1;
-                } else {
-                    currentIndexI = (int) (i * ((double) graph3D.length - 1) / (numberOfIntervals - 1));
-                }
+                currentIndexI = (int) Math.round(i * ((double) graph3D.length - 1) / (numberOfPointsI - 1));
 
-                for (int j = 0; j < numberOfIntervals; j++) {
-                    if (graph3D[0].length <= numberOfIntervals) {
-                        currentIndexJ = graph3D[0].length - 1;
-                    } else {
-                        currentIndexJ = (int) (j * ((double) graph3D[0].length - 1) / (numberOfIntervals - 1));
-                    }
+                for (int j = 0; j < numberOfPointsJ; j++) {
+                    currentIndexJ = (int) Math.round(j * ((double) graph3D[0].length - 1) / (numberOfPointsJ - 1));
                     graph3DForGraphic[i][j][0] = graph3D[currentIndexI][currentIndexJ][0];
                     graph3DForGraphic[i][j][1] = graph3D[currentIndexI][currentIndexJ][1];
                     graph3DForGraphic[i][j][2] = graph3D[currentIndexI][currentIndexJ][2];
@@ -201,307 +208,21 @@ public class GraphicPanel3D extends AbstractGraphicPanel3D {
 
         }
 
-    }
-
-    /**
-     * Zeichnet ein (tangentiales) viereckiges Plättchen eines 3D-Graphen.
-     */
-    private void drawInfinitesimalTangentSpace(int x_1, int y_1, int x_2, int y_2,
-            int x_3, int y_3, int x_4, int y_4, Graphics g, Color c) {
-
-        GeneralPath tangent = new GeneralPath(GeneralPath.WIND_EVEN_ODD, 4);
-        tangent.moveTo(x_1, y_1);
-        tangent.lineTo(x_2, y_2);
-        tangent.lineTo(x_3, y_3);
-        tangent.lineTo(x_4, y_4);
-        tangent.closePath();
-        Graphics2D g2 = (Graphics2D) g;
-
-        if (presentationMode.equals(PresentationMode.WHOLE_GRAPH)) {
-            g2.setPaint(c);
-            g2.fill(tangent);
-        }
-
-        switch (backgroundColorMode) {
-            case BRIGHT:
-                switch (presentationMode) {
-                    case WHOLE_GRAPH:
-                        g2.setPaint(gridColorWholeGraphBright);
-                        break;
-                    case GRID_ONLY:
-                        g2.setPaint(gridColorGridOnlyBright);
-                        break;
-                }
-                break;
-            case DARK:
-                switch (presentationMode) {
-                    case WHOLE_GRAPH:
-                        g2.setPaint(gridColorWholeGraphDark);
-                        break;
-                    case GRID_ONLY:
-                        g2.setPaint(gridColorGridOnlyDark);
-                        break;
-                }
-                break;
-        }
-
-        g2.draw(tangent);
+        this.renderPipeline = createRenderPipeline();
+        this.numberOfPointsForGraphic = numberOfPoints;
 
     }
 
     /**
-     * Berechnet die Höhe des Schwerpunktes eines Tangentialplättchens, falls es
-     * definiert ist.
+     * Erzeugt aus den (vergröberten) Graphen die Polygone für das Zeichnen.
+     * Gezeichnet werden nur Plättchen, deren vier Ecken definiert sind.
      */
-    private double computeAverageHeightOfInfinitesimalTangentSpace(int indexOfGraph3D, int i, int j) {
-
-        double averageHeightOfTangentSpace = 0;
-        int numberOfDefinedBorderPoints = 0;
-
-        if (this.graphs3DAreDefined.get(indexOfGraph3D)[i][j]) {
-            averageHeightOfTangentSpace += this.graphs3DForGraphic.get(indexOfGraph3D)[i][j][2];
-            numberOfDefinedBorderPoints++;
-        }
-        if (this.graphs3DAreDefined.get(indexOfGraph3D)[i + 1][j]) {
-            averageHeightOfTangentSpace += this.graphs3DForGraphic.get(indexOfGraph3D)[i + 1][j][2];
-            numberOfDefinedBorderPoints++;
-        }
-        if (this.graphs3DAreDefined.get(indexOfGraph3D)[i][j + 1]) {
-            averageHeightOfTangentSpace += this.graphs3DForGraphic.get(indexOfGraph3D)[i][j + 1][2];
-            numberOfDefinedBorderPoints++;
-        }
-        if (this.graphs3DAreDefined.get(indexOfGraph3D)[i + 1][j + 1]) {
-            averageHeightOfTangentSpace += this.graphs3DForGraphic.get(indexOfGraph3D)[i + 1][j + 1][2];
-            numberOfDefinedBorderPoints++;
-        }
-
-        if (numberOfDefinedBorderPoints == 4) {
-            return averageHeightOfTangentSpace / numberOfDefinedBorderPoints;
-        }
-        return Double.NaN;
-
-    }
-
-    /**
-     * Zeichnet alle 3D-Graphen in kartesischen Koordinaten.
-     */
-    private void drawGraphsFromGraphs3DForGraphic(Graphics g, double minExpr, double maxExpr) {
-
-        int numberOfIntervalsAlongAbsc = 0;
-        int numberOfIntervalsAlongOrd = 0;
-
-        // Anzahl der Intervalle für das Zeichnen ermitteln.
-        for (double[][][] graph3DForGraphic : this.graphs3DForGraphic) {
-            if (graph3DForGraphic.length > 0) {
-                numberOfIntervalsAlongAbsc = graph3DForGraphic.length - 1;
-                numberOfIntervalsAlongOrd = graph3DForGraphic[0].length - 1;
-                break;
-            }
-        }
-
-        // Dann können keine Graphen gezeichnet werden.
-        if (numberOfIntervalsAlongAbsc == 0 || numberOfIntervalsAlongOrd == 0) {
-            return;
-        }
-
-        // Koordinaten der einzelnen Graphen in graphische Koordinaten umwandeln
-        ArrayList<int[][][]> graphicalGraphs = new ArrayList<>();
-        int[][][] graphicalGraph;
-
+    private RenderPipeline3D createRenderPipeline() {
+        RenderPipeline3D pipeline = new RenderPipeline3D();
         for (int k = 0; k < this.graphs3DForGraphic.size(); k++) {
-            graphicalGraph = new int[numberOfIntervalsAlongAbsc + 1][numberOfIntervalsAlongOrd + 1][2];
-            for (int i = 0; i < numberOfIntervalsAlongAbsc + 1; i++) {
-                for (int j = 0; j < numberOfIntervalsAlongOrd + 1; j++) {
-                    graphicalGraph[i][j] = convertToPixel(this.graphs3DForGraphic.get(k)[i][j][0], this.graphs3DForGraphic.get(k)[i][j][1],
-                            this.graphs3DForGraphic.get(k)[i][j][2]);
-                }
-            }
-            graphicalGraphs.add(graphicalGraph);
-        }
-
-        /*
-         Jetzt wird der Graph, abhängig vom Winkel angle, gezeichnet. Es muss
-         deshalb nach dem Winkel unterschieden werden, da der Graph stets "von
-         hinten nach vorne" gezeichnet werden soll. Voraussetzung: 0 <= angle
-         < 360.
-         */
-        HashMap<Integer, Double> heightsOfCentersOfInfinitesimalTangentSpaces = new HashMap<>();
-        Double heightOfCentersOfInfinitesimalTangentSpace;
-        ArrayList<Integer> indices;
-
-        if (this.angle <= 90) {
-
-            for (int i = 0; i < numberOfIntervalsAlongAbsc; i++) {
-
-                for (int j = 0; j < numberOfIntervalsAlongOrd; j++) {
-
-                    // Alle Schwerpunkte der einzelnen Tangentialplättchen berechnen.
-                    heightsOfCentersOfInfinitesimalTangentSpaces.clear();
-                    for (int k = 0; k < this.graphs3DForGraphic.size(); k++) {
-                        heightOfCentersOfInfinitesimalTangentSpace = computeAverageHeightOfInfinitesimalTangentSpace(k, i, numberOfIntervalsAlongOrd - j - 1);
-                        if (!heightOfCentersOfInfinitesimalTangentSpace.equals(Double.NaN)) {
-                            heightsOfCentersOfInfinitesimalTangentSpaces.put(k, heightOfCentersOfInfinitesimalTangentSpace);
-                        }
-                    }
-                    // Indizes für eine aufsteigende Ordnung berechnen.
-                    indices = getIndicesForAscendingSorting(heightsOfCentersOfInfinitesimalTangentSpaces);
-
-                    for (int k = 0; k < indices.size(); k++) {
-
-                        Color c = computeColor(this.colors.get(indices.get(k)), minExpr, maxExpr, this.graphs3DForGraphic.get(indices.get(k))[i][numberOfIntervalsAlongOrd - j - 1][2]);
-                        // Für die vorkommenden Indizes ist der entsprechende Graph automatisch in allen 4 Randpunkten definiert.
-                        drawInfinitesimalTangentSpace(graphicalGraphs.get(indices.get(k))[i][numberOfIntervalsAlongOrd - j - 1][0], graphicalGraphs.get(indices.get(k))[i][numberOfIntervalsAlongOrd - j - 1][1],
-                                graphicalGraphs.get(indices.get(k))[i + 1][numberOfIntervalsAlongOrd - j - 1][0], graphicalGraphs.get(indices.get(k))[i + 1][numberOfIntervalsAlongOrd - j - 1][1],
-                                graphicalGraphs.get(indices.get(k))[i + 1][numberOfIntervalsAlongOrd - j][0], graphicalGraphs.get(indices.get(k))[i + 1][numberOfIntervalsAlongOrd - j][1],
-                                graphicalGraphs.get(indices.get(k))[i][numberOfIntervalsAlongOrd - j][0], graphicalGraphs.get(indices.get(k))[i][numberOfIntervalsAlongOrd - j][1],
-                                g, c);
-
-                    }
-
-                }
-
-            }
-
-        } else if (this.angle <= 180) {
-
-            for (int i = 0; i < numberOfIntervalsAlongAbsc; i++) {
-
-                for (int j = 0; j < numberOfIntervalsAlongOrd; j++) {
-
-                    // Alle Schwerpunkte der einzelnen Tangentialplättchen berechnen.
-                    heightsOfCentersOfInfinitesimalTangentSpaces.clear();
-                    for (int k = 0; k < this.graphs3DForGraphic.size(); k++) {
-                        heightOfCentersOfInfinitesimalTangentSpace = computeAverageHeightOfInfinitesimalTangentSpace(k, i, j);
-                        if (!heightOfCentersOfInfinitesimalTangentSpace.equals(Double.NaN)) {
-                            heightsOfCentersOfInfinitesimalTangentSpaces.put(k, heightOfCentersOfInfinitesimalTangentSpace);
-                        }
-                    }
-                    // Indizes für eine aufsteigende Ordnung berechnen.
-                    indices = getIndicesForAscendingSorting(heightsOfCentersOfInfinitesimalTangentSpaces);
-
-                    for (int k = 0; k < indices.size(); k++) {
-
-                        Color c = computeColor(this.colors.get(indices.get(k)), minExpr, maxExpr, this.graphs3DForGraphic.get(indices.get(k))[i][j][2]);
-                        // Für die vorkommenden Indizes ist der entsprechende Graph automatisch in allen 4 Randpunkten definiert.
-                        drawInfinitesimalTangentSpace(graphicalGraphs.get(indices.get(k))[i][j][0], graphicalGraphs.get(indices.get(k))[i][j][1],
-                                graphicalGraphs.get(indices.get(k))[i + 1][j][0], graphicalGraphs.get(indices.get(k))[i + 1][j][1],
-                                graphicalGraphs.get(indices.get(k))[i + 1][j + 1][0], graphicalGraphs.get(indices.get(k))[i + 1][j + 1][1],
-                                graphicalGraphs.get(indices.get(k))[i][j + 1][0], graphicalGraphs.get(indices.get(k))[i][j + 1][1],
-                                g, c);
-
-                    }
-
-                }
-
-            }
-
-        } else if (this.angle <= 270) {
-
-            for (int i = 0; i < numberOfIntervalsAlongAbsc; i++) {
-
-                for (int j = 0; j < numberOfIntervalsAlongOrd; j++) {
-
-                    // Alle Schwerpunkte der einzelnen Tangentialplättchen berechnen.
-                    heightsOfCentersOfInfinitesimalTangentSpaces.clear();
-                    for (int k = 0; k < this.graphs3DForGraphic.size(); k++) {
-                        heightOfCentersOfInfinitesimalTangentSpace = computeAverageHeightOfInfinitesimalTangentSpace(k, numberOfIntervalsAlongAbsc - i - 1, j);
-                        if (!heightOfCentersOfInfinitesimalTangentSpace.equals(Double.NaN)) {
-                            heightsOfCentersOfInfinitesimalTangentSpaces.put(k, heightOfCentersOfInfinitesimalTangentSpace);
-                        }
-                    }
-                    // Indizes für eine aufsteigende Ordnung berechnen.
-                    indices = getIndicesForAscendingSorting(heightsOfCentersOfInfinitesimalTangentSpaces);
-
-                    for (int k = 0; k < indices.size(); k++) {
-
-                        Color c = computeColor(this.colors.get(indices.get(k)), minExpr, maxExpr, this.graphs3DForGraphic.get(indices.get(k))[numberOfIntervalsAlongAbsc - i - 1][j][2]);
-                        // Für die vorkommenden Indizes ist der entsprechende Graph automatisch in allen 4 Randpunkten definiert.
-                        drawInfinitesimalTangentSpace(graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i - 1][j][0], graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i - 1][j][1],
-                                graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i][j][0], graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i][j][1],
-                                graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i][j + 1][0], graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i][j + 1][1],
-                                graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i - 1][j + 1][0], graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i - 1][j + 1][1],
-                                g, c);
-
-                    }
-
-                }
-
-            }
-
-        } else {
-
-            for (int i = 0; i < numberOfIntervalsAlongAbsc; i++) {
-
-                for (int j = 0; j < numberOfIntervalsAlongOrd; j++) {
-
-                    // Alle Schwerpunkte der einzelnen Tangentialplättchen berechnen.
-                    heightsOfCentersOfInfinitesimalTangentSpaces.clear();
-                    for (int k = 0; k < this.graphs3DForGraphic.size(); k++) {
-                        heightOfCentersOfInfinitesimalTangentSpace = computeAverageHeightOfInfinitesimalTangentSpace(k, numberOfIntervalsAlongAbsc - i - 1, numberOfIntervalsAlongOrd - j - 1);
-                        if (!heightOfCentersOfInfinitesimalTangentSpace.equals(Double.NaN)) {
-                            heightsOfCentersOfInfinitesimalTangentSpaces.put(k, heightOfCentersOfInfinitesimalTangentSpace);
-                        }
-                    }
-                    // Indizes für eine aufsteigende Ordnung berechnen.
-                    indices = getIndicesForAscendingSorting(heightsOfCentersOfInfinitesimalTangentSpaces);
-
-                    for (int k = 0; k < indices.size(); k++) {
-
-                        Color c = computeColor(this.colors.get(indices.get(k)), minExpr, maxExpr, this.graphs3DForGraphic.get(indices.get(k))[numberOfIntervalsAlongAbsc - i - 1][numberOfIntervalsAlongOrd - j - 1][2]);
-                        // Für die vorkommenden Indizes ist der entsprechende Graph automatisch in allen 4 Randpunkten definiert.
-                        drawInfinitesimalTangentSpace(graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i - 1][numberOfIntervalsAlongOrd - j - 1][0], graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i - 1][numberOfIntervalsAlongOrd - j - 1][1],
-                                graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i][numberOfIntervalsAlongOrd - j - 1][0], graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i][numberOfIntervalsAlongOrd - j - 1][1],
-                                graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i][numberOfIntervalsAlongOrd - j][0], graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i][numberOfIntervalsAlongOrd - j][1],
-                                graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i - 1][numberOfIntervalsAlongOrd - j][0], graphicalGraphs.get(indices.get(k))[numberOfIntervalsAlongAbsc - i - 1][numberOfIntervalsAlongOrd - j][1],
-                                g, c);
-
-                    }
-
-                }
-
-            }
-
+            pipeline.addGrid(k, this.graphs3DForGraphic.get(k), this.graphs3DAreDefined.get(k));
         }
-
-    }
-
-    /**
-     * Hilfsmethode. Gibt eine Liste von Indizes zurück, gemäß welcher die
-     * Double-Werte im HashMap im Parameter aufsteigend sortiert sind.
-     */
-    private static ArrayList<Integer> getIndicesForAscendingSorting(HashMap<Integer, Double> centersOfInfinitesimalTangentSpaces) {
-
-        HashMap<Integer, Double> copyOfCenters = new HashMap<>();
-        ArrayList<Integer> sortedCenters = new ArrayList<>();
-
-        // Manuell kopieren. clone() traue ich nicht!
-        for (Integer i : centersOfInfinitesimalTangentSpaces.keySet()) {
-            copyOfCenters.put(i, centersOfInfinitesimalTangentSpaces.get(i));
-        }
-
-        int indexWithLeastElement;
-        double minimalValue;
-        while (!copyOfCenters.isEmpty()) {
-
-            indexWithLeastElement = -1;
-            minimalValue = Double.POSITIVE_INFINITY;
-            for (Integer i : copyOfCenters.keySet()) {
-                if (indexWithLeastElement == -1) {
-                    indexWithLeastElement = i;
-                    minimalValue = copyOfCenters.get(i);
-                } else if (copyOfCenters.get(i) < minimalValue) {
-                    indexWithLeastElement = i;
-                    minimalValue = copyOfCenters.get(i);
-                }
-            }
-
-            sortedCenters.add(indexWithLeastElement);
-            copyOfCenters.remove(indexWithLeastElement);
-
-        }
-
-        return sortedCenters;
-
+        return pipeline;
     }
 
     /**
@@ -572,7 +293,7 @@ public class GraphicPanel3D extends AbstractGraphicPanel3D {
         drawLevelsOnWest(g, this.varAbsc, this.varOrd, null);
         drawLevelsOnNorth(g, this.varAbsc, this.varOrd, null);
         drawLevelsBottom(g);
-        drawGraphsFromGraphs3DForGraphic(g, minExpr, maxExpr);
+        drawRenderPipeline(this.renderPipeline, g, this.colors, minExpr, maxExpr);
 
     }
 
@@ -3,6 +3,7 @@ package graphic.swing;
 import exceptions.EvaluationException;
 import abstractexpressions.expression.classes.Expression;
 import graphic.util.MarchingSquare;
+import graphic.util.MarchingSquaresGrid;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.util.ArrayList;
@@ -19,7 +20,10 @@ public class GraphicPanelImplicit2D extends AbstractGraphicPanel2D {
      */
     private List<Expression> exprs = new ArrayList<>();
 
-    private MarchingSquare[][] implicitGraph2D;
+    private MarchingSquaresGrid implicitGraph2D;
+
+    // Puffer für die Werte an den Ecken des gerade gezeichneten Quadrats.
+    private final double[][] vertexValuesOfCurrentSquare = new double[2][2];
 
     private GraphPointsInMarchingSquare[][] graphPoints;
 
@@ -93,9 +97,9 @@ public class GraphicPanelImplicit2D extends AbstractGraphicPanel2D {
     }
 
     private void drawMarchingSquares(Graphics g) {
-        this.graphPoints = new GraphPointsInMarchingSquare[this.implicitGraph2D.length][this.implicitGraph2D[0].length];
-        for (int i = 0; i < this.implicitGraph2D.length; i++) {
-            for (int j = 0; j < this.implicitGraph2D.length; j++) {
+        this.graphPoints = new GraphPointsInMarchingSquare[this.implicitGraph2D.getNumberOfIntervalsX()][this.implicitGraph2D.getNumberOfIntervalsY()];
+        for (int i = 0; i < this.implicitGraph2D.getNumberOfIntervalsX(); i++) {
+            for (int j = 0; j < this.implicitGraph2D.getNumberOfIntervalsY(); j++) {
                 drawSingleMarchingSquareAndComputeGraphPoints(g, i, j);
             }
         }
@@ -104,8 +108,7 @@ public class GraphicPanelImplicit2D extends AbstractGraphicPanel2D {
     private void drawSingleMarchingSquareAndComputeGraphPoints(Graphics g, int i, int j) {
 
         int[] pixel, pixelNext;
-        MarchingSquare square = this.implicitGraph2D[i][j];
-        Double[][] squareVertexValues = this.implicitGraph2D[i][j].getVertexValues();
+        double[][] squareVertexValues = this.implicitGraph2D.getVertexValues(i, j, this.vertexValuesOfCurrentSquare);
 
         this.graphPoints[i][j] = new GraphPointsInMarchingSquare();
 
@@ -113,7 +116,7 @@ public class GraphicPanelImplicit2D extends AbstractGraphicPanel2D {
         Sonderfall: Alle Ecken haben die Werte 0. Dann soll das Rechteck 
         komplett gefüllt werden.
          */
-        if (square.isZeroSquare()) {
+        if (this.implicitGraph2D.isZeroSquare(i, j)) {
             this.graphPoints[i][j].addPoints(getWrappedCoordinates(i, j),
                     getWrappedCoordinates(i + 1, j),
                     getWrappedCoordinates(i, j + 1),
@@ -122,8 +125,8 @@ public class GraphicPanelImplicit2D extends AbstractGraphicPanel2D {
             return;
         }
 
-        int numberOfIntervalsAlongX = this.implicitGraph2D.length;
-        int numberOfIntervalsAlongY = this.implicitGraph2D[0].length;
+        int numberOfIntervalsAlongX = this.implicitGraph2D.getNumberOfIntervalsX();
+        int numberOfIntervalsAlongY = this.implicitGraph2D.getNumberOfIntervalsY();
         double deltaX = 2 * this.maxX / numberOfIntervalsAlongX;
         double deltaY = 2 * this.maxY / numberOfIntervalsAlongY;
         double[] vertexCoordinates;
@@ -131,7 +134,7 @@ public class GraphicPanelImplicit2D extends AbstractGraphicPanel2D {
         double coordinateX, coordinateY;
 
         // Behandlung aller Fälle, in denen isolierte Ecken vorliegen.
-        if (square.getNumberOfInnerVertices() == 3) {
+        if (this.implicitGraph2D.getNumberOfInnerVertices(i, j) == 3) {
             if (squareVertexValues[0][0] >= 0) {
                 vertexCoordinates = getCoordinates(i, j);
                 coordinateX = vertexCoordinates[0] + deltaX * getFactor(squareVertexValues[0][0], squareVertexValues[1][0]);
@@ -177,7 +180,7 @@ public class GraphicPanelImplicit2D extends AbstractGraphicPanel2D {
                 pixelNext = convertToPixel(coordinateX, coordinateY);
                 g.drawLine(pixel[0], pixel[1], pixelNext[0], pixelNext[1]);
             }
-        } else if (square.getNumberOfInnerVertices() <= 2) {
+        } else if (this.implicitGraph2D.getNumberOfInnerVertices(i, j) <= 2) {
             if (squareVertexValues[0][0] <= 0 && squareVertexValues[1][0] > 0 && squareVertexValues[0][1] > 0) {
                 vertexCoordinates = getCoordinates(i, j);
                 coordinateX = vertexCoordinates[0] + deltaX * getFactor(squareVertexValues[0][0], squareVertexValues[1][0]);
@@ -282,8 +285,8 @@ public class GraphicPanelImplicit2D extends AbstractGraphicPanel2D {
      * Graphen aus.
      */
     private void drawSingleZeroMarchingSquare(Graphics g, int i, int j) {
-        int numberOfIntervalsAlongX = this.implicitGraph2D.length;
-        int numberOfIntervalsAlongY = this.implicitGraph2D[0].length;
+        int numberOfIntervalsAlongX = this.implicitGraph2D.getNumberOfIntervalsX();
+        int numberOfIntervalsAlongY = this.implicitGraph2D.getNumberOfIntervalsY();
         double deltaX = 2 * this.maxX / numberOfIntervalsAlongX;
         double deltaY = 2 * this.maxY / numberOfIntervalsAlongY;
         double[] vertexCoordinates = getCoordinates(i, j);
@@ -294,15 +297,15 @@ public class GraphicPanelImplicit2D extends AbstractGraphicPanel2D {
 
     private double[] getCoordinates(int i, int j) {
         double[] coordinates = new double[2];
-        coordinates[0] = this.axeCenterX - this.maxX + 2 * i * this.maxX / this.implicitGraph2D.length;
-        coordinates[1] = this.axeCenterY - this.maxY + 2 * j * this.maxY / this.implicitGraph2D[0].length;
+        coordinates[0] = this.axeCenterX - this.maxX + 2 * i * this.maxX / this.implicitGraph2D.getNumberOfIntervalsX();
+        coordinates[1] = this.axeCenterY - this.maxY + 2 * j * this.maxY / this.implicitGraph2D.getNumberOfIntervalsY();
         return coordinates;
     }
 
     private Double[] getWrappedCoordinates(int i, int j) {
         Double[] coordinates = new Double[2];
-        coordinates[0] = this.axeCenterX - this.maxX + 2 * i * this.maxX / this.implicitGraph2D.length;
-        coordinates[1] = this.axeCenterY - this.maxY + 2 * j * this.maxY / this.implicitGraph2D[0].length;
+        coordinates[0] = this.axeCenterX - this.maxX + 2 * i * this.maxX / this.implicitGraph2D.getNumberOfIntervalsX();
+        coordinates[1] = this.axeCenterY - this.maxY + 2 * j * this.maxY / this.implicitGraph2D.getNumberOfIntervalsY();
         return coordinates;
     }
 
@@ -332,6 +335,17 @@ public class GraphicPanelImplicit2D extends AbstractGraphicPanel2D {
      * @throws EvaluationException
      */
     public void drawImplicitGraph2D(MarchingSquare[][] implicitGraph2D, Expression exprAbscStart, Expression exprAbscEnd, Expression exprOrdStart, Expression exprOrdEnd) throws EvaluationException {
+        drawImplicitGraph2D(MarchingSquaresGrid.fromMarchingSquares(implicitGraph2D), exprAbscStart, exprAbscEnd, exprOrdStart, exprOrdEnd);
+    }
+
+    /**
+     * Hauptmethode zum Zeichnen eines Graphen einer implizit gegebenen
+     * Funktion, deren Werte als MarchingSquaresGrid vorliegen (etwa aus
+     * NumericalUtils.solveImplicitEquation2D() mit vorgegebener Auflösung).
+     *
+     * @throws EvaluationException
+     */
+    public void drawImplicitGraph2D(MarchingSquaresGrid implicitGraph2D, Expression exprAbscStart, Expression exprAbscEnd, Expression exprOrdStart, Expression exprOrdEnd) throws EvaluationException {
         this.implicitGraph2D = implicitGraph2D;
         computeScreenSizes(exprAbscStart, exprAbscEnd, exprOrdStart, exprOrdEnd);
         repaint();
@@ -349,10 +363,10 @@ public class GraphicPanelImplicit2D extends AbstractGraphicPanel2D {
     @Override
     protected void drawMousePointOnGraph(Graphics g) {
 
-        int minIndexX = Math.max(0, (int) Math.round((double) (this.mouseCoordinateX * this.implicitGraph2D.length) / 500) - (this.implicitGraph2D.length * MOUSE_DISTANCE_FOR_SHOWING_POINT / 500));
-        int maxIndexX = Math.min(this.implicitGraph2D.length - 1, (int) Math.round((double) (this.mouseCoordinateX * this.implicitGraph2D.length) / 500) + (this.implicitGraph2D.length * MOUSE_DISTANCE_FOR_SHOWING_POINT / 500));
-        int minIndexY = Math.max(0, (int) Math.round((double) ((500 - this.mouseCoordinateY) * this.implicitGraph2D[0].length) / 500) - (this.implicitGraph2D[0].length * MOUSE_DISTANCE_FOR_SHOWING_POINT / 500));
-        int maxIndexY = Math.min(this.implicitGraph2D[0].length - 1, (int) Math.round((double) ((500 - this.mouseCoordinateY) * this.implicitGraph2D[0].length) / 500) + (this.implicitGraph2D[0].length * MOUSE_DISTANCE_FOR_SHOWING_POINT / 500));
+        int minIndexX = Math.max(0, (int) Math.round((double) (this.mouseCoordinateX * this.implicitGraph2D.getNumberOfIntervalsX()) / 500) - (this.implicitGraph2D.getNumberOfIntervalsX() * MOUSE_DISTANCE_FOR_SHOWING_POINT / 500));
+        int maxIndexX = Math.min(this.implicitGraph2D.getNumberOfIntervalsX() - 1, (int) Math.round((double) (this.mouseCoordinateX * this.implicitGraph2D.getNumberOfIntervalsX()) / 500) + (this.implicitGraph2D.getNumberOfIntervalsX() * MOUSE_DISTANCE_FOR_SHOWING_POINT / 500));
+        int minIndexY = Math.max(0, (int) Math.round((double) ((500 - this.mouseCoordinateY) * this.implicitGraph2D.getNumberOfIntervalsY()) / 500) - (this.implicitGraph2D.getNumberOfIntervalsY() * MOUSE_DISTANCE_FOR_SHOWING_POINT / 500));
+        int maxIndexY = Math.min(this.implicitGraph2D.getNumberOfIntervalsY() - 1, (int) Math.round((double) ((500 - this.mouseCoordinateY) * this.implicitGraph2D.getNumberOfIntervalsY()) / 500) + (this.implicitGraph2D.getNumberOfIntervalsY() * MOUSE_DISTANCE_FOR_SHOWING_POINT / 500));
 
         int minimalDistance = -1;
         int currentDistance;
@@ -362,7 +376,7 @@ public class GraphicPanelImplicit2D extends AbstractGraphicPanel2D {
         for (int i = minIndexX; i <= maxIndexX; i++) {
             for (int j = minIndexY; j <= maxIndexY; j++) {
 
-                if (!this.implicitGraph2D[i][j].containsGraph()) {
+                if (!this.implicitGraph2D.containsGraph(i, j)) {
                     continue;
                 }
 
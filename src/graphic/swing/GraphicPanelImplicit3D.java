@@ -4,6 +4,7 @@ import exceptions.EvaluationException;
 import abstractexpressions.expression.classes.Expression;
 import static graphic.swing.AbstractGraphicPanel3D.presentationMode;
 import graphic.util.MarchingCube;
+import graphic.util.SurfaceMesh;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
@@ -25,6 +26,8 @@ public class GraphicPanelImplicit3D extends AbstractGraphicPanel3D {
 
     private MarchingCube[][][] implicitGraph3D;
     private MarchingCubeForComputation[][][] cubesForComputation;
+    // Dreiecksnetz des Graphen (falls dieser als SurfaceMesh übergeben wurde).
+    private SurfaceMesh implicitSurface;
     private final Color color = new Color(170, 100, 70);
 
     private double minX, minY, minZ;
@@ -836,6 +839,34 @@ public class GraphicPanelImplicit3D extends AbstractGraphicPanel3D {
 
     }
 
+    /**
+     * Zeichnet die Dreiecke von implicitSurface von hinten nach vorne.
+     */
+    private void drawSurfaceMesh(Graphics g) {
+
+        // Richtung, in welcher der Betrachter steht (in den Achsen auf gleiche Länge skaliert).
+        double directionX = Math.sin(this.angle / 180 * Math.PI) * Math.cos(this.verticalAngle / 180 * Math.PI) / (this.maxX - this.minX);
+        double directionY = -Math.cos(this.angle / 180 * Math.PI) * Math.cos(this.verticalAngle / 180 * Math.PI) / (this.maxY - this.minY);
+        double directionZ = Math.sin(this.verticalAngle / 180 * Math.PI) / (this.maxZ - this.minZ);
+
+        int[] pixel;
+        List<Point> polygon;
+        Color c;
+
+        for (int t : this.implicitSurface.getTrianglesSortedByDepth(directionX, directionY, directionZ)) {
+            polygon = new ArrayList<>();
+            for (int corner = 0; corner < 3; corner++) {
+                int vertex = this.implicitSurface.getTriangleVertex(t, corner);
+                pixel = convertToPixel(this.implicitSurface.getVertexCoordinate(vertex, 0),
+                        this.implicitSurface.getVertexCoordinate(vertex, 1), this.implicitSurface.getVertexCoordinate(vertex, 2));
+                polygon.add(new Point(pixel[0], pixel[1]));
+            }
+            c = computeColor(this.color, this.minZ, this.maxZ, this.implicitSurface.getTriangleCenterCoordinate(t, 2));
+            drawInfinitesimalTangentPolygone(g, c, polygon);
+        }
+
+    }
+
     /**
      * Hauptmethode zum Zeichnen von 3D-Graphen.
      */
@@ -848,7 +879,7 @@ public class GraphicPanelImplicit3D extends AbstractGraphicPanel3D {
          aber varAbsc und varOrd nicht initialisiert und es gibt eine
          Exception. Dies wird hiermit verhindert.
          */
-        if (this.implicitGraph3D.length == 0) {
+        if (this.implicitSurface == null && (this.implicitGraph3D == null || this.implicitGraph3D.length == 0)) {
             return;
         }
 
@@ -857,12 +888,17 @@ public class GraphicPanelImplicit3D extends AbstractGraphicPanel3D {
         drawLevelsOnWest(g, this.varAbsc, this.varOrd, this.varAppl);
         drawLevelsOnNorth(g, this.varAbsc, this.varOrd, this.varAppl);
         drawLevelsBottom(g);
-        drawMarchingCubesForComputation(g);
+        if (this.implicitSurface != null) {
+            drawSurfaceMesh(g);
+        } else {
+            drawMarchingCubesForComputation(g);
+        }
 
     }
 
     public void drawImplicitGraph3D(MarchingCube[][][] implicitGraph3D, Expression x_0, Expression x_1, Expression y_0, Expression y_1, Expression z_0, Expression z_1) throws EvaluationException {
         this.implicitGraph3D = implicitGraph3D;
+        this.implicitSurface = null;
         computeScreenSizes(x_0, x_1, y_0, y_1, z_0, z_1);
         MarchingCubeWithPolygons[][][] cubesWithPolygons = convertToMarchingCubesWithPolygones(implicitGraph3D);
         this.cubesForComputation = convertToMarchingCubesForComputation(cubesWithPolygons,
@@ -870,6 +906,21 @@ public class GraphicPanelImplicit3D extends AbstractGraphicPanel3D {
         repaint();
     }
 
+    /**
+     * Zeichnet einen implizit gegebenen 3D-Graphen, der bereits als
+     * Dreiecksnetz vorliegt (etwa aus NumericalUtils.solveImplicitEquation3D()
+     * mit vorgegebener Auflösung).
+     *
+     * @throws EvaluationException
+     */
+    public void drawImplicitGraph3D(SurfaceMesh implicitSurface, Expression x_0, Expression x_1, Expression y_0, Expression y_1, Expression z_0, Expression z_1) throws EvaluationException {
+        this.implicitSurface = implicitSurface;
+        this.implicitGraph3D = null;
+        this.cubesForComputation = null;
+        computeScreenSizes(x_0, x_1, y_0, y_1, z_0, z_1);
+        repaint();
+    }
+
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
@@ -2,12 +2,10 @@ package graphic.swing;
 
 import exceptions.EvaluationException;
 import abstractexpressions.expression.classes.Expression;
-import abstractexpressions.expression.classes.Variable;
+import graphic.util.RenderPipeline3D;
 import java.awt.Color;
 import java.awt.Graphics;
-import java.lang.reflect.Array;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 public class GraphicPanelSurface extends AbstractGraphicPanel3D {
@@ -28,6 +26,12 @@ public class GraphicPanelSurface extends AbstractGraphicPanel3D {
     private double[][][] surfaceGraph3D;
     private double[][][] surfaceGraph3DForGraphic;
     private boolean[][] surfaceGraph3DIsDefined;
+    /**
+     * Polygone der vergröberten Fläche. Diese werden nur bei Änderung der
+     * Auflösung neu erzeugt.
+     */
+    private RenderPipeline3D renderPipeline;
+    private int numberOfIntervalsForGraphic;
 
     private final List<Color> colors = new ArrayList<>();
 
@@ -93,15 +97,16 @@ public class GraphicPanelSurface extends AbstractGraphicPanel3D {
 
         this.surfaceGraph3D = new double[101][101][3];
         this.surfaceGraph3DIsDefined = new boolean[101][101];
+        this.renderPipeline = null;
 
         for (int i = 0; i <= 100; i++) {
             for (int j = 0; j <= 100; j++) {
-                Variable.setValue(this.varS, this.minS + (this.maxS - this.minS) * i / 100);
-                Variable.setValue(this.varT, this.minT + (this.maxT - this.minT) * j / 100);
+                this.evaluationContext.setValue(this.varS, this.minS + (this.maxS - this.minS) * i / 100);
+                this.evaluationContext.setValue(this.varT, this.minT + (this.maxT - this.minT) * j / 100);
                 try {
-                    this.surfaceGraph3D[i][j][0] = this.expr[0].evaluate();
-                    this.surfaceGraph3D[i][j][1] = this.expr[1].evaluate();
-                    this.surfaceGraph3D[i][j][2] = this.expr[2].evaluate();
+                    this.surfaceGraph3D[i][j][0] = this.expr[0].evaluate(this.evaluationContext);
+                    this.surfaceGraph3D[i][j][1] = this.expr[1].evaluate(this.evaluationContext);
+                    this.surfaceGraph3D[i][j][2] = this.expr[2].evaluate(this.evaluationContext);
                     this.surfaceGraph3DIsDefined[i][j] = true;
                 } catch (EvaluationException e) {
                     this.surfaceGraph3D[i][j][0] = Double.NaN;
@@ -133,6 +138,10 @@ public class GraphicPanelSurface extends AbstractGraphicPanel3D {
             numberOfIntervals = 2;
         }
 
+        if (this.renderPipeline != null && this.numberOfIntervalsForGraphic == numberOfIntervals) {
+            return;
+        }
+
         this.surfaceGraph3DForGraphic = new double[numberOfIntervals + 1][numberOfIntervals + 1][3];
         boolean[][] coarserGraph3DIsDefined = new boolean[numberOfIntervals + 1][numberOfIntervals + 1];
 
@@ -161,135 +170,9 @@ public class GraphicPanelSurface extends AbstractGraphicPanel3D {
 
         }
 
-        this.abstractGraph3D = (List<TangentPolygon>[][]) Array.newInstance(new ArrayList<TangentPolygon>().getClass(), numberOfIntervals, numberOfIntervals);
-        TangentPolygon polygon;
-        int indexI, indexJ;
-        double centerX, centerY;
-        for (int i = 0; i < numberOfIntervals; i++) {
-            for (int j = 0; j < numberOfIntervals; j++) {
-
-                polygon = new TangentPolygon();
-                if (coarserGraph3DIsDefined[i][j]) {
-                    polygon.addPoint(this.surfaceGraph3DForGraphic[i][j]);
-                }
-                if (coarserGraph3DIsDefined[i + 1][j]) {
-                    polygon.addPoint(this.surfaceGraph3DForGraphic[i + 1][j]);
-                }
-                if (coarserGraph3DIsDefined[i + 1][j + 1]) {
-                    polygon.addPoint(this.surfaceGraph3DForGraphic[i + 1][j + 1]);
-                }
-                if (coarserGraph3DIsDefined[i][j + 1]) {
-                    polygon.addPoint(this.surfaceGraph3DForGraphic[i][j + 1]);
-                }
-                centerX = polygon.getCenterX();
-                centerY = polygon.getCenterY();
-                indexI = (int) (numberOfIntervals * (centerX - this.minXOrigin) / (this.maxXOrigin - this.minXOrigin));
-                indexJ = (int) (numberOfIntervals * (centerY - this.minYOrigin) / (this.maxYOrigin - this.minYOrigin));
-                if (0 <= indexI && indexI < numberOfIntervals && 0 <= indexJ && indexJ < numberOfIntervals) {
-                    if (this.abstractGraph3D[indexI][indexJ] == null) {
-                        this.abstractGraph3D[indexI][indexJ] = new ArrayList<>();
-                    }
-                    this.abstractGraph3D[indexI][indexJ].add(polygon);
-                }
-
-            }
-        }
-
-        // In jedem Segment die einzelnen Tangentialplättchen der Höhe nach sortieren.
-        for (int i = 0; i < numberOfIntervals; i++) {
-            for (int j = 0; j < numberOfIntervals; j++) {
-                if (this.abstractGraph3D[i][j] == null) {
-                    this.abstractGraph3D[i][j] = new ArrayList<>();
-                }
-                Collections.sort(this.abstractGraph3D[i][j]);
-            }
-        }
-
-    }
-
-    /**
-     * Zeichnet die parametrisierte Fläche.
-     */
-    private void drawSurfaceFromSurfaceForGraphic(Graphics g) {
-
-        if (this.surfaceGraph3DForGraphic.length == 0) {
-            return;
-        }
-
-        // Anzahl der Intervalle für das Zeichnen ermitteln.
-        int numberOfIntervalsAlongAbsc = this.abstractGraph3D.length - 1;
-        int numberOfIntervalsAlongOrd = this.abstractGraph3D[0].length - 1;
-
-        // Dann können keine Graphen gezeichnet werden.
-        if (numberOfIntervalsAlongAbsc == 0 || numberOfIntervalsAlongOrd == 0) {
-            return;
-        }
-
-        if (this.angle <= 90) {
-
-            for (int i = 0; i < numberOfIntervalsAlongAbsc; i++) {
-                for (int j = 0; j < numberOfIntervalsAlongOrd; j++) {
-
-                    if (this.abstractGraph3D[i][numberOfIntervalsAlongOrd - j - 1].isEmpty()) {
-                        continue;
-                    }
-                    for (int k = 0; k < this.abstractGraph3D[i][numberOfIntervalsAlongOrd - j - 1].size(); k++) {
-                        Color c = computeColor(this.color, this.minZOrigin, this.maxZOrigin, this.abstractGraph3D[i][numberOfIntervalsAlongOrd - j - 1].get(k).getCenterZ());
-                        drawInfinitesimalTangentSpace(this.abstractGraph3D[i][numberOfIntervalsAlongOrd - j - 1].get(k), g, c);
-                    }
-
-                }
-            }
-
-        } else if (this.angle <= 180) {
-
-            for (int i = 0; i < numberOfIntervalsAlongAbsc; i++) {
-                for (int j = 0; j < numberOfIntervalsAlongOrd; j++) {
-
-                    if (this.abstractGraph3D[i][j].isEmpty()) {
-                        continue;
-                    }
-                    for (int k = 0; k < this.abstractGraph3D[i][j].size(); k++) {
-                        Color c = computeColor(this.color, this.minZ, this.maxZ, this.abstractGraph3D[i][j].get(k).getCenterZ());
-                        drawInfinitesimalTangentSpace(this.abstractGraph3D[i][j].get(k), g, c);
-                    }
-
-                }
-            }
-
-        } else if (this.angle <= 270) {
-
-            for (int i = 0; i < numberOfIntervalsAlongAbsc; i++) {
-                for (int j = 0; j < numberOfIntervalsAlongOrd; j++) {
-
-                    if (this.abstractGraph3D[numberOfIntervalsAlongAbsc - i - 1][j].isEmpty()) {
-                        continue;
-                    }
-                    for (int k = 0; k < this.abstractGraph3D[numberOfIntervalsAlongAbsc - i - 1][j].size(); k++) {
-                        Color c = computeColor(this.color, this.minZ, this.maxZ, this.abstractGraph3D[numberOfIntervalsAlongAbsc - i - 1][j].get(k).getCenterZ());
-                        drawInfinitesimalTangentSpace(this.abstractGraph3D[numberOfIntervalsAlongAbsc - i - 1][j].get(k), g, c);
-                    }
-
-                }
-            }
-
-        } else {
-
-            for (int i = 0; i < numberOfIntervalsAlongAbsc; i++) {
-                for (int j = 0; j < numberOfIntervalsAlongOrd; j++) {
-
-                    if (this.abstractGraph3D[numberOfIntervalsAlongAbsc - i - 1][numberOfIntervalsAlongOrd - j - 1].isEmpty()) {
-                        continue;
-                    }
-                    for (int k = 0; k < this.abstractGraph3D[numberOfIntervalsAlongAbsc - i - 1][numberOfIntervalsAlongOrd - j - 1].size(); k++) {
-                        Color c = computeColor(this.color, this.minZ, this.maxZ, this.abstractGraph3D[numberOfIntervalsAlongAbsc - i - 1][numberOfIntervalsAlongOrd - j - 1].get(k).getCenterZ());
-                        drawInfinitesimalTangentSpace(this.abstractGraph3D[numberOfIntervalsAlongAbsc - i - 1][numberOfIntervalsAlongOrd - j - 1].get(k), g, c);
-                    }
-
-                }
-            }
-
-        }
+        this.renderPipeline = new RenderPipeline3D();
+        this.renderPipeline.addGrid(0, this.surfaceGraph3DForGraphic, coarserGraph3DIsDefined);
+        this.numberOfIntervalsForGraphic = numberOfIntervals;
 
     }
 
@@ -316,7 +199,7 @@ public class GraphicPanelSurface extends AbstractGraphicPanel3D {
         drawLevelsOnWest(g, null, null, null);
         drawLevelsOnNorth(g, null, null, null);
         drawLevelsBottom(g);
-        drawSurfaceFromSurfaceForGraphic(g);
+        drawRenderPipeline(this.renderPipeline, g, getColors(), this.minZ, this.maxZ);
 
     }
 
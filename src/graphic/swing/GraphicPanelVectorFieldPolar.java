@@ -3,7 +3,6 @@ package graphic.swing;
 import exceptions.EvaluationException;
 import abstractexpressions.expression.classes.Constant;
 import abstractexpressions.expression.classes.Expression;
-import abstractexpressions.expression.classes.Variable;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.util.ArrayList;
@@ -109,12 +108,12 @@ public class GraphicPanelVectorFieldPolar extends AbstractGraphicPanel2D {
         double currentR;
         double currentPhi;
         if (this.vectorFieldExpr.isConstant()) {
-            Variable.setValue(this.varR, varRStart);
-            Variable.setValue(this.varPhi, varPhiStart);
+            this.evaluationContext.setValue(this.varR, varRStart);
+            this.evaluationContext.setValue(this.varPhi, varPhiStart);
             double constRValue, constPhiValue;
             try {
-                constRValue = this.vectorFieldExpr.getEntry(0, 0).evaluate();
-                constPhiValue = this.vectorFieldExpr.getEntry(1, 0).evaluate();
+                constRValue = this.vectorFieldExpr.getEntry(0, 0).evaluate(this.evaluationContext);
+                constPhiValue = this.vectorFieldExpr.getEntry(1, 0).evaluate(this.evaluationContext);
             } catch (EvaluationException e) {
                 constRValue = Double.NaN;
                 constPhiValue = Double.NaN;
@@ -132,8 +131,8 @@ public class GraphicPanelVectorFieldPolar extends AbstractGraphicPanel2D {
                 }
             }
         } else {
-            Variable.setValue(this.varR, varRStart);
-            Variable.setValue(this.varPhi, varPhiStart);
+            this.evaluationContext.setValue(this.varR, varRStart);
+            this.evaluationContext.setValue(this.varPhi, varPhiStart);
             double vectorFieldREvaluated;
             double vectorFieldPhiEvaluated;
             for (int i = 0; i <= NUMBER_OF_SUBDIV_R; i++) {
@@ -143,11 +142,11 @@ public class GraphicPanelVectorFieldPolar extends AbstractGraphicPanel2D {
                     vectorFieldArrow = new double[4];
                     vectorFieldArrow[0] = currentR * Math.cos(currentPhi);
                     vectorFieldArrow[1] = currentR * Math.sin(currentPhi);
-                    Variable.setValue(this.varR, varRStart + (varREnd - varRStart) * i / NUMBER_OF_SUBDIV_R);
-                    Variable.setValue(this.varPhi, varPhiStart + (varPhiEnd - varPhiStart) * j / NUMBER_OF_SUBDIV_PHI);
+                    this.evaluationContext.setValue(this.varR, varRStart + (varREnd - varRStart) * i / NUMBER_OF_SUBDIV_R);
+                    this.evaluationContext.setValue(this.varPhi, varPhiStart + (varPhiEnd - varPhiStart) * j / NUMBER_OF_SUBDIV_PHI);
                     try {
-                        vectorFieldREvaluated = this.vectorFieldExpr.getEntry(0, 0).evaluate();
-                        vectorFieldPhiEvaluated = this.vectorFieldExpr.getEntry(1, 0).evaluate();
+                        vectorFieldREvaluated = this.vectorFieldExpr.getEntry(0, 0).evaluate(this.evaluationContext);
+                        vectorFieldPhiEvaluated = this.vectorFieldExpr.getEntry(1, 0).evaluate(this.evaluationContext);
                         vectorFieldArrow[2] = vectorFieldArrow[0] + vectorFieldREvaluated * Math.cos(vectorFieldPhiEvaluated);
                         vectorFieldArrow[3] = vectorFieldArrow[1] + vectorFieldREvaluated * Math.sin(vectorFieldPhiEvaluated);
                     } catch (EvaluationException e) {
@@ -274,13 +273,13 @@ public class GraphicPanelVectorFieldPolar extends AbstractGraphicPanel2D {
         double x = convertToEuclideanCoordinateX(this.mouseCoordinateX);
         double y = convertToEuclideanCoordinateY(this.mouseCoordinateY);
         double[] polarRep = getPolarRepresentation(x, y);
-        Variable.setValue(this.varR, polarRep[0]);
-        Variable.setValue(this.varPhi, polarRep[1]);
+        this.evaluationContext.setValue(this.varR, polarRep[0]);
+        this.evaluationContext.setValue(this.varPhi, polarRep[1]);
         try {
-            MatrixExpression vector = this.vectorFieldExpr.evaluate();
+            MatrixExpression vector = this.vectorFieldExpr;
             if (vector.isMatrix(2, 1)) {
-                double currentR = ((Matrix) vector).getEntry(0, 0).evaluate();
-                double currentPhi = ((Matrix) vector).getEntry(1, 0).evaluate();
+                double currentR = ((Matrix) vector).getEntry(0, 0).evaluate(this.evaluationContext);
+                double currentPhi = ((Matrix) vector).getEntry(1, 0).evaluate(this.evaluationContext);
                 int endPointVectorX = convertToPixelX(x + currentR * Math.cos(currentPhi));
                 int endPointVectorY = convertToPixelY(y + currentR * Math.sin(currentPhi));
                 drawCirclePoint(g, this.mouseCoordinateX, this.mouseCoordinateY, true);
@@ -0,0 +1,192 @@
+package graphic.util;
+
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.computation.AdaptiveCurveSampler;
+import abstractexpressions.expression.computation.CompiledExpression;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache für adaptiv abgetastete Graphen von Funktionen f(x). Die x-Achse wird
+ * in Kacheln der Breite 2^e zerlegt, wobei e von der aktuellen Pixelbreite
+ * abhängt. Jede Kachel wird (vgl. AdaptiveCurveSampler) bis auf eine
+ * Genauigkeit von 2^r abgetastet, wobei 2^r höchstens die aktuelle Pixelhöhe
+ * ist. Die Kacheln werden unter dem Schlüssel (Ausdruck, e, Index der Kachel,
+ * r) abgelegt. Beim Verschieben des sichtbaren Bereichs müssen daher nur die
+ * neu sichtbaren Kacheln, beim Zoomen nur die Kacheln der neuen Auflösung
+ * abgetastet werden.<br>
+ * Der Cache enthält höchstens capacity Kacheln, bei Überschreitung wird die am
+ * längsten nicht verwendete Kachel entfernt.<br>
+ * BEMERKUNG: Die Werte aller übrigen Variablen werden beim ersten Abtasten
+ * eines Ausdrucks eingefroren. Ändern sich diese, so muss der Cache mittels
+ * clear() geleert werden.
+ */
+public class CurveTileCache {
+
+    public static final int DEFAULT_CAPACITY = 512;
+
+    /**
+     * Minimale Breite einer Kachel in Pixeln.
+     */
+    private static final int MIN_TILE_WIDTH_IN_PIXELS = 64;
+
+    /**
+     * Anzahl der Teilintervalle einer Kachel vor der adaptiven Verfeinerung.
+     */
+    private static final int NUMBER_OF_INITIAL_INTERVALS_PER_TILE = 16;
+
+    /**
+     * Maximale Verfeinerungstiefe der Teilintervalle einer Kachel.
+     */
+    private static final int MAX_DEPTH = 6;
+
+    /**
+     * Maximale Anzahl der Kacheln, aus denen ein einzelner Graph
+     * zusammengesetzt wird.
+     */
+    private static final int MAX_NUMBER_OF_TILES_PER_GRAPH = 1024;
+
+    private static final class Key {
+
+        private final Expression expr;
+        private final int widthExponent;
+        private final long tileIndex;
+        private final int resolutionExponent;
+        private final int hash;
+
+        private Key(Expression expr, int widthExponent, long tileIndex, int resolutionExponent) {
+            this.expr = expr;
+            this.widthExponent = widthExponent;
+            this.tileIndex = tileIndex;
+            this.resolutionExponent = resolutionExponent;
+            this.hash = 31 * (31 * (31 * expr.getStructuralHash() + widthExponent) + (int) (tileIndex ^ (tileIndex >>> 32)))
+                    + resolutionExponent;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) obj;
+            return this.hash == key.hash && this.widthExponent == key.widthExponent && this.tileIndex == key.tileIndex
+                    && this.resolutionExponent == key.resolutionExponent && this.expr.equals(key.expr);
+        }
+
+    }
+
+    private final Map<Key, double[][]> tiles;
+    private final Map<Expression, CompiledExpression> compiledExpressions = new IdentityHashMap<>();
+    private String var;
+
+    private long hits = 0;
+    private long misses = 0;
+
+    public CurveTileCache(final int capacity) {
+        this.tiles = new LinkedHashMap<Key, double[][]>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, double[][]> eldest) {
+                return size() > capacity;
+            }
+
+        };
+    }
+
+    /**
+     * Gibt die Punkte {x, f(x)} des Graphen von f = expr im Bereich xStart
+     * &#8804; var &#8804; xEnd zurück (die Punkte können etwas über diesen
+     * Bereich hinausragen). Bereits abgetastete Kacheln werden dabei aus dem
+     * Cache genommen. pixelWidth und pixelHeight geben die Breite bzw. Höhe
+     * eines Pixels an.<br>
+     * VORAUSSETZUNG: expr hängt höchstens von var ab.
+     */
+    public double[][] getGraph(Expression expr, String var, double xStart, double xEnd, double pixelWidth, double pixelHeight) {
+
+        if (!(xStart < xEnd) || !(pixelWidth > 0) || !(pixelHeight > 0) || Double.isInfinite(xEnd - xStart)
+                || Double.isInfinite(pixelWidth) || Double.isInfinite(pixelHeight)) {
+            return new double[0][2];
+        }
+
+        if (!var.equals(this.var)) {
+            clear();
+            this.var = var;
+        }
+        CompiledExpression f = this.compiledExpressions.get(expr);
+        if (f == null) {
+            f = CompiledExpression.compile(expr, var);
+            this.compiledExpressions.put(expr, f);
+        }
+
+        int widthExponent = Math.getExponent(MIN_TILE_WIDTH_IN_PIXELS * pixelWidth) + 1;
+        int resolutionExponent = Math.getExponent(pixelHeight);
+        double tileWidth = Math.scalb(1.0, widthExponent);
+        long firstTileIndex = (long) Math.floor(xStart / tileWidth);
+        long lastTileIndex = (long) Math.floor(xEnd / tileWidth);
+        if (lastTileIndex - firstTileIndex >= MAX_NUMBER_OF_TILES_PER_GRAPH) {
+            return new double[0][2];
+        }
+
+        double[][][] tilesOfGraph = new double[(int) (lastTileIndex - firstTileIndex + 1)][][];
+        int numberOfPoints = 0;
+        for (long t = firstTileIndex; t <= lastTileIndex; t++) {
+            double[][] tile = getTile(f, expr, widthExponent, t, resolutionExponent);
+            tilesOfGraph[(int) (t - firstTileIndex)] = tile;
+            numberOfPoints += tile.length - 1;
+        }
+
+        // Benachbarte Kacheln haben einen gemeinsamen Randpunkt.
+        double[][] graph = new double[numberOfPoints + 1][];
+        int index = 0;
+        for (int t = 0; t < tilesOfGraph.length; t++) {
+            System.arraycopy(tilesOfGraph[t], t == 0 ? 0 : 1, graph, index, tilesOfGraph[t].length - (t == 0 ? 0 : 1));
+            index += tilesOfGraph[t].length - (t == 0 ? 0 : 1);
+        }
+        return graph;
+
+    }
+
+    private double[][] getTile(CompiledExpression f, Expression expr, int widthExponent, long tileIndex, int resolutionExponent) {
+        Key key = new Key(expr, widthExponent, tileIndex, resolutionExponent);
+        double[][] tile = this.tiles.get(key);
+        if (tile != null) {
+            this.hits++;
+            return tile;
+        }
+        this.misses++;
+        double tileWidth = Math.scalb(1.0, widthExponent);
+        tile = AdaptiveCurveSampler.sample(f, tileIndex * tileWidth, (tileIndex + 1) * tileWidth,
+                NUMBER_OF_INITIAL_INTERVALS_PER_TILE, Math.scalb(1.0, resolutionExponent), MAX_DEPTH);
+        this.tiles.put(key, tile);
+        return tile;
+    }
+
+    /**
+     * Leert den Cache und setzt die Zähler für Treffer und Fehlschläge zurück.
+     */
+    public void clear() {
+        this.tiles.clear();
+        this.compiledExpressions.clear();
+        this.hits = 0;
+        this.misses = 0;
+    }
+
+    public int getSize() {
+        return this.tiles.size();
+    }
+
+    public long getHits() {
+        return this.hits;
+    }
+
+    public long getMisses() {
+        return this.misses;
+    }
+
+}
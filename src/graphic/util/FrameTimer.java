@@ -0,0 +1,62 @@
+package graphic.util;
+
+/**
+ * Misst die Dauer, die das Zeichnen einzelner Bilder einer Grafik benötigt.
+ * Neben der Dauer des letzten Bildes wird ein gleitender (exponentiell
+ * gewichteter) Mittelwert geführt.
+ */
+public class FrameTimer {
+
+    /**
+     * Gewicht des jeweils letzten Bildes im gleitenden Mittelwert.
+     */
+    private static final double SMOOTHING_FACTOR = 0.1;
+
+    private long startTime;
+    private volatile long lastFrameTime = 0;
+    private volatile double averageFrameTime = 0;
+    private volatile long numberOfFrames = 0;
+
+    /**
+     * Markiert den Beginn eines Bildes.
+     */
+    public void start() {
+        this.startTime = System.nanoTime();
+    }
+
+    /**
+     * Markiert das Ende des zuletzt mit start() begonnenen Bildes.
+     */
+    public void stop() {
+        long frameTime = System.nanoTime() - this.startTime;
+        this.averageFrameTime = this.numberOfFrames == 0 ? frameTime
+                : (1 - SMOOTHING_FACTOR) * this.averageFrameTime + SMOOTHING_FACTOR * frameTime;
+        this.lastFrameTime = frameTime;
+        this.numberOfFrames++;
+    }
+
+    /**
+     * Gibt die Dauer des letzten Bildes in Millisekunden zurück.
+     */
+    public double getLastFrameTimeMillis() {
+        return this.lastFrameTime / 1E6;
+    }
+
+    /**
+     * Gibt die gemittelte Dauer der letzten Bilder in Millisekunden zurück.
+     */
+    public double getAverageFrameTimeMillis() {
+        return this.averageFrameTime / 1E6;
+    }
+
+    public long getNumberOfFrames() {
+        return this.numberOfFrames;
+    }
+
+    public void reset() {
+        this.lastFrameTime = 0;
+        this.averageFrameTime = 0;
+        this.numberOfFrames = 0;
+    }
+
+}
@@ -0,0 +1,103 @@
+package graphic.util;
+
+/**
+ * Gitter von Marching Squares. Die Funktionswerte an den (numberOfIntervalsX
+ * + 1) * (numberOfIntervalsY + 1) Gitterpunkten werden in einem einzigen
+ * primitiven Array abgelegt. Das Quadrat (i, j) besitzt die Ecken (i, j), (i
+ * + 1, j), (i, j + 1) und (i + 1, j + 1). Die Methoden für ein einzelnes
+ * Quadrat entsprechen denen von MarchingSquare.
+ */
+public class MarchingSquaresGrid {
+
+    private final int numberOfIntervalsX;
+    private final int numberOfIntervalsY;
+    private final double[] values;
+    private final int numberOfEvaluations;
+
+    /**
+     * Erzeugt ein Gitter aus den Funktionswerten values, wobei values[i *
+     * (numberOfIntervalsY + 1) + j] der Wert am Gitterpunkt (i, j) ist.
+     * numberOfEvaluations gibt an, wie viele dieser Werte durch Auswertung
+     * (und nicht durch Interpolation) gewonnen wurden.
+     */
+    public MarchingSquaresGrid(int numberOfIntervalsX, int numberOfIntervalsY, double[] values, int numberOfEvaluations) {
+        if (values.length != (numberOfIntervalsX + 1) * (numberOfIntervalsY + 1)) {
+            throw new IllegalArgumentException("Wrong number of values.");
+        }
+        this.numberOfIntervalsX = numberOfIntervalsX;
+        this.numberOfIntervalsY = numberOfIntervalsY;
+        this.values = values;
+        this.numberOfEvaluations = numberOfEvaluations;
+    }
+
+    /**
+     * Erzeugt ein Gitter aus den Werten der (aneinandergrenzenden) Quadrate
+     * squares.
+     */
+    public static MarchingSquaresGrid fromMarchingSquares(MarchingSquare[][] squares) {
+        int numberOfIntervalsX = squares.length;
+        int numberOfIntervalsY = squares[0].length;
+        double[] values = new double[(numberOfIntervalsX + 1) * (numberOfIntervalsY + 1)];
+        for (int i = 0; i <= numberOfIntervalsX; i++) {
+            for (int j = 0; j <= numberOfIntervalsY; j++) {
+                values[i * (numberOfIntervalsY + 1) + j] = squares[Math.min(i, numberOfIntervalsX - 1)][Math.min(j, numberOfIntervalsY - 1)].getVertexValue(
+                        i == numberOfIntervalsX ? 1 : 0, j == numberOfIntervalsY ? 1 : 0);
+            }
+        }
+        return new MarchingSquaresGrid(numberOfIntervalsX, numberOfIntervalsY, values, values.length);
+    }
+
+    public int getNumberOfIntervalsX() {
+        return this.numberOfIntervalsX;
+    }
+
+    public int getNumberOfIntervalsY() {
+        return this.numberOfIntervalsY;
+    }
+
+    public int getNumberOfEvaluations() {
+        return this.numberOfEvaluations;
+    }
+
+    /**
+     * Gibt den Wert am Gitterpunkt (i, j) zurück.
+     */
+    public double getValue(int i, int j) {
+        return this.values[i * (this.numberOfIntervalsY + 1) + j];
+    }
+
+    /**
+     * Schreibt die Werte an den Ecken des Quadrats (i, j) in vertexValues
+     * (vertexValues[p][q] ist der Wert am Gitterpunkt (i + p, j + q)) und gibt
+     * vertexValues zurück.
+     */
+    public double[][] getVertexValues(int i, int j, double[][] vertexValues) {
+        vertexValues[0][0] = getValue(i, j);
+        vertexValues[0][1] = getValue(i, j + 1);
+        vertexValues[1][0] = getValue(i + 1, j);
+        vertexValues[1][1] = getValue(i + 1, j + 1);
+        return vertexValues;
+    }
+
+    public boolean isZeroSquare(int i, int j) {
+        return getValue(i, j) == 0 && getValue(i, j + 1) == 0 && getValue(i + 1, j) == 0 && getValue(i + 1, j + 1) == 0;
+    }
+
+    public int getNumberOfInnerVertices(int i, int j) {
+        int number = 0;
+        for (int p = 0; p < 2; p++) {
+            for (int q = 0; q < 2; q++) {
+                if (getValue(i + p, j + q) <= 0) {
+                    number++;
+                }
+            }
+        }
+        return number;
+    }
+
+    public boolean containsGraph(int i, int j) {
+        double v00 = getValue(i, j), v01 = getValue(i, j + 1), v10 = getValue(i + 1, j), v11 = getValue(i + 1, j + 1);
+        return !(v00 < 0 && v01 < 0 && v10 < 0 && v11 < 0 || v00 > 0 && v01 > 0 && v10 > 0 && v11 > 0);
+    }
+
+}
@@ -0,0 +1,264 @@
+package graphic.util;
+
+import java.util.Arrays;
+
+/**
+ * Polygone einer 3D-Grafik in primitiven Arrays. Die Ecken aller Polygone
+ * werden in einem gemeinsamen Eckpuffer abgelegt (vertices[3 * v + a] ist die
+ * a-te Koordinate der Ecke v) und pro Bild nur einmal projiziert. Die
+ * Projektion ist dabei eine einzige affine Abbildung (vgl. project()).<br>
+ * Die Zeichenreihenfolge der Polygone wird von Bild zu Bild aktualisiert: Da
+ * sich die Blickrichtung (etwa bei der Rotation um 1&deg;) kaum ändert, ist die
+ * alte Reihenfolge bereits fast sortiert und wird per Einfügesortieren
+ * korrigiert. Erst wenn dabei zu viele Polygone verschoben werden müssten,
+ * wird vollständig neu sortiert.
+ */
+public class RenderPipeline3D {
+
+    /**
+     * Maximale Anzahl an Verschiebungen pro Polygon, bis zu der inkrementell
+     * sortiert wird.
+     */
+    private static final int MAX_NUMBER_OF_SHIFTS_PER_POLYGON = 8;
+
+    private double[] vertices = new double[3 * 64];
+    private int numberOfVertices = 0;
+
+    /*
+     Die Ecken des Polygons p sind polygonVertices[polygonStarts[p]], ...,
+     polygonVertices[polygonStarts[p + 1] - 1].
+     */
+    private int[] polygonStarts = new int[65];
+    private int[] polygonVertices = new int[256];
+    private int[] groups = new int[64];
+    private double[] centers = new double[3 * 64];
+    private int numberOfPolygons = 0;
+
+    private int[] pixelsX = new int[0];
+    private int[] pixelsY = new int[0];
+
+    private int[] order = new int[0];
+    private double[] depths = new double[0];
+    private boolean lastSortWasIncremental = false;
+
+    /**
+     * Fügt die Ecke (x, y, z) hinzu und gibt deren Index zurück.
+     */
+    public int addVertex(double x, double y, double z) {
+        if (3 * this.numberOfVertices == this.vertices.length) {
+            this.vertices = Arrays.copyOf(this.vertices, 2 * this.vertices.length);
+        }
+        this.vertices[3 * this.numberOfVertices] = x;
+        this.vertices[3 * this.numberOfVertices + 1] = y;
+        this.vertices[3 * this.numberOfVertices + 2] = z;
+        return this.numberOfVertices++;
+    }
+
+    /**
+     * Fügt das Polygon mit den (bereits hinzugefügten) Ecken vertexIndices
+     * hinzu und gibt dessen Index zurück. group ist eine frei wählbare Nummer
+     * (etwa der Index des Graphen, zu dem das Polygon gehört).
+     */
+    public int addPolygon(int group, int... vertexIndices) {
+
+        if (this.numberOfPolygons == this.groups.length) {
+            this.polygonStarts = Arrays.copyOf(this.polygonStarts, 2 * this.groups.length + 1);
+            this.groups = Arrays.copyOf(this.groups, 2 * this.groups.length);
+            this.centers = Arrays.copyOf(this.centers, 2 * this.centers.length);
+        }
+        int start = this.polygonStarts[this.numberOfPolygons];
+        if (start + vertexIndices.length > this.polygonVertices.length) {
+            this.polygonVertices = Arrays.copyOf(this.polygonVertices, Math.max(2 * this.polygonVertices.length, start + vertexIndices.length));
+        }
+        System.arraycopy(vertexIndices, 0, this.polygonVertices, start, vertexIndices.length);
+        this.polygonStarts[this.numberOfPolygons + 1] = start + vertexIndices.length;
+        this.groups[this.numberOfPolygons] = group;
+
+        // Schwerpunkt einmalig berechnen.
+        for (int a = 0; a < 3; a++) {
+            double center = 0;
+            for (int vertex : vertexIndices) {
+                center += this.vertices[3 * vertex + a];
+            }
+            this.centers[3 * this.numberOfPolygons + a] = vertexIndices.length == 0 ? 0 : center / vertexIndices.length;
+        }
+        return this.numberOfPolygons++;
+
+    }
+
+    /**
+     * Fügt die Gitterpunkte grid (grid[i][j] = (x, y, z)) als Ecken und die
+     * Gittervierecke mit den Ecken (i, j), (i + 1, j), (i + 1, j + 1), (i, j +
+     * 1) als Polygone der Gruppe group hinzu. Vierecke, von denen nicht alle
+     * Ecken definiert sind (vgl. isDefined), werden ausgelassen.
+     */
+    public void addGrid(int group, double[][][] grid, boolean[][] isDefined) {
+
+        int[][] vertexIndices = new int[grid.length][];
+        for (int i = 0; i < grid.length; i++) {
+            vertexIndices[i] = new int[grid[i].length];
+            for (int j = 0; j < grid[i].length; j++) {
+                vertexIndices[i][j] = addVertex(grid[i][j][0], grid[i][j][1], grid[i][j][2]);
+            }
+        }
+
+        for (int i = 0; i < grid.length - 1; i++) {
+            for (int j = 0; j < grid[i].length - 1; j++) {
+                if (isDefined[i][j] && isDefined[i + 1][j] && isDefined[i + 1][j + 1] && isDefined[i][j + 1]) {
+                    addPolygon(group, vertexIndices[i][j], vertexIndices[i + 1][j], vertexIndices[i + 1][j + 1], vertexIndices[i][j + 1]);
+                }
+            }
+        }
+
+    }
+
+    public int getNumberOfVertices() {
+        return this.numberOfVertices;
+    }
+
+    public int getNumberOfPolygons() {
+        return this.numberOfPolygons;
+    }
+
+    public int getGroup(int polygon) {
+        return this.groups[polygon];
+    }
+
+    /**
+     * Gibt die axis-te Koordinate (0 = x, 1 = y, 2 = z) des Schwerpunktes des
+     * Polygons polygon zurück.
+     */
+    public double getCenterCoordinate(int polygon, int axis) {
+        return this.centers[3 * polygon + axis];
+    }
+
+    public int getNumberOfPolygonVertices(int polygon) {
+        return this.polygonStarts[polygon + 1] - this.polygonStarts[polygon];
+    }
+
+    /**
+     * Projiziert alle Ecken mittels der affinen Abbildung (x, y, z) -&gt;
+     * (m[0] * x + m[1] * y + m[2] * z + m[3], m[4] * x + m[5] * y + m[6] * z +
+     * m[7]) auf Pixelkoordinaten.
+     */
+    public void project(double[] m) {
+        if (this.pixelsX.length < this.numberOfVertices) {
+            this.pixelsX = new int[this.numberOfVertices];
+            this.pixelsY = new int[this.numberOfVertices];
+        }
+        for (int v = 0; v < this.numberOfVertices; v++) {
+            double x = this.vertices[3 * v], y = this.vertices[3 * v + 1], z = this.vertices[3 * v + 2];
+            this.pixelsX[v] = (int) (m[0] * x + m[1] * y + m[2] * z + m[3]);
+            this.pixelsY[v] = (int) (m[4] * x + m[5] * y + m[6] * z + m[7]);
+        }
+    }
+
+    /**
+     * Gibt die (bei der letzten Projektion berechnete) Pixelabszisse der
+     * corner-ten Ecke des Polygons polygon zurück.
+     */
+    public int getPixelX(int polygon, int corner) {
+        return this.pixelsX[this.polygonVertices[this.polygonStarts[polygon] + corner]];
+    }
+
+    /**
+     * Gibt die (bei der letzten Projektion berechnete) Pixelordinate der
+     * corner-ten Ecke des Polygons polygon zurück.
+     */
+    public int getPixelY(int polygon, int corner) {
+        return this.pixelsY[this.polygonVertices[this.polygonStarts[polygon] + corner]];
+    }
+
+    /**
+     * Gibt die Indizes aller Polygone in der Reihenfolge zurück, in der sie
+     * (von hinten nach vorne) zu zeichnen sind, wenn der Betrachter (vom
+     * Ursprung aus gesehen) in Richtung (directionX, directionY, directionZ)
+     * steht. Sortiert wird nach den Schwerpunkten der Polygone. Das
+     * zurückgegebene Array wird beim nächsten Aufruf wiederverwendet.
+     */
+    public int[] sortByDepth(double directionX, double directionY, double directionZ) {
+
+        int n = this.numberOfPolygons;
+        boolean incremental = this.order.length == n;
+        if (!incremental) {
+            this.order = new int[n];
+            this.depths = new double[n];
+            for (int p = 0; p < n; p++) {
+                this.order[p] = p;
+            }
+        }
+        for (int p = 0; p < n; p++) {
+            this.depths[p] = directionX * this.centers[3 * p] + directionY * this.centers[3 * p + 1] + directionZ * this.centers[3 * p + 2];
+        }
+
+        if (incremental && insertionSort((long) MAX_NUMBER_OF_SHIFTS_PER_POLYGON * n)) {
+            this.lastSortWasIncremental = true;
+        } else {
+            mergeSort();
+            this.lastSortWasIncremental = false;
+        }
+        return this.order;
+
+    }
+
+    /**
+     * Gibt zurück, ob beim letzten Aufruf von sortByDepth() die vorherige
+     * Reihenfolge nur korrigiert (und nicht vollständig neu sortiert) wurde.
+     */
+    public boolean wasLastSortIncremental() {
+        return this.lastSortWasIncremental;
+    }
+
+    /**
+     * Sortiert order per Einfügesortieren nach depths. Werden dabei mehr als
+     * maxNumberOfShifts Verschiebungen benötigt, so wird abgebrochen und false
+     * zurückgegeben (order ist dann weiterhin eine Permutation).
+     */
+    private boolean insertionSort(long maxNumberOfShifts) {
+        long numberOfShifts = 0;
+        for (int i = 1; i < this.order.length; i++) {
+            int polygon = this.order[i];
+            double depth = this.depths[polygon];
+            int j = i - 1;
+            while (j >= 0 && this.depths[this.order[j]] > depth) {
+                this.order[j + 1] = this.order[j];
+                j--;
+                numberOfShifts++;
+            }
+            this.order[j + 1] = polygon;
+            if (numberOfShifts > maxNumberOfShifts) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sortiert order (stabil) nach depths.
+     */
+    private void mergeSort() {
+        int n = this.order.length;
+        int[] source = this.order;
+        int[] target = new int[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int left = 0; left < n; left += 2 * width) {
+                int middle = Math.min(left + width, n), right = Math.min(left + 2 * width, n);
+                int i = left, j = middle, k = left;
+                while (i < middle && j < right) {
+                    target[k++] = this.depths[source[j]] < this.depths[source[i]] ? source[j++] : source[i++];
+                }
+                while (i < middle) {
+                    target[k++] = source[i++];
+                }
+                while (j < right) {
+                    target[k++] = source[j++];
+                }
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        this.order = source;
+    }
+
+}
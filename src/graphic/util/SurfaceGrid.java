@@ -0,0 +1,122 @@
+package graphic.util;
+
+import java.util.BitSet;
+
+/**
+ * Abgetasteter Graph einer Funktion f(x, y) über einem rechteckigen Bereich.
+ * Die Funktionswerte an den (numberOfIntervalsX + 1) * (numberOfIntervalsY +
+ * 1) Gitterpunkten werden in einem einzigen primitiven Array abgelegt
+ * (values[i * (numberOfIntervalsY + 1) + j] ist der Wert am Gitterpunkt (i,
+ * j)). Zusätzlich wird in einer Bitmaske vermerkt, an welchen Gitterpunkten f
+ * definiert (und endlich) ist.
+ */
+public class SurfaceGrid {
+
+    private final double x_0, x_1, y_0, y_1;
+    private final int numberOfIntervalsX;
+    private final int numberOfIntervalsY;
+    private final double[] values;
+    private final BitSet definedPoints;
+
+    public SurfaceGrid(double x_0, double x_1, double y_0, double y_1, int numberOfIntervalsX, int numberOfIntervalsY,
+            double[] values, BitSet definedPoints) {
+        if (values.length != (numberOfIntervalsX + 1) * (numberOfIntervalsY + 1)) {
+            throw new IllegalArgumentException("Wrong number of values.");
+        }
+        this.x_0 = x_0;
+        this.x_1 = x_1;
+        this.y_0 = y_0;
+        this.y_1 = y_1;
+        this.numberOfIntervalsX = numberOfIntervalsX;
+        this.numberOfIntervalsY = numberOfIntervalsY;
+        this.values = values;
+        this.definedPoints = definedPoints;
+    }
+
+    public int getNumberOfIntervalsX() {
+        return this.numberOfIntervalsX;
+    }
+
+    public int getNumberOfIntervalsY() {
+        return this.numberOfIntervalsY;
+    }
+
+    /**
+     * Gibt die Abszisse der Gitterpunkte (i, j) zurück.
+     */
+    public double getX(int i) {
+        return this.x_0 + (this.x_1 - this.x_0) * i / this.numberOfIntervalsX;
+    }
+
+    /**
+     * Gibt die Ordinate der Gitterpunkte (i, j) zurück.
+     */
+    public double getY(int j) {
+        return this.y_0 + (this.y_1 - this.y_0) * j / this.numberOfIntervalsY;
+    }
+
+    /**
+     * Gibt den Wert am Gitterpunkt (i, j) zurück.
+     */
+    public double getValue(int i, int j) {
+        return this.values[i * (this.numberOfIntervalsY + 1) + j];
+    }
+
+    /**
+     * Gibt zurück, ob der Wert am Gitterpunkt (i, j) definiert ist.
+     */
+    public boolean isDefined(int i, int j) {
+        return this.definedPoints.get(i * (this.numberOfIntervalsY + 1) + j);
+    }
+
+    /**
+     * Gibt die Werte an allen Gitterpunkten zurück (ohne Kopie).
+     */
+    public double[] getValues() {
+        return this.values;
+    }
+
+    /**
+     * Gibt die Bitmaske der Gitterpunkte zurück, an denen der Wert definiert
+     * ist (ohne Kopie).
+     */
+    public BitSet getDefinedPoints() {
+        return this.definedPoints;
+    }
+
+    public int getNumberOfDefinedPoints() {
+        return this.definedPoints.cardinality();
+    }
+
+    /**
+     * Gibt den Graphen in der Form zurück, in der er von den 3D-Grafiken
+     * verwendet wird: graph[i][j] = {x_i, y_j, f(x_i, y_j)}.
+     */
+    public double[][][] toGraph3D() {
+        double[][][] graph = new double[this.numberOfIntervalsX + 1][this.numberOfIntervalsY + 1][3];
+        for (int i = 0; i <= this.numberOfIntervalsX; i++) {
+            double x = getX(i);
+            for (int j = 0; j <= this.numberOfIntervalsY; j++) {
+                graph[i][j][0] = x;
+                graph[i][j][1] = getY(j);
+                graph[i][j][2] = getValue(i, j);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Gibt die Bitmaske der definierten Gitterpunkte als zweidimensionales
+     * Array zurück.
+     */
+    public boolean[][] toDefinedPointsArray() {
+        boolean[][] pointsAreDefined = new boolean[this.numberOfIntervalsX + 1][this.numberOfIntervalsY + 1];
+        for (int i = 0; i <= this.numberOfIntervalsX; i++) {
+            for (int j = 0; j <= this.numberOfIntervalsY; j++) {
+                pointsAreDefined[i][j] = isDefined(i, j);
+            }
+        }
+        return pointsAreDefined;
+    }
+
+}
@@ -0,0 +1,123 @@
+package graphic.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Dreiecksnetz einer Fläche im Raum. Die Koordinaten aller Ecken werden in
+ * einem einzigen primitiven Array abgelegt (vertices[3 * v + a] ist die a-te
+ * Koordinate der Ecke v), die Dreiecke als Tripel von Eckindizes
+ * (triangles[3 * t + c] ist die c-te Ecke des Dreiecks t). Benachbarte
+ * Dreiecke teilen sich ihre gemeinsamen Ecken.
+ */
+public class SurfaceMesh {
+
+    private final double[] vertices;
+    private final int[] triangles;
+    private final int numberOfCrossedCells;
+
+    /**
+     * Erzeugt ein Dreiecksnetz aus den Eckkoordinaten vertices und den
+     * Eckindizes triangles. numberOfCrossedCells gibt an, wie viele Zellen des
+     * zugrundeliegenden Gitters von der Fläche geschnitten werden.
+     */
+    public SurfaceMesh(double[] vertices, int[] triangles, int numberOfCrossedCells) {
+        if (vertices.length % 3 != 0 || triangles.length % 3 != 0) {
+            throw new IllegalArgumentException("Wrong number of coordinates or indices.");
+        }
+        this.vertices = vertices;
+        this.triangles = triangles;
+        this.numberOfCrossedCells = numberOfCrossedCells;
+    }
+
+    public int getNumberOfVertices() {
+        return this.vertices.length / 3;
+    }
+
+    public int getNumberOfTriangles() {
+        return this.triangles.length / 3;
+    }
+
+    public int getNumberOfCrossedCells() {
+        return this.numberOfCrossedCells;
+    }
+
+    public boolean isEmpty() {
+        return this.triangles.length == 0;
+    }
+
+    /**
+     * Gibt die Koordinaten aller Ecken zurück (ohne Kopie).
+     */
+    public double[] getVertices() {
+        return this.vertices;
+    }
+
+    /**
+     * Gibt die Eckindizes aller Dreiecke zurück (ohne Kopie).
+     */
+    public int[] getTriangles() {
+        return this.triangles;
+    }
+
+    /**
+     * Gibt die axis-te Koordinate (0 = x, 1 = y, 2 = z) der Ecke vertex
+     * zurück.
+     */
+    public double getVertexCoordinate(int vertex, int axis) {
+        return this.vertices[3 * vertex + axis];
+    }
+
+    /**
+     * Gibt den Index der corner-ten Ecke (0, 1 oder 2) des Dreiecks triangle
+     * zurück.
+     */
+    public int getTriangleVertex(int triangle, int corner) {
+        return this.triangles[3 * triangle + corner];
+    }
+
+    /**
+     * Gibt die axis-te Koordinate des Schwerpunktes des Dreiecks triangle
+     * zurück.
+     */
+    public double getTriangleCenterCoordinate(int triangle, int axis) {
+        return (this.vertices[3 * this.triangles[3 * triangle] + axis]
+                + this.vertices[3 * this.triangles[3 * triangle + 1] + axis]
+                + this.vertices[3 * this.triangles[3 * triangle + 2] + axis]) / 3;
+    }
+
+    /**
+     * Gibt die Indizes aller Dreiecke in der Reihenfolge zurück, in der sie
+     * (von hinten nach vorne) zu zeichnen sind, wenn der Betrachter (vom
+     * Ursprung aus gesehen) in Richtung (directionX, directionY, directionZ)
+     * steht. Sortiert wird nach den Schwerpunkten der Dreiecke.
+     */
+    public int[] getTrianglesSortedByDepth(double directionX, double directionY, double directionZ) {
+
+        int numberOfTriangles = getNumberOfTriangles();
+        final double[] depths = new double[numberOfTriangles];
+        Integer[] order = new Integer[numberOfTriangles];
+        for (int t = 0; t < numberOfTriangles; t++) {
+            depths[t] = directionX * getTriangleCenterCoordinate(t, 0) + directionY * getTriangleCenterCoordinate(t, 1)
+                    + directionZ * getTriangleCenterCoordinate(t, 2);
+            order[t] = t;
+        }
+
+        Arrays.sort(order, new Comparator<Integer>() {
+
+            @Override
+            public int compare(Integer t, Integer s) {
+                return Double.compare(depths[t], depths[s]);
+            }
+
+        });
+
+        int[] sortedTriangles = new int[numberOfTriangles];
+        for (int t = 0; t < numberOfTriangles; t++) {
+            sortedTriangles[t] = order[t];
+        }
+        return sortedTriangles;
+
+    }
+
+}
@@ -1,11 +1,14 @@
 package lang.translator;
 
 import abstractexpressions.expression.classes.Expression;
+import enums.TypeLanguage;
 import java.net.URL;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import org.w3c.dom.Document;
@@ -49,6 +52,12 @@ public abstract class Translator {
     
     private static final Map<String, String> RESOURCES = new HashMap<>();
 
+    /*
+     Bereits eingelesene Meldungen: Pfad der XML-Datei -> (Sprache -> (ID ->
+     Meldung)). Die Tabellen werden nach dem Einlesen nicht mehr verändert.
+     */
+    private static final Map<String, Map<TypeLanguage, Map<String, String>>> MESSAGES = new ConcurrentHashMap<>();
+
     static {
         RESOURCES.put(PREFIX_CANCELLER_MESSAGES, PATH_CANCELLER_MESSAGES);
         RESOURCES.put(PREFIX_COMPUTATIONAL_CLASSES_MESSAGES, PATH_COMPUTATIONAL_CLASSES_MESSAGES);
@@ -73,24 +82,59 @@ public abstract class Translator {
     }
     
     /**
-     * Gibt eine Meldung entsprechend der exceptionId und der eingestellten
-     * Sprache zurück.
+     * Liefert den Pfad der XML-Datei, in welcher die Meldung mit der ID
+     * exceptionId enthalten ist.
      */
-    private static String translateMessage(String exceptionId) {
+    private static String getResourcePath(String exceptionId) {
+        // Üblicherweise ist das Präfix der Teil der ID bis zum ersten Unterstrich.
+        int indexOfUnderscore = exceptionId.indexOf("_");
+        if (indexOfUnderscore >= 0) {
+            String path = RESOURCES.get(exceptionId.substring(0, indexOfUnderscore));
+            if (path != null) {
+                return path;
+            }
+        }
+        for (String key : RESOURCES.keySet()) {
+            if (exceptionId.startsWith(key)) {
+                return RESOURCES.get(key);
+            }
+        }
+        // Fall: Unbekannten Fehler aufgetreten (Präfix nicht identifizierbar).
+        return PATH_UNKNOWN_ERROR_MESSAGES;
+    }
 
-        // Die entsprechende XML-Datei öffnen.
-        try {
-            URL langFile = null;
-            for (String key : RESOURCES.keySet()) {
-                if (exceptionId.startsWith(key)) {
-                    langFile = ClassLoader.getSystemResource(RESOURCES.get(key));
-                    break;
+    /**
+     * Liefert alle Meldungen aus der XML-Datei mit dem Pfad path, getrennt nach
+     * Sprachen. Jede Datei wird nur beim ersten Zugriff eingelesen.
+     */
+    private static Map<TypeLanguage, Map<String, String>> getMessages(String path) {
+        Map<TypeLanguage, Map<String, String>> messages = MESSAGES.get(path);
+        if (messages == null) {
+            synchronized (MESSAGES) {
+                messages = MESSAGES.get(path);
+                if (messages == null) {
+                    messages = loadMessages(path);
+                    MESSAGES.put(path, messages);
                 }
             }
-            if (langFile == null) {
-                // Fall: Unbekannten Fehler aufgetreten (Präfix nicht identifizierbar).
-                langFile = ClassLoader.getSystemResource(PATH_UNKNOWN_ERROR_MESSAGES);
-            }
+        }
+        return messages;
+    }
+
+    /**
+     * Liest alle Meldungen aus der XML-Datei mit dem Pfad path ein. Kann die
+     * Datei nicht gelesen werden, so wird eine leere Tabelle zurückgegeben.
+     */
+    private static Map<TypeLanguage, Map<String, String>> loadMessages(String path) {
+
+        Map<TypeLanguage, Map<String, String>> messages = new EnumMap<>(TypeLanguage.class);
+        for (TypeLanguage language : TypeLanguage.values()) {
+            messages.put(language, new HashMap<String, String>());
+        }
+
+        // Die entsprechende XML-Datei öffnen.
+        try {
+            URL langFile = ClassLoader.getSystemResource(path);
 
             DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
             DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
@@ -106,30 +150,43 @@ public abstract class Translator {
                 if (nNode.getNodeType() == Node.ELEMENT_NODE) {
 
                     Element eElement = (Element) nNode;
-
-                    if (eElement.getAttribute(ELEMENT_ATTRIBUTE_ID).equals(exceptionId)) {
-                        switch (Expression.getLanguage()) {
-                            case DE:
-                                return eElement.getElementsByTagName(ELEMENT_NAME_DE).item(0).getTextContent();
-                            case EN:
-                                return eElement.getElementsByTagName(ELEMENT_NAME_EN).item(0).getTextContent();
-                            case RU:
-                                return eElement.getElementsByTagName(ELEMENT_NAME_RU).item(0).getTextContent();
-                            case UA:
-                                return eElement.getElementsByTagName(ELEMENT_NAME_UA).item(0).getTextContent();
-                            default:
-                                break;
-                        }
-                    }
+                    String id = eElement.getAttribute(ELEMENT_ATTRIBUTE_ID);
+                    putMessage(messages.get(TypeLanguage.DE), id, eElement, ELEMENT_NAME_DE);
+                    putMessage(messages.get(TypeLanguage.EN), id, eElement, ELEMENT_NAME_EN);
+                    putMessage(messages.get(TypeLanguage.RU), id, eElement, ELEMENT_NAME_RU);
+                    putMessage(messages.get(TypeLanguage.UA), id, eElement, ELEMENT_NAME_UA);
 
                 }
             }
         } catch (Exception e) {
         }
 
+        return messages;
+
+    }
+
+    private static void putMessage(Map<String, String> messages, String id, Element element, String elementName) {
+        // Bei mehrfach vorkommenden IDs zählt (wie bisher) das erste Vorkommen.
+        if (messages.containsKey(id)) {
+            return;
+        }
+        NodeList nodes = element.getElementsByTagName(elementName);
+        if (nodes.getLength() > 0) {
+            messages.put(id, nodes.item(0).getTextContent());
+        }
+    }
+
+    /**
+     * Gibt eine Meldung entsprechend der exceptionId und der eingestellten
+     * Sprache zurück.
+     */
+    private static String translateMessage(String exceptionId) {
+        String message = getMessages(getResourcePath(exceptionId)).get(Expression.getLanguage()).get(exceptionId);
+        if (message != null) {
+            return message;
+        }
         // Sollte bei korrekten Fehler-IDs und vorhandenen Fehlerdateien nie eintreten.
         return ERROR_TEXT;
-
     }
 
     /**
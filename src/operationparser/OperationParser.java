@@ -9,7 +9,12 @@ import abstractexpressions.expression.classes.Expression;
 import static abstractexpressions.expression.classes.Expression.VALIDATOR;
 import abstractexpressions.expression.classes.Operator;
 import abstractexpressions.expression.classes.TypeOperator;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.HashSet;
 import abstractexpressions.logicalexpression.classes.LogicalExpression;
 import abstractexpressions.matrixexpression.classes.MatrixExpression;
@@ -17,6 +22,7 @@ import abstractexpressions.matrixexpression.classes.MatrixOperator;
 import abstractexpressions.matrixexpression.classes.TypeMatrixOperator;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import operationparser.ParameterPattern.Multiplicity;
 import operationparser.ParameterPattern.ParamRole;
@@ -86,6 +92,47 @@ public abstract class OperationParser {
     private static final String WRONG_FORM_OF_GENERAL_PARAMETER_IN_OPERATOR_VAR = "WRONG_FORM_OF_GENERAL_PARAMETER_IN_OPERATOR_VAR";
     private static final String WRONG_FORM_OF_GENERAL_PARAMETER_IN_OPERATOR_INTEGER = "WRONG_FORM_OF_GENERAL_PARAMETER_IN_OPERATOR_INTEGER";
 
+    /**
+     * Liefert zu allen statischen Pattern-Konstanten der Klasse cls (also
+     * Feldern vom Typ String, deren Name mit PATTERN_ beginnt) das zugehörige
+     * Objekt der Klasse ParseResultPattern, in der Reihenfolge ihrer
+     * Deklaration. Schlüssel ist jeweils das Pattern selbst. Pattern, die nicht
+     * geparst werden können, werden ausgelassen.<br>
+     * Diese Methode ist dafür gedacht, einmalig beim Laden einer Klasse
+     * aufgerufen zu werden, damit beim Parsen von Operatoren weder Reflection
+     * noch erneutes Parsen der Pattern notwendig ist.
+     */
+    public static Map<String, ParseResultPattern> getResultPatterns(Class<?> cls) {
+        Map<String, ParseResultPattern> resultPatterns = new LinkedHashMap<>();
+        for (Field field : cls.getDeclaredFields()) {
+            if (!field.getType().equals(String.class) || !Modifier.isStatic(field.getModifiers()) || !field.getName().startsWith("PATTERN_")) {
+                continue;
+            }
+            try {
+                field.setAccessible(true);
+                String pattern = (String) field.get(null);
+                resultPatterns.put(pattern, getResultPattern(pattern));
+            } catch (IllegalArgumentException | IllegalAccessException | SecurityException | ExpressionException e) {
+            }
+        }
+        return Collections.unmodifiableMap(resultPatterns);
+    }
+
+    /**
+     * Liefert zu den Pattern in resultPatterns eine Zuordnung Operationsname
+     * -&gt; Pattern. Existieren zu einem Namen mehrere Pattern, so wird das
+     * zuerst auftretende verwendet.
+     */
+    public static Map<String, ParseResultPattern> getResultPatternsByOperationName(Map<String, ParseResultPattern> resultPatterns) {
+        Map<String, ParseResultPattern> resultPatternsByName = new HashMap<>();
+        for (ParseResultPattern resultPattern : resultPatterns.values()) {
+            if (!resultPatternsByName.containsKey(resultPattern.getOperationName())) {
+                resultPatternsByName.put(resultPattern.getOperationName(), resultPattern);
+            }
+        }
+        return Collections.unmodifiableMap(resultPatternsByName);
+    }
+
     /**
      * Gibt für ein Pattern pattern das entsprechende Objekt der Klasse
      * ParseResultPattern zurück, wenn möglich. Ansonst wird eine
@@ -339,13 +386,18 @@ public abstract class OperationParser {
      * Parsen mathematischer Standardoperatoren.
      */
     public static Operator parseDefaultOperator(String operatorName, String[] arguments, Set<String> vars, String pattern) throws ExpressionException {
+        return parseDefaultOperator(operatorName, arguments, vars, getResultPattern(pattern));
+    }
+
+    /**
+     * Parsen mathematischer Standardoperatoren mittels eines bereits geparsten
+     * Musters.
+     */
+    public static Operator parseDefaultOperator(String operatorName, String[] arguments, Set<String> vars, ParseResultPattern resultPattern) throws ExpressionException {
 
         // Operatortyp.
         TypeOperator type = Operator.getTypeFromName(operatorName);
 
-        // Muster für das Parsen des Operators.
-        ParseResultPattern resultPattern = getResultPattern(pattern);
-
         /* 
          Falls Namen nicht übereinstimmen -> ParseException (!) werfen.
          In der Klasse Operator sollte man immer zuerst den Namen auslesen und 
@@ -533,13 +585,18 @@ public abstract class OperationParser {
      * Parsen mathematischer Matrizenoperatoren.
      */
     public static MatrixOperator parseDefaultMatrixOperator(String operatorName, String[] arguments, Set<String> vars, String pattern) throws ExpressionException {
+        return parseDefaultMatrixOperator(operatorName, arguments, vars, getResultPattern(pattern));
+    }
+
+    /**
+     * Parsen mathematischer Matrizenoperatoren mittels eines bereits geparsten
+     * Musters.
+     */
+    public static MatrixOperator parseDefaultMatrixOperator(String operatorName, String[] arguments, Set<String> vars, ParseResultPattern resultPattern) throws ExpressionException {
 
         // Operatortyp.
         TypeMatrixOperator type = MatrixOperator.getTypeFromName(operatorName);
 
-        // Muster für das Parsen des Operators.
-        ParseResultPattern resultPattern = getResultPattern(pattern);
-
         /* 
          Falls Namen nicht übereinstimmen -> ParseException (!) werfen.
          In der Klasse Operator sollte man immer zuerst den Namen auslesen und 
@@ -15,13 +15,17 @@ public abstract class Canceller {
 
     /**
      * Bricht den aktuellen Thread ab und wirft einen entsprechenden Fehler.
+     * Ferner wird das im aktuellen Thread aktive ComputationBudget (falls
+     * vorhanden) geprüft.
      * 
      * @throws CancellationException
+     * @throws exceptions.ComputationBudgetExceededException
      */
     public static void interruptComputationIfNeeded() {
         if (Thread.interrupted()) {
             throw new CancellationException(Translator.translateOutputMessage(CN_COMPUTATION_ABORTED));
         }
+        ComputationBudget.checkCurrentBudget();
     }
 
 }
@@ -0,0 +1,195 @@
+package process;
+
+import exceptions.ComputationBudgetExceededException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Budget für eine Berechnung (etwa simplify(), Integration oder das Lösen von
+ * Gleichungen). Ein Budget besteht aus einer maximalen Rechenzeit, einer
+ * maximalen Anzahl von Iterationen der Vereinfachung sowie einer maximalen
+ * Anzahl von erzeugten Ausdrucksknoten. Nicht benötigte Schranken werden auf
+ * UNLIMITED gesetzt.<br>
+ * Ein Budget wird mittels activate() an den aktuellen Thread gebunden und
+ * mittels deactivate() wieder gelöst:<br>
+ * <pre>
+ * ComputationBudget budget = new ComputationBudget(500, ComputationBudget.UNLIMITED, 1000000);
+ * budget.activate();
+ * try {
+ *     expr = expr.simplify();
+ * } finally {
+ *     budget.deactivate();
+ * }
+ * </pre>
+ * Solange das Budget aktiv ist, wird es an allen Stellen geprüft, an denen
+ * Canceller.interruptComputationIfNeeded() aufgerufen wird. Ist eine der
+ * Schranken überschritten, so wird eine ComputationBudgetExceededException
+ * geworfen, welche den bis dahin verbrauchten Anteil des Budgets enthält.
+ */
+public final class ComputationBudget {
+
+    public static final long UNLIMITED = -1;
+
+    /**
+     * Die einzelnen Schranken eines Budgets.
+     */
+    public enum Limit {
+
+        TIME, SIMPLIFY_ITERATIONS, CREATED_NODES;
+
+    }
+
+    private static final ThreadLocal<ComputationBudget> CURRENT_BUDGET = new ThreadLocal<>();
+
+    /*
+     Anzahl der momentan aktiven Budgets (über alle Threads). Solange kein Budget
+     aktiv ist, kostet eine Prüfung nur das Lesen dieses Zählers.
+     */
+    private static final AtomicInteger NUMBER_OF_ACTIVE_BUDGETS = new AtomicInteger();
+
+    private final long maxTimeMillis;
+    private final long maxSimplifyIterations;
+    private final long maxCreatedNodes;
+
+    private long startTime;
+    private long deadline;
+    private long simplifyIterations = 0;
+    private long createdNodes = 0;
+    private boolean started = false;
+
+    // Budget, welches vor activate() im Thread aktiv war.
+    private ComputationBudget previousBudget;
+    private boolean active = false;
+
+    public ComputationBudget(long maxTimeMillis, long maxSimplifyIterations, long maxCreatedNodes) {
+        this.maxTimeMillis = maxTimeMillis;
+        this.maxSimplifyIterations = maxSimplifyIterations;
+        this.maxCreatedNodes = maxCreatedNodes;
+    }
+
+    public long getMaxTimeMillis() {
+        return this.maxTimeMillis;
+    }
+
+    public long getMaxSimplifyIterations() {
+        return this.maxSimplifyIterations;
+    }
+
+    public long getMaxCreatedNodes() {
+        return this.maxCreatedNodes;
+    }
+
+    /**
+     * Gibt die seit dem ersten Aufruf von activate() vergangene Zeit in
+     * Millisekunden zurück.
+     */
+    public long getElapsedTimeMillis() {
+        if (!this.started) {
+            return 0;
+        }
+        return (System.nanoTime() - this.startTime) / 1000000;
+    }
+
+    public long getSimplifyIterations() {
+        return this.simplifyIterations;
+    }
+
+    public long getCreatedNodes() {
+        return this.createdNodes;
+    }
+
+    public boolean isActive() {
+        return this.active;
+    }
+
+    /**
+     * Bindet dieses Budget an den aktuellen Thread. Beim ersten Aufruf beginnt
+     * die Zeitmessung. Ein bereits aktives Budget des Threads wird bis zum
+     * Aufruf von deactivate() ersetzt.
+     *
+     * @throws IllegalStateException falls das Budget bereits aktiv ist.
+     */
+    public void activate() {
+        if (this.active) {
+            throw new IllegalStateException("Budget is already active.");
+        }
+        if (!this.started) {
+            this.started = true;
+            this.startTime = System.nanoTime();
+            this.deadline = this.startTime + this.maxTimeMillis * 1000000;
+        }
+        this.previousBudget = CURRENT_BUDGET.get();
+        CURRENT_BUDGET.set(this);
+        this.active = true;
+        NUMBER_OF_ACTIVE_BUDGETS.incrementAndGet();
+    }
+
+    /**
+     * Löst dieses Budget vom aktuellen Thread. Das zuvor aktive Budget wird
+     * wieder aktiv.
+     */
+    public void deactivate() {
+        if (!this.active) {
+            return;
+        }
+        CURRENT_BUDGET.set(this.previousBudget);
+        this.previousBudget = null;
+        this.active = false;
+        NUMBER_OF_ACTIVE_BUDGETS.decrementAndGet();
+    }
+
+    /**
+     * Gibt das im aktuellen Thread aktive Budget zurück, oder null, falls
+     * keines aktiv ist.
+     */
+    public static ComputationBudget getCurrentBudget() {
+        if (NUMBER_OF_ACTIVE_BUDGETS.get() == 0) {
+            return null;
+        }
+        return CURRENT_BUDGET.get();
+    }
+
+    /**
+     * Verbucht eine Iteration der Vereinfachung beim aktiven Budget.
+     */
+    public static void registerSimplifyIteration() {
+        ComputationBudget budget = getCurrentBudget();
+        if (budget != null) {
+            budget.simplifyIterations++;
+        }
+    }
+
+    /**
+     * Verbucht einen neu erzeugten Ausdrucksknoten beim aktiven Budget.
+     */
+    public static void registerCreatedNode() {
+        ComputationBudget budget = getCurrentBudget();
+        if (budget != null) {
+            budget.createdNodes++;
+        }
+    }
+
+    /**
+     * Prüft das im aktuellen Thread aktive Budget.
+     *
+     * @throws ComputationBudgetExceededException
+     */
+    static void checkCurrentBudget() {
+        ComputationBudget budget = getCurrentBudget();
+        if (budget != null) {
+            budget.check();
+        }
+    }
+
+    private void check() {
+        if (this.maxTimeMillis != UNLIMITED && System.nanoTime() - this.deadline > 0) {
+            throw new ComputationBudgetExceededException(this, Limit.TIME);
+        }
+        if (this.maxSimplifyIterations != UNLIMITED && this.simplifyIterations > this.maxSimplifyIterations) {
+            throw new ComputationBudgetExceededException(this, Limit.SIMPLIFY_ITERATIONS);
+        }
+        if (this.maxCreatedNodes != UNLIMITED && this.createdNodes > this.maxCreatedNodes) {
+            throw new ComputationBudgetExceededException(this, Limit.CREATED_NODES);
+        }
+    }
+
+}
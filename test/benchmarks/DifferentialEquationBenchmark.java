@@ -0,0 +1,97 @@
+package benchmarks;
+
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.computation.DormandPrinceSolver;
+import abstractexpressions.expression.computation.NumericalUtils;
+import exceptions.ExpressionException;
+
+/**
+ * Vergleicht das Runge-Kutta-Verfahren mit fester Schrittzahl
+ * (NumericalUtils.solveDifferentialEquationByRungeKutta()) mit dem adaptiven
+ * Verfahren von Dormand und Prince (DormandPrinceSolver) anhand von
+ * Differentialgleichungen mit bekannter Lösung. Ausgegeben werden für jedes
+ * Verfahren die Anzahl der Auswertungen von f, der maximale Fehler
+ * an 1001 äquidistanten Stellen sowie die Laufzeit. Wird nicht vom TestRunner
+ * ausgeführt, sondern direkt über main() gestartet.
+ */
+public class DifferentialEquationBenchmark {
+
+    private static final int NUMBER_OF_OUTPUT_INTERVALS = 1000;
+    private static final int[] NUMBERS_OF_STEPS = new int[]{1000, 10000, 100000};
+    private static final double[] TOLERANCES = new double[]{1E-4, 1E-6, 1E-8, 1E-10};
+
+    private interface ExactSolution {
+
+        double value(double x);
+
+    }
+
+    public static void main(String[] args) throws ExpressionException {
+
+        // Aufwärmen, damit die Laufzeiten nicht das Laden der Klassen enthalten.
+        Expression warmUp = Expression.build("-y");
+        NumericalUtils.solveDifferentialEquationByRungeKutta(warmUp, "x", "y", 1, 0, 1, new double[]{1}, 1000);
+        new DormandPrinceSolver(warmUp, "x", "y", 1, 1E-8).solve(0, 1, new double[]{1}, NUMBER_OF_OUTPUT_INTERVALS);
+
+        // y' = -2*x*y, y(0) = 1 -> y = exp(-x^2).
+        run("y' = -2*x*y", Expression.build("-2*x*y"), 1, 0, 5, new double[]{1}, new ExactSolution() {
+            @Override
+            public double value(double x) {
+                return Math.exp(-x * x);
+            }
+        });
+        // y'' = -y, y(0) = 0, y'(0) = 1 -> y = sin(x).
+        run("y'' = -y", Expression.build("-y"), 2, 0, 50, new double[]{0, 1}, new ExactSolution() {
+            @Override
+            public double value(double x) {
+                return Math.sin(x);
+            }
+        });
+        // y' = y^2, y(0) = 1/2 -> y = 1/(2 - x), steil ansteigend für x -> 2.
+        run("y' = y^2", Expression.build("y^2"), 1, 0, 1.9, new double[]{0.5}, new ExactSolution() {
+            @Override
+            public double value(double x) {
+                return 1 / (2 - x);
+            }
+        });
+
+    }
+
+    private static double getMaxError(double[][] solution, ExactSolution exactSolution) {
+        double maxError = 0;
+        for (double[] point : solution) {
+            maxError = Math.max(maxError, Math.abs(point[1] - exactSolution.value(point[0])));
+        }
+        return maxError;
+    }
+
+    private static void run(String title, Expression f, int ord, double x_0, double x_1, double[] y_0,
+            ExactSolution exactSolution) {
+
+        System.out.println(title + " on [" + x_0 + ", " + x_1 + "]:");
+
+        for (int n : NUMBERS_OF_STEPS) {
+            long start = System.nanoTime();
+            double[][] solution = NumericalUtils.solveDifferentialEquationByRungeKutta(f, "x", "y", ord, x_0, x_1, y_0, n);
+            double millis = (System.nanoTime() - start) / 1000000.0;
+            // Nur jeden (n / NUMBER_OF_OUTPUT_INTERVALS)-ten Punkt vergleichen.
+            double[][] outputPoints = new double[NUMBER_OF_OUTPUT_INTERVALS + 1][];
+            for (int i = 0; i <= NUMBER_OF_OUTPUT_INTERVALS; i++) {
+                outputPoints[i] = solution[Math.min(i * (n / NUMBER_OF_OUTPUT_INTERVALS), solution.length - 1)];
+            }
+            System.out.println(String.format("  Runge-Kutta,    n = %6d:    evaluations = %7d, max error = %.3e, time = %.3f ms",
+                    n, 3 * n, getMaxError(outputPoints, exactSolution), millis));
+        }
+
+        for (double tolerance : TOLERANCES) {
+            DormandPrinceSolver solver = new DormandPrinceSolver(f, "x", "y", ord, tolerance);
+            long start = System.nanoTime();
+            double[][] solution = solver.solve(x_0, x_1, y_0, NUMBER_OF_OUTPUT_INTERVALS);
+            double millis = (System.nanoTime() - start) / 1000000.0;
+            System.out.println(String.format("  Dormand-Prince, tol = %.0e: evaluations = %7d, max error = %.3e, time = %.3f ms",
+                    tolerance, solver.getNumberOfEvaluations(), getMaxError(solution, exactSolution), millis));
+        }
+
+    }
+
+}
@@ -0,0 +1,87 @@
+package benchmarks;
+
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.classes.Function;
+import abstractexpressions.expression.classes.TypeFunction;
+import abstractexpressions.expression.classes.TypeOperator;
+import abstractexpressions.expression.classes.Variable;
+import exceptions.ExpressionException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Misst die Laufzeit der strukturellen Abfragen contains(), containsFunction(),
+ * containsOperator(), containsAlgebraicOperation(), getLength() und
+ * getContainedVars() auf tief verschachtelten Ausdrücken. Die Abfragen werden,
+ * wie während der Vereinfachung üblich, für jeden Teilausdruck gestellt. Wird
+ * nicht vom TestRunner ausgeführt, sondern direkt über main() gestartet.
+ */
+public class ExpressionMetadataBenchmark {
+
+    private static final int[] DEPTHS = new int[]{50, 200, 800};
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 20;
+
+    private static final Expression[] VARS = new Expression[10];
+
+    public static void main(String[] args) throws ExpressionException {
+        for (int i = 0; i < VARS.length; i++) {
+            VARS[i] = Expression.build("y_" + i);
+        }
+        double total = 0;
+        for (int depth : DEPTHS) {
+            // Eine frisch erzeugte Kette pro Durchlauf, damit auch der Aufbau der Caches mitgemessen wird.
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                queryAllSubexpressions(createDeepExpression(depth));
+            }
+            List<List<Expression>> chains = new ArrayList<>();
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                chains.add(createDeepExpression(depth));
+            }
+            long start = System.nanoTime();
+            int checksum = 0;
+            for (List<Expression> chain : chains) {
+                checksum += queryAllSubexpressions(chain);
+            }
+            double millis = (System.nanoTime() - start) / 1000000.0 / MEASURED_RUNS;
+            total += millis;
+            System.out.println("Depth " + depth + ": " + String.format("%.3f", millis) + " ms (" + checksum + ")");
+        }
+        System.out.println("Total: " + String.format("%.3f", total) + " ms");
+    }
+
+    /**
+     * Erzeugt die Kette f_0 = x, f_(k+1) = sin(f_k)*y_k + k (bzw. mit
+     * Quadratwurzel statt Sinus für ungerade k) und gibt alle Glieder zurück.
+     */
+    private static List<Expression> createDeepExpression(int depth) {
+        List<Expression> chain = new ArrayList<>();
+        Expression expr = Variable.create("x");
+        chain.add(expr);
+        for (int k = 0; k < depth; k++) {
+            Expression inner = k % 2 == 0 ? new Function(expr, TypeFunction.sin) : expr.pow(1, 2);
+            expr = inner.mult(VARS[k % VARS.length]).add(k);
+            chain.add(expr);
+        }
+        return chain;
+    }
+
+    private static int queryAllSubexpressions(List<Expression> chain) {
+        int checksum = 0;
+        for (Expression expr : chain) {
+            if (expr.contains("y_3")) {
+                checksum++;
+            }
+            if (expr.containsFunction() && !expr.containsOperator(TypeOperator.fac)) {
+                checksum++;
+            }
+            if (expr.containsAlgebraicOperation()) {
+                checksum++;
+            }
+            checksum += expr.getContainedVars().size();
+            checksum += expr.getLength() % 7;
+        }
+        return checksum;
+    }
+
+}
@@ -0,0 +1,77 @@
+package benchmarks;
+
+import abstractexpressions.annotations.SimplifyOperator;
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.classes.Operator;
+import exceptions.EvaluationException;
+import exceptions.ExpressionException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Vergleicht die Vereinfachung von Operatoren mittels Operator.simplifyBasic()
+ * (Tabelle der Vereinfachungsmethoden) mit der früheren Ermittlung der
+ * Vereinfachungsmethode per Reflection bei jedem Aufruf. Es werden Operatoren
+ * mit einfachen Argumenten verwendet, damit die Kosten des Aufrufs selbst
+ * dominieren. Wird nicht vom TestRunner ausgeführt, sondern direkt über main()
+ * gestartet.
+ */
+public class OperatorSimplifyBenchmark {
+
+    private static final String[] FORMULAS = new String[]{"max(x,y)", "min(x,y,z)", "gcd(x,y)", "lcm(x,y)",
+        "mod(x,y)", "mu(x,y,z)", "sigma(x,y)", "var(x,y,z)"};
+    private static final int WARMUP_RUNS = 20000;
+    private static final int MEASURED_RUNS = 200000;
+
+    /**
+     * Frühere Variante: Vereinfachungsmethode über die Annotationen aller
+     * deklarierten Methoden suchen und per Reflection aufrufen.
+     */
+    private static Expression simplifyByReflection(Operator operator) throws EvaluationException {
+        for (Method method : Operator.class.getDeclaredMethods()) {
+            SimplifyOperator annotation = method.getAnnotation(SimplifyOperator.class);
+            if (annotation != null && annotation.type().equals(operator.getType())) {
+                try {
+                    method.setAccessible(true);
+                    return (Expression) method.invoke(operator);
+                } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+                    if (e.getCause() instanceof EvaluationException) {
+                        throw (EvaluationException) e.getCause();
+                    }
+                    throw new EvaluationException(e.getMessage());
+                }
+            }
+        }
+        return operator;
+    }
+
+    private static long measureReflection(Operator[] operators, int runs) throws EvaluationException {
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            simplifyByReflection(operators[i % operators.length]);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long measureTable(Operator[] operators, int runs) throws EvaluationException {
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            operators[i % operators.length].simplifyBasic();
+        }
+        return System.nanoTime() - start;
+    }
+
+    public static void main(String[] args) throws ExpressionException, EvaluationException {
+        Operator[] operators = new Operator[FORMULAS.length];
+        for (int i = 0; i < FORMULAS.length; i++) {
+            operators[i] = (Operator) Expression.build(FORMULAS[i]);
+        }
+        measureReflection(operators, WARMUP_RUNS);
+        measureTable(operators, WARMUP_RUNS);
+        double reflection = measureReflection(operators, MEASURED_RUNS) / (double) MEASURED_RUNS;
+        double table = measureTable(operators, MEASURED_RUNS) / (double) MEASURED_RUNS;
+        System.out.println("Reflection: " + String.format("%.1f", reflection) + " ns per operator");
+        System.out.println("Dispatch table: " + String.format("%.1f", table) + " ns per operator");
+    }
+
+}
@@ -0,0 +1,56 @@
+package benchmarks;
+
+import abstractexpressions.expression.classes.Expression;
+import exceptions.ExpressionException;
+
+/**
+ * Misst die Laufzeit von Expression.build() für Formeln mit wachsender Anzahl
+ * von Summanden. Wird nicht vom TestRunner ausgeführt, sondern direkt über
+ * main() gestartet.
+ */
+public class ParseBenchmark {
+
+    private static final int[] NUMBERS_OF_TERMS = new int[]{100, 1000, 5000, 10000};
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 10;
+
+    private static String createFormula(int numberOfTerms) {
+        StringBuilder formula = new StringBuilder();
+        for (int i = 0; i < numberOfTerms; i++) {
+            if (i > 0) {
+                formula.append(i % 3 == 0 ? "-" : "+");
+            }
+            switch (i % 4) {
+                case 0:
+                    formula.append(i).append("*x^").append(i % 5);
+                    break;
+                case 1:
+                    formula.append("sin(").append(i).append("*y)/(x+").append(i).append(")");
+                    break;
+                case 2:
+                    formula.append("|x-").append(i).append("|");
+                    break;
+                default:
+                    formula.append("exp(-x^2/").append(i).append(")");
+            }
+        }
+        return formula.toString();
+    }
+
+    public static void main(String[] args) throws ExpressionException {
+        for (int numberOfTerms : NUMBERS_OF_TERMS) {
+            String formula = createFormula(numberOfTerms);
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                Expression.build(formula);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                Expression.build(formula);
+            }
+            double millis = (System.nanoTime() - start) / 1000000.0 / MEASURED_RUNS;
+            System.out.println("Terms: " + numberOfTerms + ", length: " + formula.length()
+                    + ", build: " + String.format("%.3f", millis) + " ms");
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package benchmarks;
+
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.classes.SimplifyProfiler;
+import exceptions.EvaluationException;
+import exceptions.ExpressionException;
+import java.util.Arrays;
+
+/**
+ * Misst die Laufzeit von Expression.simplify() für eine feste Auswahl typischer
+ * Ausdrücke (Polynome, rationale Funktionen, Exponential- und
+ * trigonometrische Ausdrücke). Wird nicht vom TestRunner ausgeführt, sondern
+ * direkt über main() gestartet. Mit dem Argument "intern" wird die
+ * Internierung von Ausdrücken eingeschaltet, mit dem Argument "profile" werden
+ * zusätzlich die Messwerte der einzelnen Pässe und Regeln ausgegeben.
+ */
+public class SimplifyBenchmark {
+
+    private static final String[] FORMULAS = new String[]{
+        "(x+y+z)^6-(x-y)^4*(z+1)^2",
+        "(x^5-1)/(x-1)+(x^4-y^4)/(x^2+y^2)",
+        "(a*x^2+b*x+c)*(d*x^3+e*x+f)-a*d*x^5",
+        "exp(2*x)*exp(3*y)/exp(x-y)+ln(x^2)-2*ln(x)",
+        "sin(x)^2+cos(x)^2+sin(2*x)-2*sin(x)*cos(x)",
+        "(x+1)/(x^2-1)+1/(x-1)^2-x/(x+1)",
+        "sum(k^2*x^k,k,1,10)+prod(x+k,k,1,5)",
+        "diff(x^3*sin(x)*exp(x),x)+int(x^2*exp(x),x)"};
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 20;
+
+    public static void main(String[] args) throws ExpressionException, EvaluationException {
+        Expression.setInterningEnabled(Arrays.asList(args).contains("intern"));
+        boolean profile = Arrays.asList(args).contains("profile");
+        Expression[] exprs = new Expression[FORMULAS.length];
+        for (int i = 0; i < FORMULAS.length; i++) {
+            exprs[i] = Expression.build(FORMULAS[i]);
+        }
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            for (Expression expr : exprs) {
+                expr.simplify();
+            }
+        }
+        double total = 0;
+        SimplifyProfiler.reset();
+        SimplifyProfiler.setEnabled(profile);
+        for (int j = 0; j < exprs.length; j++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                exprs[j].simplify();
+            }
+            double millis = (System.nanoTime() - start) / 1000000.0 / MEASURED_RUNS;
+            total += millis;
+            System.out.println(FORMULAS[j] + ": " + String.format("%.3f", millis) + " ms");
+        }
+        System.out.println("Total: " + String.format("%.3f", total) + " ms");
+        if (profile) {
+            for (SimplifyProfiler.Entry entry : SimplifyProfiler.getSnapshot()) {
+                System.out.println(entry);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package expression.computationtests;
+
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.computation.AdaptiveCurveSampler;
+import abstractexpressions.expression.computation.CompiledExpression;
+import basic.MathToolTestBase;
+import graphic.util.CurveTileCache;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class AdaptiveCurveSamplerTests extends MathToolTestBase {
+
+    Expression sine, root;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+    }
+
+    @Before
+    public void defineExpressions() throws Exception {
+        sine = Expression.build("sin(10*x)");
+        root = Expression.build("sqrt(x)");
+    }
+
+    @Test
+    public void sampledCurveIsAccurateTest() {
+        CompiledExpression f = CompiledExpression.compile(sine, "x");
+        double[][] points = AdaptiveCurveSampler.sample(f, -2, 2, 8, 0.001, 10);
+        Assert.assertEquals(-2, points[0][0], 0);
+        Assert.assertEquals(2, points[points.length - 1][0], 0);
+        for (int i = 0; i < points.length - 1; i++) {
+            Assert.assertTrue(points[i][0] < points[i + 1][0]);
+            // Die Sehne weicht in der Mitte nur wenig vom Graphen ab.
+            double xMiddle = (points[i][0] + points[i + 1][0]) / 2;
+            Assert.assertEquals(Math.sin(10 * xMiddle), (points[i][1] + points[i + 1][1]) / 2, 0.01);
+        }
+        // Flache Stücke werden gröber abgetastet als gekrümmte.
+        Assert.assertTrue(points.length < 8 * 1024 / 4);
+    }
+
+    @Test
+    public void boundaryOfDomainIsRefinedTest() {
+        CompiledExpression f = CompiledExpression.compile(root, "x");
+        double[][] points = AdaptiveCurveSampler.sample(f, -1, 1, 4, 0.001, 10);
+        int firstDefinedPoint = 0;
+        while (Double.isNaN(points[firstDefinedPoint][1])) {
+            firstDefinedPoint++;
+        }
+        // Der Rand des Definitionsbereichs wird bis auf 2 / (4 * 2^10) genau eingegrenzt.
+        Assert.assertTrue(points[firstDefinedPoint][0] <= 1.0 / 2048);
+        Assert.assertTrue(points[firstDefinedPoint - 1][0] < 0);
+    }
+
+    @Test
+    public void panningOnlySamplesNewTilesTest() {
+        CurveTileCache cache = new CurveTileCache(CurveTileCache.DEFAULT_CAPACITY);
+        double[][] graph = cache.getGraph(sine, "x", -2, 2, 0.01, 0.01);
+        long misses = cache.getMisses();
+        Assert.assertTrue(misses > 0);
+        Assert.assertTrue(graph[0][0] <= -2 && graph[graph.length - 1][0] >= 2);
+        for (int i = 0; i < graph.length - 1; i++) {
+            Assert.assertTrue(graph[i][0] < graph[i + 1][0]);
+        }
+        // Erneutes Zeichnen desselben Bereichs benötigt keine Auswertungen.
+        cache.getGraph(sine, "x", -2, 2, 0.01, 0.01);
+        Assert.assertEquals(misses, cache.getMisses());
+        Assert.assertEquals(misses, cache.getHits());
+        // Beim Verschieben werden nur die neu sichtbaren Kacheln abgetastet.
+        cache.getGraph(sine, "x", -1, 3, 0.01, 0.01);
+        Assert.assertTrue(cache.getMisses() - misses > 0 && cache.getMisses() - misses <= 2);
+        // Beim Zoomen werden die Kacheln mit der neuen Auflösung abgetastet.
+        cache.getGraph(sine, "x", -1, 1, 0.005, 0.005);
+        Assert.assertTrue(cache.getMisses() > misses + 2);
+    }
+
+    @Test
+    public void leastRecentlyUsedTilesAreEvictedTest() {
+        CurveTileCache cache = new CurveTileCache(4);
+        cache.getGraph(sine, "x", 0, 10, 0.01, 0.01);
+        Assert.assertEquals(4, cache.getSize());
+        // Nur die zuletzt verwendeten Kacheln [7, 8), ..., [10, 11) sind noch vorhanden.
+        long misses = cache.getMisses();
+        cache.getGraph(sine, "x", 7, 10, 0.01, 0.01);
+        Assert.assertEquals(misses, cache.getMisses());
+        cache.getGraph(sine, "x", 0, 0.5, 0.01, 0.01);
+        Assert.assertEquals(misses + 1, cache.getMisses());
+        Assert.assertEquals(4, cache.getSize());
+        cache.clear();
+        Assert.assertEquals(0, cache.getSize());
+        Assert.assertEquals(0, cache.getMisses());
+    }
+
+}
@@ -0,0 +1,89 @@
+package expression.computationtests;
+
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.computation.NumericalUtils;
+import basic.MathToolTestBase;
+import graphic.util.MarchingSquare;
+import graphic.util.MarchingSquaresGrid;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class AdaptiveMarchingSquaresTests extends MathToolTestBase {
+
+    Expression circle, hyperbola;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+    }
+
+    @Before
+    public void defineExpressions() throws Exception {
+        circle = Expression.build("x^2+y^2-4");
+        hyperbola = Expression.build("x*y-1");
+    }
+
+    private static void assertSameCurve(MarchingSquaresGrid expected, MarchingSquaresGrid actual) {
+        Assert.assertEquals(expected.getNumberOfIntervalsX(), actual.getNumberOfIntervalsX());
+        Assert.assertEquals(expected.getNumberOfIntervalsY(), actual.getNumberOfIntervalsY());
+        for (int i = 0; i < expected.getNumberOfIntervalsX(); i++) {
+            for (int j = 0; j < expected.getNumberOfIntervalsY(); j++) {
+                Assert.assertEquals(expected.containsGraph(i, j), actual.containsGraph(i, j));
+                Assert.assertEquals(expected.getNumberOfInnerVertices(i, j), actual.getNumberOfInnerVertices(i, j));
+            }
+        }
+    }
+
+    @Test
+    public void adaptiveSamplingFindsSameCurveTest() {
+        MarchingSquaresGrid grid = MarchingSquaresGrid.fromMarchingSquares(
+                NumericalUtils.solveImplicitEquation2D(circle, "x", "y", -3, 3, -3, 3));
+        MarchingSquaresGrid adaptiveGrid = NumericalUtils.solveImplicitEquation2D(circle, "x", "y", -3, 3, -3, 3, 100, 101 * 101);
+        assertSameCurve(grid, adaptiveGrid);
+        // Nur ein Bruchteil der Gitterpunkte wird tatsächlich ausgewertet.
+        Assert.assertTrue(adaptiveGrid.getNumberOfEvaluations() < 101 * 101 / 3);
+    }
+
+    @Test
+    public void adaptiveSamplingOfSeveralComponentsTest() {
+        MarchingSquaresGrid grid = MarchingSquaresGrid.fromMarchingSquares(
+                NumericalUtils.solveImplicitEquation2D(hyperbola, "x", "y", -4, 4, -4, 4));
+        MarchingSquaresGrid adaptiveGrid = NumericalUtils.solveImplicitEquation2D(hyperbola, "x", "y", -4, 4, -4, 4, 100, 101 * 101);
+        assertSameCurve(grid, adaptiveGrid);
+    }
+
+    @Test
+    public void numberOfEvaluationsIsBoundedTest() {
+        MarchingSquaresGrid adaptiveGrid = NumericalUtils.solveImplicitEquation2D(circle, "x", "y", -3, 3, -3, 3, 400, 1000);
+        Assert.assertEquals(400, adaptiveGrid.getNumberOfIntervalsX());
+        Assert.assertTrue(adaptiveGrid.getNumberOfEvaluations() <= 1000);
+        // Auch bei zu kleinem Budget werden die Vorzeichen korrekt interpoliert.
+        Assert.assertTrue(adaptiveGrid.getValue(0, 0) > 0);
+        Assert.assertTrue(adaptiveGrid.getValue(200, 200) < 0);
+    }
+
+    @Test
+    public void gridFromMarchingSquaresTest() {
+        MarchingSquare[][] squares = NumericalUtils.solveImplicitEquation2D(circle, "x", "y", -3, 3, -3, 3);
+        MarchingSquaresGrid grid = MarchingSquaresGrid.fromMarchingSquares(squares);
+        Assert.assertEquals(squares.length, grid.getNumberOfIntervalsX());
+        double[][] vertexValues = new double[2][2];
+        for (int i = 0; i < squares.length; i++) {
+            for (int j = 0; j < squares[i].length; j++) {
+                grid.getVertexValues(i, j, vertexValues);
+                for (int p = 0; p < 2; p++) {
+                    for (int q = 0; q < 2; q++) {
+                        Assert.assertTrue(vertexValues[p][q] == squares[i][j].getVertexValue(p, q));
+                    }
+                }
+            }
+        }
+    }
+
+}
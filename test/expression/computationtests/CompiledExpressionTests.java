@@ -0,0 +1,146 @@
+package expression.computationtests;
+
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.classes.Variable;
+import abstractexpressions.expression.computation.CompiledExpression;
+import basic.MathToolTestBase;
+import exceptions.EvaluationException;
+import exceptions.ExpressionException;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class CompiledExpressionTests extends MathToolTestBase {
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+    }
+
+    @Before
+    public void defineExpressions() throws Exception {
+    }
+
+    /**
+     * Vergleicht die Auswertung des kompilierten Ausdrucks mit der von
+     * Expression.evaluate() an den Stellen (x, y) = (xValues[i], yValues[j]).
+     * Undefinierte Werte müssen in beiden Fällen undefiniert sein.
+     */
+    private static boolean compareWithTreeEvaluation(Expression f, double[] xValues, double[] yValues) {
+        CompiledExpression compiledF = f.compile("x", "y");
+        for (double x : xValues) {
+            for (double y : yValues) {
+                Variable.setValue("x", x);
+                Variable.setValue("y", y);
+                Double expectedValue, value;
+                try {
+                    expectedValue = f.evaluate();
+                } catch (EvaluationException e) {
+                    expectedValue = null;
+                }
+                try {
+                    value = compiledF.evaluate(x, y);
+                } catch (EvaluationException e) {
+                    value = null;
+                }
+                if (expectedValue == null && value != null || expectedValue != null && value == null) {
+                    return false;
+                }
+                if (expectedValue != null && Double.compare(expectedValue, value) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Test
+    public void compilePolynomialTest() {
+        try {
+            Expression f = Expression.build("3*x^2-5*x*y+y^3/7-2");
+            double[] values = new double[]{-2.5, -1, 0, 0.5, 3};
+            Assert.assertTrue(compareWithTreeEvaluation(f, values, values));
+        } catch (ExpressionException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void compileFunctionsWithDomainRestrictionsTest() {
+        try {
+            Expression f = Expression.build("ln(x)+sqrt(y)-arcsin(x/3)+cot(y)*artanh(x/2)");
+            double[] values = new double[]{-2, -0.5, 0, 0.5, 1, 2.5};
+            Assert.assertTrue(compareWithTreeEvaluation(f, values, values));
+        } catch (ExpressionException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void compileOddRootOfNegativeNumberTest() {
+        try {
+            // Ungerade Wurzeln aus negativen Zahlen sind definiert.
+            Expression f = Expression.build("x^(1/3)+y^(2/5)");
+            double[] values = new double[]{-8, -1, 0, 1, 27};
+            Assert.assertTrue(compareWithTreeEvaluation(f, values, values));
+            Assert.assertTrue(f.compile("x", "y").evaluate(-8, -32) == -2 + 4);
+        } catch (ExpressionException | EvaluationException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void compileConstantSubexpressionsTest() {
+        try {
+            // Konstante Teilausdrücke werden beim Kompilieren zusammengefasst.
+            Expression f = Expression.build("x*(2+sin(pi/6))+z");
+            Variable.setValue("z", 4);
+            CompiledExpression compiledF = f.compile("x");
+            Assert.assertTrue(compiledF.getNumberOfInstructions() == 5);
+            Assert.assertTrue(Math.abs(compiledF.evaluate(2) - 9) < 0.000000001);
+        } catch (ExpressionException | EvaluationException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void compileUndefinedConstantSubexpressionTest() {
+        try {
+            Expression f = Expression.build("x+ln(-1)");
+            f.compile("x").evaluate(1);
+            fail("x+ln(-1) must be undefined.");
+        } catch (ExpressionException e) {
+            fail(e.getMessage());
+        } catch (EvaluationException e) {
+        }
+    }
+
+    @Test
+    public void compileWithOperatorTest() {
+        try {
+            Expression f = Expression.build("sum(k*x,k,1,4)+y");
+            double[] values = new double[]{-1, 0, 2};
+            Assert.assertTrue(compareWithTreeEvaluation(f, values, values));
+        } catch (ExpressionException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void compileWithWrongNumberOfArgumentsTest() {
+        try {
+            Expression.build("x+y").compile("x", "y").evaluate(1);
+            fail("Evaluation with a wrong number of arguments must fail.");
+        } catch (ExpressionException e) {
+            fail(e.getMessage());
+        } catch (EvaluationException e) {
+        }
+    }
+
+}
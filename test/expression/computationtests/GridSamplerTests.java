@@ -0,0 +1,81 @@
+package expression.computationtests;
+
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.classes.Variable;
+import abstractexpressions.expression.computation.GridSampler;
+import basic.MathToolTestBase;
+import graphic.util.SurfaceGrid;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class GridSamplerTests extends MathToolTestBase {
+
+    Expression paraboloid, root;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+    }
+
+    @Before
+    public void defineExpressions() throws Exception {
+        paraboloid = Expression.build("x^2-3*x*y+sin(y)");
+        root = Expression.build("sqrt(x*y)");
+    }
+
+    @Test
+    public void sampledValuesAreCorrectTest() throws Exception {
+        SurfaceGrid grid = GridSampler.sample(paraboloid, "x", "y", -2, 3, -1, 1, 500, 40);
+        Assert.assertEquals(500, grid.getNumberOfIntervalsX());
+        Assert.assertEquals(40, grid.getNumberOfIntervalsY());
+        Assert.assertEquals(501 * 41, grid.getValues().length);
+        for (int i = 0; i <= 500; i += 7) {
+            for (int j = 0; j <= 40; j += 3) {
+                Variable.setValue("x", grid.getX(i));
+                Variable.setValue("y", grid.getY(j));
+                Assert.assertEquals(paraboloid.evaluate(), grid.getValue(i, j), 1E-12);
+            }
+        }
+        Assert.assertEquals(3, grid.getX(500), 0);
+        Assert.assertEquals(-1, grid.getY(0), 0);
+    }
+
+    @Test
+    public void definedPointsTest() {
+        SurfaceGrid grid = GridSampler.sample(root, "x", "y", -1, 1, -1, 1, 100, 100);
+        // sqrt(x*y) ist genau im ersten und dritten Quadranten (inkl. Achsen) definiert.
+        Assert.assertTrue(grid.isDefined(100, 100));
+        Assert.assertTrue(grid.isDefined(0, 0));
+        Assert.assertTrue(grid.isDefined(50, 20));
+        Assert.assertFalse(grid.isDefined(0, 100));
+        Assert.assertFalse(grid.isDefined(70, 30));
+        Assert.assertEquals(2 * 51 * 51 - 1, grid.getNumberOfDefinedPoints());
+        boolean[][] pointsAreDefined = grid.toDefinedPointsArray();
+        double[][][] graph = grid.toGraph3D();
+        for (int i = 0; i <= 100; i++) {
+            for (int j = 0; j <= 100; j++) {
+                Assert.assertEquals(!Double.isNaN(graph[i][j][2]), pointsAreDefined[i][j]);
+            }
+        }
+    }
+
+    @Test
+    public void parallelSamplingEqualsSequentialSamplingTest() throws Exception {
+        // Ausdrücke mit Operatoren werden sequentiell abgetastet.
+        Expression paraboloidWithOperator = Expression.build("x^2-3*x*y+sin(y)+sum(0,k,1,3)");
+        SurfaceGrid grid = GridSampler.sample(paraboloid, "x", "y", -2, 3, -1, 1, 60, 60);
+        SurfaceGrid gridWithOperator = GridSampler.sample(paraboloidWithOperator, "x", "y", -2, 3, -1, 1, 60, 60);
+        for (int i = 0; i <= 60; i++) {
+            for (int j = 0; j <= 60; j++) {
+                Assert.assertEquals(grid.getValue(i, j), gridWithOperator.getValue(i, j), 1E-12);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,149 @@
+package expression.computationtests;
+
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.classes.Variable;
+import abstractexpressions.expression.computation.Interval;
+import abstractexpressions.expression.computation.NumericalUtils;
+import abstractexpressions.expression.computation.SparseMarchingCubes;
+import basic.MathToolTestBase;
+import exceptions.EvaluationException;
+import graphic.util.MarchingCube;
+import graphic.util.MarchingSquare;
+import graphic.util.SurfaceMesh;
+import java.util.Random;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class IntervalArithmeticTests extends MathToolTestBase {
+
+    Expression circle, sphere;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+    }
+
+    @Before
+    public void defineExpressions() throws Exception {
+        circle = Expression.build("x^2+y^2-4");
+        sphere = Expression.build("x^2+y^2+z^2-4");
+    }
+
+    private static double evaluate(Expression f, double x, double y) {
+        Variable.setValue("x", x);
+        Variable.setValue("y", y);
+        try {
+            return f.evaluate();
+        } catch (EvaluationException e) {
+            return Double.NaN;
+        }
+    }
+
+    @Test
+    public void boundsContainSampledValuesTest() throws Exception {
+        Expression[] expressions = {Expression.build("sin(x*y)+exp(x)/(1+y^2)"), Expression.build("ln(x^2+1)*cos(y)-arctan(x/3)"),
+            Expression.build("sqrt(x^2+y^2)-abs(x)^(3/2)"), Expression.build("cosh(x)-sinh(y)^3+tan(x/4)")};
+        Random random = new Random(42);
+        for (Expression f : expressions) {
+            for (int box = 0; box < 20; box++) {
+                double x = 4 * random.nextDouble() - 2, y = 4 * random.nextDouble() - 2;
+                double width = random.nextDouble(), height = random.nextDouble();
+                Interval range = f.evaluateInterval(new String[]{"x", "y"},
+                        new Interval[]{new Interval(x, x + width), new Interval(y, y + height)});
+                for (int p = 0; p <= 4; p++) {
+                    for (int q = 0; q <= 4; q++) {
+                        double value = evaluate(f, x + p * width / 4, y + q * height / 4);
+                        Assert.assertTrue(f + " on " + x + ", " + y + ": " + value + " not in " + range,
+                                Double.isNaN(value) || range.contains(value));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void boundsOfArsinhContainSampledValuesTest() throws Exception {
+        Expression f = Expression.build("exp(arcosech(x^3))");
+        double x = -0.0237, width = 0.0002;
+        Interval range = f.evaluateInterval(new String[]{"x"}, new Interval[]{new Interval(x, x + width)});
+        for (int p = 0; p <= 100; p++) {
+            double value = evaluate(f, x + p * width / 100, 0);
+            Assert.assertTrue(value + " not in " + range, range.contains(value));
+        }
+    }
+
+    @Test
+    public void boundsAreNeverNaNTest() throws Exception {
+        Assert.assertEquals(Double.POSITIVE_INFINITY, Interval.hull(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, true).getInf(), 0);
+        Assert.assertEquals(Double.NEGATIVE_INFINITY, Interval.hull(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, true).getSup(), 0);
+        Expression[] expressions = {Expression.build("exp(exp(x))"), Expression.build("-exp(exp(x))"), Expression.build("1/x"),
+            Expression.build("ln(x)"), Expression.build("arcosech(x)"), Expression.build("sinh(x^5)*tan(y)"), Expression.build("x^y")};
+        Interval[] ranges = {new Interval(-1, 1), new Interval(0, 0), new Interval(500, 1000), new Interval(-1000, -500),
+            new Interval(0, 1E300), new Interval(-1E300, 1E300)};
+        for (Expression f : expressions) {
+            for (Interval rangeOfX : ranges) {
+                for (Interval rangeOfY : ranges) {
+                    Interval range = f.evaluateInterval(new String[]{"x", "y"}, new Interval[]{rangeOfX, rangeOfY});
+                    Assert.assertFalse(f + " on " + rangeOfX + ", " + rangeOfY + ": " + range,
+                            Double.isNaN(range.getInf()) || Double.isNaN(range.getSup()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void definedFlagTest() throws Exception {
+        String[] vars = {"x"};
+        Expression ln = Expression.build("ln(x)");
+        Expression reciprocal = Expression.build("1/x");
+        Assert.assertTrue(ln.evaluateInterval(vars, new Interval[]{new Interval(1, 2)}).isDefined());
+        Assert.assertFalse(ln.evaluateInterval(vars, new Interval[]{new Interval(-1, 2)}).isDefined());
+        Assert.assertTrue(ln.evaluateInterval(vars, new Interval[]{new Interval(-2, -1)}).isEmpty());
+        Assert.assertTrue(reciprocal.evaluateInterval(vars, new Interval[]{new Interval(2, 4)}).isDefinedAndSignDefinite());
+        Assert.assertFalse(reciprocal.evaluateInterval(vars, new Interval[]{new Interval(-1, 1)}).isDefined());
+    }
+
+    @Test
+    public void signDefiniteBoxesTest() {
+        String[] vars = {"x", "y"};
+        // Fern der Kurve besitzt f ein festes Vorzeichen, auf der Kurve nicht.
+        Assert.assertTrue(circle.evaluateInterval(vars, new Interval[]{new Interval(3, 4), new Interval(3, 4)}).getInf() > 0);
+        Assert.assertTrue(circle.evaluateInterval(vars, new Interval[]{new Interval(-0.5, 0.5), new Interval(-0.5, 0.5)}).getSup() < 0);
+        Assert.assertFalse(circle.evaluateInterval(vars, new Interval[]{new Interval(1, 3), new Interval(-1, 1)}).isDefinedAndSignDefinite());
+    }
+
+    @Test
+    public void culledSolutionsEqualSampledSolutionsTest() {
+        MarchingSquare[][] squares = NumericalUtils.solveImplicitEquation2D(circle, "x", "y", -3, 3, -3, 3);
+        for (int i = 0; i < squares.length; i++) {
+            for (int j = 0; j < squares[i].length; j++) {
+                for (int p = 0; p < 2; p++) {
+                    for (int q = 0; q < 2; q++) {
+                        double value = evaluate(circle, -3 + (i + p) * 6.0 / 100, -3 + (j + q) * 6.0 / 100);
+                        Assert.assertEquals(value > 0, squares[i][j].getVertexValue(p, q) > 0);
+                    }
+                }
+            }
+        }
+        MarchingCube[][][] cubes = NumericalUtils.solveImplicitEquation3D(sphere, "x", "y", "z", -3, 3, -3, 3, -3, 3);
+        int numberOfCubesContainingSurface = 0;
+        for (MarchingCube[][] cubesInPlane : cubes) {
+            for (MarchingCube[] cubesInRow : cubesInPlane) {
+                for (MarchingCube cube : cubesInRow) {
+                    if (!cube.containsNoInnerPoints() && cube.getInnerVertices().size() < 8) {
+                        numberOfCubesContainingSurface++;
+                    }
+                }
+            }
+        }
+        SurfaceMesh mesh = SparseMarchingCubes.solve(sphere, "x", "y", "z", -3, 3, -3, 3, -3, 3, cubes.length);
+        Assert.assertEquals(numberOfCubesContainingSurface, mesh.getNumberOfCrossedCells());
+    }
+
+}
@@ -0,0 +1,67 @@
+package expression.computationtests;
+
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.computation.DormandPrinceSolver;
+import abstractexpressions.expression.computation.NumericalUtils;
+import basic.MathToolTestBase;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class NumericalDifferentialEquationTests extends MathToolTestBase {
+
+    Expression gaussian, oscillator, singular;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+    }
+
+    @Before
+    public void defineExpressions() throws Exception {
+        gaussian = Expression.build("-2*x*y");
+        oscillator = Expression.build("-y");
+        singular = Expression.build("1/(1-x)");
+    }
+
+    @Test
+    public void solveWithDenseOutputTest() {
+        // y' = -2*x*y, y(0) = 1 -> y = exp(-x^2).
+        double[][] solution = NumericalUtils.solveDifferentialEquationByDormandPrince(gaussian, "x", "y", 1, 0, 3, new double[]{1}, 100, 1E-10);
+        Assert.assertEquals(101, solution.length);
+        for (int i = 0; i <= 100; i++) {
+            Assert.assertEquals(3.0 * i / 100, solution[i][0], 1E-14);
+            Assert.assertEquals(Math.exp(-solution[i][0] * solution[i][0]), solution[i][1], 1E-8);
+        }
+        Assert.assertTrue(solution[100][0] == 3);
+    }
+
+    @Test
+    public void solveEquationOfSecondOrderTest() {
+        // y'' = -y, y(0) = 0, y'(0) = 1 -> y = sin(x), auch rückwärts.
+        DormandPrinceSolver solver = new DormandPrinceSolver(oscillator, "x", "y", 2, 1E-10);
+        double[][] solution = solver.solve(0, -20, new double[]{0, 1});
+        Assert.assertTrue(solution[solution.length - 1][0] == -20);
+        for (double[] point : solution) {
+            Assert.assertEquals(Math.sin(point[0]), point[1], 1E-7);
+        }
+        // Pro Schritt werden (dank FSAL) nur sechs neue Auswertungen benötigt.
+        Assert.assertEquals(solution.length - 1, solver.getNumberOfAcceptedSteps());
+        Assert.assertEquals(1 + 6 * (solver.getNumberOfAcceptedSteps() + solver.getNumberOfRejectedSteps()),
+                solver.getNumberOfEvaluations());
+    }
+
+    @Test
+    public void solveUpToUndefinedValueTest() {
+        // y' = 1/(1-x) ist bei x = 1 nicht definiert.
+        double[][] solution = NumericalUtils.solveDifferentialEquationByDormandPrince(singular, "x", "y", 1, 0, 2, new double[]{0}, 200, 1E-8);
+        Assert.assertTrue(solution.length > 1 && solution.length < 201);
+        Assert.assertTrue(solution[solution.length - 1][0] < 1);
+    }
+
+}
@@ -0,0 +1,134 @@
+package expression.computationtests;
+
+import abstractexpressions.expression.classes.Constant;
+import abstractexpressions.expression.classes.EvaluationContext;
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.computation.NumericalUtils;
+import basic.MathToolTestBase;
+import exceptions.EvaluationException;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class NumericalIntegrationTests extends MathToolTestBase {
+
+    Expression polynomial, peak, gaussian, integralOfGaussian;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+    }
+
+    @Before
+    public void defineExpressions() throws Exception {
+        polynomial = Expression.build("x^5-3*x^2+1");
+        peak = Expression.build("1/(x^2+10^(-4))");
+        gaussian = Expression.build("exp(-x^2)");
+        integralOfGaussian = Expression.build("int(exp(-x^2),x,0,1)");
+    }
+
+    @Test
+    public void integratePolynomialTest() {
+        try {
+            // Die Kronrod-Regel integriert Polynome vom Grad 5 exakt.
+            double integral = NumericalUtils.integrateByGaussKronrod(polynomial, "x", 0, 2);
+            Assert.assertEquals(64.0 / 6 - 8 + 2, integral, 1E-12);
+            Assert.assertEquals(-integral, NumericalUtils.integrateByGaussKronrod(polynomial, "x", 2, 0), 1E-12);
+        } catch (EvaluationException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void integratePeakedFunctionTest() {
+        try {
+            double exactIntegral = 200 * Math.atan(100);
+            double integral = NumericalUtils.integrateByGaussKronrod(peak, "x", -1, 1);
+            Assert.assertEquals(exactIntegral, integral, 1E-10 * exactIntegral);
+            double integralInParallel = NumericalUtils.integrateByGaussKronrod(peak, "x", -1, 1,
+                    NumericalUtils.DEFAULT_INTEGRATION_TOLERANCE, EvaluationContext.GLOBAL, true);
+            Assert.assertEquals(exactIntegral, integralInParallel, 1E-10 * exactIntegral);
+            // Der parallele Modus ist deterministisch.
+            Assert.assertTrue(integralInParallel == NumericalUtils.integrateByGaussKronrod(peak, "x", -1, 1,
+                    NumericalUtils.DEFAULT_INTEGRATION_TOLERANCE, EvaluationContext.GLOBAL, true));
+        } catch (EvaluationException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void integrateWithContextTest() {
+        try {
+            EvaluationContext context = new EvaluationContext();
+            context.setValue("a", 3);
+            double integral = NumericalUtils.integrateByGaussKronrod(Expression.build("a*x^2"), "x", 0, 1,
+                    NumericalUtils.DEFAULT_INTEGRATION_TOLERANCE, context, true);
+            Assert.assertEquals(1, integral, 1E-12);
+            Assert.assertFalse(context.isBound("x"));
+        } catch (Exception e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void integrateIntegrandWithOperatorTest() {
+        try {
+            // Die Auswertung von sum() belegt den Index global, daher darf hier nicht parallel gerechnet werden.
+            Expression sumOfPeaks = Expression.build("sum(k/(x^2+10^(-4)),k,1,2)");
+            double exactIntegral = 600 * Math.atan(100);
+            double serialIntegral = NumericalUtils.integrateByGaussKronrod(sumOfPeaks, "x", -1, 1,
+                    NumericalUtils.DEFAULT_INTEGRATION_TOLERANCE, EvaluationContext.GLOBAL, false);
+            Assert.assertEquals(exactIntegral, serialIntegral, 1E-10 * exactIntegral);
+            Assert.assertTrue(serialIntegral == NumericalUtils.integrateByGaussKronrod(sumOfPeaks, "x", -1, 1,
+                    NumericalUtils.DEFAULT_INTEGRATION_TOLERANCE, EvaluationContext.GLOBAL, true));
+            Expression integral = Expression.build("int(sum(k/(x^2+10^(-4)),k,1,2),x,-1,1)").turnToApproximate().simplify();
+            Assert.assertTrue(integral.toString(), integral instanceof Constant);
+            Assert.assertEquals(exactIntegral, integral.evaluate(), 1E-10 * exactIntegral);
+        } catch (Exception e) {
+            fail(e.getMessage());
+        } finally {
+            // Notwendig für weitere Tests!
+            integralOfGaussian.turnToPrecise();
+        }
+    }
+
+    @Test
+    public void evaluateIntegralWithBoundedEffortTest() {
+        try {
+            // Nicht glatter Integrand: Die Auswertung bricht nach wenigen Teilintervallen mit einer groben Näherung ab.
+            Expression kink = Expression.build("abs(x-1/3)");
+            double exactIntegral = 5.0 / 18;
+            Assert.assertEquals(exactIntegral, NumericalUtils.integrateByGaussKronrod(kink, "x", 0, 1,
+                    NumericalUtils.EVALUATION_INTEGRATION_TOLERANCE, 50, EvaluationContext.GLOBAL, false), 1E-6);
+            Assert.assertEquals(0.746824132812427, integralOfGaussian.turnToApproximate().evaluate(), 1E-8);
+        } catch (Exception e) {
+            fail(e.getMessage());
+        } finally {
+            // Notwendig für weitere Tests!
+            integralOfGaussian.turnToPrecise();
+        }
+    }
+
+    @Test
+    public void evaluateDefiniteIntegralTest() {
+        try {
+            double expectedIntegral = 0.746824132812427;
+            Expression approximatedIntegral = integralOfGaussian.turnToApproximate().simplify();
+            Assert.assertTrue(approximatedIntegral instanceof Constant);
+            Assert.assertEquals(expectedIntegral, approximatedIntegral.evaluate(), 1E-12);
+            Assert.assertEquals(expectedIntegral, NumericalUtils.integrateByGaussKronrod(gaussian, "x", 0, 1), 1E-12);
+        } catch (EvaluationException e) {
+            fail(e.getMessage());
+        } finally {
+            // Notwendig für weitere Tests! (turnToApproximate() markiert die Variable x global als approximativ.)
+            integralOfGaussian.turnToPrecise();
+        }
+    }
+
+}
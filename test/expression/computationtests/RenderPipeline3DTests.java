@@ -0,0 +1,158 @@
+package expression.computationtests;
+
+import basic.MathToolTestBase;
+import graphic.util.FrameTimer;
+import graphic.util.RenderPipeline3D;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class RenderPipeline3DTests extends MathToolTestBase {
+
+    RenderPipeline3D pipeline;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+    }
+
+    @Before
+    public void createPipeline() throws Exception {
+        // Gitter aus 20 x 20 Plättchen auf dem Graphen von z = x^2 - y^2.
+        pipeline = new RenderPipeline3D();
+        int n = 20;
+        int[][] vertexIndices = new int[n + 1][n + 1];
+        for (int i = 0; i <= n; i++) {
+            for (int j = 0; j <= n; j++) {
+                double x = -1 + 2.0 * i / n, y = -1 + 2.0 * j / n;
+                vertexIndices[i][j] = pipeline.addVertex(x, y, x * x - y * y);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                pipeline.addPolygon((i + j) % 2, vertexIndices[i][j], vertexIndices[i + 1][j], vertexIndices[i + 1][j + 1], vertexIndices[i][j + 1]);
+            }
+        }
+    }
+
+    private double getDepth(int polygon, double directionX, double directionY, double directionZ) {
+        return directionX * pipeline.getCenterCoordinate(polygon, 0) + directionY * pipeline.getCenterCoordinate(polygon, 1)
+                + directionZ * pipeline.getCenterCoordinate(polygon, 2);
+    }
+
+    private void assertSortedByDepth(int[] order, double directionX, double directionY, double directionZ) {
+        Assert.assertEquals(pipeline.getNumberOfPolygons(), order.length);
+        boolean[] visited = new boolean[order.length];
+        for (int p = 0; p < order.length; p++) {
+            Assert.assertFalse(visited[order[p]]);
+            visited[order[p]] = true;
+            if (p > 0) {
+                Assert.assertTrue(getDepth(order[p - 1], directionX, directionY, directionZ) <= getDepth(order[p], directionX, directionY, directionZ));
+            }
+        }
+    }
+
+    private double[] getDirection(double angle, double verticalAngle) {
+        return new double[]{Math.sin(angle / 180 * Math.PI) * Math.cos(verticalAngle / 180 * Math.PI),
+            -Math.cos(angle / 180 * Math.PI) * Math.cos(verticalAngle / 180 * Math.PI),
+            Math.sin(verticalAngle / 180 * Math.PI)};
+    }
+
+    @Test
+    public void createPipelineTest() {
+        Assert.assertEquals(441, pipeline.getNumberOfVertices());
+        Assert.assertEquals(400, pipeline.getNumberOfPolygons());
+        Assert.assertEquals(4, pipeline.getNumberOfPolygonVertices(0));
+        Assert.assertEquals(1, pipeline.getGroup(1));
+        // Schwerpunkt des ersten Plättchens mit den Ecken (-1, -1), (-0.9, -1), (-0.9, -0.9), (-1, -0.9).
+        Assert.assertEquals(-0.95, pipeline.getCenterCoordinate(0, 0), 1E-10);
+        Assert.assertEquals(-0.95, pipeline.getCenterCoordinate(0, 1), 1E-10);
+        Assert.assertEquals(0, pipeline.getCenterCoordinate(0, 2), 1E-10);
+    }
+
+    @Test
+    public void addGridTest() {
+        RenderPipeline3D gridPipeline = new RenderPipeline3D();
+        double[][][] grid = new double[3][3][3];
+        boolean[][] isDefined = new boolean[3][3];
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                grid[i][j] = new double[]{i, j, i * j};
+                isDefined[i][j] = true;
+            }
+        }
+        // Die Ecke (2, 2) gehört nur zum Viereck (1, 1), welches damit ausgelassen wird.
+        isDefined[2][2] = false;
+        gridPipeline.addGrid(5, grid, isDefined);
+        Assert.assertEquals(9, gridPipeline.getNumberOfVertices());
+        Assert.assertEquals(3, gridPipeline.getNumberOfPolygons());
+        Assert.assertEquals(5, gridPipeline.getGroup(2));
+        // Schwerpunkt des Vierecks (1, 0) mit den Ecken (1, 0), (2, 0), (2, 1), (1, 1).
+        Assert.assertEquals(1.5, gridPipeline.getCenterCoordinate(2, 0), 1E-10);
+        Assert.assertEquals(0.5, gridPipeline.getCenterCoordinate(2, 1), 1E-10);
+        Assert.assertEquals(0.75, gridPipeline.getCenterCoordinate(2, 2), 1E-10);
+    }
+
+    @Test
+    public void projectTest() {
+        double[] m = new double[]{100, 50, 0, 300, -20, 40, -150, 200};
+        pipeline.project(m);
+        // Zweite Ecke des ersten Plättchens ist (-0.9, -1, -0.19).
+        Assert.assertEquals((int) (100 * -0.9 + 50 * -1 + 300), pipeline.getPixelX(0, 1));
+        Assert.assertEquals((int) (-20 * -0.9 + 40 * -1 - 150 * (0.81 - 1) + 200), pipeline.getPixelY(0, 1));
+    }
+
+    @Test
+    public void sortByDepthTest() {
+        double[] direction = getDirection(30, 20);
+        int[] order = pipeline.sortByDepth(direction[0], direction[1], direction[2]);
+        Assert.assertFalse(pipeline.wasLastSortIncremental());
+        assertSortedByDepth(order, direction[0], direction[1], direction[2]);
+    }
+
+    @Test
+    public void smallRotationIsSortedIncrementallyTest() {
+        double[] direction = getDirection(30, 20);
+        pipeline.sortByDepth(direction[0], direction[1], direction[2]);
+        for (int angle = 31; angle <= 40; angle++) {
+            direction = getDirection(angle, 20);
+            int[] order = pipeline.sortByDepth(direction[0], direction[1], direction[2]);
+            Assert.assertTrue(pipeline.wasLastSortIncremental());
+            assertSortedByDepth(order, direction[0], direction[1], direction[2]);
+        }
+    }
+
+    @Test
+    public void largeRotationIsSortedCompletelyTest() {
+        double[] direction = getDirection(30, 20);
+        pipeline.sortByDepth(direction[0], direction[1], direction[2]);
+        // Gegenüberliegende Seite: die Reihenfolge kehrt sich (nahezu) um.
+        direction = getDirection(210, -20);
+        int[] order = pipeline.sortByDepth(direction[0], direction[1], direction[2]);
+        Assert.assertFalse(pipeline.wasLastSortIncremental());
+        assertSortedByDepth(order, direction[0], direction[1], direction[2]);
+    }
+
+    @Test
+    public void frameTimerTest() {
+        FrameTimer frameTimer = new FrameTimer();
+        Assert.assertEquals(0, frameTimer.getNumberOfFrames());
+        for (int i = 0; i < 3; i++) {
+            frameTimer.start();
+            double[] direction = getDirection(30 + i, 20);
+            pipeline.sortByDepth(direction[0], direction[1], direction[2]);
+            frameTimer.stop();
+        }
+        Assert.assertEquals(3, frameTimer.getNumberOfFrames());
+        Assert.assertTrue(frameTimer.getLastFrameTimeMillis() >= 0);
+        Assert.assertTrue(frameTimer.getAverageFrameTimeMillis() >= 0);
+        frameTimer.reset();
+        Assert.assertEquals(0, frameTimer.getNumberOfFrames());
+    }
+
+}
@@ -0,0 +1,73 @@
+package expression.computationtests;
+
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.computation.RootFinder;
+import basic.MathToolTestBase;
+import java.util.List;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class RootFinderTests extends MathToolTestBase {
+
+    Expression sine, sineWithOperator, tangent, cubic;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+    }
+
+    @Before
+    public void defineExpressions() throws Exception {
+        sine = Expression.build("sin(x)");
+        // Ausdrücke mit Operatoren werden sequentiell durchsucht.
+        sineWithOperator = Expression.build("sin(x)+sum(0*k,k,1,3)");
+        tangent = Expression.build("tan(x)");
+        cubic = Expression.build("x^3-2*x-5");
+    }
+
+    @Test
+    public void findRootsWithErrorBoundsTest() {
+        List<RootFinder.Root> roots = new RootFinder(sine, "x").findRoots(-10, 10, 1000);
+        Assert.assertEquals(7, roots.size());
+        for (int i = 0; i < roots.size(); i++) {
+            double exactRoot = (i - 3) * Math.PI;
+            RootFinder.Root root = roots.get(i);
+            Assert.assertTrue(root.getErrorBound() <= 1E-12);
+            Assert.assertTrue(Math.abs(root.getValue() - exactRoot) <= root.getErrorBound() + 1E-15);
+        }
+    }
+
+    @Test
+    public void parallelSearchEqualsSequentialSearchTest() {
+        List<RootFinder.Root> roots = new RootFinder(sine, "x").findRoots(-100, 100, 20000);
+        List<RootFinder.Root> rootsBySequentialSearch = new RootFinder(sineWithOperator, "x").findRoots(-100, 100, 20000);
+        Assert.assertEquals(63, roots.size());
+        Assert.assertEquals(rootsBySequentialSearch.size(), roots.size());
+        for (int i = 0; i < roots.size(); i++) {
+            Assert.assertTrue(roots.get(i).getValue() == rootsBySequentialSearch.get(i).getValue());
+        }
+    }
+
+    @Test
+    public void polesAreNoRootsTest() {
+        List<RootFinder.Root> roots = new RootFinder(tangent, "x").findRoots(-5, 5, 100);
+        Assert.assertEquals(3, roots.size());
+        Assert.assertEquals(-Math.PI, roots.get(0).getValue(), 1E-12);
+        Assert.assertEquals(Math.PI, roots.get(2).getValue(), 1E-12);
+    }
+
+    @Test
+    public void findRootInBracketTest() {
+        RootFinder rootFinder = new RootFinder(cubic, "x");
+        RootFinder.Root root = rootFinder.findRootInBracket(0, 10);
+        Assert.assertEquals(2.0945514815423265, root.getValue(), 1E-14);
+        Assert.assertTrue(rootFinder.findRootInBracket(3, 10) == null);
+    }
+
+}
@@ -0,0 +1,91 @@
+package expression.computationtests;
+
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.computation.NumericalUtils;
+import basic.MathToolTestBase;
+import graphic.util.SurfaceMesh;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SparseMarchingCubesTests extends MathToolTestBase {
+
+    Expression sphere, sphereWithOperator, torus, emptySurface;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+    }
+
+    @Before
+    public void defineExpressions() throws Exception {
+        sphere = Expression.build("x^2+y^2+z^2-4");
+        // Ausdrücke mit Operatoren werden sequentiell abgetastet.
+        sphereWithOperator = Expression.build("x^2+y^2+z^2-4+sum(0*k,k,1,3)");
+        torus = Expression.build("(x^2+y^2+z^2+3)^2-16*(x^2+y^2)");
+        emptySurface = Expression.build("x^2+y^2+z^2+1");
+    }
+
+    /**
+     * Prüft, ob jede Kante des Netzes zu genau zwei Dreiecken gehört, die sie
+     * in entgegengesetzter Richtung durchlaufen, und gibt die
+     * Euler-Charakteristik des Netzes zurück.
+     */
+    private static int checkClosedAndOrientedAndGetEulerCharacteristic(SurfaceMesh mesh) {
+        Map<Long, Integer> directedEdges = new HashMap<>();
+        for (int t = 0; t < mesh.getNumberOfTriangles(); t++) {
+            for (int c = 0; c < 3; c++) {
+                long edge = (long) mesh.getTriangleVertex(t, c) * mesh.getNumberOfVertices() + mesh.getTriangleVertex(t, (c + 1) % 3);
+                Assert.assertTrue(directedEdges.put(edge, t) == null);
+            }
+        }
+        for (long edge : directedEdges.keySet()) {
+            long reversedEdge = (edge % mesh.getNumberOfVertices()) * mesh.getNumberOfVertices() + edge / mesh.getNumberOfVertices();
+            Assert.assertTrue(directedEdges.containsKey(reversedEdge));
+        }
+        return mesh.getNumberOfVertices() - directedEdges.size() / 2 + mesh.getNumberOfTriangles();
+    }
+
+    @Test
+    public void meshOfSphereTest() {
+        SurfaceMesh mesh = NumericalUtils.solveImplicitEquation3D(sphere, "x", "y", "z", -3.5, 3.5, -3.5, 3.5, -3.5, 3.5, 50);
+        Assert.assertTrue(mesh.getNumberOfCrossedCells() > 0);
+        Assert.assertTrue(mesh.getNumberOfCrossedCells() < 50 * 50 * 50 / 10);
+        for (int v = 0; v < mesh.getNumberOfVertices(); v++) {
+            double x = mesh.getVertexCoordinate(v, 0), y = mesh.getVertexCoordinate(v, 1), z = mesh.getVertexCoordinate(v, 2);
+            Assert.assertEquals(2, Math.sqrt(x * x + y * y + z * z), 0.01);
+        }
+        Assert.assertEquals(2, checkClosedAndOrientedAndGetEulerCharacteristic(mesh));
+    }
+
+    @Test
+    public void meshOfTorusTest() {
+        SurfaceMesh mesh = NumericalUtils.solveImplicitEquation3D(torus, "x", "y", "z", -3.5, 3.5, -3.5, 3.5, -3.5, 3.5, 40);
+        Assert.assertEquals(0, checkClosedAndOrientedAndGetEulerCharacteristic(mesh));
+    }
+
+    @Test
+    public void parallelComputationEqualsSequentialComputationTest() {
+        SurfaceMesh mesh = NumericalUtils.solveImplicitEquation3D(sphere, "x", "y", "z", -3, 3, -3, 3, -3, 3, 20);
+        SurfaceMesh meshBySequentialComputation = NumericalUtils.solveImplicitEquation3D(sphereWithOperator, "x", "y", "z", -3, 3, -3, 3, -3, 3, 20);
+        Assert.assertTrue(Arrays.equals(meshBySequentialComputation.getTriangles(), mesh.getTriangles()));
+        Assert.assertTrue(Arrays.equals(meshBySequentialComputation.getVertices(), mesh.getVertices()));
+    }
+
+    @Test
+    public void emptySurfaceTest() {
+        SurfaceMesh mesh = NumericalUtils.solveImplicitEquation3D(emptySurface, "x", "y", "z", -3, 3, -3, 3, -3, 3, 20);
+        Assert.assertTrue(mesh.isEmpty());
+        Assert.assertEquals(0, mesh.getNumberOfVertices());
+        Assert.assertEquals(0, mesh.getNumberOfCrossedCells());
+    }
+
+}
@@ -0,0 +1,112 @@
+package expression.generaltests;
+
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.equation.SolveGeneralEquationUtils;
+import basic.MathToolTestBase;
+import exceptions.ComputationBudgetExceededException;
+import exceptions.EvaluationException;
+import exceptions.ExpressionException;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import process.ComputationBudget;
+
+public class ComputationBudgetTests extends MathToolTestBase {
+
+    Expression f;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+    }
+
+    @Before
+    public void defineExpressions() throws Exception {
+        f = Expression.build("(x+y+z)^6-(x-y)^4*(z+1)^2");
+    }
+
+    @Test
+    public void simplifyWithinBudgetTest() {
+        ComputationBudget budget = new ComputationBudget(60000, ComputationBudget.UNLIMITED, ComputationBudget.UNLIMITED);
+        try {
+            budget.activate();
+            Assert.assertTrue(ComputationBudget.getCurrentBudget() == budget);
+            Expression result = f.simplify();
+            budget.deactivate();
+            Assert.assertTrue(result.equals(f.simplify()));
+            Assert.assertTrue(budget.getSimplifyIterations() > 0);
+            Assert.assertTrue(budget.getCreatedNodes() > 0);
+            Assert.assertFalse(budget.isActive());
+            Assert.assertTrue(ComputationBudget.getCurrentBudget() == null);
+        } catch (EvaluationException e) {
+            fail(e.getMessage());
+        } finally {
+            budget.deactivate();
+        }
+    }
+
+    @Test
+    public void simplifyExceedsIterationsTest() {
+        ComputationBudget budget = new ComputationBudget(ComputationBudget.UNLIMITED, 2, ComputationBudget.UNLIMITED);
+        try {
+            budget.activate();
+            f.simplify();
+            fail("The budget must be exceeded.");
+        } catch (ComputationBudgetExceededException e) {
+            Assert.assertTrue(e.getExceededLimit() == ComputationBudget.Limit.SIMPLIFY_ITERATIONS);
+            Assert.assertTrue(e.getSimplifyIterations() > 2);
+            Assert.assertTrue(e.getCreatedNodes() > 0);
+        } catch (EvaluationException e) {
+            fail(e.getMessage());
+        } finally {
+            budget.deactivate();
+        }
+        // Ohne Budget muss die Vereinfachung wieder funktionieren.
+        try {
+            Assert.assertTrue(f.simplify() != null);
+        } catch (EvaluationException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void simplifyExceedsCreatedNodesTest() {
+        ComputationBudget budget = new ComputationBudget(ComputationBudget.UNLIMITED, ComputationBudget.UNLIMITED, 100);
+        try {
+            budget.activate();
+            f.simplify();
+            fail("The budget must be exceeded.");
+        } catch (ComputationBudgetExceededException e) {
+            Assert.assertTrue(e.getExceededLimit() == ComputationBudget.Limit.CREATED_NODES);
+            Assert.assertTrue(e.getCreatedNodes() > 100);
+        } catch (EvaluationException e) {
+            fail(e.getMessage());
+        } finally {
+            budget.deactivate();
+        }
+    }
+
+    @Test
+    public void solveEquationExceedsTimeTest() {
+        ComputationBudget budget = new ComputationBudget(0, ComputationBudget.UNLIMITED, ComputationBudget.UNLIMITED);
+        try {
+            Expression g = Expression.build("exp(2*x)-3*exp(x)");
+            budget.activate();
+            SolveGeneralEquationUtils.solveEquation(g, Expression.build("-2"), "x");
+            fail("The budget must be exceeded.");
+        } catch (ComputationBudgetExceededException e) {
+            Assert.assertTrue(e.getExceededLimit() == ComputationBudget.Limit.TIME);
+        } catch (ExpressionException | EvaluationException e) {
+            fail(e.getMessage());
+        } finally {
+            budget.deactivate();
+        }
+    }
+
+}
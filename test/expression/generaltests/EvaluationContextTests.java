@@ -0,0 +1,157 @@
+package expression.generaltests;
+
+import abstractexpressions.expression.classes.EvaluationContext;
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.classes.Variable;
+import abstractexpressions.expression.computation.NumericalUtils;
+import basic.MathToolTestBase;
+import exceptions.EvaluationException;
+import exceptions.ExpressionException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class EvaluationContextTests extends MathToolTestBase {
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+    }
+
+    @Before
+    public void defineExpressions() throws Exception {
+    }
+
+    @Test
+    public void evaluateWithContextTest() {
+        try {
+            Expression f = Expression.build("x^2+3*y");
+            Variable.setValue("x", 1);
+            Variable.setValue("y", 2);
+            EvaluationContext context = new EvaluationContext();
+            context.setValue("x", 4);
+            // x wird aus dem Kontext genommen, y aus den globalen Werten.
+            Assert.assertTrue(f.evaluate(context) == 22);
+            // Die globalen Werte bleiben unverändert.
+            Assert.assertTrue(f.evaluate() == 7);
+            Assert.assertTrue(Variable.create("x").getValue() == 1);
+        } catch (ExpressionException | EvaluationException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void evaluateOperatorWithContextTest() {
+        try {
+            Expression f = Expression.build("sum(k*x,k,1,4)+int(t*x,t,0,2)");
+            Variable.setValue("x", 0);
+            EvaluationContext context = new EvaluationContext();
+            context.setValue("x", 3);
+            Assert.assertTrue(Math.abs(f.evaluate(context) - 36) < 0.000000001);
+            Assert.assertTrue(Variable.create("x").getValue() == 0);
+        } catch (ExpressionException | EvaluationException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void evaluateUndefinedValueInContextTest() {
+        try {
+            Expression f = Expression.build("x+1");
+            Variable.setValue("x", 1);
+            EvaluationContext context = new EvaluationContext();
+            context.setValue("x", Double.NaN);
+            f.evaluate(context);
+            fail("x+1 must be undefined for x = NaN.");
+        } catch (ExpressionException e) {
+            fail(e.getMessage());
+        } catch (EvaluationException e) {
+        }
+    }
+
+    @Test
+    public void evaluateConcurrentlyTest() {
+        try {
+            final Expression f = Expression.build("sin(x)^2+cos(x)^2+x");
+            final boolean[] correct = new boolean[4];
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < correct.length; t++) {
+                final int index = t;
+                Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        EvaluationContext context = new EvaluationContext();
+                        correct[index] = true;
+                        for (int i = 0; i < 2000; i++) {
+                            double x = index * 10000 + i;
+                            context.setValue("x", x);
+                            try {
+                                if (Math.abs(f.evaluate(context) - 1 - x) > 0.000001) {
+                                    correct[index] = false;
+                                }
+                            } catch (EvaluationException e) {
+                                correct[index] = false;
+                            }
+                        }
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            for (boolean c : correct) {
+                Assert.assertTrue(c);
+            }
+        } catch (ExpressionException | InterruptedException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void evaluateOrNaNTest() {
+        try {
+            // evaluateOrNaN() muss genau dort NaN liefern, wo evaluate() eine Exception wirft.
+            Expression f = Expression.build("ln(x)+sqrt(y)/(x-1)+x^(1/3)+exp(y^3)+fac(3)");
+            EvaluationContext context = new EvaluationContext();
+            double[] values = new double[]{-8, -1, 0, 0.5, 1, 2, 10};
+            for (double x : values) {
+                for (double y : values) {
+                    context.setValue("x", x);
+                    context.setValue("y", y);
+                    double value = f.evaluateOrNaN(context);
+                    try {
+                        Assert.assertTrue(Double.compare(f.evaluate(context), value) == 0);
+                    } catch (EvaluationException e) {
+                        Assert.assertTrue(Double.isNaN(value));
+                    }
+                }
+            }
+        } catch (ExpressionException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void integrateBySimpsonKeepsGlobalValuesTest() {
+        try {
+            Expression f = Expression.build("x^2");
+            Variable.setValue("x", 5);
+            double integral = NumericalUtils.integrateBySimpson(f, "x", 0, 3, 100);
+            Assert.assertTrue(Math.abs(integral - 9) < 0.000001);
+            Assert.assertTrue(Variable.create("x").getValue() == 5);
+        } catch (ExpressionException | EvaluationException e) {
+            fail(e.getMessage());
+        }
+    }
+
+}
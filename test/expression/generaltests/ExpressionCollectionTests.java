@@ -296,4 +296,30 @@ public class ExpressionCollectionTests extends MathToolTestBase {
         assertTrue(i == 0);
     }
 
+    @Test
+    public void copyWithTrailingNullEntriesTest() {
+        ExpressionCollection terms = new ExpressionCollection();
+        for (int i = 0; i < 8; i++) {
+            terms.add(Variable.create("x_" + i));
+        }
+        // Abschließende null-Einträge erhöhen bound über die Kapazität des Arrays hinaus.
+        terms.put(8, null);
+        terms.put(9, null);
+
+        ExpressionCollection copyOfTerms = terms.copy();
+        assertTrue(copyOfTerms.getBound() == 10);
+        assertTrue(copyOfTerms.getSize() == 8);
+        assertTrue(copyOfTerms.get(9) == null);
+        int i = 0, j = 0;
+        for (Expression term : copyOfTerms) {
+            i++;
+        }
+        for (Expression term : terms) {
+            j++;
+        }
+        assertTrue(i == j);
+        assertTrue(copyOfTerms.toString().equals(terms.toString()));
+        assertTrue(copyOfTerms.equals(terms));
+    }
+
 }
@@ -0,0 +1,111 @@
+package expression.generaltests;
+
+import abstractexpressions.expression.classes.BinaryOperation;
+import abstractexpressions.expression.classes.Constant;
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.classes.Function;
+import abstractexpressions.expression.classes.Operator;
+import abstractexpressions.expression.classes.TypeOperator;
+import basic.MathToolTestBase;
+import exceptions.EvaluationException;
+import exceptions.ExpressionException;
+import java.math.BigDecimal;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ExpressionInterningTests extends MathToolTestBase {
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+    }
+
+    @Before
+    public void defineExpressions() throws Exception {
+    }
+
+    @Test
+    public void internSharesEqualSubexpressionsTest() {
+        try {
+            Expression f = Expression.build("(x+1)^2*sin(x+1)").intern();
+            Expression g = Expression.build("(x+1)^2*sin(x+1)").intern();
+            Assert.assertTrue(f == g);
+            Assert.assertTrue(f.isInterned());
+            // Der Teilausdruck x+1 darf nur einmal im Speicher liegen.
+            Expression base = ((BinaryOperation) ((BinaryOperation) f).getLeft()).getLeft();
+            Expression argument = ((Function) ((BinaryOperation) f).getRight()).getLeft();
+            Assert.assertTrue(base == argument);
+            Assert.assertTrue(base.equals(Expression.build("x+1")));
+        } catch (ExpressionException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void internDistinguishesDifferentExpressionsTest() {
+        try {
+            Expression f = Expression.build("x+y").intern();
+            Expression g = Expression.build("y+x").intern();
+            Assert.assertTrue(f != g);
+            Assert.assertFalse(f.equals(g));
+            Assert.assertTrue(f.equivalent(g));
+            // Exakte und approximative Konstanten sind verschieden.
+            Expression preciseTwo = new Constant(2).intern();
+            Expression approximateTwo = new Constant(BigDecimal.valueOf(2), false).intern();
+            Assert.assertTrue(preciseTwo != approximateTwo);
+            Assert.assertFalse(preciseTwo.equals(approximateTwo));
+        } catch (ExpressionException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void internDoesNotReplaceApproximateOperatorsTest() {
+        try {
+            Expression x = Expression.build("x");
+            Operator preciseOperator = (Operator) new Operator(TypeOperator.fac, new Object[]{x.add(1)}).intern();
+            Operator approximateOperator = (Operator) new Operator(TypeOperator.fac, new Object[]{x.add(1)}, false).intern();
+            Assert.assertTrue(preciseOperator.isInterned());
+            Assert.assertFalse(approximateOperator.isInterned());
+            Assert.assertFalse(approximateOperator.getPrecise());
+            Assert.assertTrue(preciseOperator.equals(approximateOperator));
+            // Auch Ausdrücke, die einen approximativen Operator enthalten, werden nicht durch exakte ersetzt.
+            Expression.build("2*fac(x+1)").intern();
+            Expression f = Expression.TWO.mult(approximateOperator).intern();
+            Assert.assertFalse(f.isInterned());
+            Assert.assertFalse(((Operator) ((BinaryOperation) f).getRight()).getPrecise());
+        } catch (ExpressionException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void simplifyWithInterningTest() {
+        String[] formulas = new String[]{"(x+y)^4-(x-y)^4", "(x^3-1)/(x-1)+x*(x+1)",
+            "sin(x)^2+cos(x)^2+exp(2*x)/exp(x)", "sum(k*x^k,k,1,5)+diff(x^3*y,x)"};
+        boolean interningEnabled = Expression.isInterningEnabled();
+        try {
+            for (String formula : formulas) {
+                Expression.setInterningEnabled(false);
+                Expression expected = Expression.build(formula).simplify();
+                Expression.setInterningEnabled(true);
+                Expression result = Expression.build(formula).simplify();
+                Assert.assertTrue(result.isInterned());
+                Assert.assertTrue(result.equals(expected));
+                Assert.assertTrue(result == expected.intern());
+            }
+        } catch (ExpressionException | EvaluationException e) {
+            fail(e.getMessage());
+        } finally {
+            Expression.setInterningEnabled(interningEnabled);
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package expression.generaltests;
+
+import abstractexpressions.expression.classes.BinaryOperation;
+import abstractexpressions.expression.classes.Constant;
+import abstractexpressions.expression.classes.Expression;
+import static abstractexpressions.expression.classes.Expression.MINUS_ONE;
+import abstractexpressions.expression.classes.Function;
+import abstractexpressions.expression.classes.Operator;
+import abstractexpressions.expression.classes.TypeBinary;
+import abstractexpressions.expression.classes.TypeFunction;
+import abstractexpressions.expression.classes.TypeOperator;
+import abstractexpressions.expression.classes.Variable;
+import basic.MathToolTestBase;
+import exceptions.ExpressionException;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ExpressionParserTests extends MathToolTestBase {
+
+    Expression a, b, c, x;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+    }
+
+    @Before
+    public void defineExpressions() throws Exception {
+        a = Variable.create("a");
+        b = Variable.create("b");
+        c = Variable.create("c");
+        x = Variable.create("x");
+    }
+
+    private static Expression binary(Expression left, Expression right, TypeBinary type) {
+        return new BinaryOperation(left, right, type);
+    }
+
+    @Test
+    public void buildLeftAssociativeOperationsTest() {
+        try {
+            Assert.assertTrue(Expression.build("a-b-c").equals(binary(binary(a, b, TypeBinary.MINUS), c, TypeBinary.MINUS)));
+            Assert.assertTrue(Expression.build("a/b*c").equals(binary(binary(a, b, TypeBinary.DIV), c, TypeBinary.TIMES)));
+            Assert.assertTrue(Expression.build("a^b^c").equals(binary(binary(a, b, TypeBinary.POW), c, TypeBinary.POW)));
+            // + hat eine niedrigere Priorität als -.
+            Assert.assertTrue(Expression.build("a-b+c").equals(binary(binary(a, b, TypeBinary.MINUS), c, TypeBinary.PLUS)));
+        } catch (ExpressionException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void buildSignsTest() {
+        try {
+            Assert.assertTrue(Expression.build("-2/3").equals(binary(new Constant(-2), new Constant(3), TypeBinary.DIV)));
+            Assert.assertTrue(Expression.build("-a^2").equals(binary(MINUS_ONE, binary(a, new Constant(2), TypeBinary.POW), TypeBinary.TIMES)));
+            Assert.assertTrue(Expression.build("+a-b").equals(binary(a, b, TypeBinary.MINUS)));
+        } catch (ExpressionException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void buildAbsAndFacultyTest() {
+        try {
+            Expression expected = new Function(binary(new Function(x, TypeFunction.abs), new Constant(1), TypeBinary.PLUS), TypeFunction.abs);
+            Assert.assertTrue(Expression.build("||x|+1|").equals(expected));
+            expected = binary(new Function(a, TypeFunction.abs), new Function(b, TypeFunction.abs), TypeBinary.TIMES);
+            Assert.assertTrue(Expression.build("|a|*|b|").equals(expected));
+            expected = binary(new Constant(2), new Operator(TypeOperator.fac, new Object[]{x}), TypeBinary.TIMES);
+            Assert.assertTrue(Expression.build("2*x!").equals(expected));
+        } catch (ExpressionException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void buildCollectsVariablesTest() {
+        try {
+            Set<String> vars = new HashSet<>();
+            Expression.build("sin(x)+y^2", vars);
+            Assert.assertTrue(vars.contains("x"));
+            Assert.assertTrue(vars.contains("y"));
+            Assert.assertTrue(vars.size() == 2);
+            // Bei fehlerhaften Formeln dürfen keine Variablen hinzukommen.
+            try {
+                Expression.build("z+", vars);
+            } catch (ExpressionException e) {
+            }
+            Assert.assertFalse(vars.contains("z"));
+        } catch (ExpressionException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void buildInvalidFormulasTest() {
+        String[] invalidFormulas = new String[]{"a+", "*a", "a+*b", "(a", "a)", "|a", "sin(a,b)", "()", "a,b"};
+        for (String formula : invalidFormulas) {
+            try {
+                Expression.build(formula);
+                fail(formula + " must not be parsable.");
+            } catch (ExpressionException e) {
+            }
+        }
+    }
+
+    @Test
+    public void buildLongFormulaTest() {
+        try {
+            StringBuilder formula = new StringBuilder("x");
+            for (int i = 1; i < 10000; i++) {
+                formula.append(i % 2 == 0 ? "+" : "-").append(i).append("*x^").append(i % 7);
+            }
+            Expression expr = Expression.build(formula.toString());
+            Assert.assertTrue(expr.contains("x"));
+        } catch (ExpressionException e) {
+            fail(e.getMessage());
+        }
+    }
+
+}
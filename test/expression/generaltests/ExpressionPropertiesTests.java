@@ -0,0 +1,120 @@
+package expression.generaltests;
+
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.classes.Function;
+import abstractexpressions.expression.classes.TypeFunction;
+import abstractexpressions.expression.classes.TypeOperator;
+import basic.MathToolTestBase;
+import exceptions.ExpressionException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ExpressionPropertiesTests extends MathToolTestBase {
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+    }
+
+    @Before
+    public void defineExpressions() throws Exception {
+    }
+
+    @Test
+    public void containsRespectsBoundVariablesTest() {
+        try {
+            Expression f = Expression.build("sum(k*x^k,k,1,n)+int(t*y,t,0,1)");
+            Assert.assertTrue(f.contains("x"));
+            Assert.assertTrue(f.contains("n"));
+            Assert.assertTrue(f.contains("y"));
+            Assert.assertFalse(f.contains("k"));
+            Assert.assertFalse(f.contains("t"));
+            Assert.assertTrue(f.containsAtLeastOne(f.getContainedVars()));
+            Assert.assertTrue(f.containsOperator(TypeOperator.sum));
+            Assert.assertTrue(f.containsOperator(TypeOperator.integral));
+            Assert.assertFalse(f.containsOperator(TypeOperator.fac));
+            Assert.assertFalse(f.containsIndefiniteIntegral());
+        } catch (ExpressionException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void getContainedVarsReturnsCopyTest() {
+        try {
+            Expression f = Expression.build("x*sin(y)+z");
+            Set<String> vars = f.getContainedVars();
+            Assert.assertTrue(vars.size() == 3);
+            vars.add("a");
+            vars.remove("x");
+            // Änderungen an der zurückgegebenen Menge dürfen den Ausdruck nicht beeinflussen.
+            Assert.assertTrue(f.getContainedVars().size() == 3);
+            Assert.assertTrue(f.getContainedVars().contains("x"));
+            Assert.assertFalse(f.contains("a"));
+        } catch (ExpressionException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void propertiesOfDeepExpressionsTest() {
+        try {
+            // Ohne Caching wäre die Berechnung von getLength() hier exponentiell in der Tiefe.
+            Expression x = Expression.build("x");
+            Expression f = x;
+            for (int i = 0; i < 200; i++) {
+                f = new Function(f.add(1), TypeFunction.sin);
+            }
+            Expression g = f.mult(Expression.build("y^(1/3)"));
+            Assert.assertTrue(g.getLength() > 200);
+            Assert.assertTrue(g.containsFunction());
+            Assert.assertTrue(g.containsTrigonometricalFunction());
+            Assert.assertFalse(g.containsExponentialFunction());
+            Assert.assertTrue(g.containsAlgebraicOperation());
+            Assert.assertFalse(f.containsAlgebraicOperation());
+            Assert.assertFalse(g.containsOperator());
+            Assert.assertTrue(g.contains("x") && g.contains("y"));
+        } catch (ExpressionException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void propertiesAreConsistentUnderConcurrentAccessTest() throws Exception {
+        final AtomicInteger numberOfWrongProperties = new AtomicInteger();
+        for (int run = 0; run < 50; run++) {
+            final Expression f = Expression.build("exp(x)+sum(k*sin(x)^k,k,1,n)+y^(1/3)");
+            Thread[] threads = new Thread[4];
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = new Thread(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        // Bis auf containsApproximates() und containsIndefiniteIntegral() sind alle Eigenschaften wahr.
+                        if (f.containsApproximates() || !f.containsFunction() || !f.containsExponentialFunction()
+                                || !f.containsTrigonometricalFunction() || !f.containsOperator()
+                                || !f.containsAlgebraicOperation() || f.containsIndefiniteIntegral()) {
+                            numberOfWrongProperties.incrementAndGet();
+                        }
+                    }
+
+                });
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+        Assert.assertEquals(0, numberOfWrongProperties.get());
+    }
+
+}
@@ -0,0 +1,100 @@
+package expression.generaltests;
+
+import abstractexpressions.expression.classes.Expression;
+import basic.MathToolTestBase;
+import exceptions.EvaluationException;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import process.ComputationBudget;
+
+public class ParallelSimplificationTests extends MathToolTestBase {
+
+    Expression sum, product, sumWithOperator;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+    }
+
+    @Before
+    public void defineExpressions() throws Exception {
+        StringBuilder sumAsString = new StringBuilder();
+        StringBuilder productAsString = new StringBuilder();
+        for (int i = 1; i <= 16; i++) {
+            if (i > 1) {
+                sumAsString.append("+");
+                productAsString.append("*");
+            }
+            sumAsString.append("(x+").append(i).append(")^2/(x+").append(i).append(")+sin(x)^2+cos(x)^2+ln(").append(i).append(")");
+            productAsString.append("(exp(x)^").append(i).append("+y^(2*").append(i).append(")/y^").append(i).append(")");
+        }
+        sum = Expression.build(sumAsString.toString());
+        product = Expression.build(productAsString.toString());
+        sumWithOperator = Expression.build(sumAsString.toString() + "+sum(k*x,k,1,4)");
+    }
+
+    @After
+    public void disableParallelSimplification() throws Exception {
+        Expression.setParallelSimplificationEnabled(false);
+    }
+
+    private static Expression simplify(Expression expr, boolean parallel) throws EvaluationException {
+        Expression.setParallelSimplificationEnabled(parallel);
+        return expr.simplify();
+    }
+
+    @Test
+    public void parallelSimplificationOfSumTest() {
+        try {
+            Expression sequentialResult = simplify(sum, false);
+            Expression parallelResult = simplify(sum, true);
+            Assert.assertTrue(parallelResult.equals(sequentialResult));
+            Assert.assertEquals(sequentialResult.toString(), parallelResult.toString());
+        } catch (EvaluationException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void parallelSimplificationOfProductTest() {
+        try {
+            Expression sequentialResult = simplify(product, false);
+            for (int i = 0; i < 5; i++) {
+                Assert.assertEquals(sequentialResult.toString(), simplify(product, true).toString());
+            }
+        } catch (EvaluationException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void sumsWithOperatorsAndActiveBudgetsAreSimplifiedSequentiallyTest() {
+        try {
+            Expression sequentialResult = simplify(sumWithOperator, false);
+            Assert.assertEquals(sequentialResult.toString(), simplify(sumWithOperator, true).toString());
+
+            Expression sequentialResultOfSum = simplify(sum, false);
+            ComputationBudget budget = new ComputationBudget(ComputationBudget.UNLIMITED, ComputationBudget.UNLIMITED, ComputationBudget.UNLIMITED);
+            Expression.setParallelSimplificationEnabled(true);
+            budget.activate();
+            try {
+                Assert.assertEquals(sequentialResultOfSum.toString(), sum.simplify().toString());
+                // Sämtliche Knoten wurden im aktuellen Thread erzeugt und verbucht.
+                Assert.assertTrue(budget.getCreatedNodes() > 0);
+            } finally {
+                budget.deactivate();
+            }
+        } catch (EvaluationException e) {
+            fail(e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+package expression.generaltests;
+
+import abstractexpressions.expression.classes.Constant;
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.classes.SimplifyCache;
+import abstractexpressions.expression.classes.Variable;
+import basic.MathToolTestBase;
+import enums.TypeSimplify;
+import exceptions.EvaluationException;
+import exceptions.ExpressionException;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SimplifyCacheTests extends MathToolTestBase {
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+    }
+
+    @Before
+    public void defineExpressions() throws Exception {
+        SimplifyCache.clear();
+    }
+
+    @Test
+    public void simplifyReusesCachedResultTest() {
+        try {
+            Expression f = Expression.build("(x+1)^2-x^2");
+            Expression first = SimplifyCache.simplify(f);
+            // Ein gleicher, aber neu erzeugter Ausdruck muss ebenfalls gefunden werden.
+            Expression second = SimplifyCache.simplify(Expression.build("(x+1)^2-x^2"));
+            Assert.assertTrue(first == second);
+            Assert.assertTrue(first.equals(f.simplify()));
+            Assert.assertTrue(SimplifyCache.getMisses() == 1);
+            Assert.assertTrue(SimplifyCache.getHits() == 1);
+            Assert.assertTrue(SimplifyCache.getSize() == 1);
+        } catch (ExpressionException | EvaluationException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void simplifyTypesArePartOfKeyTest() {
+        try {
+            Expression f = Expression.build("(x+1)^2");
+            Set<TypeSimplify> simplifyTypes = new HashSet<>();
+            simplifyTypes.add(TypeSimplify.simplify_basic);
+            Expression basic = SimplifyCache.simplify(f, simplifyTypes);
+            simplifyTypes.add(TypeSimplify.simplify_expand_powerful);
+            Expression expanded = SimplifyCache.simplify(f, simplifyTypes);
+            Assert.assertTrue(basic.equals(f));
+            Assert.assertTrue(expanded.equals(f.simplify(simplifyTypes)));
+            Assert.assertFalse(basic.equals(expanded));
+            Assert.assertTrue(SimplifyCache.getMisses() == 2);
+            Assert.assertTrue(SimplifyCache.getHits() == 0);
+        } catch (ExpressionException | EvaluationException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void cacheIsInvalidatedByDefinedVariablesTest() {
+        try {
+            Expression f = Expression.build("a^2+a");
+            Assert.assertTrue(SimplifyCache.simplify(f).equals(f.simplify()));
+            Variable.setPreciseExpression("a", new Constant(3));
+            Assert.assertTrue(SimplifyCache.simplify(f).equals(new Constant(12)));
+            Variable.setPreciseExpression("a", null);
+            Assert.assertTrue(SimplifyCache.simplify(f).equals(f.simplify()));
+            Assert.assertTrue(SimplifyCache.getHits() == 0);
+        } catch (ExpressionException | EvaluationException e) {
+            fail(e.getMessage());
+        } finally {
+            Variable.setPreciseExpression("a", null);
+        }
+    }
+
+    @Test
+    public void approximateExpressionsAreNotCachedTest() {
+        try {
+            Expression f = Expression.build("x").add(new Constant(BigDecimal.valueOf(0.5), false));
+            SimplifyCache.simplify(f);
+            SimplifyCache.simplify(f);
+            Assert.assertTrue(SimplifyCache.getSize() == 0);
+            Assert.assertTrue(SimplifyCache.getHits() == 0);
+        } catch (ExpressionException | EvaluationException e) {
+            fail(e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+package expression.generaltests;
+
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.classes.SimplifyProfiler;
+import basic.MathToolTestBase;
+import enums.TypeSimplify;
+import exceptions.EvaluationException;
+import exceptions.ExpressionException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SimplifyPassSchedulerTests extends MathToolTestBase {
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+    }
+
+    @Before
+    public void defineExpressions() throws Exception {
+        SimplifyProfiler.reset();
+        SimplifyProfiler.setEnabled(true);
+    }
+
+    @After
+    public void disableProfiler() throws Exception {
+        SimplifyProfiler.setEnabled(false);
+        SimplifyProfiler.reset();
+    }
+
+    /**
+     * Gibt zurück, wie oft der Pass pass seit dem letzten Zurücksetzen des
+     * Profilers ausgeführt wurde.
+     */
+    private static long getNumberOfCalls(TypeSimplify pass) {
+        for (SimplifyProfiler.Entry entry : SimplifyProfiler.getSnapshot()) {
+            if (entry.getFamily().equals(SimplifyProfiler.FAMILY_PASSES) && entry.getName().equals(pass.name())) {
+                return entry.getCalls();
+            }
+        }
+        return 0;
+    }
+
+    @Test
+    public void unchangedPassIsSkippedUntilExpressionChangesTest() {
+        try {
+            // simplify_basic bewirkt nichts und wird daher nach dem Ausmultiplizieren nicht erneut ausgeführt.
+            Expression f = Expression.build("(x+1)*(x+2)").simplify(TypeSimplify.simplify_expand_short, TypeSimplify.simplify_basic);
+            Assert.assertTrue(Expression.build("2*x+x*x+2+x").equivalent(f));
+            Assert.assertEquals(2, getNumberOfCalls(TypeSimplify.simplify_expand_short));
+            Assert.assertEquals(1, getNumberOfCalls(TypeSimplify.simplify_basic));
+            SimplifyProfiler.reset();
+            // Hier verändert simplify_expand_short den Ausdruck erst nach simplify_basic, daher muss simplify_basic erneut laufen.
+            Expression g = Expression.build("(x+1)*(x+2)").simplify(TypeSimplify.simplify_basic, TypeSimplify.simplify_expand_short);
+            Assert.assertTrue(f.equals(g));
+            Assert.assertEquals(2, getNumberOfCalls(TypeSimplify.simplify_basic));
+            Assert.assertEquals(2, getNumberOfCalls(TypeSimplify.simplify_expand_short));
+        } catch (ExpressionException | EvaluationException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void simplifyWithTypesKeepsConditionsTest() {
+        try {
+            // Funktionale Pässe laufen bei simplify(TypeSimplify...) nur für Ausdrücke ohne algebraische Operationen.
+            Expression.build("x^(1/2)*exp(x)*exp(y)").simplify(TypeSimplify.simplify_basic, TypeSimplify.simplify_functional_relations);
+            Assert.assertEquals(0, getNumberOfCalls(TypeSimplify.simplify_functional_relations));
+            Expression f = Expression.build("exp(x)*exp(y)").simplify(TypeSimplify.simplify_basic, TypeSimplify.simplify_functional_relations);
+            Assert.assertTrue(Expression.build("exp(x+y)").equals(f));
+            Assert.assertTrue(getNumberOfCalls(TypeSimplify.simplify_functional_relations) > 0);
+            SimplifyProfiler.reset();
+            // Ohne Funktionen wird der Pass ebenfalls nicht ausgeführt.
+            Expression.build("x*y+x").simplify(TypeSimplify.simplify_basic, TypeSimplify.simplify_functional_relations);
+            Assert.assertEquals(0, getNumberOfCalls(TypeSimplify.simplify_functional_relations));
+            // simplify(Set<TypeSimplify>) schränkt funktionale Pässe dagegen nicht auf nichtalgebraische Ausdrücke ein.
+            Set<TypeSimplify> simplifyTypes = new HashSet<>(Arrays.asList(TypeSimplify.simplify_basic, TypeSimplify.simplify_functional_relations));
+            Expression.build("x^(1/2)*exp(x)*exp(y)").simplify(simplifyTypes);
+            Assert.assertTrue(getNumberOfCalls(TypeSimplify.simplify_functional_relations) > 0);
+        } catch (ExpressionException | EvaluationException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void passesRequiringVariableAreDroppedWithoutVariableTest() {
+        try {
+            TypeSimplify replaceByDefinitions = TypeSimplify.simplify_replace_exponential_functions_with_respect_to_variable_by_definitions;
+            Set<TypeSimplify> simplifyTypes = new HashSet<>(Arrays.asList(TypeSimplify.simplify_basic, replaceByDefinitions));
+            Expression f = Expression.build("sinh(x)+x^(1/2)");
+            Assert.assertTrue(f.equals(f.simplify(simplifyTypes, null)));
+            Assert.assertTrue(f.equals(f.simplify(simplifyTypes)));
+            Assert.assertTrue(f.equals(f.simplify(TypeSimplify.simplify_basic, replaceByDefinitions)));
+            Assert.assertEquals(0, getNumberOfCalls(replaceByDefinitions));
+            // Mit Variable wird sinh(x) durch seine Definition ersetzt.
+            Assert.assertFalse(f.equals(f.simplify(simplifyTypes, "x")));
+            Assert.assertTrue(getNumberOfCalls(replaceByDefinitions) > 0);
+        } catch (ExpressionException | EvaluationException e) {
+            fail(e.getMessage());
+        }
+    }
+
+}
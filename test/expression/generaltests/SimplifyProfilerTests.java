@@ -0,0 +1,111 @@
+package expression.generaltests;
+
+import abstractexpressions.expression.classes.Expression;
+import abstractexpressions.expression.classes.SimplifyProfiler;
+import basic.MathToolTestBase;
+import enums.TypeSimplify;
+import exceptions.EvaluationException;
+import exceptions.ExpressionException;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import javax.management.Attribute;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SimplifyProfilerTests extends MathToolTestBase {
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+    }
+
+    @Before
+    public void defineExpressions() throws Exception {
+        SimplifyProfiler.reset();
+    }
+
+    @After
+    public void disableProfiler() throws Exception {
+        SimplifyProfiler.setEnabled(false);
+        SimplifyProfiler.reset();
+    }
+
+    private static SimplifyProfiler.Entry getEntry(List<SimplifyProfiler.Entry> entries, String family, String name) {
+        for (SimplifyProfiler.Entry entry : entries) {
+            if (entry.getFamily().equals(family) && entry.getName().equals(name)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void disabledProfilerRecordsNothingTest() {
+        try {
+            SimplifyProfiler.setEnabled(false);
+            Expression.build("(x+1)^2-x^2+sin(x)").simplify();
+            Assert.assertTrue(SimplifyProfiler.getSnapshot().isEmpty());
+        } catch (ExpressionException | EvaluationException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void profilerRecordsPassesAndRulesTest() {
+        try {
+            SimplifyProfiler.setEnabled(true);
+            Expression.build("(x+1)^2-x^2+sin(x)").simplify();
+            List<SimplifyProfiler.Entry> entries = SimplifyProfiler.getSnapshot();
+            SimplifyProfiler.Entry basic = getEntry(entries, SimplifyProfiler.FAMILY_PASSES, TypeSimplify.simplify_basic.name());
+            Assert.assertTrue(basic != null);
+            Assert.assertTrue(basic.getCalls() >= 1);
+            Assert.assertTrue(basic.getNodesVisited() >= basic.getCalls());
+            Assert.assertTrue(basic.getSelfTimeNanos() <= basic.getTotalTimeNanos());
+            Assert.assertTrue(getEntry(entries, SimplifyProfiler.FAMILY_BINARY_OPERATION_RULES, "PLUS") != null);
+            Assert.assertTrue(getEntry(entries, SimplifyProfiler.FAMILY_TRIGONOMETRY_RULES, "sin") != null);
+            // Die Klammer muss von mindestens einem Pass ausmultipliziert worden sein.
+            long changes = 0;
+            for (SimplifyProfiler.Entry entry : entries) {
+                if (entry.getFamily().equals(SimplifyProfiler.FAMILY_PASSES)) {
+                    changes += entry.getChanges();
+                }
+            }
+            Assert.assertTrue(changes > 0);
+            SimplifyProfiler.reset();
+            Assert.assertTrue(SimplifyProfiler.getSnapshot().isEmpty());
+        } catch (ExpressionException | EvaluationException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void profilerIsAccessibleViaJmxTest() {
+        try {
+            SimplifyProfiler.registerMBean();
+            // Eine wiederholte Registrierung darf keinen Fehler verursachen.
+            SimplifyProfiler.registerMBean();
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName("ExpressionBuilder:type=SimplifyProfiler");
+            server.setAttribute(objectName, new Attribute("Enabled", true));
+            Assert.assertTrue(SimplifyProfiler.isEnabled());
+            Expression.build("x*x+x").simplify();
+            String[] report = (String[]) server.getAttribute(objectName, "Report");
+            Assert.assertTrue(report.length == SimplifyProfiler.getSnapshot().size());
+            Assert.assertTrue(report.length > 0);
+        } catch (ExpressionException | EvaluationException | JMException e) {
+            fail(e.getMessage());
+        }
+    }
+
+}
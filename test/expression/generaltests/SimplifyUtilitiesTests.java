@@ -153,4 +153,42 @@ public class SimplifyUtilitiesTests extends MathToolTestBase {
         assertTrue(factors.getBound() == 1);
     }
 
+    @Test
+    public void equivalenceHashOfEquivalentExpressionsTest() {
+        Variable x = Variable.create("x");
+        Variable y = Variable.create("y");
+        // x+y*sin(x)+2 und 2+sin(x)*y+x sind äquivalent.
+        Expression left = x.add(y.mult(x.sin())).add(2);
+        Expression right = new Constant(2).add(x.sin().mult(y)).add(x);
+        assertTrue(left.equivalent(right));
+        assertTrue(left.getEquivalenceHash() == right.getEquivalenceHash());
+        // (-2)*x*(-3) und 2*x*3 sind äquivalent, (-2)*x*3 und 2*x*3 antiäquivalent.
+        Expression product = new Constant(2).mult(x).mult(3);
+        Expression productWithSigns = new Constant(-2).mult(x).mult(-3);
+        assertTrue(productWithSigns.equivalent(product));
+        assertTrue(productWithSigns.getEquivalenceHash() == product.getEquivalenceHash());
+        Expression antiProduct = new Constant(-2).mult(x).mult(3);
+        assertTrue(antiProduct.antiEquivalent(product));
+        assertTrue(antiProduct.getSignInsensitiveHash() == product.getSignInsensitiveHash());
+    }
+
+    @Test
+    public void differenceAndIntersectionOfLargeCollectionsTest() {
+        Variable x = Variable.create("x");
+        ExpressionCollection terms = new ExpressionCollection();
+        ExpressionCollection termsReversed = new ExpressionCollection();
+        for (int i = 0; i < 2000; i++) {
+            terms.add(x.pow(i % 1000));
+            termsReversed.add(x.pow((1999 - i) % 1000));
+        }
+        termsReversed.add(x.sin());
+        // Vielfachheiten zählen: jeder Term kommt in beiden Collections genau zweimal vor.
+        assertTrue(SimplifyUtilities.difference(terms, termsReversed).isEmpty());
+        assertTrue(SimplifyUtilities.difference(termsReversed, terms).getBound() == 1);
+        assertTrue(SimplifyUtilities.intersection(termsReversed, terms).getBound() == 2000);
+        assertTrue(SimplifyUtilities.union(terms, termsReversed).getBound() == 2001);
+        assertTrue(termsReversed.containsEquivalent(x.sin()));
+        assertTrue(!terms.containsEquivalent(x.sin()));
+    }
+
 }
@@ -0,0 +1,61 @@
+package expression.generaltests;
+
+import abstractexpressions.expression.classes.Expression;
+import basic.MathToolTestBase;
+import enums.TypeLanguage;
+import lang.translator.Translator;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TranslatorTests extends MathToolTestBase {
+
+    private static final String MESSAGE_ID = "EB_Expression_STACK_OVERFLOW";
+
+    private TypeLanguage language;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+    }
+
+    @Before
+    public void defineExpressions() throws Exception {
+        language = Expression.getLanguage();
+    }
+
+    @Test
+    public void repeatedLookupIsServedFromCacheTest() {
+        try {
+            Expression.setLanguage(TypeLanguage.DE);
+            String message = Translator.translateOutputMessage(MESSAGE_ID);
+            Assert.assertEquals("Speicher voll. Die Berechnung wurde beendet.", message);
+            // Beim erneuten Einlesen der XML-Datei entstünde ein neues String-Objekt.
+            Assert.assertTrue(message == Translator.translateOutputMessage(MESSAGE_ID));
+        } finally {
+            // Notwendig für weitere Tests!
+            Expression.setLanguage(language);
+        }
+    }
+
+    @Test
+    public void switchingLanguageReturnsOtherTextTest() {
+        try {
+            Expression.setLanguage(TypeLanguage.DE);
+            Assert.assertEquals("Speicher voll. Die Berechnung wurde beendet.", Translator.translateOutputMessage(MESSAGE_ID));
+            Expression.setLanguage(TypeLanguage.EN);
+            Assert.assertEquals("Stack overflow. The computation was aborted.", Translator.translateOutputMessage(MESSAGE_ID));
+            Expression.setLanguage(TypeLanguage.DE);
+            Assert.assertEquals("Speicher voll. Die Berechnung wurde beendet.", Translator.translateOutputMessage(MESSAGE_ID));
+        } finally {
+            // Notwendig für weitere Tests!
+            Expression.setLanguage(language);
+        }
+    }
+
+}
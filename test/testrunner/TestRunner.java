@@ -41,6 +41,7 @@ public class TestRunner {
     @Before
     public void initTestClasses() throws Exception {
         TEST_CLASSES.add(ArithmeticTests.class);
+        TEST_CLASSES.add(CompiledExpressionTests.class);
         TEST_CLASSES.add(AlgebraicTests.class);
         TEST_CLASSES.add(GroebnerBasisTests.class);
         TEST_CLASSES.add(SolveSpecialDifferentialEquationTests.class);
@@ -52,9 +53,28 @@ public class TestRunner {
         TEST_CLASSES.add(SolveGeneralEquationSystemTests.class);
         TEST_CLASSES.add(SolveGeneralDifferentialEquationTests.class);
         TEST_CLASSES.add(SolveSpecialEquationTests.class);
+        TEST_CLASSES.add(NumericalIntegrationTests.class);
+        TEST_CLASSES.add(NumericalDifferentialEquationTests.class);
+        TEST_CLASSES.add(RootFinderTests.class);
+        TEST_CLASSES.add(AdaptiveMarchingSquaresTests.class);
+        TEST_CLASSES.add(SparseMarchingCubesTests.class);
+        TEST_CLASSES.add(IntervalArithmeticTests.class);
+        TEST_CLASSES.add(GridSamplerTests.class);
+        TEST_CLASSES.add(AdaptiveCurveSamplerTests.class);
+        TEST_CLASSES.add(RenderPipeline3DTests.class);
         TEST_CLASSES.add(ExpressionCollectionTests.class);
+        TEST_CLASSES.add(EvaluationContextTests.class);
+        TEST_CLASSES.add(ExpressionParserTests.class);
         TEST_CLASSES.add(GeneralSimplifyExpressionTests.class);
         TEST_CLASSES.add(SimplifyUtilitiesTests.class);
+        TEST_CLASSES.add(ExpressionInterningTests.class);
+        TEST_CLASSES.add(SimplifyCacheTests.class);
+        TEST_CLASSES.add(ExpressionPropertiesTests.class);
+        TEST_CLASSES.add(SimplifyProfilerTests.class);
+        TEST_CLASSES.add(SimplifyPassSchedulerTests.class);
+        TEST_CLASSES.add(TranslatorTests.class);
+        TEST_CLASSES.add(ComputationBudgetTests.class);
+        TEST_CLASSES.add(ParallelSimplificationTests.class);
         TEST_CLASSES.add(GeneralLogicalTests.class);
         TEST_CLASSES.add(GeneralSimplifyLogicalExpressionTests.class);
         TEST_CLASSES.add(LinearAlgebraTests.class);